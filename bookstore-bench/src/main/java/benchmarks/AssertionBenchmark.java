@@ -0,0 +1,72 @@
+package benchmarks;
+
+import models.requests.books.PostBookRequest;
+import models.responses.books.GetBooksResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.assertions.AssertionsUtils;
+import utils.common.CommonUtils;
+import utils.common.EntityDiff;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the passing path of the {@link AssertionsUtils} comparisons, which is what every green
+ * test run pays: the GET-all list checks for each catalog size and a single cross-type item match.
+ * Runs with {@code -Dlog.level=warn} so console output does not dominate the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dlog.level=warn"})
+public class AssertionBenchmark {
+
+    private static final Logger logger = LogManager.getLogger(AssertionBenchmark.class);
+    private static final String BODY = "[]";
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    private List<GetBooksResponse> expected;
+    private List<GetBooksResponse> actual;
+    private PostBookRequest request;
+    private GetBooksResponse response;
+
+    @Setup
+    public void setUp() {
+        expected = SyntheticCatalog.books(size);
+        actual = new ArrayList<>(SyntheticCatalog.books(size));
+        request = SyntheticCatalog.bookRequest(size);
+        response = SyntheticCatalog.book(size);
+    }
+
+    @Benchmark
+    public EntityDiff<GetBooksResponse> assertAllItemsPresent() {
+        EntityDiff<GetBooksResponse> diff = CommonUtils.diffById(expected, actual, GetBooksResponse::getId);
+        AssertionsUtils.assertMissingItems(diff, () -> BODY, logger);
+        AssertionsUtils.assertNoDuplicateItems(diff.getDuplicates(), () -> BODY, logger);
+        return diff;
+    }
+
+    @Benchmark
+    public GetBooksResponse assertItemMatches() {
+        AssertionsUtils.assertItemMatches(request, response, logger);
+        return response;
+    }
+
+}
@@ -0,0 +1,118 @@
+package benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpStatus;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.io.Content;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.util.Callback;
+import serialization.JsonRegistry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local stub of the Books endpoints that speaks HTTP/1.1 and cleartext HTTP/2 ({@code h2c}) on the
+ * same port, so both transports are measured against the same server. {@code GET /api/v1/Books}
+ * returns a synthetic catalog, {@code GET /api/v1/Books/{id}} a single book and
+ * {@code POST /api/v1/Books} echoes the request body, like the fake REST API does.
+ * <p>
+ * An optional delay emulates server processing time without holding a server thread.
+ */
+public class BooksApiStub implements AutoCloseable {
+
+    public static final String BOOKS_ENDPOINT = "/api/v1/Books";
+
+    private static final String JSON = "application/json; charset=utf-8";
+
+    private final Server server;
+    private final ServerConnector connector;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Starts the stub on a free loopback port.
+     *
+     * @param catalogSize the number of books in the catalog.
+     * @param delayMillis the time every response is delayed by, 0 for none.
+     * @throws Exception if the server cannot be started.
+     */
+    public BooksApiStub(int catalogSize, long delayMillis) throws Exception {
+        byte[] catalog = JsonRegistry.writer().writeValueAsBytes(SyntheticCatalog.books(catalogSize));
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        server = new Server();
+        HttpConfiguration config = new HttpConfiguration();
+        connector = new ServerConnector(server, new HttpConnectionFactory(config), new HTTP2CServerConnectionFactory(config));
+        connector.setHost("127.0.0.1");
+        connector.setPort(0);
+        server.addConnector(connector);
+        server.setHandler(new Handler.Abstract() {
+            @Override
+            public boolean handle(Request request, Response response, Callback callback) throws Exception {
+                byte[] body = respond(request, catalog);
+                if (body == null) {
+                    response.setStatus(HttpStatus.NOT_FOUND_404);
+                    callback.succeeded();
+                    return true;
+                }
+                response.getHeaders().put(HttpHeader.CONTENT_TYPE, JSON);
+                response.getHeaders().put(HttpHeader.CONTENT_LENGTH, body.length);
+                if (delayMillis > 0) {
+                    scheduler.schedule(() -> response.write(true, ByteBuffer.wrap(body), callback), delayMillis, TimeUnit.MILLISECONDS);
+                } else {
+                    response.write(true, ByteBuffer.wrap(body), callback);
+                }
+                return true;
+            }
+        });
+        server.start();
+    }
+
+    private static byte[] respond(Request request, byte[] catalog) throws IOException {
+        String path = Request.getPathInContext(request);
+        if (!path.startsWith(BOOKS_ENDPOINT)) {
+            return null;
+        }
+        if ("POST".equals(request.getMethod())) {
+            return Content.Source.asInputStream(request).readAllBytes();
+        }
+        if (path.length() == BOOKS_ENDPOINT.length()) {
+            return catalog;
+        }
+        return book(Long.parseLong(path.substring(BOOKS_ENDPOINT.length() + 1)));
+    }
+
+    private static byte[] book(long id) throws JsonProcessingException {
+        return JsonRegistry.writer().writeValueAsBytes(SyntheticCatalog.book(id));
+    }
+
+    /**
+     * Gets the base URL of the stub.
+     *
+     * @return the base URL, e.g. {@code http://127.0.0.1:40123}.
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + connector.getLocalPort();
+    }
+
+    /**
+     * Stops the server.
+     *
+     * @throws Exception if the server cannot be stopped.
+     */
+    @Override
+    public void close() throws Exception {
+        server.stop();
+        scheduler.shutdownNow();
+    }
+
+}
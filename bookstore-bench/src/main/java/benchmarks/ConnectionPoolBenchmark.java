@@ -0,0 +1,141 @@
+package benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+import config.ConnectionPoolConfig;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import serialization.JsonRegistry;
+import utils.http.PooledHttpClientFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RestAssured GET round trips against a local HTTP server, with RestAssured's default connection
+ * handling and with the shared {@link PooledHttpClientFactory} pool. The server echoes the client's
+ * port, so every port not seen before in the iteration counts as a new connection; compare the
+ * {@code connects} and {@code requests} counters of the two modes.
+ * <p>
+ * Iterations are short because without pooling every request leaves a socket in TIME_WAIT. The
+ * stub server runs with TCP_NODELAY, otherwise its separate header and body writes stall every
+ * keep-alive response on delayed ACKs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = {"-Dlog.level=warn", "-Dsun.net.httpserver.nodelay=true"})
+public class ConnectionPoolBenchmark {
+
+    private static final String PATH = "/api/v1/Books/1";
+    private static final String PORT_HEADER = "X-Client-Port";
+
+    @Param({"false", "true"})
+    public boolean pooled;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private PooledHttpClientFactory httpClientFactory;
+    private RequestSpecification requestSpec;
+    private final Set<String> clientPorts = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Per-thread counters that JMH sums and reports next to the score.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Connections {
+        public long requests;
+        public long connects;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] body = JsonRegistry.writer().writeValueAsBytes(SyntheticCatalog.book(1));
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext(PATH, exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            exchange.getResponseHeaders().add(PORT_HEADER, String.valueOf(exchange.getRemoteAddress().getPort()));
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        RestAssuredConfig config = RestAssuredConfig.config();
+        if (pooled) {
+            httpClientFactory = new PooledHttpClientFactory(new ConnectionPoolConfig(50, 20, 30_000, 30_000));
+            config = config.httpClient(httpClientFactory.httpClientConfig());
+        }
+        requestSpec = new RequestSpecBuilder()
+                .setBaseUri("http://localhost:" + server.getAddress().getPort())
+                .setConfig(config)
+                .build();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetConnections() {
+        clientPorts.clear();
+        if (httpClientFactory != null) {
+            httpClientFactory.getConnectionManager().resetMetrics();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportPool() {
+        if (httpClientFactory != null) {
+            System.out.println("Connection pool metrics: " + httpClientFactory.getConnectionManager().metrics());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (httpClientFactory != null) {
+            httpClientFactory.close();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public String get(Connections connections) {
+        Response response = RestAssured.given(requestSpec).get(PATH);
+        String body = response.asString();
+        connections.requests++;
+        if (clientPorts.add(response.getHeader(PORT_HEADER))) {
+            connections.connects++;
+        }
+        return body;
+    }
+
+}
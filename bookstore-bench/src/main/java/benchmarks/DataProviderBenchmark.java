@@ -0,0 +1,84 @@
+package benchmarks;
+
+import data_providers.DataProviders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import serialization.JsonRegistry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of loading a data-driven test file through {@link DataProviders#getGenericDataProvider},
+ * using a temporary file of synthetic rows shaped like {@code create_books_test_data.json}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dlog.level=warn"})
+public class DataProviderBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    private DataProviders dataProviders;
+    private Path dataFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        dataProviders = new DataProviders();
+        List<Map<String, Object>> rows = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("testName", "Create book " + id);
+            row.put("expectedStatusCode", 200);
+            row.put("id", id);
+            row.put("title", "Book " + id);
+            row.put("description", "Description " + id);
+            row.put("pageCount", (int) (id % 1000));
+            row.put("excerpt", "Excerpt " + id);
+            row.put("publishDate", "2024-09-23T18:13:02.9706647+00:00");
+            rows.add(row);
+        }
+        dataFile = Files.createTempFile("books_test_data", ".json");
+        JsonRegistry.writer().writeValue(dataFile.toFile(), rows);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(dataFile);
+    }
+
+    @Benchmark
+    public Object[][] getGenericDataProvider() throws IOException {
+        return dataProviders.getGenericDataProvider(dataFile.toString(), row -> new Object[]{
+                row.get("testName"),
+                row.get("expectedStatusCode"),
+                ((Number) row.get("id")).longValue(),
+                row.get("title"),
+                row.get("description"),
+                ((Number) row.get("pageCount")).intValue(),
+                row.get("excerpt"),
+                row.get("publishDate")
+        });
+    }
+
+}
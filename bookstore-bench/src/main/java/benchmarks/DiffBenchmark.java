@@ -0,0 +1,99 @@
+package benchmarks;
+
+import models.responses.books.GetBooksResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import serialization.JsonRegistry;
+import utils.common.CommonUtils;
+import utils.common.EntityDiff;
+import utils.common.EntityFingerprints;
+import utils.common.StreamingDuplicateDetector;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@link CommonUtils} list comparisons on a catalog where the API dropped 1% of the
+ * expected books, changed another 1% and returned 0.1% twice.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dlog.level=warn"})
+public class DiffBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    private List<GetBooksResponse> expected;
+    private List<GetBooksResponse> actual;
+    private byte[] actualBody;
+
+    @Setup
+    public void setUp() throws IOException {
+        expected = SyntheticCatalog.books(size);
+        actual = new ArrayList<>(size);
+        for (GetBooksResponse book : expected) {
+            long id = book.getId();
+            if (id % 100 == 0) {
+                continue;
+            }
+            if (id % 100 == 50) {
+                GetBooksResponse changed = SyntheticCatalog.book(id);
+                changed.setTitle(changed.getTitle() + " (2nd edition)");
+                actual.add(changed);
+                continue;
+            }
+            actual.add(book);
+            if (id % 1000 == 1) {
+                actual.add(SyntheticCatalog.book(id));
+            }
+        }
+        actualBody = JsonRegistry.writer().writeValueAsBytes(actual);
+    }
+
+    @Benchmark
+    public List<GetBooksResponse> findMissingObjects() {
+        return CommonUtils.findMissingObjects(expected, actual);
+    }
+
+    @Benchmark
+    public List<GetBooksResponse> findDuplicateObjects() {
+        return CommonUtils.findDuplicateObjects(actual);
+    }
+
+    @Benchmark
+    public EntityDiff<GetBooksResponse> diffById() {
+        return CommonUtils.diffById(expected, actual, GetBooksResponse::getId);
+    }
+
+    @Benchmark
+    public EntityDiff<GetBooksResponse> diffByIdSequential() {
+        return EntityDiff.computeByLongId(expected, actual, GetBooksResponse::getId);
+    }
+
+    @Benchmark
+    public List<GetBooksResponse> findDuplicateIds() {
+        return CommonUtils.findDuplicateIds(actual, GetBooksResponse::getId);
+    }
+
+    @Benchmark
+    public StreamingDuplicateDetector.Result<GetBooksResponse> streamingDuplicates() throws IOException {
+        return StreamingDuplicateDetector.findDuplicates(() -> new ByteArrayInputStream(actualBody), GetBooksResponse.class, EntityFingerprints::book);
+    }
+
+}
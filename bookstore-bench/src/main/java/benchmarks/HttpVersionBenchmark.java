@@ -0,0 +1,93 @@
+package benchmarks;
+
+import client.BookstoreClient;
+import config.ApiContext;
+import models.requests.books.PostBookRequest;
+import models.responses.books.GetBooksResponse;
+import models.responses.books.PostBookResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency percentiles of the {@link BookstoreClient} over HTTP/1.1 and HTTP/2, for
+ * the GET and POST scenarios of {@code BooksTests}, against the local {@link BooksApiStub}.
+ * Sixteen threads keep sixteen requests in flight: over HTTP/1.1 the client opens a connection per
+ * request in flight, over HTTP/2 it multiplexes them over one connection.
+ * <p>
+ * Compare the {@code thrpt} scores and the {@code p0.99} lines of the {@code sample} results per
+ * {@code version}; {@code delayMs} emulates server processing time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(value = 1, jvmArgsAppend = {"-Dlog.level=warn"})
+public class HttpVersionBenchmark {
+
+    private static final int CATALOG_SIZE = 200;
+
+    @Param({"HTTP_1_1", "HTTP_2"})
+    public HttpClient.Version version;
+
+    @Param({"0", "10"})
+    public long delayMs;
+
+    private BooksApiStub stub;
+    private BookstoreClient client;
+    private PostBookRequest bookRequest;
+
+    @Setup
+    public void setUp() throws Exception {
+        stub = new BooksApiStub(CATALOG_SIZE, delayMs);
+        ApiContext context = new ApiContext("bench", "v1", stub.getBaseUrl(), "/api/v1/Authors", BooksApiStub.BOOKS_ENDPOINT, 1000, Long.MAX_VALUE);
+        client = new BookstoreClient(context, version);
+        bookRequest = SyntheticCatalog.bookRequest(CATALOG_SIZE + 1);
+
+        // The first request upgrades to h2c; check the transport before measuring it.
+        HttpResponse<byte[]> response = client.send("GET", BooksApiStub.BOOKS_ENDPOINT + "/1", null).join();
+        if (response.version() != version) {
+            throw new IllegalStateException("Stub answered over " + response.version() + " instead of " + version);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        client.close();
+        stub.close();
+    }
+
+    @Benchmark
+    public GetBooksResponse getBook() {
+        return client.getBook(ThreadLocalRandom.current().nextLong(1, CATALOG_SIZE + 1)).join();
+    }
+
+    @Benchmark
+    public List<GetBooksResponse> listBooks() {
+        return client.listBooks().join();
+    }
+
+    @Benchmark
+    public PostBookResponse createBook() {
+        return client.createBook(bookRequest).join();
+    }
+
+}
@@ -0,0 +1,78 @@
+package benchmarks;
+
+import io.restassured.response.Response;
+import models.responses.authors.GetAuthorsResponse;
+import models.responses.books.GetBooksResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import serialization.JsonRegistry;
+import utils.common.JsonUtils;
+import utils.common.ResponseSnapshot;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and serialization cost of GET /Books and GET /Authors responses through {@link JsonUtils}.
+ * Every invocation takes a new snapshot of the response, so nothing is served from its parse cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dlog.level=warn"})
+public class JsonBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    private List<GetBooksResponse> books;
+    private Response response;
+    private Response authorsResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        JsonRegistry.warmUp();
+        books = SyntheticCatalog.books(size);
+        response = SyntheticCatalog.response(JsonRegistry.writer().writeValueAsBytes(books));
+        authorsResponse = SyntheticCatalog.response(JsonRegistry.writer().writeValueAsBytes(SyntheticCatalog.authors(size)));
+    }
+
+    @Benchmark
+    public List<GetBooksResponse> parseList() throws IOException {
+        return JsonUtils.parseJsonResponseList(ResponseSnapshot.of(response), GetBooksResponse.class);
+    }
+
+    @Benchmark
+    public List<GetAuthorsResponse> parseAuthorList() throws IOException {
+        return JsonUtils.parseJsonResponseList(ResponseSnapshot.of(authorsResponse), GetAuthorsResponse.class);
+    }
+
+    @Benchmark
+    public long streamList(Blackhole blackhole) throws IOException {
+        return JsonUtils.streamJsonResponseList(ResponseSnapshot.of(response), GetBooksResponse.class, blackhole::consume);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws IOException {
+        return JsonRegistry.writer().writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public String prettyPrint() {
+        return JsonUtils.printPrettyJson(ResponseSnapshot.of(response));
+    }
+
+}
@@ -0,0 +1,126 @@
+package benchmarks;
+
+import models.responses.books.GetBooksResponse;
+import utils.common.LongEntityIndex;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Compares the heap retained, bytes allocated and time spent to index and look up synthetic books
+ * in {@code HashSet<GetBooksResponse>}, {@code HashMap<Long, GetBooksResponse>} and
+ * {@link LongEntityIndex}. Run it directly, optionally with the entity count as the first argument:
+ * {@code java -cp target/benchmarks.jar benchmarks.LongEntityIndexBenchmark 1000000}.
+ */
+public class LongEntityIndexBenchmark {
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<GetBooksResponse> books = syntheticBooks(size);
+
+        System.out.printf("Indexing %,d books, best of %d rounds%n", size, ROUNDS);
+        System.out.printf("%-34s %14s %16s %12s %12s%n", "structure", "retained bytes", "allocated bytes", "build ms", "lookup ms");
+
+        run("HashSet<GetBooksResponse>", () -> {
+            Set<GetBooksResponse> set = new HashSet<>();
+            books.forEach(set::add);
+            return set;
+        }, index -> {
+            @SuppressWarnings("unchecked")
+            Set<GetBooksResponse> set = (Set<GetBooksResponse>) index;
+            long hits = 0;
+            for (GetBooksResponse book : books) {
+                hits += set.contains(book) ? 1 : 0;
+            }
+            return hits;
+        });
+
+        run("HashMap<Long, GetBooksResponse>", () -> {
+            Map<Long, GetBooksResponse> map = new HashMap<>();
+            books.forEach(book -> map.put(book.getId(), book));
+            return map;
+        }, index -> {
+            @SuppressWarnings("unchecked")
+            Map<Long, GetBooksResponse> map = (Map<Long, GetBooksResponse>) index;
+            long hits = 0;
+            for (GetBooksResponse book : books) {
+                hits += map.get(book.getId()) != null ? 1 : 0;
+            }
+            return hits;
+        });
+
+        run("LongEntityIndex<GetBooksResponse>", () -> {
+            LongEntityIndex<GetBooksResponse> longIndex = new LongEntityIndex<>(books.size());
+            books.forEach(book -> longIndex.put(book.getId(), book));
+            return longIndex;
+        }, index -> {
+            @SuppressWarnings("unchecked")
+            LongEntityIndex<GetBooksResponse> longIndex = (LongEntityIndex<GetBooksResponse>) index;
+            long hits = 0;
+            for (GetBooksResponse book : books) {
+                hits += longIndex.get(book.getId()) != null ? 1 : 0;
+            }
+            return hits;
+        });
+    }
+
+    private static void run(String name, Supplier<Object> build, ToLongFunction<Object> lookup) {
+        long bestBuild = Long.MAX_VALUE;
+        long bestLookup = Long.MAX_VALUE;
+        long retained = 0;
+        long allocated = 0;
+        long threadId = Thread.currentThread().threadId();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long heapBefore = usedHeapAfterGc();
+            long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            Object index = build.get();
+            long built = System.nanoTime();
+            allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+            long hits = lookup.applyAsLong(index);
+            long looked = System.nanoTime();
+            if (hits == 0) {
+                throw new IllegalStateException("Lookup found no entities in " + name);
+            }
+
+            retained = usedHeapAfterGc() - heapBefore;
+            bestBuild = Math.min(bestBuild, built - start);
+            bestLookup = Math.min(bestLookup, looked - built);
+            Reference.reachabilityFence(index);
+        }
+
+        System.out.printf("%-34s %,14d %,16d %12.1f %12.1f%n", name, retained, allocated, bestBuild / 1e6, bestLookup / 1e6);
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+
+    private static List<GetBooksResponse> syntheticBooks(int size) {
+        List<GetBooksResponse> books = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            books.add(new GetBooksResponse(id, "Book " + id, "Description", 100, "Excerpt", "2024-09-23T18:13:02.9706647+00:00"));
+        }
+        return books;
+    }
+
+}
@@ -0,0 +1,88 @@
+package benchmarks;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import models.requests.books.PostBookRequest;
+import models.responses.authors.GetAuthorsResponse;
+import models.responses.books.GetBooksResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic synthetic catalogs shaped like the fake REST API's books and authors, so the
+ * benchmarks run fully offline and every run sees the same data.
+ */
+public class SyntheticCatalog {
+
+    private static final String PUBLISH_DATE = "2024-09-23T18:13:02.9706647+00:00";
+
+    private SyntheticCatalog() {
+    }
+
+    /**
+     * Creates books with IDs 1..size, with description and excerpt lengths close to the real API's.
+     *
+     * @param size the number of books.
+     * @return the list of books.
+     */
+    public static List<GetBooksResponse> books(int size) {
+        List<GetBooksResponse> books = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            books.add(book(id));
+        }
+        return books;
+    }
+
+    /**
+     * Creates the book with the given ID.
+     *
+     * @param id the book ID.
+     * @return the book.
+     */
+    public static GetBooksResponse book(long id) {
+        return new GetBooksResponse(id, "Book " + id, "Lorem ipsum dolor sit amet " + id, (int) (id % 1000) * 10,
+                "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor " + id, PUBLISH_DATE);
+    }
+
+    /**
+     * Creates the request that would have created the book with the given ID.
+     *
+     * @param id the book ID.
+     * @return the book request.
+     */
+    public static PostBookRequest bookRequest(long id) {
+        GetBooksResponse book = book(id);
+        return new PostBookRequest(book.getId(), book.getTitle(), book.getDescription(), book.getPageCount(), book.getExcerpt(), book.getPublishDate());
+    }
+
+    /**
+     * Creates authors with IDs 1..size, roughly three per book.
+     *
+     * @param size the number of authors.
+     * @return the list of authors.
+     */
+    public static List<GetAuthorsResponse> authors(int size) {
+        List<GetAuthorsResponse> authors = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            authors.add(new GetAuthorsResponse(id, (id + 2) / 3, "First Name " + id, "Last Name " + id));
+        }
+        return authors;
+    }
+
+    /**
+     * Builds a RestAssured response with a JSON body as if it had been returned by the API.
+     * Building it is expensive, so benchmarks build it once and take a new snapshot of it per invocation.
+     *
+     * @param body the JSON body.
+     * @return a 200 response with the given body.
+     */
+    public static Response response(byte[] body) {
+        return new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType("application/json; charset=utf-8")
+                .setBody(body)
+                .build();
+    }
+
+}
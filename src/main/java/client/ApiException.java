@@ -0,0 +1,59 @@
+package client;
+
+/**
+ * Thrown (as the cause of a failed future) when the API answers a {@link BookstoreClient} call with
+ * a status code outside 2xx. Carries the status code and the raw body, so callers can still
+ * deserialize error responses such as {@code BadRequestResponse}.
+ */
+public class ApiException extends RuntimeException {
+
+    private final String method;
+    private final String uri;
+    private final int statusCode;
+    private final String body;
+
+    public ApiException(String method, String uri, int statusCode, String body) {
+        super(method + " " + uri + " returned status code " + statusCode);
+        this.method = method;
+        this.uri = uri;
+        this.statusCode = statusCode;
+        this.body = body;
+    }
+
+    /**
+     * Gets the HTTP method of the failed request.
+     *
+     * @return the HTTP method, e.g. {@code GET}.
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Gets the URI of the failed request.
+     *
+     * @return the request URI.
+     */
+    public String getUri() {
+        return uri;
+    }
+
+    /**
+     * Gets the status code of the response.
+     *
+     * @return the HTTP status code.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Gets the body of the response.
+     *
+     * @return the response body, empty if the response had none.
+     */
+    public String getBody() {
+        return body;
+    }
+
+}
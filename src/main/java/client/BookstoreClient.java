@@ -0,0 +1,406 @@
+package client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import config.ApiContext;
+import models.requests.authors.PostAuthorRequest;
+import models.requests.authors.PutAuthorRequest;
+import models.requests.books.PostBookRequest;
+import models.requests.books.PutBookRequest;
+import models.responses.authors.GetAuthorsResponse;
+import models.responses.authors.PostAuthorResponse;
+import models.responses.authors.PutAuthorResponse;
+import models.responses.books.GetBooksResponse;
+import models.responses.books.PostBookResponse;
+import models.responses.books.PutBookResponse;
+import serialization.JsonRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Typed, non-blocking client of the Books and Authors endpoints, built on the JDK's
+ * {@link HttpClient}. Every call returns immediately with a {@link CompletableFuture} of the
+ * existing response models; a waiting request holds no thread, so a few threads can keep thousands
+ * of requests in flight.
+ * <p>
+ * Responses with a status code outside 2xx complete the future exceptionally with an
+ * {@link ApiException}. Bodies are read and written with the shared {@link JsonRegistry} readers
+ * and writers. The client is thread-safe and meant to be shared; close it to release its connections.
+ * <p>
+ * Unless an {@link HttpClient} is passed in, responses are handled on a small fixed pool of daemon
+ * threads, one per processor, instead of the JDK's default cached pool, which grows with the
+ * number of requests in flight.
+ * <p>
+ * With {@link HttpClient.Version#HTTP_2} concurrent requests to a host are multiplexed over one
+ * connection: negotiated with ALPN for {@code https} URLs, and with an {@code h2c} upgrade on the
+ * first request for {@code http} URLs. Servers without HTTP/2 support are answered over HTTP/1.1.
+ * <p>
+ * With compression enabled the client sends {@code Accept-Encoding: gzip, deflate} and decodes
+ * compressed bodies while they are received. Either way the wire size, decoded size and decode
+ * time of every body are recorded per endpoint in {@link #getTransferMetrics()}, the latency of
+ * every response in {@link #getLatencyHistograms()}, and the errors and largest body of every
+ * endpoint in {@link #getExchangeMetrics()}.
+ * <p>
+ * {@code GET} requests are idempotent and hedged by the client's {@link HedgingPolicy}, if enabled:
+ * a slow request is sent a second time and the first response wins.
+ */
+public class BookstoreClient implements AutoCloseable {
+
+    private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String JSON = "application/json; charset=utf-8";
+
+    private final ApiContext context;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final boolean compression;
+    private final ExecutorService ownedExecutor;
+    private final HedgingPolicy hedging;
+    private final TransferMetrics transferMetrics = new TransferMetrics();
+    private final LatencyHistograms latencyHistograms = new LatencyHistograms();
+    private final ExchangeMetrics exchangeMetrics = new ExchangeMetrics();
+
+    public BookstoreClient(ApiContext context, HttpClient httpClient, Duration requestTimeout, boolean compression, HedgingPolicy hedging) {
+        this(context, httpClient, requestTimeout, compression, hedging, null);
+    }
+
+    public BookstoreClient(ApiContext context, HttpClient httpClient, Duration requestTimeout, boolean compression) {
+        this(context, httpClient, requestTimeout, compression, HedgingPolicy.disabled());
+    }
+
+    public BookstoreClient(ApiContext context, HttpClient httpClient, Duration requestTimeout) {
+        this(context, httpClient, requestTimeout, false);
+    }
+
+    public BookstoreClient(ApiContext context, HttpClient.Version version, boolean compression, HedgingPolicy hedging) {
+        this(context, version, compression, hedging, newExecutor());
+    }
+
+    public BookstoreClient(ApiContext context, HttpClient.Version version, boolean compression) {
+        this(context, version, compression, HedgingPolicy.disabled());
+    }
+
+    public BookstoreClient(ApiContext context, HttpClient.Version version) {
+        this(context, version, false);
+    }
+
+    public BookstoreClient(ApiContext context) {
+        this(context, HttpClient.Version.HTTP_1_1);
+    }
+
+    private BookstoreClient(ApiContext context, HttpClient.Version version, boolean compression, HedgingPolicy hedging, ExecutorService executor) {
+        this(context, HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(Duration.ofSeconds(10))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
+                .build(), DEFAULT_REQUEST_TIMEOUT, compression, hedging, executor);
+    }
+
+    private BookstoreClient(ApiContext context, HttpClient httpClient, Duration requestTimeout, boolean compression,
+                            HedgingPolicy hedging, ExecutorService ownedExecutor) {
+        this.context = context;
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+        this.compression = compression;
+        this.hedging = hedging;
+        this.ownedExecutor = ownedExecutor;
+    }
+
+    /**
+     * Creates the fixed pool of daemon threads that handles responses of a default client.
+     */
+    private static ExecutorService newExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+            Thread thread = new Thread(runnable, "bookstore-client-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Retrieves all books.
+     *
+     * @return a future of the list of books.
+     */
+    public CompletableFuture<List<GetBooksResponse>> listBooks() {
+        return sendForList("GET", context.getBooksEndpoint(), null, GetBooksResponse.class);
+    }
+
+    /**
+     * Retrieves a single book.
+     *
+     * @param id the ID of the book.
+     * @return a future of the book.
+     */
+    public CompletableFuture<GetBooksResponse> getBook(long id) {
+        return sendForObject("GET", context.getBooksEndpoint() + "/" + id, null, GetBooksResponse.class);
+    }
+
+    /**
+     * Creates a book.
+     *
+     * @param request the book to create.
+     * @return a future of the created book as returned by the API.
+     */
+    public CompletableFuture<PostBookResponse> createBook(PostBookRequest request) {
+        return sendForObject("POST", context.getBooksEndpoint(), request, PostBookResponse.class);
+    }
+
+    /**
+     * Updates a book.
+     *
+     * @param id      the ID of the book.
+     * @param request the new state of the book.
+     * @return a future of the updated book as returned by the API.
+     */
+    public CompletableFuture<PutBookResponse> updateBook(long id, PutBookRequest request) {
+        return sendForObject("PUT", context.getBooksEndpoint() + "/" + id, request, PutBookResponse.class);
+    }
+
+    /**
+     * Deletes a book.
+     *
+     * @param id the ID of the book.
+     * @return a future that completes when the book is deleted.
+     */
+    public CompletableFuture<Void> deleteBook(long id) {
+        return exchange("DELETE", context.getBooksEndpoint() + "/" + id, null).thenApply(response -> null);
+    }
+
+    /**
+     * Retrieves all authors.
+     *
+     * @return a future of the list of authors.
+     */
+    public CompletableFuture<List<GetAuthorsResponse>> listAuthors() {
+        return sendForList("GET", context.getAuthorsEndpoint(), null, GetAuthorsResponse.class);
+    }
+
+    /**
+     * Retrieves a single author.
+     *
+     * @param id the ID of the author.
+     * @return a future of the author.
+     */
+    public CompletableFuture<GetAuthorsResponse> getAuthor(long id) {
+        return sendForObject("GET", context.getAuthorsEndpoint() + "/" + id, null, GetAuthorsResponse.class);
+    }
+
+    /**
+     * Retrieves the authors of a book.
+     *
+     * @param bookId the ID of the book.
+     * @return a future of the list of the book's authors.
+     */
+    public CompletableFuture<List<GetAuthorsResponse>> listAuthorsOfBook(long bookId) {
+        return sendForList("GET", context.getAuthorsEndpoint() + "/authors/books/" + bookId, null, GetAuthorsResponse.class);
+    }
+
+    /**
+     * Creates an author.
+     *
+     * @param request the author to create.
+     * @return a future of the created author as returned by the API.
+     */
+    public CompletableFuture<PostAuthorResponse> createAuthor(PostAuthorRequest request) {
+        return sendForObject("POST", context.getAuthorsEndpoint(), request, PostAuthorResponse.class);
+    }
+
+    /**
+     * Updates an author.
+     *
+     * @param id      the ID of the author.
+     * @param request the new state of the author.
+     * @return a future of the updated author as returned by the API.
+     */
+    public CompletableFuture<PutAuthorResponse> updateAuthor(long id, PutAuthorRequest request) {
+        return sendForObject("PUT", context.getAuthorsEndpoint() + "/" + id, request, PutAuthorResponse.class);
+    }
+
+    /**
+     * Deletes an author.
+     *
+     * @param id the ID of the author.
+     * @return a future that completes when the author is deleted.
+     */
+    public CompletableFuture<Void> deleteAuthor(long id) {
+        return exchange("DELETE", context.getAuthorsEndpoint() + "/" + id, null).thenApply(response -> null);
+    }
+
+    /**
+     * Sends a request and completes with the raw response, whatever its status code. Intended for
+     * negative tests and load scenarios that inspect status codes themselves. The body is already
+     * decoded if the server compressed it. {@code GET} requests are hedged according to the
+     * client's {@link HedgingPolicy}.
+     *
+     * @param method the HTTP method.
+     * @param path   the path relative to the base URL, e.g. {@code /api/v1/Books/1}.
+     * @param body   the request body serialized as JSON, or null to send none.
+     * @return a future of the response with the body as bytes.
+     */
+    public CompletableFuture<HttpResponse<byte[]>> send(String method, String path, Object body) {
+        HttpRequest request;
+        try {
+            request = buildRequest(method, path, body);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        String endpoint = TransferMetrics.endpointKey(method, path);
+        HttpResponse.BodyHandler<byte[]> handler = DecodingBodySubscriber.handler(transferMetrics, endpoint);
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<byte[]>> response = "GET".equals(method)
+                ? hedging.execute(endpoint, () -> httpClient.sendAsync(request, handler))
+                : httpClient.sendAsync(request, handler);
+        return response.whenComplete((received, failure) -> {
+            if (failure == null) {
+                latencyHistograms.record(endpoint, System.nanoTime() - start);
+                exchangeMetrics.record(endpoint, received.statusCode(), received.body().length);
+            } else {
+                exchangeMetrics.recordFailure(endpoint);
+            }
+        });
+    }
+
+    /**
+     * Gets the preferred HTTP version of the client.
+     *
+     * @return the HTTP version.
+     */
+    public HttpClient.Version getHttpVersion() {
+        return httpClient.version();
+    }
+
+    /**
+     * Checks whether the client negotiates compressed responses.
+     *
+     * @return true if the client sends {@code Accept-Encoding: gzip, deflate}.
+     */
+    public boolean isCompressionEnabled() {
+        return compression;
+    }
+
+    /**
+     * Gets the per-endpoint wire and decoded sizes of the bodies received so far.
+     *
+     * @return the transfer metrics of the client.
+     */
+    public TransferMetrics getTransferMetrics() {
+        return transferMetrics;
+    }
+
+    /**
+     * Gets the per-endpoint latency distributions of the responses received so far. Hedged reads
+     * are recorded once, from the first request to the winning response.
+     *
+     * @return the latency histograms of the client.
+     */
+    public LatencyHistograms getLatencyHistograms() {
+        return latencyHistograms;
+    }
+
+    /**
+     * Gets the per-endpoint errors and largest bodies of the requests sent so far.
+     *
+     * @return the exchange metrics of the client.
+     */
+    public ExchangeMetrics getExchangeMetrics() {
+        return exchangeMetrics;
+    }
+
+    /**
+     * Gets the hedging policy of the client's {@code GET} requests, with its per-endpoint counts.
+     *
+     * @return the hedging policy.
+     */
+    public HedgingPolicy getHedging() {
+        return hedging;
+    }
+
+    /**
+     * Gets the API context the client sends requests to.
+     *
+     * @return the API context.
+     */
+    public ApiContext getContext() {
+        return context;
+    }
+
+    /**
+     * Closes the underlying HTTP client, waiting for requests in flight to complete, and stops the
+     * response threads the client created itself.
+     */
+    @Override
+    public void close() {
+        httpClient.close();
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Sends a request and fails the future with an {@link ApiException} for a status code outside 2xx.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> exchange(String method, String path, Object body) {
+        return send(method, path, body).thenApply(response -> {
+            int status = response.statusCode();
+            if (status < 200 || status >= 300) {
+                throw new ApiException(method, response.uri().toString(), status, new String(response.body(), StandardCharsets.UTF_8));
+            }
+            return response;
+        });
+    }
+
+    private <T> CompletableFuture<T> sendForObject(String method, String path, Object body, Class<T> type) {
+        return exchange(method, path, body).thenApply(response -> read(response, type, false));
+    }
+
+    private <T> CompletableFuture<List<T>> sendForList(String method, String path, Object body, Class<T> type) {
+        return exchange(method, path, body).thenApply(response -> read(response, type, true));
+    }
+
+    /**
+     * Deserializes the body of a successful response into a single object or a list of the type.
+     */
+    private static <R> R read(HttpResponse<byte[]> response, Class<?> type, boolean list) {
+        try {
+            return list
+                    ? JsonRegistry.listReader(type).readValue(response.body())
+                    : JsonRegistry.objectReader(type).readValue(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + type.getSimpleName() + " from " + response.uri(), e);
+        }
+    }
+
+    private HttpRequest buildRequest(String method, String path, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(context.getBaseUrl() + path))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json");
+        if (compression) {
+            builder.header("Accept-Encoding", "gzip, deflate");
+        }
+        if (body == null) {
+            return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        try {
+            byte[] json = JsonRegistry.objectWriter(body.getClass()).writeValueAsBytes(body);
+            return builder.header("Content-Type", JSON)
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(json))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to serialize " + body.getClass().getSimpleName(), e);
+        }
+    }
+
+}
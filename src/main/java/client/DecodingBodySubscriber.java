@@ -0,0 +1,123 @@
+package client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * Body subscriber that decodes a {@code gzip} or {@code deflate} body chunk by chunk while it is
+ * received and records the wire size, decoded size and decode time in {@link TransferMetrics}.
+ * Bodies without a Content-Encoding are collected as they are and recorded the same way.
+ */
+class DecodingBodySubscriber implements HttpResponse.BodySubscriber<byte[]> {
+
+    private final CompletableFuture<byte[]> body = new CompletableFuture<>();
+    private final ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+    private final StreamingDecoder decoder;
+    private final TransferMetrics metrics;
+    private final String endpoint;
+    private Flow.Subscription subscription;
+    private long wireBytes;
+    private long decodeNanos;
+
+    private DecodingBodySubscriber(StreamingDecoder decoder, TransferMetrics metrics, String endpoint) {
+        this.decoder = decoder;
+        this.metrics = metrics;
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Creates a body handler that decodes bodies according to their Content-Encoding header.
+     *
+     * @param metrics  the metrics to record the transfer in.
+     * @param endpoint the endpoint key of the request.
+     * @return the body handler.
+     */
+    static HttpResponse.BodyHandler<byte[]> handler(TransferMetrics metrics, String endpoint) {
+        return responseInfo -> {
+            String encoding = responseInfo.headers().firstValue("Content-Encoding").orElse("identity");
+            try {
+                return new DecodingBodySubscriber(StreamingDecoder.forEncoding(encoding), metrics, endpoint);
+            } catch (IllegalArgumentException e) {
+                DecodingBodySubscriber subscriber = new DecodingBodySubscriber(null, metrics, endpoint);
+                subscriber.body.completeExceptionally(new IOException(e.getMessage(), e));
+                return subscriber;
+            }
+        };
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        if (body.isDone()) {
+            subscription.cancel();
+            return;
+        }
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> items) {
+        if (body.isDone()) {
+            return;
+        }
+        try {
+            for (ByteBuffer item : items) {
+                wireBytes += item.remaining();
+                if (decoder == null) {
+                    decoded.write(StreamingDecoder.toArray(item));
+                } else {
+                    long start = System.nanoTime();
+                    decoder.feed(item, decoded);
+                    decodeNanos += System.nanoTime() - start;
+                }
+            }
+        } catch (IOException e) {
+            fail(e);
+            subscription.cancel();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        fail(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (body.isDone()) {
+            return;
+        }
+        try {
+            if (decoder != null) {
+                if (wireBytes > 0) {
+                    decoder.finish();
+                }
+                decoder.close();
+            }
+        } catch (IOException e) {
+            fail(e);
+            return;
+        }
+        metrics.record(endpoint, wireBytes, decoded.size(), decodeNanos);
+        body.complete(decoded.toByteArray());
+    }
+
+    @Override
+    public CompletionStage<byte[]> getBody() {
+        return body;
+    }
+
+    private void fail(Throwable throwable) {
+        if (decoder != null) {
+            decoder.close();
+        }
+        body.completeExceptionally(throwable);
+    }
+
+}
@@ -0,0 +1,121 @@
+package client;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint outcome of every request sent: the number of exchanges, how many of them failed and
+ * the largest response body. A request fails if it gets no response or a server error (5xx);
+ * client errors (4xx) are expected answers of negative tests. Endpoints are keyed like
+ * {@link TransferMetrics#endpointKey(String, String)}. Thread-safe.
+ */
+public class ExchangeMetrics {
+
+    private final ConcurrentMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * A point-in-time view of one endpoint's exchanges.
+     *
+     * @param endpoint     the endpoint key, e.g. {@code GET /api/v1/Books}.
+     * @param exchanges    the number of requests sent.
+     * @param errors       the number of requests without a response or with a server error.
+     * @param maxBodyBytes the largest response body received.
+     */
+    public record Snapshot(String endpoint, long exchanges, long errors, long maxBodyBytes) {
+
+        /**
+         * Gets the share of failed requests.
+         *
+         * @return the error rate between 0 and 1, 0 if no requests were sent.
+         */
+        public double errorRate() {
+            return exchanges == 0 ? 0 : (double) errors / exchanges;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: exchanges=%d, errors=%d (%.2f%%), max body=%d B", endpoint, exchanges, errors, errorRate() * 100, maxBodyBytes);
+        }
+    }
+
+    /**
+     * Records a received response.
+     *
+     * @param endpoint  the endpoint key, see {@link TransferMetrics#endpointKey(String, String)}.
+     * @param status    the status code of the response.
+     * @param bodyBytes the size of the response body.
+     */
+    public void record(String endpoint, int status, long bodyBytes) {
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointStats()).record(1, status >= 500 ? 1 : 0, bodyBytes);
+    }
+
+    /**
+     * Records a request that got no response, e.g. because of a connection failure or timeout.
+     *
+     * @param endpoint the endpoint key, see {@link TransferMetrics#endpointKey(String, String)}.
+     */
+    public void recordFailure(String endpoint) {
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointStats()).record(1, 1, 0);
+    }
+
+    /**
+     * Adds every exchange recorded by another instance, e.g. a client's, to this one.
+     *
+     * @param other the exchanges to add.
+     */
+    public void add(ExchangeMetrics other) {
+        other.endpoints.forEach((endpoint, stats) -> {
+            Snapshot snapshot = stats.snapshot(endpoint);
+            endpoints.computeIfAbsent(endpoint, key -> new EndpointStats()).record(snapshot.exchanges(), snapshot.errors(), snapshot.maxBodyBytes());
+        });
+    }
+
+    /**
+     * Gets the exchanges of one endpoint.
+     *
+     * @param endpoint the endpoint key, see {@link TransferMetrics#endpointKey(String, String)}.
+     * @return the snapshot, with all counters 0 if the endpoint was not called.
+     */
+    public Snapshot get(String endpoint) {
+        EndpointStats stats = endpoints.get(endpoint);
+        return stats == null ? new Snapshot(endpoint, 0, 0, 0) : stats.snapshot(endpoint);
+    }
+
+    /**
+     * Gets the exchanges of all called endpoints.
+     *
+     * @return the snapshots by endpoint key, sorted by key.
+     */
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> snapshots = new TreeMap<>();
+        endpoints.forEach((endpoint, stats) -> snapshots.put(endpoint, stats.snapshot(endpoint)));
+        return snapshots;
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().values().toString();
+    }
+
+    private static final class EndpointStats {
+
+        private final LongAdder exchanges = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAccumulator maxBodyBytes = new LongAccumulator(Math::max, 0);
+
+        void record(long count, long failed, long bodyBytes) {
+            exchanges.add(count);
+            errors.add(failed);
+            maxBodyBytes.accumulate(bodyBytes);
+        }
+
+        Snapshot snapshot(String endpoint) {
+            return new Snapshot(endpoint, exchanges.sum(), errors.sum(), maxBodyBytes.get());
+        }
+    }
+
+}
@@ -0,0 +1,247 @@
+package client;
+
+import config.HedgingConfig;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Hedges idempotent reads: when a request has not answered within the configured percentile of its
+ * endpoint's recent latencies, a duplicate is sent, the first response wins and the other attempt
+ * is cancelled, unless the configuration lets it run to completion. At most one hedge is sent per
+ * request, so at the 95th percentile about 5% more requests reach the server. A failed attempt
+ * does not fail the request while the other one is still running.
+ * <p>
+ * Every request, hedge and hedge win is counted per endpoint, together with the latency percentiles
+ * with hedging and without it. The latency without hedging is that of the first attempt. When a
+ * hedge won and the first attempt was cancelled, its latency counts as the time it was cancelled
+ * at, so the percentiles without hedging are lower bounds; they are exact if losers are not
+ * cancelled. Endpoints are keyed like {@link TransferMetrics#endpointKey(String, String)}.
+ * Thread-safe and meant to be shared.
+ */
+public class HedgingPolicy {
+
+    private static final int DELAY_WINDOW = 256;
+    private static final int REPORT_WINDOW = 4096;
+
+    private final HedgingConfig config;
+    private final ConcurrentMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    public HedgingPolicy(HedgingConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Creates a policy that never hedges.
+     *
+     * @return the disabled policy.
+     */
+    public static HedgingPolicy disabled() {
+        return new HedgingPolicy(HedgingConfig.disabled());
+    }
+
+    /**
+     * A point-in-time view of one endpoint's hedged requests, over its most recent requests.
+     *
+     * @param endpoint          the endpoint key, e.g. {@code GET /api/v1/Books/{id}}.
+     * @param requests          the number of requests.
+     * @param hedges            the number of hedges sent.
+     * @param hedgeWins         the number of requests answered by the hedge.
+     * @param p50Millis         the median latency with hedging.
+     * @param p99Millis         the 99th percentile latency with hedging.
+     * @param unhedgedP50Millis the median latency of the first attempts.
+     * @param unhedgedP99Millis the 99th percentile latency of the first attempts.
+     * @param cancelled         the number of first attempts cancelled before they answered; if
+     *                          not 0, the latencies without hedging are lower bounds.
+     */
+    public record Snapshot(String endpoint, long requests, long hedges, long hedgeWins,
+                           double p50Millis, double p99Millis, double unhedgedP50Millis, double unhedgedP99Millis,
+                           long cancelled) {
+
+        /**
+         * Gets the share of requests that were hedged.
+         *
+         * @return the hedge rate between 0 and 1, 0 if there were no requests.
+         */
+        public double hedgeRate() {
+            return requests == 0 ? 0 : (double) hedges / requests;
+        }
+
+        @Override
+        public String toString() {
+            String bound = cancelled == 0 ? "=" : ">=";
+            return String.format("%s: requests=%d, hedges=%d (%.1f%%), hedge wins=%d, p50=%.1f ms, p99=%.1f ms, unhedged p50%s%.1f ms, unhedged p99%s%.1f ms",
+                    endpoint, requests, hedges, hedgeRate() * 100, hedgeWins, p50Millis, p99Millis, bound, unhedgedP50Millis, bound, unhedgedP99Millis);
+        }
+    }
+
+    /**
+     * Executes an idempotent request, sending a hedge if it is slow and hedging is enabled.
+     *
+     * @param endpoint the endpoint key of the request.
+     * @param attempt  starts one attempt of the request; called once or twice.
+     * @param <T>      the type of the response.
+     * @return a future of the first successful response, or of the last failure if all attempts failed.
+     */
+    public <T> CompletableFuture<T> execute(String endpoint, Supplier<CompletableFuture<T>> attempt) {
+        if (!config.isEnabled()) {
+            return attempt.get();
+        }
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, key -> new EndpointStats());
+        stats.requests.increment();
+        long delayMillis = stats.delayMillis();
+        long start = System.nanoTime();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger running = new AtomicInteger(1);
+
+        CompletableFuture<T> primary = start(attempt);
+        primary.whenComplete((value, error) -> {
+            long nanos = System.nanoTime() - start;
+            if (error == null) {
+                stats.attempts.add(nanos);
+                if (result.complete(value)) {
+                    stats.effective.add(nanos);
+                    stats.unhedged.add(nanos);
+                } else if (!config.isCancelLoser()) {
+                    stats.unhedged.add(nanos);
+                }
+            } else if (running.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        });
+        if (config.isCancelLoser()) {
+            result.whenComplete((value, error) -> primary.cancel(true));
+        }
+        // Attempts start asynchronously, so the hedge is started on the JDK's delay thread itself.
+        CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS, Runnable::run).execute(() -> {
+            // Only hedge while the first attempt is still running.
+            if (result.isDone() || running.getAndUpdate(count -> count == 0 ? 0 : count + 1) == 0) {
+                return;
+            }
+            stats.hedges.increment();
+            long hedgeStart = System.nanoTime();
+            CompletableFuture<T> hedge = start(attempt);
+            hedge.whenComplete((value, error) -> {
+                long now = System.nanoTime();
+                if (error == null) {
+                    stats.attempts.add(now - hedgeStart);
+                    if (result.complete(value)) {
+                        stats.hedgeWins.increment();
+                        stats.effective.add(now - start);
+                        if (config.isCancelLoser()) {
+                            stats.cancelled.increment();
+                            stats.unhedged.add(now - start);
+                        }
+                    }
+                } else if (running.decrementAndGet() == 0) {
+                    result.completeExceptionally(error);
+                }
+            });
+            if (config.isCancelLoser()) {
+                result.whenComplete((value, error) -> hedge.cancel(true));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Starts an attempt, turning an exception thrown while starting it into a failed future.
+     */
+    private static <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> attempt) {
+        try {
+            return attempt.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Checks whether the policy hedges requests.
+     *
+     * @return true if hedging is enabled.
+     */
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Gets the settings of the policy.
+     *
+     * @return the hedging settings.
+     */
+    public HedgingConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Gets the current hedge delay of an endpoint: the configured percentile of its recent
+     * latencies, but not less than the minimum delay, or the initial delay until enough latencies
+     * were observed.
+     *
+     * @param endpoint the endpoint key.
+     * @return the delay in milliseconds.
+     */
+    public long getDelayMillis(String endpoint) {
+        EndpointStats stats = endpoints.get(endpoint);
+        return stats == null ? config.getInitialDelayMillis() : stats.delayMillis();
+    }
+
+    /**
+     * Gets the hedged requests of one endpoint.
+     *
+     * @param endpoint the endpoint key.
+     * @return the snapshot, with all counters 0 if the endpoint was not called.
+     */
+    public Snapshot get(String endpoint) {
+        EndpointStats stats = endpoints.get(endpoint);
+        return stats == null ? new Snapshot(endpoint, 0, 0, 0, 0, 0, 0, 0, 0) : stats.snapshot(endpoint);
+    }
+
+    /**
+     * Gets the hedged requests of all called endpoints.
+     *
+     * @return the snapshots by endpoint key, sorted by key.
+     */
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> snapshots = new TreeMap<>();
+        endpoints.forEach((endpoint, stats) -> snapshots.put(endpoint, stats.snapshot(endpoint)));
+        return snapshots;
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().values().toString();
+    }
+
+    private final class EndpointStats {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder hedges = new LongAdder();
+        private final LongAdder hedgeWins = new LongAdder();
+        private final LongAdder cancelled = new LongAdder();
+        private final LatencyWindow attempts = new LatencyWindow(DELAY_WINDOW);
+        private final LatencyWindow effective = new LatencyWindow(REPORT_WINDOW);
+        private final LatencyWindow unhedged = new LatencyWindow(REPORT_WINDOW);
+
+        long delayMillis() {
+            if (attempts.count() < config.getMinSamples()) {
+                return config.getInitialDelayMillis();
+            }
+            return Math.max(config.getMinDelayMillis(), TimeUnit.NANOSECONDS.toMillis(attempts.percentile(config.getPercentile())));
+        }
+
+        Snapshot snapshot(String endpoint) {
+            return new Snapshot(endpoint, requests.sum(), hedges.sum(), hedgeWins.sum(),
+                    effective.percentile(50) / 1e6, effective.percentile(99) / 1e6,
+                    unhedged.percentile(50) / 1e6, unhedged.percentile(99) / 1e6, cancelled.sum());
+        }
+    }
+
+}
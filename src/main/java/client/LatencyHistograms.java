@@ -0,0 +1,187 @@
+package client;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-endpoint latency distributions of every request sent, recorded into HdrHistogram histograms
+ * with three significant digits from 1 µs up to one hour, so percentiles up to the maximum are
+ * exact to 0.1% however many requests are recorded. Endpoints are keyed like
+ * {@link TransferMetrics#endpointKey(String, String)}, by method and path with numeric IDs
+ * replaced. Thread-safe: requests record without locking while snapshots are taken.
+ */
+public class LatencyHistograms {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final ConcurrentMap<String, EndpointHistogram> endpoints = new ConcurrentHashMap<>();
+    private final long startTimeMillis = System.currentTimeMillis();
+
+    /**
+     * A point-in-time copy of one endpoint's latency distribution.
+     *
+     * @param endpoint the endpoint key, e.g. {@code GET /api/v1/Books/{id}}.
+     * @param latency  the latencies recorded so far, in microseconds.
+     */
+    public record Snapshot(String endpoint, Histogram latency) {
+
+        /**
+         * Gets the number of requests recorded.
+         *
+         * @return the request count.
+         */
+        public long count() {
+            return latency.getTotalCount();
+        }
+
+        /**
+         * Gets a latency percentile.
+         *
+         * @param percentile the percentile between 0 and 100, e.g. 99; 100 gives the maximum.
+         * @return the latency in milliseconds, 0 if no requests were recorded.
+         */
+        public double percentileMillis(double percentile) {
+            return latency.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        /**
+         * Gets the highest latency recorded.
+         *
+         * @return the maximum latency in milliseconds, 0 if no requests were recorded.
+         */
+        public double maxMillis() {
+            return latency.getMaxValue() / 1000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: requests=%d, p50=%.1f ms, p95=%.1f ms, p99=%.1f ms, max=%.1f ms",
+                    endpoint, count(), percentileMillis(50), percentileMillis(95), percentileMillis(99), maxMillis());
+        }
+    }
+
+    /**
+     * Records the latency of one request.
+     *
+     * @param endpoint     the endpoint key, see {@link TransferMetrics#endpointKey(String, String)}.
+     * @param latencyNanos the time from sending the request to receiving the whole response.
+     */
+    public void record(String endpoint, long latencyNanos) {
+        long micros = Math.max(0, Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointHistogram()).recorder.recordValue(micros);
+    }
+
+    /**
+     * Adds every latency recorded by another instance, e.g. a client's, to this one.
+     *
+     * @param other the latencies to add.
+     */
+    public void add(LatencyHistograms other) {
+        other.endpoints.forEach((endpoint, histogram) ->
+                endpoints.computeIfAbsent(endpoint, key -> new EndpointHistogram()).add(histogram.snapshot()));
+    }
+
+    /**
+     * Gets the latency distribution of one endpoint.
+     *
+     * @param endpoint the endpoint key, see {@link TransferMetrics#endpointKey(String, String)}.
+     * @return the snapshot, empty if the endpoint was not called.
+     */
+    public Snapshot get(String endpoint) {
+        EndpointHistogram histogram = endpoints.get(endpoint);
+        return new Snapshot(endpoint, histogram == null ? newHistogram() : histogram.snapshot());
+    }
+
+    /**
+     * Gets the latency distributions of all called endpoints.
+     *
+     * @return the snapshots by endpoint key, sorted by key.
+     */
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> snapshots = new TreeMap<>();
+        endpoints.forEach((endpoint, histogram) -> snapshots.put(endpoint, new Snapshot(endpoint, histogram.snapshot())));
+        return snapshots;
+    }
+
+    /**
+     * Writes every endpoint's histogram to a file in the HdrHistogram log format, tagged with the
+     * endpoint key, so runs can be compared over time with the HdrHistogram tools, and its
+     * percentile distribution to a text file next to it. Log tags cannot hold spaces, so they are
+     * replaced with underscores, e.g. {@code GET_/api/v1/Books/{id}}.
+     *
+     * @param file the log file, e.g. {@code target/latency-histograms/suite.hlog}; its parent
+     *             directories are created and an existing file is replaced.
+     * @throws IOException if a file cannot be written.
+     */
+    public void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Map<String, Snapshot> snapshots = snapshot();
+        long endTimeMillis = System.currentTimeMillis();
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            HistogramLogWriter writer = new HistogramLogWriter(out);
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(startTimeMillis);
+            writer.setBaseTime(startTimeMillis);
+            writer.outputLegend();
+            for (Snapshot snapshot : snapshots.values()) {
+                Histogram histogram = snapshot.latency();
+                histogram.setTag(snapshot.endpoint().replace(' ', '_'));
+                histogram.setStartTimeStamp(startTimeMillis);
+                histogram.setEndTimeStamp(endTimeMillis);
+                writer.outputIntervalHistogram(histogram);
+            }
+        }
+        Path distributions = file.resolveSibling(file.getFileName() + ".txt");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(distributions))) {
+            for (Snapshot snapshot : snapshots.values()) {
+                out.println(snapshot);
+                snapshot.latency().outputPercentileDistribution(out, 5, 1000.0);
+                out.println();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().values().toString();
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+
+    /**
+     * The recorder requests write to and the total it is drained into whenever a snapshot is taken.
+     */
+    private static final class EndpointHistogram {
+
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Histogram total = newHistogram();
+        private Histogram interval;
+
+        synchronized void add(Histogram histogram) {
+            total.add(histogram);
+        }
+
+        synchronized Histogram snapshot() {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            return total.copy();
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+package client;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size window of the most recent latencies, with nearest-rank percentiles over the window.
+ * Thread-safe.
+ */
+class LatencyWindow {
+
+    private final long[] samples;
+    private long count;
+
+    LatencyWindow(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    /**
+     * Adds a latency, replacing the oldest one once the window is full.
+     *
+     * @param nanos the latency in nanoseconds.
+     */
+    synchronized void add(long nanos) {
+        samples[(int) (count++ % samples.length)] = nanos;
+    }
+
+    /**
+     * Gets the number of latencies added so far, including those no longer in the window.
+     *
+     * @return the number of latencies.
+     */
+    synchronized long count() {
+        return count;
+    }
+
+    /**
+     * Gets a percentile of the latencies in the window.
+     *
+     * @param percentile the percentile, e.g. 99.
+     * @return the latency in nanoseconds, 0 if the window is empty.
+     */
+    long percentile(double percentile) {
+        long[] sorted;
+        synchronized (this) {
+            sorted = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+        }
+        if (sorted.length == 0) {
+            return 0;
+        }
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+    }
+
+}
@@ -0,0 +1,284 @@
+package client;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Incremental decoder of the {@code gzip} and {@code deflate} content codings. Compressed chunks
+ * are inflated as they arrive from the network, so decoding overlaps the transfer and the
+ * compressed body is never held in full.
+ * <p>
+ * gzip bodies may consist of several members; each member's CRC-32 and size are verified and
+ * trailing non-gzip bytes are ignored, as {@code GZIPInputStream} does. {@code deflate} accepts
+ * both zlib-wrapped and raw deflate data, since servers send either. Instances are not
+ * thread-safe; the HTTP client delivers the chunks of one body sequentially.
+ */
+abstract class StreamingDecoder {
+
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+
+    /**
+     * Creates the decoder of a content coding.
+     *
+     * @param encoding the value of the Content-Encoding header.
+     * @return the decoder, or null for {@code identity}.
+     * @throws IllegalArgumentException if the coding is not supported.
+     */
+    static StreamingDecoder forEncoding(String encoding) {
+        return switch (encoding.trim().toLowerCase()) {
+            case "", "identity" -> null;
+            case "gzip", "x-gzip" -> new Gzip();
+            case "deflate" -> new Deflate();
+            default -> throw new IllegalArgumentException("Unsupported Content-Encoding: " + encoding);
+        };
+    }
+
+    /**
+     * Decodes the next chunk of the body.
+     *
+     * @param input  the compressed bytes; fully consumed.
+     * @param output the stream the decoded bytes are appended to.
+     * @throws ZipException if the data is not valid for the coding.
+     */
+    abstract void feed(ByteBuffer input, ByteArrayOutputStream output) throws ZipException;
+
+    /**
+     * Checks that the body ended at the end of a complete compressed stream.
+     *
+     * @throws ZipException if the body was truncated.
+     */
+    abstract void finish() throws ZipException;
+
+    /**
+     * Releases the native inflater; called once the body completed or failed.
+     */
+    abstract void close();
+
+    /**
+     * Inflates the inflater's current input until it needs more input or its stream ends.
+     *
+     * @param inflater the inflater holding the input.
+     * @param output   the stream the decoded bytes are appended to.
+     * @param crc      the checksum to update with the decoded bytes, or null.
+     * @return the number of decoded bytes.
+     * @throws ZipException if the data is not valid deflate data.
+     */
+    protected int inflate(Inflater inflater, ByteArrayOutputStream output, CRC32 crc) throws ZipException {
+        int total = 0;
+        try {
+            while (!inflater.finished()) {
+                int count = inflater.inflate(chunk);
+                if (count == 0) {
+                    if (inflater.needsInput()) {
+                        break;
+                    }
+                    if (inflater.needsDictionary()) {
+                        throw new ZipException("Preset dictionaries are not supported");
+                    }
+                    continue;
+                }
+                output.write(chunk, 0, count);
+                if (crc != null) {
+                    crc.update(chunk, 0, count);
+                }
+                total += count;
+            }
+        } catch (DataFormatException e) {
+            throw new ZipException("Invalid compressed data: " + e.getMessage());
+        }
+        return total;
+    }
+
+    protected static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * gzip (RFC 1952): a header, raw deflate data and an 8-byte trailer, possibly repeated.
+     */
+    private static final class Gzip extends StreamingDecoder {
+
+        private static final int FHCRC = 2;
+        private static final int FEXTRA = 4;
+        private static final int FNAME = 8;
+        private static final int FCOMMENT = 16;
+
+        private enum State { HEADER, BODY, TRAILER, IGNORE }
+
+        private final Inflater inflater = new Inflater(true);
+        private final CRC32 crc = new CRC32();
+        private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        private State state = State.HEADER;
+        private long memberSize;
+        private int members;
+
+        @Override
+        void feed(ByteBuffer input, ByteArrayOutputStream output) throws ZipException {
+            byte[] bytes = toArray(input);
+            int offset = 0;
+            while (offset < bytes.length && state != State.IGNORE) {
+                if (state == State.BODY) {
+                    inflater.setInput(bytes, offset, bytes.length - offset);
+                    memberSize += inflate(inflater, output, crc);
+                    offset = bytes.length - inflater.getRemaining();
+                    if (inflater.finished()) {
+                        state = State.TRAILER;
+                    }
+                    continue;
+                }
+                pending.write(bytes, offset, bytes.length - offset);
+                bytes = pending.toByteArray();
+                int consumed = state == State.HEADER ? readHeader(bytes) : readTrailer(bytes);
+                if (consumed < 0) {
+                    return;
+                }
+                pending.reset();
+                offset = consumed;
+            }
+        }
+
+        /**
+         * Parses a member header at the start of the buffer.
+         *
+         * @return the header length, or -1 if the buffer does not hold the complete header yet.
+         */
+        private int readHeader(byte[] buffer) throws ZipException {
+            if (buffer.length < 10) {
+                return -1;
+            }
+            if ((buffer[0] & 0xff) != 0x1f || (buffer[1] & 0xff) != 0x8b || buffer[2] != 8) {
+                if (members > 0) {
+                    state = State.IGNORE;
+                    return buffer.length;
+                }
+                throw new ZipException("Not in gzip format");
+            }
+            int flags = buffer[3] & 0xff;
+            int position = 10;
+            if ((flags & FEXTRA) != 0) {
+                if (buffer.length < position + 2) {
+                    return -1;
+                }
+                position += 2 + ((buffer[position] & 0xff) | (buffer[position + 1] & 0xff) << 8);
+            }
+            if ((flags & FNAME) != 0) {
+                position = skipZeroTerminated(buffer, position);
+            }
+            if (position >= 0 && (flags & FCOMMENT) != 0) {
+                position = skipZeroTerminated(buffer, position);
+            }
+            if (position >= 0 && (flags & FHCRC) != 0) {
+                position += 2;
+            }
+            if (position < 0 || position > buffer.length) {
+                return -1;
+            }
+            inflater.reset();
+            crc.reset();
+            memberSize = 0;
+            state = State.BODY;
+            return position;
+        }
+
+        /**
+         * Verifies the trailer of the finished member at the start of the buffer.
+         *
+         * @return the trailer length, or -1 if the buffer does not hold the complete trailer yet.
+         */
+        private int readTrailer(byte[] buffer) throws ZipException {
+            if (buffer.length < 8) {
+                return -1;
+            }
+            if (readInt(buffer, 0) != crc.getValue()) {
+                throw new ZipException("Corrupt gzip trailer: CRC-32 mismatch");
+            }
+            if (readInt(buffer, 4) != (memberSize & 0xffffffffL)) {
+                throw new ZipException("Corrupt gzip trailer: size mismatch");
+            }
+            members++;
+            state = State.HEADER;
+            return 8;
+        }
+
+        @Override
+        void finish() throws ZipException {
+            boolean complete = state == State.IGNORE || (state == State.HEADER && members > 0 && pending.size() == 0);
+            if (!complete) {
+                throw new ZipException("Unexpected end of gzip body");
+            }
+        }
+
+        @Override
+        void close() {
+            inflater.end();
+        }
+
+        private static int skipZeroTerminated(byte[] buffer, int position) {
+            for (int i = position; i < buffer.length; i++) {
+                if (buffer[i] == 0) {
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+
+        private static long readInt(byte[] buffer, int offset) {
+            return (buffer[offset] & 0xffL)
+                    | (buffer[offset + 1] & 0xffL) << 8
+                    | (buffer[offset + 2] & 0xffL) << 16
+                    | (buffer[offset + 3] & 0xffL) << 24;
+        }
+    }
+
+    /**
+     * deflate: zlib-wrapped (RFC 1950) or, as some servers send it, raw deflate data (RFC 1951),
+     * told apart by the first two bytes.
+     */
+    private static final class Deflate extends StreamingDecoder {
+
+        private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        private Inflater inflater;
+
+        @Override
+        void feed(ByteBuffer input, ByteArrayOutputStream output) throws ZipException {
+            byte[] bytes = toArray(input);
+            if (inflater == null) {
+                pending.write(bytes, 0, bytes.length);
+                if (pending.size() < 2) {
+                    return;
+                }
+                bytes = pending.toByteArray();
+                pending.reset();
+                boolean zlib = (bytes[0] & 0x0f) == 8 && ((bytes[0] & 0xff) << 8 | (bytes[1] & 0xff)) % 31 == 0;
+                inflater = new Inflater(!zlib);
+            }
+            if (!inflater.finished()) {
+                inflater.setInput(bytes);
+                inflate(inflater, output, null);
+            }
+        }
+
+        @Override
+        void finish() throws ZipException {
+            if (inflater == null || !inflater.finished()) {
+                throw new ZipException("Unexpected end of deflate body");
+            }
+        }
+
+        @Override
+        void close() {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,128 @@
+package client;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Per-endpoint accounting of response bodies received by a {@link BookstoreClient}: bytes on the
+ * wire, bytes after decoding and the time spent decoding. Endpoints are keyed by method and path
+ * with numeric IDs replaced, e.g. {@code GET /api/v1/Books/{id}}. Thread-safe.
+ */
+public class TransferMetrics {
+
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/-?\\d+(?=/|$)");
+
+    private final ConcurrentMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * A point-in-time view of one endpoint's transfers.
+     *
+     * @param endpoint        the endpoint key, e.g. {@code GET /api/v1/Books}.
+     * @param responses       the number of response bodies received.
+     * @param wireBytes       the total body bytes received on the wire, compressed if negotiated.
+     * @param decodedBytes    the total body bytes after decoding.
+     * @param maxWireBytes    the largest body received on the wire.
+     * @param maxDecodedBytes the largest decoded body.
+     * @param decodeNanos     the total time spent decoding.
+     */
+    public record Snapshot(String endpoint, long responses, long wireBytes, long decodedBytes,
+                           long maxWireBytes, long maxDecodedBytes, long decodeNanos) {
+
+        /**
+         * Gets the ratio of decoded to wire bytes.
+         *
+         * @return the compression ratio, 1 for uncompressed transfers, 0 if nothing was received.
+         */
+        public double compressionRatio() {
+            return wireBytes == 0 ? 0 : (double) decodedBytes / wireBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: responses=%d, wire=%d B (max %d B), decoded=%d B (max %d B), ratio=%.2f, decode=%.3f ms",
+                    endpoint, responses, wireBytes, maxWireBytes, decodedBytes, maxDecodedBytes, compressionRatio(), decodeNanos / 1e6);
+        }
+    }
+
+    /**
+     * Builds the endpoint key of a request.
+     *
+     * @param method the HTTP method.
+     * @param path   the request path, optionally with a query string, which is ignored.
+     * @return the key, e.g. {@code GET /api/v1/Books/{id}}.
+     */
+    public static String endpointKey(String method, String path) {
+        int query = path.indexOf('?');
+        String route = query < 0 ? path : path.substring(0, query);
+        return method + " " + NUMERIC_SEGMENT.matcher(route).replaceAll("/{id}");
+    }
+
+    /**
+     * Records a received response body.
+     *
+     * @param endpoint     the endpoint key.
+     * @param wireBytes    the body bytes received on the wire.
+     * @param decodedBytes the body bytes after decoding.
+     * @param decodeNanos  the time spent decoding.
+     */
+    void record(String endpoint, long wireBytes, long decodedBytes, long decodeNanos) {
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointStats()).record(wireBytes, decodedBytes, decodeNanos);
+    }
+
+    /**
+     * Gets the transfers of one endpoint.
+     *
+     * @param endpoint the endpoint key, see {@link #endpointKey(String, String)}.
+     * @return the snapshot, with all counters 0 if the endpoint was not called.
+     */
+    public Snapshot get(String endpoint) {
+        EndpointStats stats = endpoints.get(endpoint);
+        return stats == null ? new Snapshot(endpoint, 0, 0, 0, 0, 0, 0) : stats.snapshot(endpoint);
+    }
+
+    /**
+     * Gets the transfers of all called endpoints.
+     *
+     * @return the snapshots by endpoint key, sorted by key.
+     */
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> snapshots = new TreeMap<>();
+        endpoints.forEach((endpoint, stats) -> snapshots.put(endpoint, stats.snapshot(endpoint)));
+        return snapshots;
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().values().toString();
+    }
+
+    private static final class EndpointStats {
+
+        private final LongAdder responses = new LongAdder();
+        private final LongAdder wireBytes = new LongAdder();
+        private final LongAdder decodedBytes = new LongAdder();
+        private final LongAdder decodeNanos = new LongAdder();
+        private final LongAccumulator maxWireBytes = new LongAccumulator(Math::max, 0);
+        private final LongAccumulator maxDecodedBytes = new LongAccumulator(Math::max, 0);
+
+        void record(long wire, long decoded, long nanos) {
+            responses.increment();
+            wireBytes.add(wire);
+            decodedBytes.add(decoded);
+            decodeNanos.add(nanos);
+            maxWireBytes.accumulate(wire);
+            maxDecodedBytes.accumulate(decoded);
+        }
+
+        Snapshot snapshot(String endpoint) {
+            return new Snapshot(endpoint, responses.sum(), wireBytes.sum(), decodedBytes.sum(),
+                    maxWireBytes.get(), maxDecodedBytes.get(), decodeNanos.sum());
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+package config;
+
+/**
+ * Immutable configuration of the API under test for one environment and API version: the base URL,
+ * the versioned endpoints and the maximum allowed response time. Each test class builds its own
+ * context instead of writing global state, so classes and methods can run in parallel.
+ */
+public class ApiContext {
+
+    private final String env;
+    private final String apiVersion;
+    private final String baseUrl;
+    private final String authorsEndpoint;
+    private final String booksEndpoint;
+    private final long maxResponseTime;
+    private final long maxResponseSize;
+
+    public ApiContext(String env, String apiVersion, String baseUrl, String authorsEndpoint, String booksEndpoint,
+                      long maxResponseTime, long maxResponseSize) {
+        this.env = env;
+        this.apiVersion = apiVersion;
+        this.baseUrl = baseUrl;
+        this.authorsEndpoint = authorsEndpoint;
+        this.booksEndpoint = booksEndpoint;
+        this.maxResponseTime = maxResponseTime;
+        this.maxResponseSize = maxResponseSize;
+    }
+
+    /**
+     * Builds the context for the given environment and API version from the API properties.
+     *
+     * @param env        the environment in which the tests are running (e.g., "qa", "stg").
+     * @param apiVersion the version of the API to be tested (e.g., "v1", "v2").
+     * @return the context of the environment and API version.
+     * @throws IllegalArgumentException if the environment or API version is not configured.
+     */
+    public static ApiContext load(String env, String apiVersion) {
+        ConfigManager.loadApiProperties();
+        String baseUrl = ConfigManager.getBaseUrl(env);
+        if (baseUrl == null) {
+            throw new IllegalArgumentException("No base URL configured for environment: " + env);
+        }
+        String versionedApiPath = ConfigManager.getApiVersion(apiVersion);
+        if (versionedApiPath == null) {
+            throw new IllegalArgumentException("No API path configured for version: " + apiVersion);
+        }
+        return new ApiContext(
+                env,
+                apiVersion,
+                baseUrl,
+                versionedApiPath + ConfigManager.getEndpoint("authors"),
+                versionedApiPath + ConfigManager.getEndpoint("books"),
+                ConfigManager.getMaxResponseTime(),
+                ConfigManager.getMaxResponseSize()
+        );
+    }
+
+    /**
+     * Gets the environment of the context.
+     *
+     * @return the environment (e.g., "qa", "stg").
+     */
+    public String getEnv() {
+        return env;
+    }
+
+    /**
+     * Gets the API version of the context.
+     *
+     * @return the API version (e.g., "v1", "v2").
+     */
+    public String getApiVersion() {
+        return apiVersion;
+    }
+
+    /**
+     * Gets the base URL of the environment.
+     *
+     * @return the base URL.
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Gets the versioned path of the authors endpoint.
+     *
+     * @return the authors endpoint, e.g. {@code /api/v1/Authors}.
+     */
+    public String getAuthorsEndpoint() {
+        return authorsEndpoint;
+    }
+
+    /**
+     * Gets the versioned path of the books endpoint.
+     *
+     * @return the books endpoint, e.g. {@code /api/v1/Books}.
+     */
+    public String getBooksEndpoint() {
+        return booksEndpoint;
+    }
+
+    /**
+     * Gets the maximum allowed response time.
+     *
+     * @return the maximum response time in milliseconds.
+     */
+    public long getMaxResponseTime() {
+        return maxResponseTime;
+    }
+
+    /**
+     * Gets the maximum allowed size of a response body on the wire.
+     *
+     * @return the maximum response size in bytes.
+     */
+    public long getMaxResponseSize() {
+        return maxResponseSize;
+    }
+
+    /**
+     * Returns a string representation of the ApiContext object.
+     *
+     * @return a string representing the ApiContext object.
+     */
+    @Override
+    public String toString() {
+        return String.format("ApiContext{env='%s', apiVersion='%s', baseUrl='%s', authorsEndpoint='%s', booksEndpoint='%s', maxResponseTime=%d, maxResponseSize=%d}",
+                env, apiVersion, baseUrl, authorsEndpoint, booksEndpoint, maxResponseTime, maxResponseSize);
+    }
+
+}
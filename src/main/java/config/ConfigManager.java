@@ -2,12 +2,18 @@ package config;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
 
+/**
+ * Read-only access to the API and path properties files. The files are loaded once and shared by
+ * all threads; per-run values such as the environment and API version live in {@link ApiContext}.
+ */
 public class ConfigManager {
 
-    private static String env;
-    private static String apiVersion;
     private static final Properties apiProperties = new Properties();
     private static final Properties pathProperties = new Properties();
 
@@ -31,17 +37,21 @@ public class ConfigManager {
     }
 
     /**
-     * Loads API-related properties from the default API properties file.
+     * Loads API-related properties from the default API properties file, unless already loaded.
      */
-    public static void loadApiProperties() {
-        loadProperties(DEFAULT_API_PROPERTIES_PATH, apiProperties);
+    public static synchronized void loadApiProperties() {
+        if (apiProperties.isEmpty()) {
+            loadProperties(DEFAULT_API_PROPERTIES_PATH, apiProperties);
+        }
     }
 
     /**
-     * Loads path-related properties from the default path properties file.
+     * Loads path-related properties from the default path properties file, unless already loaded.
      */
-    public static void loadPathProperties() {
-        loadProperties(DEFAULT_PATH_PROPERTIES_PATH, pathProperties);
+    public static synchronized void loadPathProperties() {
+        if (pathProperties.isEmpty()) {
+            loadProperties(DEFAULT_PATH_PROPERTIES_PATH, pathProperties);
+        }
     }
 
     /**
@@ -54,6 +64,22 @@ public class ConfigManager {
         return apiProperties.getProperty(key);
     }
 
+    /**
+     * Retrieves all API properties whose keys start with a prefix.
+     *
+     * @param prefix the key prefix, e.g. {@code slo.}.
+     * @return the matching properties by key, sorted by key.
+     */
+    public static Map<String, String> getApiProperties(String prefix) {
+        Map<String, String> properties = new TreeMap<>();
+        for (String key : apiProperties.stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                properties.put(key, apiProperties.getProperty(key));
+            }
+        }
+        return properties;
+    }
+
     /**
      * Retrieves a property value from the path properties file.
      *
@@ -105,45 +131,46 @@ public class ConfigManager {
     }
 
     /**
-     * Sets the environment value to be used in the tests.
-     * This method stores the provided environment string (e.g., "dev", "qa", "prod")
-     * and makes it accessible throughout the test suite.
+     * Retrieves the maximum allowable size of an API response body on the wire from the API properties.
      *
-     * @param environment the environment value (e.g., "dev", "qa", "prod") to set for the tests.
+     * @return the maximum response size in bytes.
+     * @throws NumberFormatException if the value cannot be parsed as a Long.
      */
-    public static void setEnv(String environment) {
-        env = environment;
+    public static Long getMaxResponseSize() {
+        return Long.valueOf(getApiProperty("max.api.response.size"));
     }
 
     /**
-     * Retrieves the current environment value set for the tests.
-     * This method returns the environment value that was previously set using {@link #setEnv(String)}.
+     * Checks whether the non-blocking client negotiates compressed responses, preferring the
+     * {@code http.compression} system property over the API properties.
      *
-     * @return the current environment value (e.g., "dev", "qa", "prod") used in the tests.
+     * @return true if compression is enabled, false if it is disabled or not configured.
      */
-    public static String getEnv() {
-        return env;
+    public static boolean isCompressionEnabled() {
+        return Boolean.parseBoolean(System.getProperty("http.compression", getApiProperty("http.compression")));
     }
 
     /**
-     * Sets the API version to be used in the tests.
-     * This method stores the provided API version string (e.g., "v1", "v2")
-     * and makes it accessible throughout the test suite.
+     * Retrieves the directory the per-endpoint latency histograms are written to at the end of a
+     * suite, preferring the {@code latency.histograms.dir} system property over the API properties.
      *
-     * @param version the API version (e.g., "v1", "v2") to set for the tests.
+     * @return the directory, {@code target/latency-histograms} if none is configured.
      */
-    public static void setVersion(String version) {
-        apiVersion = version;
+    public static Path getLatencyHistogramsDir() {
+        String dir = System.getProperty("latency.histograms.dir", getApiProperty("latency.histograms.dir"));
+        return Path.of(dir == null ? "target/latency-histograms" : dir.trim());
     }
 
     /**
-     * Retrieves the current API version value set for the tests.
-     * This method returns the API version value that was previously set using {@link #setVersion(String)}.
+     * Retrieves the HTTP version spoken by the non-blocking client, preferring the
+     * {@code http.version} system property over the API properties.
      *
-     * @return the current API version (e.g., "v1", "v2") used in the tests.
+     * @return the HTTP version, {@code HTTP_1_1} if none is configured.
+     * @throws IllegalArgumentException if the value is neither {@code HTTP_1_1} nor {@code HTTP_2}.
      */
-    public static String getVersion() {
-        return apiVersion;
+    public static HttpClient.Version getHttpVersion() {
+        String version = System.getProperty("http.version", getApiProperty("http.version"));
+        return version == null ? HttpClient.Version.HTTP_1_1 : HttpClient.Version.valueOf(version.trim());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package config;
+
+/**
+ * Immutable settings of the shared HTTP connection pool. Values are read from the API properties
+ * and can be overridden per run with system properties of the same name, e.g.
+ * {@code -Dhttp.pool.max.per.route=50}.
+ */
+public class ConnectionPoolConfig {
+
+    private final int maxTotal;
+    private final int maxPerRoute;
+    private final long keepAliveMillis;
+    private final long idleEvictionMillis;
+
+    public ConnectionPoolConfig(int maxTotal, int maxPerRoute, long keepAliveMillis, long idleEvictionMillis) {
+        if (maxTotal < 1 || maxPerRoute < 1) {
+            throw new IllegalArgumentException("Pool sizes must be positive: maxTotal=" + maxTotal + ", maxPerRoute=" + maxPerRoute);
+        }
+        if (keepAliveMillis < 1 || idleEvictionMillis < 1) {
+            throw new IllegalArgumentException("Pool timeouts must be positive: keepAlive=" + keepAliveMillis + ", idleEviction=" + idleEvictionMillis);
+        }
+        this.maxTotal = maxTotal;
+        this.maxPerRoute = maxPerRoute;
+        this.keepAliveMillis = keepAliveMillis;
+        this.idleEvictionMillis = idleEvictionMillis;
+    }
+
+    /**
+     * Builds the pool settings from the API properties and system property overrides.
+     *
+     * @return the connection pool settings.
+     * @throws NumberFormatException if a value cannot be parsed as a number.
+     */
+    public static ConnectionPoolConfig load() {
+        ConfigManager.loadApiProperties();
+        return new ConnectionPoolConfig(
+                Integer.parseInt(property("http.pool.max.total", "50")),
+                Integer.parseInt(property("http.pool.max.per.route", "20")),
+                Long.parseLong(property("http.pool.keep.alive.ms", "30000")),
+                Long.parseLong(property("http.pool.idle.eviction.ms", "30000"))
+        );
+    }
+
+    /**
+     * Retrieves a pool setting, preferring a system property over the API properties file.
+     *
+     * @param key          the property key.
+     * @param defaultValue the value used when the key is set nowhere.
+     * @return the trimmed property value.
+     */
+    private static String property(String key, String defaultValue) {
+        String value = System.getProperty(key, ConfigManager.getApiProperty(key));
+        return value == null ? defaultValue : value.trim();
+    }
+
+    /**
+     * Gets the maximum number of pooled connections over all routes.
+     *
+     * @return the maximum number of connections.
+     */
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    /**
+     * Gets the maximum number of pooled connections to a single host.
+     *
+     * @return the maximum number of connections per route.
+     */
+    public int getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    /**
+     * Gets how long an idle connection is kept open when the server sends no Keep-Alive timeout,
+     * and the upper bound of a timeout it does send.
+     *
+     * @return the keep-alive duration in milliseconds.
+     */
+    public long getKeepAliveMillis() {
+        return keepAliveMillis;
+    }
+
+    /**
+     * Gets how long a connection may sit idle in the pool before the evictor closes it.
+     *
+     * @return the idle time in milliseconds.
+     */
+    public long getIdleEvictionMillis() {
+        return idleEvictionMillis;
+    }
+
+    /**
+     * Returns a string representation of the ConnectionPoolConfig object.
+     *
+     * @return a string representing the ConnectionPoolConfig object.
+     */
+    @Override
+    public String toString() {
+        return String.format("ConnectionPoolConfig{maxTotal=%d, maxPerRoute=%d, keepAliveMillis=%d, idleEvictionMillis=%d}",
+                maxTotal, maxPerRoute, keepAliveMillis, idleEvictionMillis);
+    }
+
+}
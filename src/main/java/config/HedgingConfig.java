@@ -0,0 +1,152 @@
+package config;
+
+/**
+ * Immutable settings of request hedging for idempotent reads. Once an endpoint has answered often
+ * enough to estimate its latency, a duplicate request is sent when the first one has not answered
+ * within the configured percentile of the endpoint's recent latencies. Values are read from the API
+ * properties and can be overridden per run with system properties of the same name, e.g.
+ * {@code -Dhttp.hedging.enabled=true}.
+ * <p>
+ * The losing attempt is cancelled unless {@code http.hedging.cancel.loser} is false; letting it
+ * complete costs server work but measures the latency the request would have had without hedging.
+ */
+public class HedgingConfig {
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long initialDelayMillis;
+    private final long minDelayMillis;
+    private final int minSamples;
+    private final boolean cancelLoser;
+
+    public HedgingConfig(boolean enabled, double percentile, long initialDelayMillis, long minDelayMillis, int minSamples, boolean cancelLoser) {
+        if (percentile <= 0 || percentile >= 100) {
+            throw new IllegalArgumentException("Hedging percentile must be between 0 and 100 exclusive: " + percentile);
+        }
+        if (initialDelayMillis < 0 || minDelayMillis < 0 || minSamples < 1) {
+            throw new IllegalArgumentException("Hedging delays must not be negative and minSamples must be positive: initialDelay="
+                    + initialDelayMillis + ", minDelay=" + minDelayMillis + ", minSamples=" + minSamples);
+        }
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.initialDelayMillis = initialDelayMillis;
+        this.minDelayMillis = minDelayMillis;
+        this.minSamples = minSamples;
+        this.cancelLoser = cancelLoser;
+    }
+
+    /**
+     * Creates settings that never hedge.
+     *
+     * @return the disabled hedging settings.
+     */
+    public static HedgingConfig disabled() {
+        return new HedgingConfig(false, 95, 500, 50, 20, true);
+    }
+
+    /**
+     * Creates a copy of these settings that cancels or keeps the losing attempt.
+     *
+     * @param cancelLoser whether the losing attempt is cancelled.
+     * @return the settings with the given cancellation.
+     */
+    public HedgingConfig withCancelLoser(boolean cancelLoser) {
+        return new HedgingConfig(enabled, percentile, initialDelayMillis, minDelayMillis, minSamples, cancelLoser);
+    }
+
+    /**
+     * Builds the hedging settings from the API properties and system property overrides.
+     *
+     * @return the hedging settings.
+     * @throws NumberFormatException if a value cannot be parsed as a number.
+     */
+    public static HedgingConfig load() {
+        ConfigManager.loadApiProperties();
+        return new HedgingConfig(
+                Boolean.parseBoolean(property("http.hedging.enabled", "false")),
+                Double.parseDouble(property("http.hedging.percentile", "95")),
+                Long.parseLong(property("http.hedging.initial.delay.ms", "500")),
+                Long.parseLong(property("http.hedging.min.delay.ms", "50")),
+                Integer.parseInt(property("http.hedging.min.samples", "20")),
+                Boolean.parseBoolean(property("http.hedging.cancel.loser", "true"))
+        );
+    }
+
+    /**
+     * Retrieves a hedging setting, preferring a system property over the API properties file.
+     *
+     * @param key          the property key.
+     * @param defaultValue the value used when the key is set nowhere.
+     * @return the trimmed property value.
+     */
+    private static String property(String key, String defaultValue) {
+        String value = System.getProperty(key, ConfigManager.getApiProperty(key));
+        return value == null ? defaultValue : value.trim();
+    }
+
+    /**
+     * Checks whether idempotent reads are hedged.
+     *
+     * @return true if hedging is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the latency percentile after which a hedge is sent, e.g. 95.
+     *
+     * @return the percentile, between 0 and 100 exclusive.
+     */
+    public double getPercentile() {
+        return percentile;
+    }
+
+    /**
+     * Gets the hedge delay used while an endpoint has fewer than {@link #getMinSamples()} latencies.
+     *
+     * @return the initial delay in milliseconds.
+     */
+    public long getInitialDelayMillis() {
+        return initialDelayMillis;
+    }
+
+    /**
+     * Gets the lower bound of the hedge delay, so that a fast endpoint is not hedged on jitter.
+     *
+     * @return the minimum delay in milliseconds.
+     */
+    public long getMinDelayMillis() {
+        return minDelayMillis;
+    }
+
+    /**
+     * Gets the number of latencies of an endpoint needed before its percentile is used as the delay.
+     *
+     * @return the minimum number of samples.
+     */
+    public int getMinSamples() {
+        return minSamples;
+    }
+
+    /**
+     * Checks whether the losing attempt of a hedged request is cancelled.
+     *
+     * @return true if the loser is cancelled, false if it runs to completion and its latency is recorded.
+     */
+    public boolean isCancelLoser() {
+        return cancelLoser;
+    }
+
+    /**
+     * Returns a string representation of the HedgingConfig object.
+     *
+     * @return a string representing the HedgingConfig object.
+     */
+    @Override
+    public String toString() {
+        return String.format("HedgingConfig{enabled=%s, percentile=%.1f, initialDelayMillis=%d, minDelayMillis=%d, minSamples=%d, cancelLoser=%s}",
+                enabled, percentile, initialDelayMillis, minDelayMillis, minSamples, cancelLoser);
+    }
+
+}
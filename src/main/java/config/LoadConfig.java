@@ -0,0 +1,158 @@
+package config;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable settings of an open-model load run: the target arrival rate, how long to measure it,
+ * the warm-up before measuring, the cap on requests in flight and the operation mix. Values are
+ * read from the API properties and can be overridden per run with system properties of the same
+ * name, e.g. {@code -Dload.rate=500}.
+ */
+public class LoadConfig {
+
+    private final double ratePerSecond;
+    private final Duration duration;
+    private final Duration warmup;
+    private final int maxInFlight;
+    private final double maxErrorRate;
+    private final Map<String, Integer> mix;
+
+    public LoadConfig(double ratePerSecond, Duration duration, Duration warmup, int maxInFlight, double maxErrorRate, Map<String, Integer> mix) {
+        if (ratePerSecond <= 0 || duration.isNegative() || duration.isZero() || warmup.isNegative()) {
+            throw new IllegalArgumentException("Load rate and duration must be positive and warm-up not negative: rate="
+                    + ratePerSecond + ", duration=" + duration + ", warmup=" + warmup);
+        }
+        if (maxInFlight < 1 || maxErrorRate < 0 || maxErrorRate > 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive and maxErrorRate between 0 and 1: maxInFlight="
+                    + maxInFlight + ", maxErrorRate=" + maxErrorRate);
+        }
+        if (mix.isEmpty() || mix.values().stream().anyMatch(weight -> weight < 0) || mix.values().stream().allMatch(weight -> weight == 0)) {
+            throw new IllegalArgumentException("Load mix needs at least one positive weight and no negative ones: " + mix);
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.duration = duration;
+        this.warmup = warmup;
+        this.maxInFlight = maxInFlight;
+        this.maxErrorRate = maxErrorRate;
+        this.mix = Collections.unmodifiableMap(new LinkedHashMap<>(mix));
+    }
+
+    /**
+     * Builds the load settings from the API properties and system property overrides.
+     *
+     * @return the load settings.
+     * @throws NumberFormatException    if a value cannot be parsed as a number.
+     * @throws IllegalArgumentException if the mix is not a list of {@code operation:weight} pairs.
+     */
+    public static LoadConfig load() {
+        ConfigManager.loadApiProperties();
+        return new LoadConfig(
+                Double.parseDouble(property("load.rate", "50")),
+                Duration.ofSeconds(Long.parseLong(property("load.duration.s", "60"))),
+                Duration.ofSeconds(Long.parseLong(property("load.warmup.s", "10"))),
+                Integer.parseInt(property("load.max.in.flight", "10000")),
+                Double.parseDouble(property("load.max.error.rate", "0.01")),
+                parseMix(property("load.mix", "get-book:1"))
+        );
+    }
+
+    /**
+     * Parses an operation mix such as {@code list-books:10,get-book:60,create-book:10}.
+     *
+     * @param value the comma-separated {@code operation:weight} pairs.
+     * @return the weights by operation name, in the order given.
+     * @throws IllegalArgumentException if a pair has no weight.
+     */
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String pair : value.split(",")) {
+            String[] parts = pair.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load mix entry, expected operation:weight: " + pair);
+            }
+            mix.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+
+    /**
+     * Retrieves a load setting, preferring a system property over the API properties file.
+     *
+     * @param key          the property key.
+     * @param defaultValue the value used when the key is set nowhere.
+     * @return the trimmed property value.
+     */
+    private static String property(String key, String defaultValue) {
+        String value = System.getProperty(key, ConfigManager.getApiProperty(key));
+        return value == null ? defaultValue : value.trim();
+    }
+
+    /**
+     * Gets the target arrival rate, independent of how fast the API answers.
+     *
+     * @return the requests per second.
+     */
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    /**
+     * Gets how long the arrival rate is measured, after the warm-up.
+     *
+     * @return the measured duration.
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Gets how long requests are sent at the target rate before measuring starts.
+     *
+     * @return the warm-up duration.
+     */
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    /**
+     * Gets the maximum number of requests in flight; requests due beyond it are not sent and count as errors.
+     *
+     * @return the maximum number of requests in flight.
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Gets the highest share of failed requests a load run may have.
+     *
+     * @return the maximum error rate between 0 and 1.
+     */
+    public double getMaxErrorRate() {
+        return maxErrorRate;
+    }
+
+    /**
+     * Gets the relative weights of the operations of the run.
+     *
+     * @return the weights by operation name.
+     */
+    public Map<String, Integer> getMix() {
+        return mix;
+    }
+
+    /**
+     * Returns a string representation of the LoadConfig object.
+     *
+     * @return a string representing the LoadConfig object.
+     */
+    @Override
+    public String toString() {
+        return String.format("LoadConfig{ratePerSecond=%.1f, duration=%s, warmup=%s, maxInFlight=%d, maxErrorRate=%.4f, mix=%s}",
+                ratePerSecond, duration, warmup, maxInFlight, maxErrorRate, mix);
+    }
+
+}
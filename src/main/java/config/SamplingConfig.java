@@ -0,0 +1,119 @@
+package config;
+
+/**
+ * Immutable settings of sampled response-time assertions. With sampling enabled, the response time
+ * of a read is not judged from the one response the test received but from a number of repeated
+ * requests sent after a few warm-up requests: the configured percentile of the samples is
+ * estimated with a confidence interval, and the assertion fails only if the whole interval lies
+ * above the limit. Values are read from the API properties and can be overridden per run with
+ * system properties of the same name, e.g. {@code -Dresponse.time.sampling.enabled=true}.
+ */
+public class SamplingConfig {
+
+    private final boolean enabled;
+    private final int warmup;
+    private final int samples;
+    private final double percentile;
+    private final double confidence;
+
+    public SamplingConfig(boolean enabled, int warmup, int samples, double percentile, double confidence) {
+        if (warmup < 0 || samples < 1) {
+            throw new IllegalArgumentException("Sampling needs at least one sample and no negative warm-up: warmup=" + warmup + ", samples=" + samples);
+        }
+        if (percentile <= 0 || percentile >= 100 || confidence <= 0 || confidence >= 1) {
+            throw new IllegalArgumentException("Sampling percentile must be between 0 and 100 and confidence between 0 and 1, both exclusive: percentile="
+                    + percentile + ", confidence=" + confidence);
+        }
+        this.enabled = enabled;
+        this.warmup = warmup;
+        this.samples = samples;
+        this.percentile = percentile;
+        this.confidence = confidence;
+    }
+
+    /**
+     * Builds the sampling settings from the API properties and system property overrides.
+     *
+     * @return the sampling settings.
+     * @throws NumberFormatException if a value cannot be parsed as a number.
+     */
+    public static SamplingConfig load() {
+        ConfigManager.loadApiProperties();
+        return new SamplingConfig(
+                Boolean.parseBoolean(property("response.time.sampling.enabled", "false")),
+                Integer.parseInt(property("response.time.sampling.warmup", "3")),
+                Integer.parseInt(property("response.time.sampling.samples", "50")),
+                Double.parseDouble(property("response.time.sampling.percentile", "90")),
+                Double.parseDouble(property("response.time.sampling.confidence", "0.95"))
+        );
+    }
+
+    /**
+     * Retrieves a sampling setting, preferring a system property over the API properties file.
+     *
+     * @param key          the property key.
+     * @param defaultValue the value used when the key is set nowhere.
+     * @return the trimmed property value.
+     */
+    private static String property(String key, String defaultValue) {
+        String value = System.getProperty(key, ConfigManager.getApiProperty(key));
+        return value == null ? defaultValue : value.trim();
+    }
+
+    /**
+     * Checks whether response times are asserted on repeated samples.
+     *
+     * @return true if sampling is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the number of requests sent and discarded before sampling, to open connections and warm caches.
+     *
+     * @return the number of warm-up requests.
+     */
+    public int getWarmup() {
+        return warmup;
+    }
+
+    /**
+     * Gets the number of requests whose response times are sampled.
+     *
+     * @return the number of samples.
+     */
+    public int getSamples() {
+        return samples;
+    }
+
+    /**
+     * Gets the percentile of the samples that is compared with the limit.
+     *
+     * @return the percentile between 0 and 100, e.g. 90.
+     */
+    public double getPercentile() {
+        return percentile;
+    }
+
+    /**
+     * Gets the confidence level of the interval around the estimated percentile.
+     *
+     * @return the confidence between 0 and 1, e.g. 0.95.
+     */
+    public double getConfidence() {
+        return confidence;
+    }
+
+    /**
+     * Returns a string representation of the SamplingConfig object.
+     *
+     * @return a string representing the SamplingConfig object.
+     */
+    @Override
+    public String toString() {
+        return String.format("SamplingConfig{enabled=%s, warmup=%d, samples=%d, percentile=%.1f, confidence=%.2f}",
+                enabled, warmup, samples, percentile, confidence);
+    }
+
+}
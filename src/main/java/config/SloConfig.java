@@ -0,0 +1,202 @@
+package config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable service level budgets per endpoint and HTTP method: latency percentile targets, the
+ * largest allowed response body and the allowed share of errors. Budgets are read once from the
+ * {@code slo.*} API properties, which can be overridden per run with system properties of the same name.
+ * <p>
+ * Keys have the form {@code slo.<method>.<path>.<limit>}, the path being the endpoint below the
+ * versioned API path with its segments lowercased and joined by dots and numeric IDs written as
+ * {@code id}, e.g. {@code slo.get.books.id.p99.ms=500} for {@code GET /api/v1/Books/{id}}. Limits
+ * are {@code p50.ms}, {@code p90.ms}, {@code p95.ms}, {@code p99.ms}, {@code p999.ms},
+ * {@code max.ms}, {@code max.bytes} and {@code error.rate}. A key suffixed with the environment,
+ * e.g. {@code slo.get.books.id.p99.ms.stg}, takes precedence in that environment, and
+ * {@code slo.default.*} applies to endpoints without a value of their own. Without a default, the
+ * p99 target is {@code max.api.response.time} and the body budget {@code max.api.response.size}.
+ */
+public class SloConfig {
+
+    private static final String PREFIX = "slo.";
+    private static final String DEFAULT_SCOPE = "default";
+    private static final Map<String, Double> PERCENTILES = percentiles();
+
+    private final String env;
+    private final String versionedApiPath;
+    private final Map<String, Double> limits;
+    private final ConcurrentMap<String, Budget> budgets = new ConcurrentHashMap<>();
+
+    /**
+     * The budget of one endpoint.
+     *
+     * @param endpoint         the endpoint key, e.g. {@code GET /api/v1/Books/{id}}.
+     * @param percentileMillis the latency targets in milliseconds by percentile, e.g. 99 to 500;
+     *                         100 is the maximum.
+     * @param maxBodyBytes     the largest allowed response body in bytes.
+     * @param maxErrorRate     the highest allowed share of server errors and failed requests, between 0 and 1.
+     */
+    public record Budget(String endpoint, Map<Double, Long> percentileMillis, long maxBodyBytes, double maxErrorRate) {
+
+        public Budget {
+            percentileMillis = Collections.unmodifiableMap(new TreeMap<>(percentileMillis));
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder budget = new StringBuilder(endpoint).append(":");
+            percentileMillis.forEach((percentile, millis) -> budget.append(percentile == 100 ? " max" : " p" + formatPercentile(percentile))
+                    .append("<=").append(millis).append(" ms,"));
+            return budget.append(String.format(" body<=%d B, errors<=%.2f%%", maxBodyBytes, maxErrorRate * 100)).toString();
+        }
+    }
+
+    public SloConfig(String env, String versionedApiPath, Map<String, Double> limits) {
+        limits.forEach((key, value) -> {
+            if (value < 0 || (key.contains("error.rate") && value > 1)) {
+                throw new IllegalArgumentException("Invalid SLO limit: " + PREFIX + key + "=" + value);
+            }
+        });
+        this.env = env;
+        this.versionedApiPath = versionedApiPath;
+        this.limits = Collections.unmodifiableMap(new TreeMap<>(limits));
+    }
+
+    /**
+     * Builds the budgets of an environment and API version from the API properties and system
+     * property overrides.
+     *
+     * @param env        the environment in which the tests are running (e.g., "qa", "stg").
+     * @param apiVersion the version of the API to be tested (e.g., "v1", "v2").
+     * @return the budgets.
+     * @throws IllegalArgumentException if the API version is not configured or a limit is invalid.
+     */
+    public static SloConfig load(String env, String apiVersion) {
+        ConfigManager.loadApiProperties();
+        String versionedApiPath = ConfigManager.getApiVersion(apiVersion);
+        if (versionedApiPath == null) {
+            throw new IllegalArgumentException("No API path configured for version: " + apiVersion);
+        }
+        Map<String, String> properties = new TreeMap<>(ConfigManager.getApiProperties(PREFIX));
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith(PREFIX)) {
+                properties.put(key, System.getProperty(key));
+            }
+        }
+        Map<String, Double> limits = new TreeMap<>();
+        properties.forEach((key, value) -> limits.put(key.substring(PREFIX.length()), Double.parseDouble(value.trim())));
+        limits.putIfAbsent(DEFAULT_SCOPE + ".p99.ms", ConfigManager.getMaxResponseTime().doubleValue());
+        limits.putIfAbsent(DEFAULT_SCOPE + ".max.bytes", ConfigManager.getMaxResponseSize().doubleValue());
+        return new SloConfig(env, versionedApiPath, limits);
+    }
+
+    /**
+     * Gets the budget of an endpoint, resolving each limit from the most specific key that is set.
+     *
+     * @param endpoint the endpoint key, e.g. {@code GET /api/v1/Books/{id}}.
+     * @return the budget; limits set nowhere are unbounded.
+     */
+    public Budget budget(String endpoint) {
+        return budgets.computeIfAbsent(endpoint, this::resolve);
+    }
+
+    /**
+     * Builds the property scope of an endpoint key, e.g. {@code get.books.id} for {@code GET /api/v1/Books/{id}}.
+     *
+     * @param endpoint the endpoint key.
+     * @return the scope used in the {@code slo.*} keys of the endpoint.
+     */
+    public String scope(String endpoint) {
+        int space = endpoint.indexOf(' ');
+        String method = endpoint.substring(0, space).toLowerCase(Locale.ROOT);
+        String path = endpoint.substring(space + 1);
+        if (path.startsWith(versionedApiPath)) {
+            path = path.substring(versionedApiPath.length());
+        }
+        StringBuilder scope = new StringBuilder(method);
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                scope.append('.').append(segment.equals("{id}") ? "id" : segment.toLowerCase(Locale.ROOT));
+            }
+        }
+        return scope.toString();
+    }
+
+    private Budget resolve(String endpoint) {
+        String scope = scope(endpoint);
+        Map<Double, Long> percentileMillis = new LinkedHashMap<>();
+        PERCENTILES.forEach((name, percentile) -> {
+            Double millis = limit(scope, name + ".ms");
+            if (millis != null) {
+                percentileMillis.put(percentile, millis.longValue());
+            }
+        });
+        Double maxBodyBytes = limit(scope, "max.bytes");
+        Double maxErrorRate = limit(scope, "error.rate");
+        return new Budget(endpoint, percentileMillis, maxBodyBytes == null ? Long.MAX_VALUE : maxBodyBytes.longValue(),
+                maxErrorRate == null ? 1 : maxErrorRate);
+    }
+
+    /**
+     * Looks a limit up for the environment and the endpoint first, then the defaults.
+     */
+    private Double limit(String scope, String name) {
+        for (String key : new String[]{scope + "." + name + "." + env, scope + "." + name, DEFAULT_SCOPE + "." + name + "." + env, DEFAULT_SCOPE + "." + name}) {
+            Double value = limits.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Double> percentiles() {
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        percentiles.put("p50", 50.0);
+        percentiles.put("p90", 90.0);
+        percentiles.put("p95", 95.0);
+        percentiles.put("p99", 99.0);
+        percentiles.put("p999", 99.9);
+        percentiles.put("max", 100.0);
+        return Collections.unmodifiableMap(percentiles);
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    /**
+     * Gets the environment the budgets are resolved for.
+     *
+     * @return the environment (e.g., "qa", "stg").
+     */
+    public String getEnv() {
+        return env;
+    }
+
+    /**
+     * Gets the configured limits, keyed without the {@code slo.} prefix.
+     *
+     * @return the limits by key, sorted by key.
+     */
+    public Map<String, Double> getLimits() {
+        return limits;
+    }
+
+    /**
+     * Returns a string representation of the SloConfig object.
+     *
+     * @return a string representing the SloConfig object.
+     */
+    @Override
+    public String toString() {
+        return "SloConfig{env=" + env + ", versionedApiPath=" + versionedApiPath + ", limits=" + limits + "}";
+    }
+
+}
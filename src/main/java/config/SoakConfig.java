@@ -0,0 +1,160 @@
+package config;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable settings of a closed-model soak run: the number of virtual users, how long they run,
+ * the length of a reporting window, the think time between sequences and how much the last
+ * window may degrade against the first one after the warm-up. Values are read from the API
+ * properties and can be overridden per run with system properties of the same name, e.g.
+ * {@code -Dsoak.duration.s=28800}.
+ */
+public class SoakConfig {
+
+    private final int virtualUsers;
+    private final Duration duration;
+    private final Duration window;
+    private final Duration thinkTime;
+    private final int warmupWindows;
+    private final double maxP99Growth;
+    private final double maxErrorRateIncrease;
+    private final List<String> sequences;
+
+    public SoakConfig(int virtualUsers, Duration duration, Duration window, Duration thinkTime, int warmupWindows,
+                      double maxP99Growth, double maxErrorRateIncrease, List<String> sequences) {
+        if (virtualUsers < 1 || window.isZero() || window.isNegative() || duration.compareTo(window) < 0 || thinkTime.isNegative()) {
+            throw new IllegalArgumentException("Soak needs at least one virtual user and a duration of at least one window: virtualUsers="
+                    + virtualUsers + ", duration=" + duration + ", window=" + window + ", thinkTime=" + thinkTime);
+        }
+        if (warmupWindows < 0 || maxP99Growth < 1 || maxErrorRateIncrease < 0 || sequences.isEmpty()) {
+            throw new IllegalArgumentException("Invalid soak limits: warmupWindows=" + warmupWindows + ", maxP99Growth=" + maxP99Growth
+                    + ", maxErrorRateIncrease=" + maxErrorRateIncrease + ", sequences=" + sequences);
+        }
+        this.virtualUsers = virtualUsers;
+        this.duration = duration;
+        this.window = window;
+        this.thinkTime = thinkTime;
+        this.warmupWindows = warmupWindows;
+        this.maxP99Growth = maxP99Growth;
+        this.maxErrorRateIncrease = maxErrorRateIncrease;
+        this.sequences = List.copyOf(sequences);
+    }
+
+    /**
+     * Builds the soak settings from the API properties and system property overrides.
+     *
+     * @return the soak settings.
+     * @throws NumberFormatException if a value cannot be parsed as a number.
+     */
+    public static SoakConfig load() {
+        ConfigManager.loadApiProperties();
+        return new SoakConfig(
+                Integer.parseInt(property("soak.virtual.users", "20")),
+                Duration.ofSeconds(Long.parseLong(property("soak.duration.s", "3600"))),
+                Duration.ofSeconds(Long.parseLong(property("soak.window.s", "60"))),
+                Duration.ofMillis(Long.parseLong(property("soak.think.time.ms", "100"))),
+                Integer.parseInt(property("soak.warmup.windows", "1")),
+                Double.parseDouble(property("soak.max.p99.growth", "2.0")),
+                Double.parseDouble(property("soak.max.error.rate.increase", "0.01")),
+                Arrays.stream(property("soak.sequences", "book-crud,author-crud").split(",")).map(String::trim).toList()
+        );
+    }
+
+    /**
+     * Retrieves a soak setting, preferring a system property over the API properties file.
+     *
+     * @param key          the property key.
+     * @param defaultValue the value used when the key is set nowhere.
+     * @return the trimmed property value.
+     */
+    private static String property(String key, String defaultValue) {
+        String value = System.getProperty(key, ConfigManager.getApiProperty(key));
+        return value == null ? defaultValue : value.trim();
+    }
+
+    /**
+     * Gets the number of virtual users, each running one sequence at a time.
+     *
+     * @return the number of virtual users.
+     */
+    public int getVirtualUsers() {
+        return virtualUsers;
+    }
+
+    /**
+     * Gets how long the virtual users run.
+     *
+     * @return the duration of the run.
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Gets the length of a reporting window.
+     *
+     * @return the window length.
+     */
+    public Duration getWindow() {
+        return window;
+    }
+
+    /**
+     * Gets how long a virtual user pauses between two sequences.
+     *
+     * @return the think time.
+     */
+    public Duration getThinkTime() {
+        return thinkTime;
+    }
+
+    /**
+     * Gets the number of windows at the start of the run that are not used as the baseline.
+     *
+     * @return the number of warm-up windows.
+     */
+    public int getWarmupWindows() {
+        return warmupWindows;
+    }
+
+    /**
+     * Gets how many times the baseline p99 the p99 of the last window may be.
+     *
+     * @return the maximum p99 growth factor, at least 1.
+     */
+    public double getMaxP99Growth() {
+        return maxP99Growth;
+    }
+
+    /**
+     * Gets by how much the error rate of the last window may exceed the baseline error rate.
+     *
+     * @return the maximum error rate increase between 0 and 1.
+     */
+    public double getMaxErrorRateIncrease() {
+        return maxErrorRateIncrease;
+    }
+
+    /**
+     * Gets the names of the sequences the virtual users run in turn.
+     *
+     * @return the sequence names.
+     */
+    public List<String> getSequences() {
+        return sequences;
+    }
+
+    /**
+     * Returns a string representation of the SoakConfig object.
+     *
+     * @return a string representing the SoakConfig object.
+     */
+    @Override
+    public String toString() {
+        return String.format("SoakConfig{virtualUsers=%d, duration=%s, window=%s, thinkTime=%s, warmupWindows=%d, maxP99Growth=%.2f, maxErrorRateIncrease=%.4f, sequences=%s}",
+                virtualUsers, duration, window, thinkTime, warmupWindows, maxP99Growth, maxErrorRateIncrease, sequences);
+    }
+
+}
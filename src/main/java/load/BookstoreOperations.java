@@ -0,0 +1,157 @@
+package load;
+
+import client.BookstoreClient;
+import models.requests.authors.PostAuthorRequest;
+import models.requests.authors.PutAuthorRequest;
+import models.requests.books.PostBookRequest;
+import models.requests.books.PutBookRequest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongFunction;
+
+/**
+ * The operations of the Books and Authors endpoints available to load runs, and the sequences
+ * available to soak runs, sent through a {@link BookstoreClient} so they use its configured
+ * endpoints, HTTP version and hedging. Each load request derives its entity ID from its sequence
+ * number, cycling through the IDs the API serves; each soak sequence works on a new entity.
+ * Write operations send the same request models as the API tests.
+ */
+public class BookstoreOperations {
+
+    /**
+     * The number of book and author IDs cycled through, starting at 1.
+     */
+    public static final int ID_RANGE = 200;
+
+    /**
+     * The ID of the entity created by the first soak sequence; later sequences count up from it,
+     * clear of the IDs the API serves.
+     */
+    public static final long FIRST_NEW_ID = 1_000_000;
+
+    private static final String PUBLISH_DATE = "2024-09-23T18:13:02.9706647+00:00";
+
+    private BookstoreOperations() {
+    }
+
+    /**
+     * Gets all available operations by name: {@code list-books}, {@code get-book},
+     * {@code create-book}, {@code update-book}, {@code list-authors}, {@code get-author},
+     * {@code create-author} and {@code update-author}.
+     *
+     * @param client the client to send the requests with.
+     * @return the requests of the operations by name.
+     */
+    public static Map<String, LongFunction<CompletableFuture<?>>> all(BookstoreClient client) {
+        Map<String, LongFunction<CompletableFuture<?>>> operations = new LinkedHashMap<>();
+        operations.put("list-books", sequence -> client.listBooks());
+        operations.put("get-book", sequence -> client.getBook(id(sequence)));
+        operations.put("create-book", sequence -> client.createBook(bookRequest(id(sequence), sequence)));
+        operations.put("update-book", sequence -> client.updateBook(id(sequence), putBookRequest(id(sequence), sequence)));
+        operations.put("list-authors", sequence -> client.listAuthors());
+        operations.put("get-author", sequence -> client.getAuthor(id(sequence)));
+        operations.put("create-author", sequence -> client.createAuthor(authorRequest(id(sequence), sequence)));
+        operations.put("update-author", sequence -> client.updateAuthor(id(sequence), putAuthorRequest(id(sequence), sequence)));
+        return operations;
+    }
+
+    /**
+     * Builds the operations of a mix.
+     *
+     * @param client the client to send the requests with.
+     * @param mix    the relative weights by operation name, see {@link #all(BookstoreClient)}.
+     * @return the weighted operations, in the order of the mix.
+     * @throws IllegalArgumentException if the mix names an unknown operation.
+     */
+    public static List<LoadOperation> forMix(BookstoreClient client, Map<String, Integer> mix) {
+        Map<String, LongFunction<CompletableFuture<?>>> operations = all(client);
+        List<LoadOperation> weighted = new ArrayList<>();
+        mix.forEach((name, weight) -> {
+            LongFunction<CompletableFuture<?>> request = operations.get(name);
+            if (request == null) {
+                throw new IllegalArgumentException("Unknown load operation '" + name + "', expected one of " + operations.keySet());
+            }
+            if (weight > 0) {
+                weighted.add(new LoadOperation(name, weight, request));
+            }
+        });
+        return weighted;
+    }
+
+    /**
+     * Gets all available soak sequences by name. {@code book-crud} and {@code author-crud} follow
+     * the persistence checks of the API tests: create an entity with a new ID, read it back,
+     * update it and delete it.
+     *
+     * @param client the client to send the requests with.
+     * @return the sequences by name.
+     */
+    public static Map<String, SoakSequence> sequences(BookstoreClient client) {
+        Map<String, SoakSequence> sequences = new LinkedHashMap<>();
+        sequences.put("book-crud", new SoakSequence("book-crud", List.of(
+                new SoakSequence.Step("create-book", iteration -> client.createBook(bookRequest(newId(iteration), iteration))),
+                new SoakSequence.Step("get-book", iteration -> client.getBook(newId(iteration))),
+                new SoakSequence.Step("update-book", iteration -> client.updateBook(newId(iteration), putBookRequest(newId(iteration), iteration))),
+                new SoakSequence.Step("delete-book", iteration -> client.deleteBook(newId(iteration)))
+        )));
+        sequences.put("author-crud", new SoakSequence("author-crud", List.of(
+                new SoakSequence.Step("create-author", iteration -> client.createAuthor(authorRequest(newId(iteration), iteration))),
+                new SoakSequence.Step("get-author", iteration -> client.getAuthor(newId(iteration))),
+                new SoakSequence.Step("update-author", iteration -> client.updateAuthor(newId(iteration), putAuthorRequest(newId(iteration), iteration))),
+                new SoakSequence.Step("delete-author", iteration -> client.deleteAuthor(newId(iteration)))
+        )));
+        return sequences;
+    }
+
+    /**
+     * Gets soak sequences by name.
+     *
+     * @param client the client to send the requests with.
+     * @param names  the sequence names, see {@link #sequences(BookstoreClient)}.
+     * @return the sequences, in the order of the names.
+     * @throws IllegalArgumentException if a name is unknown.
+     */
+    public static List<SoakSequence> sequences(BookstoreClient client, List<String> names) {
+        Map<String, SoakSequence> sequences = sequences(client);
+        List<SoakSequence> selected = new ArrayList<>();
+        for (String name : names) {
+            SoakSequence sequence = sequences.get(name);
+            if (sequence == null) {
+                throw new IllegalArgumentException("Unknown soak sequence '" + name + "', expected one of " + sequences.keySet());
+            }
+            selected.add(sequence);
+        }
+        return selected;
+    }
+
+    private static long newId(long iteration) {
+        return FIRST_NEW_ID + iteration;
+    }
+
+    private static long id(long sequence) {
+        return 1 + sequence % ID_RANGE;
+    }
+
+    private static PostBookRequest bookRequest(long id, long sequence) {
+        return new PostBookRequest(id, "Load test book " + id, "Created by load run request " + sequence, (int) (id % 1000) * 10,
+                "Lorem ipsum dolor sit amet " + sequence, PUBLISH_DATE);
+    }
+
+    private static PutBookRequest putBookRequest(long id, long sequence) {
+        return new PutBookRequest(id, "Load test book " + id, "Updated by load run request " + sequence, (int) (id % 1000) * 10,
+                "Lorem ipsum dolor sit amet " + sequence, PUBLISH_DATE);
+    }
+
+    private static PostAuthorRequest authorRequest(long id, long sequence) {
+        return new PostAuthorRequest(id, 1 + id % ID_RANGE, "Load", "Author " + sequence);
+    }
+
+    private static PutAuthorRequest putAuthorRequest(long id, long sequence) {
+        return new PutAuthorRequest(id, 1 + id % ID_RANGE, "Load", "Author " + sequence);
+    }
+
+}
@@ -0,0 +1,261 @@
+package load;
+
+import config.LoadConfig;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests are sent at a constant arrival rate, on a fixed schedule
+ * that does not depend on how fast the API answers, like real users who do not wait for each
+ * other. A slow API therefore builds up requests in flight instead of lowering the load.
+ * <p>
+ * One thread sends the requests on schedule; they must be non-blocking, e.g. the futures of a
+ * {@link client.BookstoreClient}. Operations are interleaved by weight, so every stretch of the run
+ * has the same mix. Requests sent during the warm-up are not recorded. Requests due while
+ * {@code maxInFlight} are in flight are not sent and count as errors, which bounds the memory of a
+ * run against an API that stopped answering. Their latency, and that of requests still unanswered
+ * when the run ends, is recorded as the time from their scheduled send time until then, so the
+ * percentiles of a stalled API include the requests it stalled.
+ */
+public class ConstantArrivalRateGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private final double ratePerSecond;
+    private final Duration duration;
+    private final Duration warmup;
+    private final int maxInFlight;
+
+    public ConstantArrivalRateGenerator(double ratePerSecond, Duration duration, Duration warmup, int maxInFlight) {
+        this.ratePerSecond = ratePerSecond;
+        this.duration = duration;
+        this.warmup = warmup;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public ConstantArrivalRateGenerator(LoadConfig config) {
+        this(config.getRatePerSecond(), config.getDuration(), config.getWarmup(), config.getMaxInFlight());
+    }
+
+    /**
+     * Runs the warm-up and the measured window on the calling thread and waits for the requests
+     * in flight to complete, for at most a minute; requests still running after that count as
+     * failed, with the time until then as their latency.
+     *
+     * @param operations the weighted operations to send.
+     * @return the report of the measured requests.
+     * @throws InterruptedException if the calling thread is interrupted.
+     */
+    public LoadReport run(List<LoadOperation> operations) throws InterruptedException {
+        int[] schedule = interleave(operations);
+        Stats[] stats = new Stats[operations.size()];
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new Stats();
+        }
+        double periodNanos = 1e9 / ratePerSecond;
+        long warmupRequests = Math.round(warmup.toNanos() / periodNanos);
+        long totalRequests = warmupRequests + Math.max(1, Math.round(duration.toNanos() / periodNanos));
+        AtomicInteger inFlight = new AtomicInteger();
+        Set<Request> pending = ConcurrentHashMap.newKeySet();
+        AtomicBoolean sending = new AtomicBoolean(true);
+        CountDownLatch drained = new CountDownLatch(1);
+        long maxLag = 0;
+
+        long start = System.nanoTime();
+        for (long sequence = 0; sequence < totalRequests; sequence++) {
+            long intended = start + (long) (sequence * periodNanos);
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException("Load run interrupted after " + sequence + " requests");
+            }
+            boolean measured = sequence >= warmupRequests;
+            int index = schedule[(int) (sequence % schedule.length)];
+            Stats operation = stats[index];
+            if (measured) {
+                operation.scheduled.increment();
+                maxLag = Math.max(maxLag, System.nanoTime() - intended);
+            }
+            if (inFlight.get() >= maxInFlight) {
+                if (measured) {
+                    operation.recordDropped(System.nanoTime() - intended);
+                }
+                continue;
+            }
+            inFlight.incrementAndGet();
+            Request request = new Request(measured ? operation : null, intended, System.nanoTime());
+            pending.add(request);
+            send(operations.get(index), sequence).whenComplete((value, error) -> {
+                request.complete(System.nanoTime(), error == null);
+                pending.remove(request);
+                if (inFlight.decrementAndGet() == 0 && !sending.get()) {
+                    drained.countDown();
+                }
+            });
+        }
+
+        sending.set(false);
+        if (inFlight.get() > 0 && !drained.await(DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            // Requests still in flight are reported as failed as of now; their late completions are ignored.
+            long now = System.nanoTime();
+            for (Request request : pending) {
+                request.complete(now, false);
+            }
+        }
+        return report(operations, stats, maxLag);
+    }
+
+    /**
+     * A request in flight, recorded once by whichever comes first: its completion or the end of the drain.
+     */
+    private static final class Request {
+
+        private final Stats operation;
+        private final long intended;
+        private final long sent;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        Request(Stats operation, long intended, long sent) {
+            this.operation = operation;
+            this.intended = intended;
+            this.sent = sent;
+        }
+
+        void complete(long end, boolean success) {
+            if (operation != null && recorded.compareAndSet(false, true)) {
+                operation.record(end - intended, end - sent, success);
+            }
+        }
+    }
+
+    private static CompletableFuture<?> send(LoadOperation operation, long sequence) {
+        try {
+            return operation.request().apply(sequence);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private LoadReport report(List<LoadOperation> operations, Stats[] stats, long maxLag) {
+        List<LoadReport.OperationResult> results = new ArrayList<>();
+        Histogram totalLatency = newHistogram();
+        Histogram totalServiceTime = newHistogram();
+        long scheduled = 0;
+        long succeeded = 0;
+        long failed = 0;
+        long dropped = 0;
+        for (int i = 0; i < stats.length; i++) {
+            LoadReport.OperationResult result = stats[i].result(operations.get(i).name());
+            results.add(result);
+            totalLatency.add(result.latency());
+            totalServiceTime.add(result.serviceTime());
+            scheduled += result.scheduled();
+            succeeded += result.succeeded();
+            failed += result.failed();
+            dropped += result.dropped();
+        }
+        LoadReport.OperationResult total = new LoadReport.OperationResult("total", scheduled, succeeded, failed, dropped, totalLatency, totalServiceTime);
+        return new LoadReport(ratePerSecond, duration, maxLag, results, total);
+    }
+
+    /**
+     * Spreads the operations over a cycle of the sum of their weights with smooth weighted
+     * round-robin, e.g. weights 3 and 1 give {@code A A B A} rather than {@code A A A B}.
+     *
+     * @param operations the weighted operations.
+     * @return the operation indexes of one cycle.
+     */
+    static int[] interleave(List<LoadOperation> operations) {
+        int divisor = 0;
+        for (LoadOperation operation : operations) {
+            divisor = gcd(divisor, operation.weight());
+        }
+        if (divisor == 0) {
+            throw new IllegalArgumentException("Load run needs at least one operation with a positive weight");
+        }
+        int[] weights = new int[operations.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = operations.get(i).weight() / divisor;
+        }
+        int cycle = 0;
+        for (int weight : weights) {
+            cycle += weight;
+        }
+        int[] schedule = new int[cycle];
+        int[] current = new int[weights.length];
+        for (int slot = 0; slot < cycle; slot++) {
+            int best = 0;
+            for (int i = 0; i < weights.length; i++) {
+                current[i] += weights[i];
+                if (current[i] > current[best]) {
+                    best = i;
+                }
+            }
+            current[best] -= cycle;
+            schedule[slot] = best;
+        }
+        return schedule;
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+
+    /**
+     * Counters and latency recorders of one operation; written by the threads completing its requests.
+     */
+    private static final class Stats {
+
+        private final LongAdder scheduled = new LongAdder();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final Recorder latency = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Recorder serviceTime = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+
+        void record(long latencyNanos, long serviceNanos, boolean success) {
+            latency.recordValue(micros(latencyNanos));
+            serviceTime.recordValue(micros(serviceNanos));
+            (success ? succeeded : failed).increment();
+        }
+
+        /**
+         * Records a request that was not sent, with the time it was overdue when it was given up.
+         */
+        void recordDropped(long latencyNanos) {
+            latency.recordValue(micros(latencyNanos));
+            dropped.increment();
+        }
+
+        LoadReport.OperationResult result(String name) {
+            return new LoadReport.OperationResult(name, scheduled.sum(), succeeded.sum(), failed.sum(), dropped.sum(),
+                    latency.getIntervalHistogram(), serviceTime.getIntervalHistogram());
+        }
+
+        private static long micros(long nanos) {
+            return Math.max(0, Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        }
+    }
+
+}
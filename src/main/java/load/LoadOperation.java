@@ -0,0 +1,15 @@
+package load;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongFunction;
+
+/**
+ * One kind of request of a load run, e.g. {@code get-book}, with its share of the arrival rate.
+ *
+ * @param name    the operation name used in the mix and the report.
+ * @param weight  the relative share of the requests of the run.
+ * @param request starts a request given its sequence number and returns a future of its outcome;
+ *                it must not block, and a future completed exceptionally counts as an error.
+ */
+public record LoadOperation(String name, int weight, LongFunction<CompletableFuture<?>> request) {
+}
@@ -0,0 +1,180 @@
+package load;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The outcome of an open-model load run: the target and achieved rates, the error rate and the
+ * latency percentiles, per operation and in total, over the measured requests.
+ * <p>
+ * Latencies are measured from the time each request was scheduled to be sent, not from the time
+ * it was actually sent, so requests delayed by a stalled generator or a full connection pool show
+ * their full waiting time (no coordinated omission). The service time from the actual send is
+ * reported alongside; a large gap between the two means the generator could not keep up.
+ */
+public class LoadReport {
+
+    private final double targetRate;
+    private final Duration duration;
+    private final long maxSchedulingLagNanos;
+    private final List<OperationResult> operations;
+    private final OperationResult total;
+
+    /**
+     * The measured requests of one operation.
+     *
+     * @param name        the operation name, or {@code total}.
+     * @param scheduled   the number of requests due in the measured window.
+     * @param succeeded   the number of requests that completed successfully.
+     * @param failed      the number of requests that failed or did not complete in time.
+     * @param dropped     the number of requests not sent because too many were in flight.
+     * @param latency     the latencies from the scheduled send time, in microseconds, including dropped
+     *                    requests and requests that did not complete in time.
+     * @param serviceTime the latencies from the actual send time, in microseconds.
+     */
+    public record OperationResult(String name, long scheduled, long succeeded, long failed, long dropped,
+                                  Histogram latency, Histogram serviceTime) {
+
+        /**
+         * Gets the share of scheduled requests that failed or were dropped.
+         *
+         * @return the error rate between 0 and 1, 0 if no requests were scheduled.
+         */
+        public double errorRate() {
+            return scheduled == 0 ? 0 : (double) (failed + dropped) / scheduled;
+        }
+
+        /**
+         * Gets a latency percentile, measured from the scheduled send time.
+         *
+         * @param percentile the percentile, e.g. 99.
+         * @return the latency in milliseconds.
+         */
+        public double latencyMillis(double percentile) {
+            return latency.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        /**
+         * Gets a service time percentile, measured from the actual send time.
+         *
+         * @param percentile the percentile, e.g. 99.
+         * @return the service time in milliseconds.
+         */
+        public double serviceTimeMillis(double percentile) {
+            return serviceTime.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+
+    public LoadReport(double targetRate, Duration duration, long maxSchedulingLagNanos, List<OperationResult> operations, OperationResult total) {
+        this.targetRate = targetRate;
+        this.duration = duration;
+        this.maxSchedulingLagNanos = maxSchedulingLagNanos;
+        this.operations = List.copyOf(operations);
+        this.total = total;
+    }
+
+    /**
+     * Gets the arrival rate the run was asked to keep.
+     *
+     * @return the target rate in requests per second.
+     */
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    /**
+     * Gets the rate at which requests were actually sent in the measured window.
+     *
+     * @return the sent rate in requests per second.
+     */
+    public double getSentRate() {
+        return (total.scheduled() - total.dropped()) / seconds();
+    }
+
+    /**
+     * Gets the rate of successful responses in the measured window.
+     *
+     * @return the achieved rate in requests per second.
+     */
+    public double getAchievedRate() {
+        return total.succeeded() / seconds();
+    }
+
+    /**
+     * Gets the share of the measured requests that failed or were dropped.
+     *
+     * @return the error rate between 0 and 1.
+     */
+    public double getErrorRate() {
+        return total.errorRate();
+    }
+
+    /**
+     * Gets the measured window.
+     *
+     * @return the measured duration.
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Gets how late the generator sent a request at worst, e.g. because of a GC pause.
+     *
+     * @return the maximum scheduling lag in milliseconds.
+     */
+    public double getMaxSchedulingLagMillis() {
+        return maxSchedulingLagNanos / 1e6;
+    }
+
+    /**
+     * Gets the results per operation.
+     *
+     * @return the operation results, in the order of the mix.
+     */
+    public List<OperationResult> getOperations() {
+        return operations;
+    }
+
+    /**
+     * Gets the results over all operations.
+     *
+     * @return the total result.
+     */
+    public OperationResult getTotal() {
+        return total;
+    }
+
+    private double seconds() {
+        return duration.toNanos() / 1e9;
+    }
+
+    /**
+     * Formats the report as a table with one line per operation and a total line.
+     *
+     * @return the report.
+     */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder(String.format(
+                "target %.1f req/s over %d s: sent %.1f req/s, achieved %.1f req/s, errors %.2f%%, max scheduling lag %.1f ms%n",
+                targetRate, duration.toSeconds(), getSentRate(), getAchievedRate(), getErrorRate() * 100, getMaxSchedulingLagMillis()));
+        report.append(String.format("%-14s %9s %8s %9s %9s %9s %9s %9s %14s%n",
+                "operation", "requests", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "service p99 ms"));
+        for (OperationResult operation : operations) {
+            appendLine(report, operation);
+        }
+        appendLine(report, total);
+        return report.toString();
+    }
+
+    private static void appendLine(StringBuilder report, OperationResult result) {
+        report.append(String.format("%-14s %9d %7.2f%% %9.1f %9.1f %9.1f %9.1f %9.1f %14.1f%n",
+                result.name(), result.scheduled(), result.errorRate() * 100,
+                result.latencyMillis(50), result.latencyMillis(90), result.latencyMillis(99), result.latencyMillis(99.9),
+                result.latency().getMaxValue() / 1000.0, result.serviceTimeMillis(99)));
+    }
+
+}
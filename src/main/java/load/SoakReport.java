@@ -0,0 +1,155 @@
+package load;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of a closed-model soak run: one line of throughput, error rate and latency
+ * percentiles per reporting window, so degradation over time shows instead of disappearing in one
+ * aggregate, and the latency distribution of every step over the whole run.
+ * <p>
+ * Windows keep only their summary numbers, so a day of one-minute windows stays small. The
+ * baseline is the first window after the warm-up windows; the last window is compared against it.
+ */
+public class SoakReport {
+
+    private final List<Window> windows;
+    private final List<StepResult> steps;
+    private final int warmupWindows;
+
+    /**
+     * The requests completed in one reporting window.
+     *
+     * @param index         the window number, starting at 0.
+     * @param start         the start of the window, from the start of the run.
+     * @param length        the length of the window.
+     * @param sequences     the number of sequences run to the end without a failed step.
+     * @param requests      the number of requests completed.
+     * @param errors        the number of requests that got a server error or no response.
+     * @param p50Millis     the median latency over all steps.
+     * @param p90Millis     the 90th percentile latency over all steps.
+     * @param p99Millis     the 99th percentile latency over all steps.
+     * @param maxMillis     the maximum latency over all steps.
+     * @param stepP99Millis the 99th percentile latency per step that completed requests in the window.
+     */
+    public record Window(int index, Duration start, Duration length, long sequences, long requests, long errors,
+                         double p50Millis, double p90Millis, double p99Millis, double maxMillis, Map<String, Double> stepP99Millis) {
+
+        /**
+         * Gets the rate of completed requests in the window.
+         *
+         * @return the throughput in requests per second.
+         */
+        public double throughput() {
+            return requests / (length.toNanos() / 1e9);
+        }
+
+        /**
+         * Gets the share of failed requests in the window.
+         *
+         * @return the error rate between 0 and 1, 0 if no requests completed.
+         */
+        public double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("window %d at %s: %.1f req/s, %d sequences, errors %.2f%%, p50=%.1f ms, p90=%.1f ms, p99=%.1f ms, max=%.1f ms, step p99 %s",
+                    index, start, throughput(), sequences, errorRate() * 100, p50Millis, p90Millis, p99Millis, maxMillis, stepP99Millis);
+        }
+    }
+
+    /**
+     * The requests of one step over the whole run.
+     *
+     * @param name       the step name, e.g. {@code create-book}.
+     * @param requests   the number of requests completed.
+     * @param errors     the number of requests that got a server error or no response.
+     * @param rejections the number of requests that got a client error (4xx).
+     * @param latency    the latencies, in microseconds.
+     */
+    public record StepResult(String name, long requests, long errors, long rejections, Histogram latency) {
+
+        /**
+         * Gets a latency percentile.
+         *
+         * @param percentile the percentile, e.g. 99.
+         * @return the latency in milliseconds.
+         */
+        public double latencyMillis(double percentile) {
+            return latency.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+
+    public SoakReport(List<Window> windows, List<StepResult> steps, int warmupWindows) {
+        this.windows = List.copyOf(windows);
+        this.steps = List.copyOf(steps);
+        this.warmupWindows = warmupWindows;
+    }
+
+    /**
+     * Gets the reporting windows.
+     *
+     * @return the windows in time order.
+     */
+    public List<Window> getWindows() {
+        return windows;
+    }
+
+    /**
+     * Gets the results per step over the whole run.
+     *
+     * @return the step results.
+     */
+    public List<StepResult> getSteps() {
+        return steps;
+    }
+
+    /**
+     * Gets the window the rest of the run is compared against: the first one after the warm-up,
+     * or the last one if the run was shorter than the warm-up.
+     *
+     * @return the baseline window.
+     */
+    public Window getBaseline() {
+        return windows.get(Math.min(warmupWindows, windows.size() - 1));
+    }
+
+    /**
+     * Gets the last window of the run.
+     *
+     * @return the last window.
+     */
+    public Window getLast() {
+        return windows.getLast();
+    }
+
+    /**
+     * Formats the report as one line per window and a table of the steps.
+     *
+     * @return the report.
+     */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%6s %10s %9s %9s %8s %9s %9s %9s %9s%n",
+                "window", "start", "req/s", "sequences", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (Window window : windows) {
+            report.append(String.format("%6d %10s %9.1f %9d %7.2f%% %9.1f %9.1f %9.1f %9.1f%n",
+                    window.index(), window.start().toSeconds() + " s", window.throughput(), window.sequences(), window.errorRate() * 100,
+                    window.p50Millis(), window.p90Millis(), window.p99Millis(), window.maxMillis()));
+        }
+        report.append(String.format("%-14s %9s %8s %8s %9s %9s %9s %9s%n", "step", "requests", "errors", "4xx", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (StepResult step : steps) {
+            report.append(String.format("%-14s %9d %8d %8d %9.1f %9.1f %9.1f %9.1f%n",
+                    step.name(), step.requests(), step.errors(), step.rejections(), step.latencyMillis(50), step.latencyMillis(90), step.latencyMillis(99),
+                    step.latency().getMaxValue() / 1000.0));
+        }
+        return report.toString();
+    }
+
+}
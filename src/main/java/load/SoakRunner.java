@@ -0,0 +1,244 @@
+package load;
+
+import client.ApiException;
+import config.SoakConfig;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Closed-model soak runner: a fixed number of virtual users each run sequences of requests one
+ * step after the other, pausing for the think time between sequences, for hours if need be. The
+ * load follows the API: a slower API gets fewer requests, as with real users waiting for answers.
+ * <p>
+ * Every virtual user is a virtual thread, so thousands of them cost little. Latencies are recorded
+ * into HdrHistogram recorders that are swapped at the end of every window, so memory does not grow
+ * with the length of the run: only the per-window summary numbers of {@link SoakReport.Window} are kept.
+ * As in {@link client.ExchangeMetrics}, a step fails if it gets a server error (5xx) or no response;
+ * a failed step ends the run of its sequence, since the following steps depend on it. A client
+ * error (4xx), e.g. reading an entity the API did not persist, is counted as a rejection of the
+ * step and the sequence goes on, so every step keeps being exercised.
+ */
+public class SoakRunner {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(60);
+
+    private final int virtualUsers;
+    private final Duration duration;
+    private final Duration window;
+    private final Duration thinkTime;
+    private final int warmupWindows;
+
+    public SoakRunner(int virtualUsers, Duration duration, Duration window, Duration thinkTime, int warmupWindows) {
+        this.virtualUsers = virtualUsers;
+        this.duration = duration;
+        this.window = window;
+        this.thinkTime = thinkTime;
+        this.warmupWindows = warmupWindows;
+    }
+
+    public SoakRunner(SoakConfig config) {
+        this(config.getVirtualUsers(), config.getDuration(), config.getWindow(), config.getThinkTime(), config.getWarmupWindows());
+    }
+
+    /**
+     * Runs the virtual users for the configured duration, reporting every window as it closes, and
+     * waits up to a minute for them to finish their current step.
+     *
+     * @param sequences the sequences the virtual users run in turn.
+     * @param onWindow  called on the calling thread with every closed window, e.g. to log it.
+     * @return the report of the run.
+     * @throws InterruptedException if the calling thread is interrupted.
+     */
+    public SoakReport run(List<SoakSequence> sequences, Consumer<SoakReport.Window> onWindow) throws InterruptedException {
+        Map<String, StepStats> steps = new LinkedHashMap<>();
+        List<StepStats[]> sequenceSteps = new ArrayList<>();
+        for (SoakSequence sequence : sequences) {
+            sequenceSteps.add(sequence.steps().stream()
+                    .map(step -> steps.computeIfAbsent(step.name(), name -> new StepStats()))
+                    .toArray(StepStats[]::new));
+        }
+        AtomicLong iterations = new AtomicLong();
+        LongAdder completedSequences = new LongAdder();
+        VirtualUser.Shared shared = new VirtualUser.Shared(sequences, sequenceSteps, iterations, completedSequences, thinkTime, virtualUsers);
+
+        List<Thread> users = new ArrayList<>(virtualUsers);
+        for (int user = 0; user < virtualUsers; user++) {
+            users.add(Thread.ofVirtual().name("soak-user-" + user).start(new VirtualUser(user, shared)));
+        }
+
+        List<SoakReport.Window> windows = new ArrayList<>();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        Histogram windowLatency = newHistogram();
+        try {
+            long windowStart = start;
+            for (int index = 0; windowStart < end; index++) {
+                long windowEnd = Math.min(end, windowStart + window.toNanos());
+                long wait;
+                while ((wait = windowEnd - System.nanoTime()) > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                windowLatency.reset();
+                Map<String, Double> stepP99 = new LinkedHashMap<>();
+                long errors = 0;
+                for (Map.Entry<String, StepStats> step : steps.entrySet()) {
+                    Histogram interval = step.getValue().closeWindow();
+                    windowLatency.add(interval);
+                    errors += step.getValue().windowErrors;
+                    if (interval.getTotalCount() > 0) {
+                        stepP99.put(step.getKey(), interval.getValueAtPercentile(99) / 1000.0);
+                    }
+                }
+                SoakReport.Window closed = new SoakReport.Window(index, Duration.ofNanos(windowStart - start), Duration.ofNanos(windowEnd - windowStart),
+                        completedSequences.sumThenReset(), windowLatency.getTotalCount(), errors,
+                        windowLatency.getValueAtPercentile(50) / 1000.0, windowLatency.getValueAtPercentile(90) / 1000.0,
+                        windowLatency.getValueAtPercentile(99) / 1000.0, windowLatency.getMaxValue() / 1000.0, stepP99);
+                windows.add(closed);
+                onWindow.accept(closed);
+                windowStart = windowEnd;
+            }
+        } finally {
+            shared.running = false;
+            for (Thread user : users) {
+                user.interrupt();
+            }
+            for (Thread user : users) {
+                user.join(STOP_TIMEOUT);
+            }
+        }
+
+        List<SoakReport.StepResult> results = new ArrayList<>();
+        steps.forEach((name, stats) -> results.add(new SoakReport.StepResult(name, stats.total.getTotalCount(), stats.totalErrors, stats.rejections.sum(), stats.total)));
+        return new SoakReport(windows, results, warmupWindows);
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+
+    /**
+     * One virtual user: runs the sequences in turn, starting at its own offset, until the run stops.
+     */
+    private record VirtualUser(int user, Shared shared) implements Runnable {
+
+        /**
+         * State shared by all virtual users of a run.
+         */
+        private static final class Shared {
+
+            private final List<SoakSequence> sequences;
+            private final List<StepStats[]> steps;
+            private final AtomicLong iterations;
+            private final LongAdder completedSequences;
+            private final Duration thinkTime;
+            private final int virtualUsers;
+            private volatile boolean running = true;
+
+            Shared(List<SoakSequence> sequences, List<StepStats[]> steps, AtomicLong iterations, LongAdder completedSequences,
+                   Duration thinkTime, int virtualUsers) {
+                this.sequences = sequences;
+                this.steps = steps;
+                this.iterations = iterations;
+                this.completedSequences = completedSequences;
+                this.thinkTime = thinkTime;
+                this.virtualUsers = virtualUsers;
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                // Spread the users' first requests over one think time instead of starting them all at once.
+                TimeUnit.NANOSECONDS.sleep(shared.thinkTime.toNanos() * user / shared.virtualUsers);
+                for (long round = user; shared.running; round++) {
+                    int index = (int) (round % shared.sequences.size());
+                    if (runSequence(shared.sequences.get(index), shared.steps.get(index), shared.iterations.getAndIncrement())) {
+                        shared.completedSequences.increment();
+                    }
+                    TimeUnit.NANOSECONDS.sleep(shared.thinkTime.toNanos());
+                }
+            } catch (InterruptedException e) {
+                // The run is over.
+            }
+        }
+
+        private boolean runSequence(SoakSequence sequence, StepStats[] stats, long iteration) {
+            for (int i = 0; i < stats.length && shared.running; i++) {
+                long start = System.nanoTime();
+                Outcome outcome;
+                try {
+                    sequence.steps().get(i).request().apply(iteration).join();
+                    outcome = Outcome.SUCCEEDED;
+                } catch (RuntimeException e) {
+                    outcome = isClientError(e) ? Outcome.REJECTED : Outcome.FAILED;
+                }
+                if (!shared.running) {
+                    return false;
+                }
+                stats[i].record(System.nanoTime() - start, outcome);
+                if (outcome == Outcome.FAILED) {
+                    return false;
+                }
+            }
+            return shared.running;
+        }
+    }
+
+    private static boolean isClientError(RuntimeException e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof ApiException api && api.getStatusCode() < 500;
+    }
+
+    /**
+     * How a step ended.
+     */
+    private enum Outcome {
+        SUCCEEDED, REJECTED, FAILED
+    }
+
+    /**
+     * Latency recorder and counters of one step. Virtual users record into the recorder; the
+     * runner's thread swaps its interval histogram at the end of every window and owns the totals.
+     */
+    private static final class StepStats {
+
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rejections = new LongAdder();
+        private final Histogram total = newHistogram();
+        private Histogram interval;
+        private long windowErrors;
+        private long totalErrors;
+
+        void record(long latencyNanos, Outcome outcome) {
+            if (outcome == Outcome.FAILED) {
+                errors.increment();
+            } else if (outcome == Outcome.REJECTED) {
+                rejections.increment();
+            }
+            recorder.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        }
+
+        Histogram closeWindow() {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            windowErrors = errors.sumThenReset();
+            totalErrors += windowErrors;
+            return interval;
+        }
+    }
+
+}
@@ -0,0 +1,33 @@
+package load;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongFunction;
+
+/**
+ * A sequence of requests a virtual user of a soak run sends one after the other, e.g. creating,
+ * reading, updating and deleting a book. Every step of one run of the sequence is given the same
+ * iteration number, so the steps can derive the same entity ID from it.
+ *
+ * @param name  the sequence name used in the configuration.
+ * @param steps the steps in the order they are sent.
+ */
+public record SoakSequence(String name, List<Step> steps) {
+
+    /**
+     * One request of a sequence.
+     *
+     * @param name    the step name used in the report, e.g. {@code create-book}.
+     * @param request starts the request given the iteration number and returns a future of its
+     *                outcome; a future failed with an {@link client.ApiException} of a client error
+     *                (4xx) counts as a rejection, any other failure counts as an error and ends the
+     *                run of the sequence.
+     */
+    public record Step(String name, LongFunction<CompletableFuture<?>> request) {
+    }
+
+    public SoakSequence {
+        steps = List.copyOf(steps);
+    }
+
+}
@@ -0,0 +1,174 @@
+package serialization;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import models.requests.authors.PostAuthorRequest;
+import models.requests.authors.PutAuthorRequest;
+import models.requests.books.PostBookRequest;
+import models.requests.books.PutBookRequest;
+import models.responses.authors.GetAuthorsNotFoundResponse;
+import models.responses.authors.GetAuthorsResponse;
+import models.responses.authors.PostAuthorResponse;
+import models.responses.authors.PutAuthorResponse;
+import models.responses.books.GetBooksNotFoundResponse;
+import models.responses.books.GetBooksResponse;
+import models.responses.books.PostBookResponse;
+import models.responses.books.PutBookResponse;
+import models.responses.common.BadRequestResponse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shared registry of Jackson readers and writers used by every JSON path in the project.
+ * A single {@link ObjectMapper} is created once and only immutable {@link ObjectReader} and
+ * {@link ObjectWriter} instances derived from it are handed out, so they can be shared freely
+ * between threads while Jackson's serializer and deserializer caches stay warm.
+ */
+public final class JsonRegistry {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final ObjectWriter WRITER = MAPPER.writer();
+    private static final ObjectWriter PRETTY_WRITER = MAPPER.writerWithDefaultPrettyPrinter();
+    private static final ObjectReader UNTYPED_READER = MAPPER.readerFor(Object.class);
+    private static final ObjectReader TREE_READER = MAPPER.readerFor(JsonNode.class);
+    private static final ObjectReader MAP_LIST_READER = MAPPER.readerFor(new TypeReference<List<Map<String, Object>>>() {
+    });
+
+    private static final ConcurrentMap<Class<?>, ObjectReader> OBJECT_READERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, ObjectReader> LIST_READERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, ObjectWriter> OBJECT_WRITERS = new ConcurrentHashMap<>();
+
+    private static final List<Class<?>> RESPONSE_MODELS = List.of(
+            GetBooksResponse.class,
+            PostBookResponse.class,
+            PutBookResponse.class,
+            GetBooksNotFoundResponse.class,
+            GetAuthorsResponse.class,
+            PostAuthorResponse.class,
+            PutAuthorResponse.class,
+            GetAuthorsNotFoundResponse.class,
+            BadRequestResponse.class
+    );
+
+    private static final List<Class<?>> REQUEST_MODELS = List.of(
+            PostBookRequest.class,
+            PutBookRequest.class,
+            PostAuthorRequest.class,
+            PutAuthorRequest.class
+    );
+
+    private JsonRegistry() {
+    }
+
+    /**
+     * Pre-builds readers for every response model and writers for every request model, so the
+     * first request of a test run does not pay for Jackson's introspection. Safe to call repeatedly.
+     */
+    public static void warmUp() {
+        RESPONSE_MODELS.forEach(type -> {
+            objectReader(type);
+            listReader(type);
+        });
+        REQUEST_MODELS.forEach(type -> {
+            objectReader(type);
+            objectWriter(type);
+        });
+    }
+
+    /**
+     * Returns the shared mapper. Intended for integrations that require an {@link ObjectMapper}
+     * instance (e.g. RestAssured); it must not be reconfigured after start-up.
+     *
+     * @return the shared ObjectMapper.
+     */
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    /**
+     * Returns a cached reader that deserializes a single object of the given type.
+     *
+     * @param type the class type of the object to be deserialized.
+     * @return the shared ObjectReader for the type.
+     */
+    public static ObjectReader objectReader(Class<?> type) {
+        return OBJECT_READERS.computeIfAbsent(type, MAPPER::readerFor);
+    }
+
+    /**
+     * Returns a cached reader that deserializes a JSON array into a {@code List} of the given type.
+     *
+     * @param type the class type of the list elements.
+     * @return the shared ObjectReader for {@code List<type>}.
+     */
+    public static ObjectReader listReader(Class<?> type) {
+        return LIST_READERS.computeIfAbsent(type, key -> {
+            JavaType listType = MAPPER.getTypeFactory().constructCollectionType(List.class, key);
+            return MAPPER.readerFor(listType);
+        });
+    }
+
+    /**
+     * Returns a cached writer that serializes objects of the given type.
+     *
+     * @param type the class type of the objects to be serialized.
+     * @return the shared ObjectWriter for the type.
+     */
+    public static ObjectWriter objectWriter(Class<?> type) {
+        return OBJECT_WRITERS.computeIfAbsent(type, MAPPER::writerFor);
+    }
+
+    /**
+     * Returns the reader used for JSON of unknown shape (maps, lists and scalars).
+     *
+     * @return the shared untyped ObjectReader.
+     */
+    public static ObjectReader untypedReader() {
+        return UNTYPED_READER;
+    }
+
+    /**
+     * Returns the reader that parses JSON into a {@link JsonNode} tree.
+     *
+     * @return the shared tree ObjectReader.
+     */
+    public static ObjectReader treeReader() {
+        return TREE_READER;
+    }
+
+    /**
+     * Returns the reader used for data provider files, which are arrays of JSON objects.
+     *
+     * @return the shared ObjectReader for {@code List<Map<String, Object>>}.
+     */
+    public static ObjectReader mapListReader() {
+        return MAP_LIST_READER;
+    }
+
+    /**
+     * Returns the compact writer.
+     *
+     * @return the shared ObjectWriter.
+     */
+    public static ObjectWriter writer() {
+        return WRITER;
+    }
+
+    /**
+     * Returns the writer that uses Jackson's default pretty printer.
+     *
+     * @return the shared pretty-printing ObjectWriter.
+     */
+    public static ObjectWriter prettyWriter() {
+        return PRETTY_WRITER;
+    }
+
+}
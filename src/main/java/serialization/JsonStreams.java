@@ -0,0 +1,70 @@
+package serialization;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streaming readers for large JSON arrays such as the full GET /Books and GET /Authors listings.
+ * Elements are bound one at a time straight from the token stream, so only the element currently
+ * being handled is kept on the heap instead of the whole body String plus the full List. Read from
+ * a response's connection stream, the memory stays bounded however large the array is.
+ */
+public final class JsonStreams {
+
+    private JsonStreams() {
+    }
+
+    /**
+     * Reads a JSON array element by element and passes each bound element to the consumer.
+     * The input stream is closed once the array has been fully read or reading fails.
+     *
+     * @param input    the stream containing a JSON array.
+     * @param type     the class type of the array elements.
+     * @param consumer the callback receiving each element in document order.
+     * @param <T>      the type of the elements.
+     * @return the number of elements read.
+     * @throws IOException if the stream cannot be read or an element cannot be bound.
+     */
+    public static <T> long forEachElement(InputStream input, Class<T> type, Consumer<? super T> consumer) throws IOException {
+        long count = 0;
+        try (MappingIterator<T> iterator = JsonRegistry.objectReader(type).readValues(input)) {
+            while (iterator.hasNextValue()) {
+                consumer.accept(iterator.nextValue());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Exposes a JSON array as a lazy, sequential {@link Stream}. Nothing is read until the stream
+     * is consumed, and the underlying input is released when the stream is closed, so callers
+     * should use it in a try-with-resources block.
+     *
+     * @param input the stream containing a JSON array.
+     * @param type  the class type of the array elements.
+     * @param <T>   the type of the elements.
+     * @return a lazy stream of the array elements.
+     * @throws IOException if the start of the stream cannot be read.
+     */
+    public static <T> Stream<T> streamElements(InputStream input, Class<T> type) throws IOException {
+        MappingIterator<T> iterator = JsonRegistry.objectReader(type).readValues(input);
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                iterator.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,223 @@
+package client;
+
+import config.HedgingConfig;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.testng.Assert.*;
+
+public class HedgingPolicyTest {
+
+    private static final String ENDPOINT = "GET /api/v1/Books/{id}";
+    private static final long DELAY_MILLIS = 50;
+
+    @Test(description = "Passes the single attempt through when hedging is disabled.")
+    public void testDisabled() throws Exception {
+        Attempts attempts = new Attempts();
+        HedgingPolicy policy = HedgingPolicy.disabled();
+
+        CompletableFuture<String> result = policy.execute(ENDPOINT, attempts);
+
+        assertSame(attempts.poll(0), result, "The attempt is returned as it is");
+        result.complete("primary");
+        assertNull(attempts.poll(3 * DELAY_MILLIS));
+        assertEquals(policy.get(ENDPOINT).requests(), 0);
+    }
+
+    @Test(description = "Sends no hedge when the first attempt answers within the delay.")
+    public void testFastPrimary() throws Exception {
+        Attempts attempts = new Attempts();
+        HedgingPolicy policy = policy(true);
+
+        CompletableFuture<String> result = policy.execute(ENDPOINT, attempts);
+        attempts.next().complete("primary");
+
+        assertEquals(result.get(5, TimeUnit.SECONDS), "primary");
+        assertNull(attempts.poll(5 * DELAY_MILLIS), "No hedge after the request was answered");
+        HedgingPolicy.Snapshot snapshot = policy.get(ENDPOINT);
+        assertEquals(snapshot.requests(), 1);
+        assertEquals(snapshot.hedges(), 0);
+        assertEquals(snapshot.hedgeWins(), 0);
+        assertEquals(snapshot.p50Millis(), snapshot.unhedgedP50Millis());
+    }
+
+    @Test(description = "Cancels the slow first attempt when the hedge wins and counts its latency as the time it was cancelled at.")
+    public void testHedgeWinsAndCancelsLoser() throws Exception {
+        Attempts attempts = new Attempts();
+        HedgingPolicy policy = policy(true);
+
+        CompletableFuture<String> result = policy.execute(ENDPOINT, attempts);
+        CompletableFuture<String> primary = attempts.next();
+        CompletableFuture<String> hedge = attempts.next();
+        hedge.complete("hedge");
+
+        assertEquals(result.get(5, TimeUnit.SECONDS), "hedge");
+        assertTrue(primary.isCancelled());
+        HedgingPolicy.Snapshot snapshot = policy.get(ENDPOINT);
+        assertEquals(snapshot.hedges(), 1);
+        assertEquals(snapshot.hedgeWins(), 1);
+        assertEquals(snapshot.cancelled(), 1);
+        assertEquals(snapshot.unhedgedP50Millis(), snapshot.p50Millis(), 1.0);
+    }
+
+    @Test(description = "Lets the losing attempt finish when losers are kept, and counts its real latency without hedging.")
+    public void testHedgeWinsAndKeepsLoser() throws Exception {
+        Attempts attempts = new Attempts();
+        HedgingPolicy policy = policy(false);
+
+        CompletableFuture<String> result = policy.execute(ENDPOINT, attempts);
+        CompletableFuture<String> primary = attempts.next();
+        attempts.next().complete("hedge");
+        assertEquals(result.get(5, TimeUnit.SECONDS), "hedge");
+        assertFalse(primary.isDone());
+
+        Thread.sleep(4 * DELAY_MILLIS);
+        primary.complete("primary");
+
+        assertEquals(result.get(), "hedge");
+        HedgingPolicy.Snapshot snapshot = policy.get(ENDPOINT);
+        assertEquals(snapshot.hedgeWins(), 1);
+        assertEquals(snapshot.cancelled(), 0);
+        assertTrue(snapshot.unhedgedP50Millis() >= 5 * DELAY_MILLIS, "Unhedged latency " + snapshot.unhedgedP50Millis());
+        assertTrue(snapshot.p50Millis() < snapshot.unhedgedP50Millis(), "Hedged latency " + snapshot.p50Millis());
+    }
+
+    @Test(description = "Cancels the hedge when the first attempt answers first.")
+    public void testPrimaryWinsAfterHedge() throws Exception {
+        Attempts attempts = new Attempts();
+        HedgingPolicy policy = policy(true);
+
+        CompletableFuture<String> result = policy.execute(ENDPOINT, attempts);
+        CompletableFuture<String> primary = attempts.next();
+        CompletableFuture<String> hedge = attempts.next();
+        primary.complete("primary");
+
+        assertEquals(result.get(5, TimeUnit.SECONDS), "primary");
+        // The hedge is cancelled on the delay thread, possibly after the result completed.
+        expectThrows(CancellationException.class, () -> hedge.get(5, TimeUnit.SECONDS));
+        HedgingPolicy.Snapshot snapshot = policy.get(ENDPOINT);
+        assertEquals(snapshot.hedges(), 1);
+        assertEquals(snapshot.hedgeWins(), 0);
+        assertEquals(snapshot.cancelled(), 0);
+    }
+
+    @Test(description = "Fails at once and sends no hedge when the only running attempt fails.")
+    public void testPrimaryFailsBeforeHedge() throws Exception {
+        Attempts attempts = new Attempts();
+        HedgingPolicy policy = policy(true);
+
+        CompletableFuture<String> result = policy.execute(ENDPOINT, attempts);
+        attempts.next().completeExceptionally(new IllegalStateException("primary failed"));
+
+        ExecutionException error = expectThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertEquals(error.getCause().getMessage(), "primary failed");
+        assertNull(attempts.poll(5 * DELAY_MILLIS), "No hedge after the request failed");
+        assertEquals(policy.get(ENDPOINT).hedges(), 0);
+    }
+
+    @Test(description = "Keeps waiting for the hedge when the first attempt fails after it was sent.")
+    public void testPrimaryFailsAfterHedge() throws Exception {
+        Attempts attempts = new Attempts();
+        HedgingPolicy policy = policy(true);
+
+        CompletableFuture<String> result = policy.execute(ENDPOINT, attempts);
+        CompletableFuture<String> primary = attempts.next();
+        CompletableFuture<String> hedge = attempts.next();
+        primary.completeExceptionally(new IllegalStateException("primary failed"));
+
+        assertFalse(result.isDone(), "A failed attempt must not fail the request while the hedge runs");
+        hedge.complete("hedge");
+        assertEquals(result.get(5, TimeUnit.SECONDS), "hedge");
+        assertEquals(policy.get(ENDPOINT).hedgeWins(), 1);
+    }
+
+    @Test(description = "Fails with the last error when both attempts fail.")
+    public void testBothFail() throws Exception {
+        Attempts attempts = new Attempts();
+        HedgingPolicy policy = policy(true);
+
+        CompletableFuture<String> result = policy.execute(ENDPOINT, attempts);
+        CompletableFuture<String> primary = attempts.next();
+        CompletableFuture<String> hedge = attempts.next();
+        hedge.completeExceptionally(new IllegalStateException("hedge failed"));
+        assertFalse(result.isDone());
+        primary.completeExceptionally(new IllegalStateException("primary failed"));
+
+        ExecutionException error = expectThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertEquals(error.getCause().getMessage(), "primary failed");
+    }
+
+    @Test(description = "Treats a hedge that throws while starting as a failed attempt, which does not fail the request.")
+    public void testHedgeThrows() throws Exception {
+        HedgingPolicy policy = policy(true);
+        BlockingQueue<CompletableFuture<String>> started = new LinkedBlockingQueue<>();
+        CountDownLatch hedgeStarted = new CountDownLatch(1);
+
+        CompletableFuture<String> result = policy.execute(ENDPOINT, () -> {
+            if (started.isEmpty()) {
+                CompletableFuture<String> attempt = new CompletableFuture<>();
+                started.add(attempt);
+                return attempt;
+            }
+            hedgeStarted.countDown();
+            throw new IllegalStateException("hedge could not start");
+        });
+
+        assertTrue(hedgeStarted.await(5, TimeUnit.SECONDS));
+        assertFalse(result.isDone(), "The first attempt is still running");
+        started.take().complete("primary");
+        assertEquals(result.get(5, TimeUnit.SECONDS), "primary");
+        assertEquals(policy.get(ENDPOINT).hedgeWins(), 0);
+    }
+
+    /**
+     * Hedges after {@link #DELAY_MILLIS}, as no endpoint reaches the minimum samples.
+     */
+    private static HedgingPolicy policy(boolean cancelLoser) {
+        return new HedgingPolicy(new HedgingConfig(true, 95, DELAY_MILLIS, DELAY_MILLIS, 1_000, cancelLoser));
+    }
+
+    /**
+     * Starts attempts as futures that the test completes, handing them out in the order they were started.
+     */
+    private static final class Attempts implements Supplier<CompletableFuture<String>> {
+
+        private final BlockingQueue<CompletableFuture<String>> started = new LinkedBlockingQueue<>();
+
+        @Override
+        public CompletableFuture<String> get() {
+            CompletableFuture<String> attempt = new CompletableFuture<>();
+            started.add(attempt);
+            return attempt;
+        }
+
+        /**
+         * Waits for the next attempt and for the policy to observe it, so that completing the
+         * attempt runs the policy's bookkeeping on the calling thread. The hedge is handed out
+         * before the delay thread registers its handler.
+         */
+        CompletableFuture<String> next() throws InterruptedException {
+            CompletableFuture<String> attempt = started.poll(5, TimeUnit.SECONDS);
+            assertNotNull(attempt, "Attempt was not started");
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (attempt.getNumberOfDependents() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertTrue(attempt.getNumberOfDependents() > 0, "Attempt was not observed");
+            return attempt;
+        }
+
+        CompletableFuture<String> poll(long timeoutMillis) throws InterruptedException {
+            return started.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+}
@@ -0,0 +1,182 @@
+package client;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static org.testng.Assert.*;
+
+public class StreamingDecoderTest {
+
+    private static final byte[] BODY = body();
+
+    @DataProvider(name = "chunkSizes")
+    public Object[][] chunkSizes() {
+        return new Object[][]{{1}, {7}, {16 * 1024}, {-1}};
+    }
+
+    @Test(dataProvider = "chunkSizes", description = "Decodes a gzip body whatever the chunks it arrives in.")
+    public void testGzip(int chunkSize) throws IOException {
+        assertEquals(decode("gzip", gzip(BODY), chunkSize), BODY);
+    }
+
+    @Test(dataProvider = "chunkSizes", description = "Decodes a zlib-wrapped deflate body whatever the chunks it arrives in.")
+    public void testZlibDeflate(int chunkSize) throws IOException {
+        assertEquals(decode("deflate", deflate(BODY, false), chunkSize), BODY);
+    }
+
+    @Test(dataProvider = "chunkSizes", description = "Decodes a raw deflate body whatever the chunks it arrives in.")
+    public void testRawDeflate(int chunkSize) throws IOException {
+        assertEquals(decode("deflate", deflate(BODY, true), chunkSize), BODY);
+    }
+
+    @Test(dataProvider = "chunkSizes", description = "Decodes every member of a multi-member gzip body.")
+    public void testGzipMultipleMembers(int chunkSize) throws IOException {
+        byte[] first = "first member ".getBytes(StandardCharsets.UTF_8);
+        byte[] encoded = concat(gzip(first), gzip(BODY), gzip(new byte[0]));
+
+        assertEquals(decode("gzip", encoded, chunkSize), concat(first, BODY));
+    }
+
+    @Test(dataProvider = "chunkSizes", description = "Decodes a gzip header with the optional extra, name, comment and header CRC fields.")
+    public void testGzipOptionalHeaderFields(int chunkSize) throws IOException {
+        byte[] member = gzip(BODY);
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        encoded.write(member, 0, 3);
+        encoded.write(2 | 4 | 8 | 16);
+        encoded.write(member, 4, 6);
+        encoded.write(new byte[]{3, 0, 'a', 'b', 'c'});
+        encoded.write("books.json\0".getBytes(StandardCharsets.ISO_8859_1));
+        encoded.write("a comment\0".getBytes(StandardCharsets.ISO_8859_1));
+        encoded.write(new byte[]{0, 0});
+        encoded.write(member, 10, member.length - 10);
+
+        assertEquals(decode("gzip", encoded.toByteArray(), chunkSize), BODY);
+    }
+
+    @Test(dataProvider = "chunkSizes", description = "Ignores trailing bytes after the last gzip member, as GZIPInputStream does.")
+    public void testGzipTrailingGarbage(int chunkSize) throws IOException {
+        byte[] encoded = concat(gzip(BODY), "\r\ntrailing".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(decode("gzip", encoded, chunkSize), BODY);
+    }
+
+    @Test(dataProvider = "chunkSizes", description = "Rejects a gzip body cut off in its data or trailer.")
+    public void testGzipTruncated(int chunkSize) throws IOException {
+        byte[] encoded = gzip(BODY);
+
+        assertThrows(ZipException.class, () -> decode("gzip", Arrays.copyOf(encoded, encoded.length / 2), chunkSize));
+        assertThrows(ZipException.class, () -> decode("gzip", Arrays.copyOf(encoded, encoded.length - 3), chunkSize));
+        assertThrows(ZipException.class, () -> decode("gzip", Arrays.copyOf(encoded, 5), chunkSize));
+    }
+
+    @Test(dataProvider = "chunkSizes", description = "Rejects a deflate body cut off in its data.")
+    public void testDeflateTruncated(int chunkSize) throws IOException {
+        byte[] encoded = deflate(BODY, false);
+
+        assertThrows(ZipException.class, () -> decode("deflate", Arrays.copyOf(encoded, encoded.length / 2), chunkSize));
+        assertThrows(ZipException.class, () -> decode("deflate", new byte[0], chunkSize));
+    }
+
+    @Test(dataProvider = "chunkSizes", description = "Rejects a gzip member whose CRC-32 or size does not match its data.")
+    public void testGzipCorruptTrailer(int chunkSize) throws IOException {
+        byte[] badCrc = gzip(BODY);
+        badCrc[badCrc.length - 8] ^= 1;
+        byte[] badSize = gzip(BODY);
+        badSize[badSize.length - 1] ^= 1;
+
+        ZipException crcError = expectThrows(ZipException.class, () -> decode("gzip", badCrc, chunkSize));
+        assertTrue(crcError.getMessage().contains("CRC-32"), crcError.getMessage());
+        ZipException sizeError = expectThrows(ZipException.class, () -> decode("gzip", badSize, chunkSize));
+        assertTrue(sizeError.getMessage().contains("size"), sizeError.getMessage());
+    }
+
+    @Test(description = "Rejects a body that is not gzip and data that is not deflate.")
+    public void testInvalidData() {
+        byte[] plain = "not compressed at all".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(ZipException.class, () -> decode("gzip", plain, 4));
+        assertThrows(ZipException.class, () -> decode("deflate", new byte[]{0x78, (byte) 0x9c, (byte) 0xff, (byte) 0xff, 0, 0}, 1));
+    }
+
+    @Test(description = "Maps the Content-Encoding header to a decoder.")
+    public void testForEncoding() {
+        assertNull(StreamingDecoder.forEncoding("identity"));
+        assertNull(StreamingDecoder.forEncoding(""));
+        assertNotNull(StreamingDecoder.forEncoding(" GZIP "));
+        assertNotNull(StreamingDecoder.forEncoding("x-gzip"));
+        assertNotNull(StreamingDecoder.forEncoding("deflate"));
+        assertThrows(IllegalArgumentException.class, () -> StreamingDecoder.forEncoding("br"));
+    }
+
+    /**
+     * Feeds the encoded bytes to a decoder in chunks of the given size, or of random sizes if it is negative.
+     */
+    private static byte[] decode(String encoding, byte[] encoded, int chunkSize) throws ZipException {
+        StreamingDecoder decoder = StreamingDecoder.forEncoding(encoding);
+        Random random = new Random(encoded.length);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            for (int offset = 0; offset < encoded.length; ) {
+                int length = Math.min(encoded.length - offset, chunkSize > 0 ? chunkSize : 1 + random.nextInt(64));
+                decoder.feed(ByteBuffer.wrap(encoded, offset, length), output);
+                offset += length;
+            }
+            decoder.finish();
+        } finally {
+            decoder.close();
+        }
+        return output.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(encoded)) {
+            gzip.write(data);
+        }
+        return encoded.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] data, boolean raw) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, raw);
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(encoded, deflater)) {
+            deflate.write(data);
+        } finally {
+            deflater.end();
+        }
+        return encoded.toByteArray();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream joined = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            joined.writeBytes(part);
+        }
+        return joined.toByteArray();
+    }
+
+    /**
+     * Builds a body larger than the decoder's chunk that mixes repetitive JSON with random bytes.
+     */
+    private static byte[] body() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= 2_000; i++) {
+            json.append("{\"id\":").append(i).append(",\"title\":\"Book ").append(i).append("\"},");
+        }
+        byte[] noise = new byte[4_096];
+        new Random(42).nextBytes(noise);
+        return concat(json.append("{}]").toString().getBytes(StandardCharsets.UTF_8), noise);
+    }
+
+}
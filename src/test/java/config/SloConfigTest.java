@@ -0,0 +1,63 @@
+package config;
+
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class SloConfigTest {
+
+    private static final String BOOK = "GET /api/v1/Books/{id}";
+
+    @Test(description = "Builds the property scope of an endpoint below the versioned API path.")
+    public void testScope() {
+        SloConfig slo = new SloConfig("qa", "/api/v1", Map.of());
+
+        assertEquals(slo.scope(BOOK), "get.books.id");
+        assertEquals(slo.scope("POST /api/v1/Authors"), "post.authors");
+        assertEquals(slo.scope("GET /health"), "get.health");
+    }
+
+    @Test(description = "Prefers the environment's endpoint limit, then the endpoint limit, then the environment's default, then the default.")
+    public void testLimitPrecedence() {
+        Map<String, Double> limits = Map.of(
+                "get.books.id.p99.ms.qa", 100.0,
+                "get.books.id.p99.ms", 200.0,
+                "default.p99.ms.qa", 300.0,
+                "default.p99.ms", 400.0,
+                "get.books.id.p50.ms", 50.0,
+                "default.p50.ms.stg", 60.0,
+                "default.max.ms", 900.0);
+
+        SloConfig.Budget qa = new SloConfig("qa", "/api/v1", limits).budget(BOOK);
+        assertEquals(qa.percentileMillis(), Map.of(50.0, 50L, 99.0, 100L, 100.0, 900L));
+        SloConfig.Budget stg = new SloConfig("stg", "/api/v1", limits).budget(BOOK);
+        assertEquals(stg.percentileMillis(), Map.of(50.0, 50L, 99.0, 200L, 100.0, 900L));
+        SloConfig.Budget authorsOnStg = new SloConfig("stg", "/api/v1", limits).budget("GET /api/v1/Authors");
+        assertEquals(authorsOnStg.percentileMillis(), Map.of(50.0, 60L, 99.0, 400L, 100.0, 900L));
+        SloConfig.Budget authorsOnQa = new SloConfig("qa", "/api/v1", limits).budget("GET /api/v1/Authors");
+        assertEquals(authorsOnQa.percentileMillis(), Map.of(99.0, 300L, 100.0, 900L));
+    }
+
+    @Test(description = "Resolves the body and error budgets, leaving limits set nowhere unbounded.")
+    public void testBodyAndErrorBudgets() {
+        SloConfig slo = new SloConfig("qa", "/api/v1", Map.of("default.max.bytes", 1024.0, "get.books.error.rate", 0.01, "get.books.p999.ms", 700.0));
+
+        SloConfig.Budget books = slo.budget("GET /api/v1/Books");
+        assertEquals(books.maxBodyBytes(), 1024);
+        assertEquals(books.maxErrorRate(), 0.01);
+        assertEquals(books.percentileMillis(), Map.of(99.9, 700L));
+        SloConfig.Budget book = slo.budget(BOOK);
+        assertEquals(book.maxErrorRate(), 1.0);
+        assertTrue(book.percentileMillis().isEmpty());
+        assertEquals(new SloConfig("qa", "/api/v1", Map.of()).budget(BOOK).maxBodyBytes(), Long.MAX_VALUE);
+    }
+
+    @Test(description = "Rejects negative limits and error rates above 1.")
+    public void testInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new SloConfig("qa", "/api/v1", Map.of("default.p99.ms", -1.0)));
+        assertThrows(IllegalArgumentException.class, () -> new SloConfig("qa", "/api/v1", Map.of("default.error.rate", 1.5)));
+    }
+
+}
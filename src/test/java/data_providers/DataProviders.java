@@ -1,9 +1,9 @@
 package data_providers;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import config.ConfigManager;
+import org.testng.ITestContext;
 import org.testng.annotations.DataProvider;
+import serialization.JsonRegistry;
 import tests.base.BaseTest;
 
 import java.io.File;
@@ -15,59 +15,76 @@ import java.util.function.Function;
 /**
  * This class provides various data providers for TestNG test methods.
  * It loads test data from JSON files and converts it into a format
- * that can be used by TestNG tests.
+ * that can be used by TestNG tests. The providers are parallel, so their rows run concurrently on
+ * the data provider pool of the suite (see {@link tests.base.DataProviderPool}).
  */
 public class DataProviders extends BaseTest {
 
-    private static final String PATH = ConfigManager.getPathProperty("test.data.provider");
-    private static final String env = ConfigManager.getEnv();
-
     /**
      * Provides test data for creating authors.
      * The data is loaded from a JSON file and mapped to an Object array.
      *
+     * @param context the test context providing the environment parameter.
      * @return a two-dimensional Object array with test data for creating authors.
      * @throws IOException if the test data file cannot be read.
      */
-    @DataProvider(name = "createAuthorDataProvider")
-    public Object[][] createAuthorDataProvider() throws IOException {
-        return getGenericDataProvider(PATH + "/" + env + "/" + "authors/create_authors_test_data.json", this::mapToAuthorTestData);
+    @DataProvider(name = "createAuthorDataProvider", parallel = true)
+    public Object[][] createAuthorDataProvider(ITestContext context) throws IOException {
+        return getGenericDataProvider(testDataPath(context, "authors/create_authors_test_data.json"), this::mapToAuthorTestData);
     }
 
     /**
      * Provides test data for updating authors.
      * The data is loaded from a JSON file and mapped to an Object array.
      *
+     * @param context the test context providing the environment parameter.
      * @return a two-dimensional Object array with test data for updating authors.
      * @throws IOException if the test data file cannot be read.
      */
-    @DataProvider(name = "updateAuthorDataProvider")
-    public Object[][] updateAuthorDataProvider() throws IOException {
-        return getGenericDataProvider(PATH + "/" + env + "/" + "authors/update_authors_test_data.json", this::mapToAuthorTestData);
+    @DataProvider(name = "updateAuthorDataProvider", parallel = true)
+    public Object[][] updateAuthorDataProvider(ITestContext context) throws IOException {
+        return getGenericDataProvider(testDataPath(context, "authors/update_authors_test_data.json"), this::mapToAuthorTestData);
     }
 
     /**
      * Provides test data for creating books.
      * The data is loaded from a JSON file and mapped to an Object array.
      *
+     * @param context the test context providing the environment parameter.
      * @return a two-dimensional Object array with test data for creating books.
      * @throws IOException if the test data file cannot be read.
      */
-    @DataProvider(name = "createBookDataProvider")
-    public Object[][] createBookDataProvider() throws IOException {
-        return getGenericDataProvider(PATH + "/" + env + "/" + "books/create_books_test_data.json", this::mapToBookTestData);
+    @DataProvider(name = "createBookDataProvider", parallel = true)
+    public Object[][] createBookDataProvider(ITestContext context) throws IOException {
+        return getGenericDataProvider(testDataPath(context, "books/create_books_test_data.json"), this::mapToBookTestData);
     }
 
     /**
      * Provides test data for updating books.
      * The data is loaded from a JSON file and mapped to an Object array.
      *
+     * @param context the test context providing the environment parameter.
      * @return a two-dimensional Object array with test data for creating books.
      * @throws IOException if the test data file cannot be read.
      */
-    @DataProvider(name = "updateBookDataProvider")
-    public Object[][] updateBookDataProvider() throws IOException {
-        return getGenericDataProvider(PATH + "/" + env + "/" + "books/update_books_test_data.json", this::mapToBookTestData);
+    @DataProvider(name = "updateBookDataProvider", parallel = true)
+    public Object[][] updateBookDataProvider(ITestContext context) throws IOException {
+        return getGenericDataProvider(testDataPath(context, "books/update_books_test_data.json"), this::mapToBookTestData);
+    }
+
+    /**
+     * Resolves a test data file of the environment the current test runs in.
+     * The environment is taken from the test's own parameters, so tests of different
+     * environments can run in parallel.
+     *
+     * @param context  the test context providing the environment parameter.
+     * @param fileName the path of the file relative to the environment's test data directory.
+     * @return the path to the test data file.
+     */
+    private String testDataPath(ITestContext context, String fileName) {
+        ConfigManager.loadPathProperties();
+        String env = context.getCurrentXmlTest().getParameter("env");
+        return ConfigManager.getPathProperty("test.data.provider") + "/" + env + "/" + fileName;
     }
 
     /**
@@ -80,12 +97,7 @@ public class DataProviders extends BaseTest {
      * @throws IOException if the test data file cannot be read.
      */
     public Object[][] getGenericDataProvider(String filePath, Function<Map<String, Object>, Object[]> mappingFunction) throws IOException {
-        ObjectMapper objectMapper = new ObjectMapper();
-        List<Map<String, Object>> dataList = objectMapper.readValue(
-                new File(filePath),
-                new TypeReference<>() {
-                }
-        );
+        List<Map<String, Object>> dataList = JsonRegistry.mapListReader().readValue(new File(filePath));
 
         return dataList.stream()
                 .map(mappingFunction)
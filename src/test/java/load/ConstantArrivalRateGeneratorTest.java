@@ -0,0 +1,44 @@
+package load;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.testng.Assert.*;
+
+public class ConstantArrivalRateGeneratorTest {
+
+    @Test(description = "Spreads the operations over a cycle of their reduced weights.")
+    public void testInterleave() {
+        assertEquals(ConstantArrivalRateGenerator.interleave(List.of(operation("A", 3), operation("B", 1))), new int[]{0, 0, 1, 0});
+        assertEquals(ConstantArrivalRateGenerator.interleave(List.of(operation("A", 60), operation("B", 20))), new int[]{0, 0, 1, 0});
+        assertEquals(ConstantArrivalRateGenerator.interleave(List.of(operation("A", 1), operation("B", 1), operation("C", 1))), new int[]{0, 1, 2});
+    }
+
+    @Test(description = "Gives every operation its weight's share of each cycle, without long runs of one operation.")
+    public void testInterleaveShares() {
+        int[] schedule = ConstantArrivalRateGenerator.interleave(List.of(operation("A", 5), operation("B", 3), operation("C", 2)));
+
+        int[] counts = new int[3];
+        for (int index : schedule) {
+            counts[index]++;
+        }
+        assertEquals(counts, new int[]{5, 3, 2});
+        for (int i = 2; i < schedule.length; i++) {
+            assertFalse(schedule[i] == schedule[i - 1] && schedule[i] == schedule[i - 2], "Three in a row at " + i);
+        }
+    }
+
+    @Test(description = "Leaves operations without weight out of the schedule.")
+    public void testInterleaveZeroWeight() {
+        assertEquals(ConstantArrivalRateGenerator.interleave(List.of(operation("A", 0), operation("B", 2))), new int[]{1});
+        assertThrows(IllegalArgumentException.class, () -> ConstantArrivalRateGenerator.interleave(List.of(operation("A", 0))));
+        assertThrows(IllegalArgumentException.class, () -> ConstantArrivalRateGenerator.interleave(List.of()));
+    }
+
+    private static LoadOperation operation(String name, int weight) {
+        return new LoadOperation(name, weight, intended -> CompletableFuture.completedFuture(null));
+    }
+
+}
@@ -0,0 +1,102 @@
+package serialization;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import models.responses.authors.GetAuthorsResponse;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.*;
+
+public class JsonStreamsTest {
+
+    private static final String AUTHORS = """
+            [{"id":1,"idBook":10,"firstName":"Ada","lastName":"Lovelace"},
+             {"id":2,"idBook":20,"firstName":"Alan","lastName":"Turing"},
+             {"id":3,"idBook":30,"firstName":"Grace","lastName":"Hopper"}]""";
+
+    @Test(description = "Passes every element to the consumer in document order and closes the input.")
+    public void testForEachElement() throws IOException {
+        TrackingInputStream input = new TrackingInputStream(AUTHORS);
+        List<GetAuthorsResponse> authors = new ArrayList<>();
+
+        long count = JsonStreams.forEachElement(input, GetAuthorsResponse.class, authors::add);
+
+        assertEquals(count, 3);
+        assertEquals(authors, List.of(
+                new GetAuthorsResponse(1L, 10L, "Ada", "Lovelace"),
+                new GetAuthorsResponse(2L, 20L, "Alan", "Turing"),
+                new GetAuthorsResponse(3L, 30L, "Grace", "Hopper")));
+        assertTrue(input.closed);
+    }
+
+    @Test(description = "Reads nothing for an empty array.")
+    public void testEmptyArray() throws IOException {
+        assertEquals(JsonStreams.forEachElement(new TrackingInputStream("[]"), GetAuthorsResponse.class, author -> fail()), 0);
+        try (Stream<GetAuthorsResponse> authors = JsonStreams.streamElements(new TrackingInputStream(" [ ] "), GetAuthorsResponse.class)) {
+            assertEquals(authors.count(), 0);
+        }
+    }
+
+    @Test(description = "Reads the stream lazily, so elements after the consumed ones are never parsed, and closes the input with the stream.")
+    public void testStreamElementsIsLazy() throws IOException {
+        TrackingInputStream input = new TrackingInputStream("[{\"id\":1},{\"id\":2},{\"id\":" + "9".repeat(100_000) + "} not json");
+
+        try (Stream<GetAuthorsResponse> authors = JsonStreams.streamElements(input, GetAuthorsResponse.class)) {
+            assertEquals(authors.limit(2).map(GetAuthorsResponse::getId).toList(), List.of(1L, 2L));
+            assertTrue(input.bytesRead < 50_000, "Read " + input.bytesRead + " bytes");
+        }
+        assertTrue(input.closed);
+    }
+
+    @Test(description = "Fails on an element that cannot be bound.")
+    public void testInvalidElement() {
+        assertThrows(JsonProcessingException.class, () ->
+                JsonStreams.forEachElement(new TrackingInputStream("[{\"id\":1},{\"id\":\"x\"}]"), GetAuthorsResponse.class, author -> {
+                }));
+    }
+
+    /**
+     * Input stream over a string that records how much was read and whether it was closed.
+     */
+    private static final class TrackingInputStream extends InputStream {
+
+        private final InputStream delegate;
+        private long bytesRead;
+        private boolean closed;
+
+        private TrackingInputStream(String content) {
+            this.delegate = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b >= 0) {
+                bytesRead++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = delegate.read(b, off, Math.min(len, 1_024));
+            if (n > 0) {
+                bytesRead += n;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+}
@@ -3,13 +3,15 @@ package tests;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import data_providers.DataProviders;
 import io.qameta.allure.*;
-import io.restassured.RestAssured;
-import io.restassured.response.Response;
 import models.requests.authors.PostAuthorRequest;
 import models.requests.authors.PutAuthorRequest;
 import models.responses.authors.GetAuthorsResponse;
 import org.testng.annotations.*;
 import tests.base.BaseTest;
+import utils.common.EntityDiff;
+import utils.common.FanOutVerifier;
+import utils.common.LongMultimap;
+import utils.common.ResponseSnapshot;
 
 import java.io.IOException;
 import java.util.List;
@@ -38,19 +40,18 @@ public class AuthorsTests extends BaseTest {
     public void testAuthorsApiGetConsistencyCheck() throws IOException {
         logTestStart(logger, "GET All Authors");
 
-        Response response = RestAssured.given().get(authorsEndpoint);
+        EntityDiff.Accumulator<GetAuthorsResponse> authors = EntityDiff.accumulate(expectedAuthors, GetAuthorsResponse::getId);
+        ResponseSnapshot response = streamGet(authorsEndpoint, GetAuthorsResponse.class, authors);
 
-        logResponseInfo(logger, "GET" + authorsEndpoint, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "GET" + authorsEndpoint, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "GET" + authorsEndpoint, response);
+        logResponseDebug(logger, "GET" + authorsEndpoint, response);
 
-        List<GetAuthorsResponse> responseAuthors = parseJsonResponseList(response, GetAuthorsResponse.class);
-        List<GetAuthorsResponse> missingAuthors = findMissingObjects(expectedAuthors, responseAuthors);
-        List<GetAuthorsResponse> duplicateAuthors = findDuplicateObjects(responseAuthors);
+        EntityDiff<GetAuthorsResponse> authorsDiff = authors.finish();
 
         assertStatusCode(response, 200, logger);
-        assertResponseTime(response, maxResponseTime, logger);
-        assertMissingItems(responseAuthors, expectedAuthors, missingAuthors, printPrettyJson(response.body().asString()), logger);
-        assertNoDuplicateItems(duplicateAuthors, printPrettyJson(response.body().asString()), logger);
+        assertReadResponseTime(response, authorsEndpoint);
+        assertMissingItems(authorsDiff, response::asPrettyString, logger);
+        assertNoDuplicateItems(authorsDiff.getDuplicates(), response::asPrettyString, logger);
 
         logTestEnd(logger, "GET All Authors");
     }
@@ -63,20 +64,49 @@ public class AuthorsTests extends BaseTest {
         logTestStart(logger, "GET Author by existing ID");
 
         String path = authorsEndpoint + "/" + expectedAuthors.getFirst().getId();
-        Response response = RestAssured.given().get(path);
+        ResponseSnapshot response = hedgedGet(path);
 
-        logResponseInfo(logger, "GET" + path, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "GET" + path, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "GET" + path, response);
+        logResponseDebug(logger, "GET" + path, response);
 
         GetAuthorsResponse responseAuthor = parseJsonResponseObject(response, GetAuthorsResponse.class);
 
         assertStatusCode(response, 200, logger);
-        assertResponseTime(response, maxResponseTime, logger);
+        assertReadResponseTime(response, path);
         assertItemMatches(expectedAuthors.getFirst(), responseAuthor, logger);
 
         logTestEnd(logger, "GET Author by existing ID");
     }
 
+    @Epic("Authors Management")
+    @Feature("Get Author")
+    @Story("US-002")
+    @Test(testName = "GET every Author by ID", description = "Validates that every expected author is returned by ID with all expected details, fetching them concurrently.")
+    public void testAuthorsApiGetEveryByID() {
+        logTestStart(logger, "GET every Author by ID");
+
+        FanOutVerifier.Result result = FanOutVerifier.verifyAll(client, authorsEndpoint, expectedAuthors, GetAuthorsResponse.class, GetAuthorsResponse::getId);
+        assertAllItemsMatch(result, logger);
+
+        logTestEnd(logger, "GET every Author by ID");
+    }
+
+    @Epic("Authors Management")
+    @Feature("Get Authors")
+    @Story("US-001")
+    @Test(testName = "GET Authors of every Book", description = "Validates that the authors of each book contain the expected authors of that book and no authors of other books.")
+    public void testAuthorsApiGetAuthorsOfEveryBook() {
+        logTestStart(logger, "GET Authors of every Book");
+
+        LongMultimap expectedAuthorIds = groupIds(expectedAuthors, GetAuthorsResponse::getIdBook, GetAuthorsResponse::getId);
+        for (long bookId : expectedAuthorIds.keys()) {
+            List<GetAuthorsResponse> authors = await(client.listAuthorsOfBook(bookId));
+            assertAuthorsOfBook(bookId, expectedAuthorIds.get(bookId), authors, logger);
+        }
+
+        logTestEnd(logger, "GET Authors of every Book");
+    }
+
     @Epic("Authors Management")
     @Feature("Get Author")
     @Story("US-002")
@@ -85,13 +115,13 @@ public class AuthorsTests extends BaseTest {
         logTestStart(logger, "GET Author with non-existing ID");
 
         String path = authorsEndpoint + "/0000";
-        Response response = RestAssured.given().get(path);
+        ResponseSnapshot response = hedgedGet(path);
 
-        logResponseInfo(logger, "GET" + path, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "GET" + path, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "GET" + path, response);
+        logResponseDebug(logger, "GET" + path, response);
 
         assertStatusCode(response, 404, logger);
-        assertResponseTime(response, maxResponseTime, logger);
+        assertReadResponseTime(response, path);
         assertBadRequest(response, "Not Found", 404, logger);
 
         logTestEnd(logger, "GET Author with non-existing ID");
@@ -106,13 +136,13 @@ public class AuthorsTests extends BaseTest {
 
         String invalidID = "invalidID";
         String path = authorsEndpoint + "/" + invalidID;
-        Response response = RestAssured.given().get(path);
+        ResponseSnapshot response = hedgedGet(path);
 
-        logResponseInfo(logger, "GET" + path, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "GET" + path, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "GET" + path, response);
+        logResponseDebug(logger, "GET" + path, response);
 
         assertStatusCode(response, 400, logger);
-        assertResponseTime(response, maxResponseTime, logger);
+        assertReadResponseTime(response, path);
         assertBadRequestWithErrors(response,
                 "One or more validation errors occurred.",
                 400,
@@ -133,13 +163,13 @@ public class AuthorsTests extends BaseTest {
 
         String sqlInjectionId = "' OR 1=1; --";
         String path = authorsEndpoint + "/" + sqlInjectionId;
-        Response response = RestAssured.given().get(path);
+        ResponseSnapshot response = hedgedGet(path);
 
-        logResponseInfo(logger, "GET" + path, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "GET" + path, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "GET" + path, response);
+        logResponseDebug(logger, "GET" + path, response);
 
         assertStatusCode(response, 400, logger);
-        assertResponseTime(response, maxResponseTime, logger);
+        assertReadResponseTime(response, path);
         assertBadRequestWithErrors(
                 response,
                 "One or more validation errors occurred.",
@@ -161,13 +191,13 @@ public class AuthorsTests extends BaseTest {
 
         PostAuthorRequest newAuthor = new PostAuthorRequest(id, idBook, firstName, lastName);
 
-        Response response = RestAssured.given()
+        ResponseSnapshot response = ResponseSnapshot.of(request()
                 .contentType("application/json")
                 .body(newAuthor)
-                .post(authorsEndpoint);
+                .post(authorsEndpoint));
 
-        logResponseInfo(logger, "POST" + authorsEndpoint, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "POST" + authorsEndpoint, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "POST" + authorsEndpoint, response);
+        logResponseDebug(logger, "POST" + authorsEndpoint, response);
 
         assertResponseTime(response, maxResponseTime, logger);
 
@@ -191,13 +221,13 @@ public class AuthorsTests extends BaseTest {
     public void testCreateNewAuthorPersistenceCheck() throws IOException {
         logTestStart(logger, "POST Create Author with valid data persistence check");
 
-        Response responseAllAuthors = RestAssured.given().get(authorsEndpoint);
+        ResponseSnapshot responseAllAuthors = hedgedGet(authorsEndpoint);
 
-        logResponseInfo(logger, "GET" + authorsEndpoint, responseAllAuthors.getStatusCode(), responseAllAuthors.getTime());
-        logResponseDebug(logger, "GET" + authorsEndpoint, printPrettyJson(responseAllAuthors.body().asString()));
+        logResponseInfo(logger, "GET" + authorsEndpoint, responseAllAuthors);
+        logResponseDebug(logger, "GET" + authorsEndpoint, responseAllAuthors);
 
         assertStatusCode(responseAllAuthors, 200, logger);
-        assertResponseTime(responseAllAuthors, maxResponseTime, logger);
+        assertReadResponseTime(responseAllAuthors, authorsEndpoint);
 
         List<GetAuthorsResponse> getResponseAuthors = parseJsonResponseList(responseAllAuthors, GetAuthorsResponse.class);
         long newAuthorId = getResponseAuthors.getLast().getId() + 1;
@@ -209,26 +239,26 @@ public class AuthorsTests extends BaseTest {
                 expectedAuthors.getFirst().getLastName()
         );
 
-        Response response = RestAssured.given()
+        ResponseSnapshot response = ResponseSnapshot.of(request()
                 .contentType("application/json")
                 .body(newAuthor)
-                .post(authorsEndpoint);
+                .post(authorsEndpoint));
 
-        logResponseInfo(logger, "POST" + authorsEndpoint, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "POST" + authorsEndpoint, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "POST" + authorsEndpoint, response);
+        logResponseDebug(logger, "POST" + authorsEndpoint, response);
 
         assertStatusCode(response, 200, logger);
         assertResponseTime(response, maxResponseTime, logger);
         assertAuthorCreated(response, newAuthor, logger);
 
         String path = authorsEndpoint + "/" + newAuthorId;
-        Response responseAuthor = RestAssured.given().get(path);
+        ResponseSnapshot responseAuthor = hedgedGet(path);
 
-        logResponseInfo(logger, "GET" + path, responseAuthor.getStatusCode(), responseAuthor.getTime());
-        logResponseDebug(logger, "GET" + path, printPrettyJson(responseAuthor.body().asString()));
+        logResponseInfo(logger, "GET" + path, responseAuthor);
+        logResponseDebug(logger, "GET" + path, responseAuthor);
 
         assertStatusCode(responseAuthor, 200, logger);
-        assertResponseTime(responseAuthor, maxResponseTime, logger);
+        assertReadResponseTime(responseAuthor, path);
 
         GetAuthorsResponse getResponseAuthorsLatest = parseJsonResponseObject(responseAuthor, GetAuthorsResponse.class);
         assertItemMatches(newAuthor, getResponseAuthorsLatest, logger);
@@ -246,13 +276,13 @@ public class AuthorsTests extends BaseTest {
         PutAuthorRequest authorRequest = new PutAuthorRequest(id, idBook, firstName, lastName);
 
         String path = authorsEndpoint + "/" + id;
-        Response response = RestAssured.given()
+        ResponseSnapshot response = ResponseSnapshot.of(request()
                 .contentType("application/json")
                 .body(authorRequest)
-                .put(path);
+                .put(path));
 
-        logResponseInfo(logger, "PUT" + path, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "PUT" + path, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "PUT" + path, response);
+        logResponseDebug(logger, "PUT" + path, response);
 
         if (expectedStatusCode == 200) {
             assertStatusCode(response, 200, logger);
@@ -283,21 +313,21 @@ public class AuthorsTests extends BaseTest {
                 expectedAuthors.getFirst().getLastName()
         );
 
-        Response responseAllAuthors = RestAssured.given().get(authorsEndpoint);
+        ResponseSnapshot responseAllAuthors = hedgedGet(authorsEndpoint);
 
-        logResponseInfo(logger, "GET" + authorsEndpoint, responseAllAuthors.getStatusCode(), responseAllAuthors.getTime());
-        logResponseDebug(logger, "GET" + authorsEndpoint, printPrettyJson(responseAllAuthors.body().asString()));
+        logResponseInfo(logger, "GET" + authorsEndpoint, responseAllAuthors);
+        logResponseDebug(logger, "GET" + authorsEndpoint, responseAllAuthors);
 
         List<GetAuthorsResponse> responseAuthors = parseJsonResponseList(responseAllAuthors, GetAuthorsResponse.class);
 
         String path = authorsEndpoint + "/" + (responseAuthors.getLast().getId() + 1);
-        Response response = RestAssured.given()
+        ResponseSnapshot response = ResponseSnapshot.of(request()
                 .contentType("application/json")
                 .body(authorRequest)
-                .put(path);
+                .put(path));
 
-        logResponseInfo(logger, "PUT" + path, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "PUT" + path, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "PUT" + path, response);
+        logResponseDebug(logger, "PUT" + path, response);
 
         assertStatusCode(response, 404, logger);
         assertResponseTime(response, maxResponseTime, logger);
@@ -323,13 +353,13 @@ public class AuthorsTests extends BaseTest {
         );
 
         String path = authorsEndpoint + "/" + invalidID;
-        Response response = RestAssured.given()
+        ResponseSnapshot response = ResponseSnapshot.of(request()
                 .contentType("application/json")
                 .body(authorRequest)
-                .put(path);
+                .put(path));
 
-        logResponseInfo(logger, "PUT" + path, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "PUT" + path, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "PUT" + path, response);
+        logResponseDebug(logger, "PUT" + path, response);
 
         assertStatusCode(response, 400, logger);
         assertResponseTime(response, maxResponseTime, logger);
@@ -362,13 +392,13 @@ public class AuthorsTests extends BaseTest {
         );
 
         String path = authorsEndpoint + "/" + sqlInjectionId;
-        Response response = RestAssured.given()
+        ResponseSnapshot response = ResponseSnapshot.of(request()
                 .contentType("application/json")
                 .body(authorRequest)
-                .put(path);
+                .put(path));
 
-        logResponseInfo(logger, "PUT" + path, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "PUT" + path, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "PUT" + path, response);
+        logResponseDebug(logger, "PUT" + path, response);
 
         assertStatusCode(response, 400, logger);
         assertResponseTime(response, maxResponseTime, logger);
@@ -392,13 +422,13 @@ public class AuthorsTests extends BaseTest {
     public void testUpdateNewAuthorPersistenceCheck() throws IOException {
         logTestStart(logger, "PUT update Author with valid data persistence check");
 
-        Response responseAllAuthors = RestAssured.given().get(authorsEndpoint);
+        ResponseSnapshot responseAllAuthors = hedgedGet(authorsEndpoint);
 
-        logResponseInfo(logger, "GET" + authorsEndpoint, responseAllAuthors.getStatusCode(), responseAllAuthors.getTime());
-        logResponseDebug(logger, "GET" + authorsEndpoint, printPrettyJson(responseAllAuthors.body().asString()));
+        logResponseInfo(logger, "GET" + authorsEndpoint, responseAllAuthors);
+        logResponseDebug(logger, "GET" + authorsEndpoint, responseAllAuthors);
 
         assertStatusCode(responseAllAuthors, 200, logger);
-        assertResponseTime(responseAllAuthors, maxResponseTime, logger);
+        assertReadResponseTime(responseAllAuthors, authorsEndpoint);
 
         List<GetAuthorsResponse> getResponseAuthors = parseJsonResponseList(responseAllAuthors, GetAuthorsResponse.class);
         long existingAuthorID = getResponseAuthors.getFirst().getId();
@@ -411,26 +441,26 @@ public class AuthorsTests extends BaseTest {
         );
 
         String path = authorsEndpoint + "/" + existingAuthorID;
-        Response response = RestAssured.given()
+        ResponseSnapshot response = ResponseSnapshot.of(request()
                 .contentType("application/json")
                 .body(updatedAuthor)
-                .put(path);
+                .put(path));
 
-        logResponseInfo(logger, "PUT" + path, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "PUT" + path, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "PUT" + path, response);
+        logResponseDebug(logger, "PUT" + path, response);
 
         assertStatusCode(response, 200, logger);
         assertResponseTime(response, maxResponseTime, logger);
         assertAuthorUpdated(response, updatedAuthor, logger);
 
-        Response responseAuthor = RestAssured.given().get(path);
+        ResponseSnapshot responseAuthor = hedgedGet(path);
 
-        logResponseInfo(logger, "GET" + path, responseAllAuthors.getStatusCode(), responseAllAuthors.getTime());
-        logResponseDebug(logger, "GET" + path, printPrettyJson(responseAllAuthors.body().asString()));
+        logResponseInfo(logger, "GET" + path, responseAllAuthors);
+        logResponseDebug(logger, "GET" + path, responseAllAuthors);
 
 
         assertStatusCode(responseAuthor, 200, logger);
-        assertResponseTime(responseAuthor, maxResponseTime, logger);
+        assertReadResponseTime(responseAuthor, path);
 
         GetAuthorsResponse getResponseAuthor = parseJsonResponseObject(responseAuthor, GetAuthorsResponse.class);
         assertItemMatches(updatedAuthor, getResponseAuthor, logger);
@@ -446,33 +476,33 @@ public class AuthorsTests extends BaseTest {
     public void testDeleteAuthorByID() throws IOException {
         logTestStart(logger, "DELETE Author by ID deletion check");
 
-        Response responseAllAuthors = RestAssured.given().get(authorsEndpoint);
+        ResponseSnapshot responseAllAuthors = hedgedGet(authorsEndpoint);
 
-        logResponseInfo(logger, "GET" + authorsEndpoint, responseAllAuthors.getStatusCode(), responseAllAuthors.getTime());
-        logResponseDebug(logger, "GET" + authorsEndpoint, printPrettyJson(responseAllAuthors.body().asString()));
+        logResponseInfo(logger, "GET" + authorsEndpoint, responseAllAuthors);
+        logResponseDebug(logger, "GET" + authorsEndpoint, responseAllAuthors);
 
         assertStatusCode(responseAllAuthors, 200, logger);
-        assertResponseTime(responseAllAuthors, maxResponseTime, logger);
+        assertReadResponseTime(responseAllAuthors, authorsEndpoint);
 
         List<GetAuthorsResponse> getResponseAuthors = parseJsonResponseList(responseAllAuthors, GetAuthorsResponse.class);
         long existingAuthorID = getResponseAuthors.getFirst().getId();
 
         String path = authorsEndpoint + "/" + existingAuthorID;
-        Response response = RestAssured.given().delete(path);
+        ResponseSnapshot response = ResponseSnapshot.of(request().delete(path));
 
-        logResponseInfo(logger, "DELETE" + path, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "DELETE" + path, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "DELETE" + path, response);
+        logResponseDebug(logger, "DELETE" + path, response);
 
         assertStatusCode(response, 200, logger);
         assertResponseTime(response, maxResponseTime, logger);
 
-        Response responseAuthor = RestAssured.given().get(path);
+        ResponseSnapshot responseAuthor = hedgedGet(path);
 
-        logResponseInfo(logger, "GET" + path, responseAllAuthors.getStatusCode(), responseAllAuthors.getTime());
-        logResponseDebug(logger, "GET" + path, printPrettyJson(responseAllAuthors.body().asString()));
+        logResponseInfo(logger, "GET" + path, responseAllAuthors);
+        logResponseDebug(logger, "GET" + path, responseAllAuthors);
 
         assertStatusCode(responseAuthor, 404, logger);
-        assertResponseTime(responseAuthor, maxResponseTime, logger);
+        assertReadResponseTime(responseAuthor, path);
 
         logTestEnd(logger, "DELETE Author by ID deletion check");
     }
@@ -486,10 +516,10 @@ public class AuthorsTests extends BaseTest {
 
         String invalidID = "invalidID";
         String path = authorsEndpoint + "/" + invalidID;
-        Response response = RestAssured.given().delete(path);
+        ResponseSnapshot response = ResponseSnapshot.of(request().delete(path));
 
-        logResponseInfo(logger, "DELETE" + path, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "DELETE" + path, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "DELETE" + path, response);
+        logResponseDebug(logger, "DELETE" + path, response);
 
         assertStatusCode(response, 400, logger);
         assertResponseTime(response, maxResponseTime, logger);
@@ -513,22 +543,22 @@ public class AuthorsTests extends BaseTest {
     public void testDeleteAuthorWithNonExistingID() throws IOException {
         logTestStart(logger, "DELETE Author with non-existing ID");
 
-        Response responseAllAuthors = RestAssured.given().get(authorsEndpoint);
+        ResponseSnapshot responseAllAuthors = hedgedGet(authorsEndpoint);
 
-        logResponseInfo(logger, "GET" + authorsEndpoint, responseAllAuthors.getStatusCode(), responseAllAuthors.getTime());
-        logResponseDebug(logger, "GET" + authorsEndpoint, printPrettyJson(responseAllAuthors.body().asString()));
+        logResponseInfo(logger, "GET" + authorsEndpoint, responseAllAuthors);
+        logResponseDebug(logger, "GET" + authorsEndpoint, responseAllAuthors);
 
         assertStatusCode(responseAllAuthors, 200, logger);
-        assertResponseTime(responseAllAuthors, maxResponseTime, logger);
+        assertReadResponseTime(responseAllAuthors, authorsEndpoint);
 
         List<GetAuthorsResponse> responseAuthors = parseJsonResponseList(responseAllAuthors, GetAuthorsResponse.class);
         long nonExistentID = responseAuthors.getLast().getId() + 1;
 
         String path = authorsEndpoint + "/" + nonExistentID;
-        Response response = RestAssured.given().delete(path);
+        ResponseSnapshot response = ResponseSnapshot.of(request().delete(path));
 
-        logResponseInfo(logger, "DELETE" + path, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "DELETE" + path, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "DELETE" + path, response);
+        logResponseDebug(logger, "DELETE" + path, response);
 
         assertStatusCode(response, 404, logger);
         assertResponseTime(response, maxResponseTime, logger);
@@ -546,10 +576,10 @@ public class AuthorsTests extends BaseTest {
 
         String sqlInjectionId = "' OR 1=1; --";
         String path = authorsEndpoint + "/" + sqlInjectionId;
-        Response response = RestAssured.given().delete(path);
+        ResponseSnapshot response = ResponseSnapshot.of(request().delete(path));
 
-        logResponseInfo(logger, "DELETE" + path, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "DELETE" + path, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "DELETE" + path, response);
+        logResponseDebug(logger, "DELETE" + path, response);
 
         assertStatusCode(response, 400, logger);
         assertResponseTime(response, maxResponseTime, logger);
@@ -1,18 +1,21 @@
 package tests;
 
+import client.TransferMetrics;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import data_providers.DataProviders;
 import io.qameta.allure.*;
-import io.restassured.RestAssured;
-import io.restassured.response.Response;
 import models.requests.books.PostBookRequest;
 import models.requests.books.PutBookRequest;
 import models.responses.books.GetBooksResponse;
 import org.testng.annotations.*;
 import tests.base.BaseTest;
+import utils.common.EntityDiff;
+import utils.common.FanOutVerifier;
+import utils.common.ResponseSnapshot;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static utils.common.CommonUtils.*;
 import static utils.common.JsonUtils.*;
@@ -40,24 +43,38 @@ public class BooksTests extends BaseTest {
     public void testBooksApiGetAll() throws IOException {
         logTestStart(logger, "GET All Books");
 
-        Response response = RestAssured.given().get(booksEndpoint);
+        EntityDiff.Accumulator<GetBooksResponse> books = EntityDiff.accumulate(expectedBooks, GetBooksResponse::getId);
+        ResponseSnapshot response = streamGet(booksEndpoint, GetBooksResponse.class, books);
 
-        logResponseInfo(logger, "GET" + booksEndpoint, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "GET" + booksEndpoint, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "GET" + booksEndpoint, response);
+        logResponseDebug(logger, "GET" + booksEndpoint, response);
 
         assertStatusCode(response, 200, logger);
-        assertResponseTime(response, maxResponseTime, logger);
-
-        List<GetBooksResponse> responseBooks = parseJsonResponseList(response, GetBooksResponse.class);
-        List<GetBooksResponse> missingBooks = findMissingObjects(expectedBooks, responseBooks);
-        assertMissingItems(responseBooks, expectedBooks, missingBooks, printPrettyJson(response.body().asString()), logger);
+        assertReadResponseTime(response, booksEndpoint);
 
-        List<GetBooksResponse> duplicateBooks = findDuplicateObjects(responseBooks);
-        assertNoDuplicateItems(duplicateBooks, printPrettyJson(response.body().asString()), logger);
+        EntityDiff<GetBooksResponse> booksDiff = books.finish();
+        assertMissingItems(booksDiff, response::asPrettyString, logger);
+        assertNoDuplicateItems(booksDiff.getDuplicates(), response::asPrettyString, logger);
 
         logTestEnd(logger, "GET All Books");
     }
 
+    @Epic("Books Management")
+    @Feature("Get Books")
+    @Story("US-006")
+    @Test(testName = "GET All Books transfer size", description = "Validates that the Books API list response stays within the transfer size budget and contains all expected books.")
+    public void testBooksApiGetAllTransferSize() {
+        logTestStart(logger, "GET All Books transfer size");
+
+        List<GetBooksResponse> responseBooks = await(client.listBooks());
+        TransferMetrics.Snapshot transfer = client.getTransferMetrics().get(TransferMetrics.endpointKey("GET", booksEndpoint));
+
+        assertTransferSize(transfer, maxResponseSize, logger);
+        assertMissingItems(diffById(expectedBooks, responseBooks, GetBooksResponse::getId), responseBooks::toString, logger);
+
+        logTestEnd(logger, "GET All Books transfer size");
+    }
+
     @Epic("Books Management")
     @Feature("Get Book")
     @Story("US-007")
@@ -67,13 +84,13 @@ public class BooksTests extends BaseTest {
         logTestStart(logger, "GET Book by existing ID");
 
         String path = booksEndpoint + "/" + expectedBooks.getFirst().getId();
-        Response response = RestAssured.given().get(path);
+        ResponseSnapshot response = hedgedGet(path);
 
-        logResponseInfo(logger, "GET" + path, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "GET" + path, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "GET" + path, response);
+        logResponseDebug(logger, "GET" + path, response);
 
         assertStatusCode(response, 200, logger);
-        assertResponseTime(response, maxResponseTime, logger);
+        assertReadResponseTime(response, path);
 
         GetBooksResponse responseBook = parseJsonResponseObject(response, GetBooksResponse.class);
         assertItemMatches(expectedBooks.getFirst(), responseBook, logger);
@@ -81,6 +98,19 @@ public class BooksTests extends BaseTest {
         logTestEnd(logger, "GET Book by existing ID");
     }
 
+    @Epic("Books Management")
+    @Feature("Get Book")
+    @Story("US-007")
+    @Test(testName = "GET every Book by ID", description = "Validates that every expected book is returned by ID with all expected details, fetching them concurrently.")
+    public void testBooksApiGetEveryByID() {
+        logTestStart(logger, "GET every Book by ID");
+
+        FanOutVerifier.Result result = FanOutVerifier.verifyAll(client, booksEndpoint, expectedBooks, GetBooksResponse.class, GetBooksResponse::getId);
+        assertAllItemsMatch(result, logger);
+
+        logTestEnd(logger, "GET every Book by ID");
+    }
+
     @Epic("Books Management")
     @Feature("Get Book")
     @Story("US-007")
@@ -89,13 +119,13 @@ public class BooksTests extends BaseTest {
         logTestStart(logger, "GET Book with non-existing ID");
 
         String path = booksEndpoint + "/0000";
-        Response response = RestAssured.given().get(path);
+        ResponseSnapshot response = hedgedGet(path);
 
-        logResponseInfo(logger, "GET" + path, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "GET" + path, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "GET" + path, response);
+        logResponseDebug(logger, "GET" + path, response);
 
         assertStatusCode(response, 404, logger);
-        assertResponseTime(response, maxResponseTime, logger);
+        assertReadResponseTime(response, path);
         assertBadRequest(response, "Not Found", 404, logger);
 
         logTestEnd(logger, "GET Book with non-existing ID");
@@ -110,13 +140,13 @@ public class BooksTests extends BaseTest {
 
         String invalidID = "invalidID";
         String path = booksEndpoint + "/" + invalidID;
-        Response response = RestAssured.given().get(path);
+        ResponseSnapshot response = hedgedGet(path);
 
-        logResponseInfo(logger, "GET" + path, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "GET" + path, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "GET" + path, response);
+        logResponseDebug(logger, "GET" + path, response);
 
         assertStatusCode(response, 400, logger);
-        assertResponseTime(response, maxResponseTime, logger);
+        assertReadResponseTime(response, path);
         assertBadRequestWithErrors(response,
                 "One or more validation errors occurred.",
                 400,
@@ -137,13 +167,13 @@ public class BooksTests extends BaseTest {
 
         String sqlInjectionId = "' OR 1=1; --";
         String path = booksEndpoint + "/" + sqlInjectionId;
-        Response response = RestAssured.given().get(path);
+        ResponseSnapshot response = hedgedGet(path);
 
-        logResponseInfo(logger, "GET" + path, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "GET" + path, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "GET" + path, response);
+        logResponseDebug(logger, "GET" + path, response);
 
         assertStatusCode(response, 400, logger);
-        assertResponseTime(response, maxResponseTime, logger);
+        assertReadResponseTime(response, path);
         assertBadRequestWithErrors(
                 response,
                 "One or more validation errors occurred.",
@@ -171,13 +201,13 @@ public class BooksTests extends BaseTest {
 
         PostBookRequest newBook = new PostBookRequest(id, title, description, pageCount, excerpt, publishDate);
 
-        Response response = RestAssured.given()
+        ResponseSnapshot response = ResponseSnapshot.of(request()
                 .contentType("application/json")
                 .body(newBook)
-                .post(booksEndpoint);
+                .post(booksEndpoint));
 
-        logResponseInfo(logger, "POST" + booksEndpoint, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "POST" + booksEndpoint, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "POST" + booksEndpoint, response);
+        logResponseDebug(logger, "POST" + booksEndpoint, response);
 
         assertResponseTime(response, maxResponseTime, logger);
 
@@ -200,13 +230,13 @@ public class BooksTests extends BaseTest {
     public void testCreateNewBookPersistenceCheck() throws IOException {
         logTestStart(logger, "POST Create Book with valid data persistence check");
 
-        Response responseAllBooks = RestAssured.given().get(booksEndpoint);
+        ResponseSnapshot responseAllBooks = hedgedGet(booksEndpoint);
 
-        logResponseInfo(logger, "GET" + booksEndpoint, responseAllBooks.getStatusCode(), responseAllBooks.getTime());
-        logResponseDebug(logger, "GET" + booksEndpoint, printPrettyJson(responseAllBooks.body().asString()));
+        logResponseInfo(logger, "GET" + booksEndpoint, responseAllBooks);
+        logResponseDebug(logger, "GET" + booksEndpoint, responseAllBooks);
 
         assertStatusCode(responseAllBooks, 200, logger);
-        assertResponseTime(responseAllBooks, maxResponseTime, logger);
+        assertReadResponseTime(responseAllBooks, booksEndpoint);
 
         List<GetBooksResponse> getResponseBooks = parseJsonResponseList(responseAllBooks, GetBooksResponse.class);
         long newBookId = getResponseBooks.getLast().getId() + 1;
@@ -220,26 +250,26 @@ public class BooksTests extends BaseTest {
                 expectedBooks.getFirst().getPublishDate()
         );
 
-        Response response = RestAssured.given()
+        ResponseSnapshot response = ResponseSnapshot.of(request()
                 .contentType("application/json")
                 .body(newBook)
-                .post(booksEndpoint);
+                .post(booksEndpoint));
 
-        logResponseInfo(logger, "POST" + booksEndpoint, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "POST" + booksEndpoint, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "POST" + booksEndpoint, response);
+        logResponseDebug(logger, "POST" + booksEndpoint, response);
 
         assertStatusCode(response, 200, logger);
         assertResponseTime(response, maxResponseTime, logger);
         assertBookCreated(response, newBook, logger);
 
         String path = booksEndpoint + "/" + newBookId;
-        Response responseBook = RestAssured.given().get(path);
+        ResponseSnapshot responseBook = hedgedGet(path);
 
-        logResponseInfo(logger, "GET" + booksEndpoint, responseAllBooks.getStatusCode(), responseAllBooks.getTime());
-        logResponseDebug(logger, "GET" + booksEndpoint, printPrettyJson(responseAllBooks.body().asString()));
+        logResponseInfo(logger, "GET" + booksEndpoint, responseAllBooks);
+        logResponseDebug(logger, "GET" + booksEndpoint, responseAllBooks);
 
         assertStatusCode(responseBook, 200, logger);
-        assertResponseTime(responseBook, maxResponseTime, logger);
+        assertReadResponseTime(responseBook, path);
 
         GetBooksResponse getResponseBooksLatest = parseJsonResponseObject(responseBook, GetBooksResponse.class);
         assertItemMatches(newBook, getResponseBooksLatest, logger);
@@ -262,13 +292,13 @@ public class BooksTests extends BaseTest {
         PutBookRequest bookRequest = new PutBookRequest(id, title, description, pageCount, excerpt, publishDate);
 
         String path = booksEndpoint + "/" + id;
-        Response response = RestAssured.given()
+        ResponseSnapshot response = ResponseSnapshot.of(request()
                 .contentType("application/json")
                 .body(bookRequest)
-                .put(path);
+                .put(path));
 
-        logResponseInfo(logger, "PUT" + booksEndpoint, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "PUT" + booksEndpoint, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "PUT" + booksEndpoint, response);
+        logResponseDebug(logger, "PUT" + booksEndpoint, response);
 
         if (expectedStatusCode == 200) {
             assertStatusCode(response, 200, logger);
@@ -301,16 +331,17 @@ public class BooksTests extends BaseTest {
                 expectedBooks.getFirst().getPublishDate()
         );
 
-        Response responseAllBooks = RestAssured.given().get(booksEndpoint);
-        List<GetBooksResponse> responseBooks = parseJsonResponseList(responseAllBooks, GetBooksResponse.class);
+        ResponseSnapshot responseAllBooks = hedgedGet(booksEndpoint);
+        AtomicLong lastBookId = new AtomicLong();
+        streamJsonResponseList(responseAllBooks, GetBooksResponse.class, book -> lastBookId.set(book.getId()));
 
-        Response response = RestAssured.given()
+        ResponseSnapshot response = ResponseSnapshot.of(request()
                 .contentType("application/json")
                 .body(newBook)
-                .put(booksEndpoint + "/" + (responseBooks.getLast().getId() + 1));
+                .put(booksEndpoint + "/" + (lastBookId.get() + 1)));
 
-        logResponseInfo(logger, "PUT" + booksEndpoint, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "PUT" + booksEndpoint, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "PUT" + booksEndpoint, response);
+        logResponseDebug(logger, "PUT" + booksEndpoint, response);
 
         assertStatusCode(response, 404, logger);
         assertResponseTime(response, maxResponseTime, logger);
@@ -337,13 +368,13 @@ public class BooksTests extends BaseTest {
 
         String invalidID = "invalidID";
         String path = booksEndpoint + "/" + invalidID;
-        Response response = RestAssured.given()
+        ResponseSnapshot response = ResponseSnapshot.of(request()
                 .contentType("application/json")
                 .body(newBook)
-                .put(path);
+                .put(path));
 
-        logResponseInfo(logger, "PUT" + booksEndpoint, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "PUT" + booksEndpoint, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "PUT" + booksEndpoint, response);
+        logResponseDebug(logger, "PUT" + booksEndpoint, response);
 
         assertStatusCode(response, 400, logger);
         assertResponseTime(response, maxResponseTime, logger);
@@ -377,13 +408,13 @@ public class BooksTests extends BaseTest {
 
         String sqlInjectionId = "' OR 1=1; --";
         String path = booksEndpoint + "/" + sqlInjectionId;
-        Response response = RestAssured.given()
+        ResponseSnapshot response = ResponseSnapshot.of(request()
                 .contentType("application/json")
                 .body(newBook)
-                .put(path);
+                .put(path));
 
-        logResponseInfo(logger, "PUT" + booksEndpoint, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "PUT" + booksEndpoint, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "PUT" + booksEndpoint, response);
+        logResponseDebug(logger, "PUT" + booksEndpoint, response);
 
         assertStatusCode(response, 400, logger);
         assertResponseTime(response, maxResponseTime, logger);
@@ -407,13 +438,13 @@ public class BooksTests extends BaseTest {
     public void testUpdateNewBookPersistenceCheck() throws IOException {
         logTestStart(logger, "PUT update Book with valid data persistence check");
 
-        Response responseAllBooks = RestAssured.given().get(booksEndpoint);
+        ResponseSnapshot responseAllBooks = hedgedGet(booksEndpoint);
 
-        logResponseInfo(logger, "GET" + booksEndpoint, responseAllBooks.getStatusCode(), responseAllBooks.getTime());
-        logResponseDebug(logger, "GET" + booksEndpoint, printPrettyJson(responseAllBooks.body().asString()));
+        logResponseInfo(logger, "GET" + booksEndpoint, responseAllBooks);
+        logResponseDebug(logger, "GET" + booksEndpoint, responseAllBooks);
 
         assertStatusCode(responseAllBooks, 200, logger);
-        assertResponseTime(responseAllBooks, maxResponseTime, logger);
+        assertReadResponseTime(responseAllBooks, booksEndpoint);
 
         List<GetBooksResponse> getResponseBooks = parseJsonResponseList(responseAllBooks, GetBooksResponse.class);
         long existingBookID = getResponseBooks.getFirst().getId();
@@ -428,25 +459,25 @@ public class BooksTests extends BaseTest {
         );
 
         String path = booksEndpoint + "/" + existingBookID;
-        Response response = RestAssured.given()
+        ResponseSnapshot response = ResponseSnapshot.of(request()
                 .contentType("application/json")
                 .body(updatedBook)
-                .put(path);
+                .put(path));
 
-        logResponseInfo(logger, "PUT" + path, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "PUT" + path, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "PUT" + path, response);
+        logResponseDebug(logger, "PUT" + path, response);
 
         assertStatusCode(response, 200, logger);
         assertResponseTime(response, maxResponseTime, logger);
         assertBookUpdated(response, updatedBook, logger);
 
-        Response responseBook = RestAssured.given().get(path);
+        ResponseSnapshot responseBook = hedgedGet(path);
 
-        logResponseInfo(logger, "GET" + booksEndpoint, responseAllBooks.getStatusCode(), responseAllBooks.getTime());
-        logResponseDebug(logger, "GET" + booksEndpoint, printPrettyJson(responseAllBooks.body().asString()));
+        logResponseInfo(logger, "GET" + booksEndpoint, responseAllBooks);
+        logResponseDebug(logger, "GET" + booksEndpoint, responseAllBooks);
 
         assertStatusCode(responseBook, 200, logger);
-        assertResponseTime(responseBook, maxResponseTime, logger);
+        assertReadResponseTime(responseBook, path);
 
         GetBooksResponse getResponseBook = parseJsonResponseObject(responseBook, GetBooksResponse.class);
         assertItemMatches(updatedBook, getResponseBook, logger);
@@ -462,33 +493,33 @@ public class BooksTests extends BaseTest {
     public void testDeleteBookByID() throws IOException {
         logTestStart(logger, "DELETE Book by ID deletion check");
 
-        Response responseAllBooks = RestAssured.given().get(booksEndpoint);
+        ResponseSnapshot responseAllBooks = hedgedGet(booksEndpoint);
 
-        logResponseInfo(logger, "GET" + booksEndpoint, responseAllBooks.getStatusCode(), responseAllBooks.getTime());
-        logResponseDebug(logger, "GET" + booksEndpoint, printPrettyJson(responseAllBooks.body().asString()));
+        logResponseInfo(logger, "GET" + booksEndpoint, responseAllBooks);
+        logResponseDebug(logger, "GET" + booksEndpoint, responseAllBooks);
 
         assertStatusCode(responseAllBooks, 200, logger);
-        assertResponseTime(responseAllBooks, maxResponseTime, logger);
+        assertReadResponseTime(responseAllBooks, booksEndpoint);
 
         List<GetBooksResponse> getResponseBooks = parseJsonResponseList(responseAllBooks, GetBooksResponse.class);
         long existingBookID = getResponseBooks.getFirst().getId();
 
         String path = booksEndpoint + "/" + existingBookID;
-        Response response = RestAssured.given().delete(path);
+        ResponseSnapshot response = ResponseSnapshot.of(request().delete(path));
 
-        logResponseInfo(logger, "DELETE" + path, responseAllBooks.getStatusCode(), responseAllBooks.getTime());
-        logResponseDebug(logger, "DELETE" + path, printPrettyJson(responseAllBooks.body().asString()));
+        logResponseInfo(logger, "DELETE" + path, responseAllBooks);
+        logResponseDebug(logger, "DELETE" + path, responseAllBooks);
 
         assertStatusCode(response, 200, logger);
         assertResponseTime(response, maxResponseTime, logger);
 
-        Response responseBook = RestAssured.given().get(path);
+        ResponseSnapshot responseBook = hedgedGet(path);
 
-        logResponseInfo(logger, "GET" + path, responseAllBooks.getStatusCode(), responseAllBooks.getTime());
-        logResponseDebug(logger, "GET" + path, printPrettyJson(responseAllBooks.body().asString()));
+        logResponseInfo(logger, "GET" + path, responseAllBooks);
+        logResponseDebug(logger, "GET" + path, responseAllBooks);
 
         assertStatusCode(responseBook, 404, logger);
-        assertResponseTime(responseBook, maxResponseTime, logger);
+        assertReadResponseTime(responseBook, path);
 
         logTestStart(logger, "DELETE Book by ID deletion check");
     }
@@ -503,10 +534,10 @@ public class BooksTests extends BaseTest {
 
         String invalidID = "invalidID";
         String path = booksEndpoint + "/" + invalidID;
-        Response response = RestAssured.given().delete(path);
+        ResponseSnapshot response = ResponseSnapshot.of(request().delete(path));
 
-        logResponseInfo(logger, "DELETE" + path, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "DELETE" + path, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "DELETE" + path, response);
+        logResponseDebug(logger, "DELETE" + path, response);
 
         assertStatusCode(response, 400, logger);
         assertResponseTime(response, maxResponseTime, logger);
@@ -529,22 +560,22 @@ public class BooksTests extends BaseTest {
     public void testDeleteBookWithNonExistingID() throws IOException {
         logTestStart(logger, "DELETE Book by ID deletion check");
 
-        Response responseAllBooks = RestAssured.given().get(booksEndpoint);
+        ResponseSnapshot responseAllBooks = hedgedGet(booksEndpoint);
 
-        logResponseInfo(logger, "GET" + booksEndpoint, responseAllBooks.getStatusCode(), responseAllBooks.getTime());
-        logResponseDebug(logger, "GET" + booksEndpoint, printPrettyJson(responseAllBooks.body().asString()));
+        logResponseInfo(logger, "GET" + booksEndpoint, responseAllBooks);
+        logResponseDebug(logger, "GET" + booksEndpoint, responseAllBooks);
 
         assertStatusCode(responseAllBooks, 200, logger);
-        assertResponseTime(responseAllBooks, maxResponseTime, logger);
+        assertReadResponseTime(responseAllBooks, booksEndpoint);
 
         List<GetBooksResponse> responseBooks = parseJsonResponseList(responseAllBooks, GetBooksResponse.class);
         long nonExistentID = responseBooks.getLast().getId() + 1;
 
         String path = booksEndpoint + "/" + nonExistentID;
-        Response response = RestAssured.given().delete(path);
+        ResponseSnapshot response = ResponseSnapshot.of(request().delete(path));
 
-        logResponseInfo(logger, "DELETE" + path, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "DELETE" + path, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "DELETE" + path, response);
+        logResponseDebug(logger, "DELETE" + path, response);
 
         assertStatusCode(response, 404, logger);
         assertResponseTime(response, maxResponseTime, logger);
@@ -562,10 +593,10 @@ public class BooksTests extends BaseTest {
 
         String sqlInjectionId = "' OR 1=1; --";
         String path = booksEndpoint + "/" + sqlInjectionId;
-        Response response = RestAssured.given().delete(path);
+        ResponseSnapshot response = ResponseSnapshot.of(request().delete(path));
 
-        logResponseInfo(logger, "DELETE" + path, response.getStatusCode(), response.getTime());
-        logResponseDebug(logger, "DELETE" + path, printPrettyJson(response.body().asString()));
+        logResponseInfo(logger, "DELETE" + path, response);
+        logResponseDebug(logger, "DELETE" + path, response);
 
         assertStatusCode(response, 400, logger);
         assertResponseTime(response, maxResponseTime, logger);
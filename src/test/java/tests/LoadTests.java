@@ -0,0 +1,45 @@
+package tests;
+
+import config.LoadConfig;
+import io.qameta.allure.*;
+import load.BookstoreOperations;
+import load.ConstantArrivalRateGenerator;
+import load.LoadReport;
+import org.testng.annotations.*;
+import tests.base.BaseTest;
+
+import static utils.assertions.AssertionsUtils.*;
+import static utils.common.LogUtils.*;
+
+/**
+ * Load tests of the Books and Authors endpoints. Not part of the regular suite; run them with
+ * {@code testng-load.xml}, sizing the run with the {@code load.*} properties.
+ */
+public class LoadTests extends BaseTest {
+
+    LoadConfig loadConfig;
+
+    @BeforeClass
+    public void setupLoadTestConfig() {
+        logInfo(logger, "Initializing Load test setup");
+        loadConfig = LoadConfig.load();
+        logger.info("Load config: {}", loadConfig);
+        logInfo(logger, "Load test setup completed");
+    }
+
+    @Epic("Performance")
+    @Feature("Load")
+    @Test(testName = "Constant arrival rate load", description = "Validates that the API keeps the target arrival rate of the configured operation mix within the error budget and the maximum p99 response time.")
+    public void testConstantArrivalRateLoad() throws InterruptedException {
+        logTestStart(logger, "Constant arrival rate load");
+
+        ConstantArrivalRateGenerator generator = new ConstantArrivalRateGenerator(loadConfig);
+        LoadReport report = generator.run(BookstoreOperations.forMix(client, loadConfig.getMix()));
+
+        Allure.addAttachment("Load report", "text/plain", report.toString());
+        assertLoadTargets(report, loadConfig.getMaxErrorRate(), maxResponseTime, logger);
+
+        logTestEnd(logger, "Constant arrival rate load");
+    }
+
+}
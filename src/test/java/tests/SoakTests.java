@@ -0,0 +1,46 @@
+package tests;
+
+import config.SoakConfig;
+import io.qameta.allure.*;
+import load.BookstoreOperations;
+import load.SoakReport;
+import load.SoakRunner;
+import org.testng.annotations.*;
+import tests.base.BaseTest;
+
+import static utils.assertions.AssertionsUtils.*;
+import static utils.common.LogUtils.*;
+
+/**
+ * Soak tests of the Books and Authors endpoints. Not part of the regular suite; run them with
+ * {@code testng-soak.xml}, sizing the run with the {@code soak.*} properties.
+ */
+public class SoakTests extends BaseTest {
+
+    SoakConfig soakConfig;
+
+    @BeforeClass
+    public void setupSoakTestConfig() {
+        logInfo(logger, "Initializing Soak test setup");
+        soakConfig = SoakConfig.load();
+        logger.info("Soak config: {}", soakConfig);
+        logInfo(logger, "Soak test setup completed");
+    }
+
+    @Epic("Performance")
+    @Feature("Soak")
+    @Test(testName = "Closed model soak", description = "Validates that latency and error rate do not degrade while a fixed number of virtual users run CRUD sequences for the configured duration.")
+    public void testClosedModelSoak() throws InterruptedException {
+        logTestStart(logger, "Closed model soak");
+
+        SoakRunner runner = new SoakRunner(soakConfig);
+        SoakReport report = runner.run(BookstoreOperations.sequences(client, soakConfig.getSequences()),
+                window -> logger.info("Soak {}", window));
+
+        Allure.addAttachment("Soak report", "text/plain", report.toString());
+        assertNoDegradation(report, soakConfig.getMaxP99Growth(), soakConfig.getMaxErrorRateIncrease(), logger);
+
+        logTestEnd(logger, "Closed model soak");
+    }
+
+}
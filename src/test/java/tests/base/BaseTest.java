@@ -1,32 +1,227 @@
 package tests.base;
 
+import client.BookstoreClient;
+import client.ExchangeMetrics;
+import client.HedgingPolicy;
+import client.LatencyHistograms;
+import client.TransferMetrics;
+import config.ApiContext;
 import config.ConfigManager;
+import config.ConnectionPoolConfig;
+import config.HedgingConfig;
+import config.SamplingConfig;
+import config.SloConfig;
+import io.qameta.allure.Allure;
 import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Parameters;
+import serialization.JsonRegistry;
+import serialization.JsonStreams;
+import utils.common.ClientOverhead;
+import utils.common.ClientOverhead.Phase;
+import utils.common.ClientOverhead.Span;
+import utils.common.ResponseSnapshot;
+import utils.common.ResponseTimeSample;
+import utils.http.CountingInputStream;
+import utils.http.ExchangeRecordingFilter;
+import utils.http.MeasuredObjectMapper;
+import utils.http.PhaseTimer;
+import utils.http.PooledHttpClientFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
 
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static utils.assertions.AssertionsUtils.assertResponseTime;
+import static utils.assertions.AssertionsUtils.assertSampledResponseTime;
+import static utils.assertions.AssertionsUtils.assertWithinSlo;
 import static utils.common.LogUtils.*;
 
 /**
  * The base class for API tests. This class is responsible for setting up the test environment
  * and loading configuration properties before the tests are run. It provides common setup
  * and teardown methods for all tests that extend this class.
+ * <p>
+ * Every test class holds its own immutable {@link ApiContext} and {@link RequestSpecification}
+ * instead of writing RestAssured's global state, so test methods and classes can run in parallel.
+ * All specifications share one pool of keep-alive connections, opened before and closed after the suite.
+ * Reads made with {@link #hedgedGet(String)} and the client's {@code GET} requests are hedged
+ * according to the class's {@link HedgingPolicy} when {@code http.hedging.enabled} is set. Large
+ * listings are read with {@link #streamGet}, which parses the body straight from the connection.
+ * The latency, status and body size of every exchange, of RestAssured and client requests alike, are
+ * recorded per endpoint in the suite's {@link #latencyHistograms} and {@link #exchangeMetrics}, and
+ * the DNS, connect, TLS, time to first byte and download phases of RestAssured exchanges in its
+ * {@link #phaseHistograms}. When the suite ends the histograms are written out and every endpoint is checked against its budget
+ * in {@link SloConfig}.
+ * <p>
+ * Every test invocation logs and attaches its {@link ClientOverhead}, the share of its time spent in
+ * the framework rather than waiting for the API.
+ * <p>
+ * With {@code response.time.sampling.enabled} set, {@link #assertReadResponseTime(ResponseSnapshot, String)}
+ * judges a read's response time from repeated requests instead of the test's single response.
  */
 public class BaseTest {
 
+    protected ApiContext apiContext;
+    protected RequestSpecification requestSpec;
+    private RequestSpecification samplingSpec;
+    private RequestSpecification streamingSpec;
+    protected BookstoreClient client;
+    protected HedgingPolicy hedging;
+    private HedgingPolicy readHedging;
+    protected SamplingConfig sampling;
     protected String env;
     protected long maxResponseTime;
+    protected long maxResponseSize;
     protected String authorsEndpoint;
     protected String booksEndpoint;
 
     protected static final Logger logger = LogManager.getLogger(BaseTest.class);
 
+    /**
+     * The latency distributions of all responses of the suite, per method and endpoint. Client
+     * requests are added when their test class is torn down.
+     */
+    protected static final LatencyHistograms latencyHistograms = new LatencyHistograms();
+
+    /**
+     * The errors and largest response bodies of the suite, per method and endpoint. Client requests
+     * are added when their test class is torn down.
+     */
+    protected static final ExchangeMetrics exchangeMetrics = new ExchangeMetrics();
+
+    /**
+     * The phase timings of the suite's RestAssured exchanges, keyed by method, endpoint and phase,
+     * e.g. {@code GET /api/v1/Books ttfb}.
+     */
+    protected static final LatencyHistograms phaseHistograms = new LatencyHistograms();
+
+    private static final ExchangeRecordingFilter exchangeRecorder = new ExchangeRecordingFilter(latencyHistograms, exchangeMetrics, phaseHistograms);
+
+    /**
+     * The per-endpoint budgets of the suite's environment, loaded once before the suite starts.
+     */
+    protected static volatile SloConfig sloConfig;
+
+    private static final String LOG_CONTEXT_KEY = "test";
+
+    private static volatile PooledHttpClientFactory httpClientFactory;
+
+    private static final AtomicInteger hedgedReadThreads = new AtomicInteger();
+    private static final ExecutorService hedgedReads = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "hedged-read-" + hedgedReadThreads.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Warms up the shared JSON readers and writers once before the suite starts.
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void warmUpJson() {
+        JsonRegistry.warmUp();
+    }
+
+    /**
+     * Opens the connection pool shared by the requests of all test classes.
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void openConnectionPool() {
+        httpClientFactory = new PooledHttpClientFactory(ConnectionPoolConfig.load());
+        logger.info("Connection pool: {}", httpClientFactory.getConfig());
+    }
+
+    /**
+     * Logs the pool hits and misses of the suite and closes the pooled connections.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void closeConnectionPool() {
+        if (httpClientFactory != null) {
+            logger.info("Connection pool metrics: {}", httpClientFactory.getConnectionManager().metrics());
+            httpClientFactory.close();
+            httpClientFactory = null;
+        }
+    }
+
+    /**
+     * Loads the per-endpoint budgets of the suite's environment and API version.
+     *
+     * @param apiVersion the version of the API to be tested (e.g., "v1", "v2").
+     * @param env        the environment in which the tests are running (e.g., "qa", "stg").
+     */
+    @BeforeSuite(alwaysRun = true)
+    @Parameters({"apiVersion", "env"})
+    public void loadSloBudgets(String apiVersion, String env) {
+        sloConfig = SloConfig.load(env, apiVersion);
+        logger.info("SLO budgets: {}", sloConfig);
+    }
+
+    /**
+     * Checks every endpoint called during the suite against its budget: latency percentiles over
+     * all its responses, the largest response body and the error rate. Fails the suite with every
+     * exceeded budget.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void assertSloBudgets() {
+        if (sloConfig != null) {
+            assertWithinSlo(sloConfig, latencyHistograms.snapshot(), exchangeMetrics.snapshot(), logger);
+        }
+    }
+
+    /**
+     * Logs the latency percentiles of every endpoint and exchange phase recorded during the suite and
+     * writes their histograms to files named after the suite's end time, {@code latency-*.hlog} and
+     * {@code phases-*.hlog}, in the directory configured with {@code latency.histograms.dir}, so
+     * distributions can be compared across runs.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void writeLatencyHistograms() {
+        logger.info("Latency histograms: {}", latencyHistograms);
+        logger.info("Phase histograms: {}", phaseHistograms);
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        writeHistograms(latencyHistograms, ConfigManager.getLatencyHistogramsDir().resolve("latency-" + timestamp + ".hlog"));
+        writeHistograms(phaseHistograms, ConfigManager.getLatencyHistogramsDir().resolve("phases-" + timestamp + ".hlog"));
+    }
+
+    private static void writeHistograms(LatencyHistograms histograms, Path file) {
+        try {
+            histograms.write(file);
+            logger.info("Histograms written to {}", file);
+        } catch (IOException e) {
+            logger.error("Failed to write the histograms to {}: {}", file, e.getMessage());
+        }
+    }
+
     /**
      * Sets up the test environment before any test methods in the class are executed.
-     * Loads the necessary API and path properties and configures RestAssured with the base URI.
+     * Loads the necessary API and path properties and builds the request specification and the
+     * non-blocking client of the class. RestAssured requests always use HTTP/1.1; the client speaks
+     * the HTTP version configured with {@code http.version} and negotiates compressed responses
+     * if {@code http.compression} is enabled.
      *
      * @param apiVersion the version of the API to be tested (e.g., "v1", "v2").
      * @param env        the environment in which the tests are running (e.g., "dev", "prod").
@@ -36,71 +231,259 @@ public class BaseTest {
     public void setupConfig(String apiVersion, String env) {
         logInfo(logger, "Initializing setup");
         logTestParams(logger, env, apiVersion);
-        setEnv(env);
-        setVersion(apiVersion);
-        loadConfig();
-        configureRestAssured();
-        setupEndpoints();
-        setMaxResponseTime();
+        ConfigManager.loadPathProperties();
+        apiContext = ApiContext.load(env, apiVersion);
+        this.env = apiContext.getEnv();
+        this.maxResponseTime = apiContext.getMaxResponseTime();
+        this.maxResponseSize = apiContext.getMaxResponseSize();
+        this.authorsEndpoint = apiContext.getAuthorsEndpoint();
+        this.booksEndpoint = apiContext.getBooksEndpoint();
+        this.requestSpec = buildRequestSpec(apiContext);
+        this.samplingSpec = requestSpecBuilder(apiContext).build();
+        this.streamingSpec = requestSpecBuilder(apiContext).build();
+        this.hedging = new HedgingPolicy(HedgingConfig.load());
+        this.readHedging = new HedgingPolicy(hedging.getConfig().withCancelLoser(false));
+        this.sampling = SamplingConfig.load();
+        this.client = new BookstoreClient(apiContext, ConfigManager.getHttpVersion(), ConfigManager.isCompressionEnabled(), hedging);
+        logger.debug("API context: {}", apiContext);
+        logger.debug("Hedging: {}", hedging.getConfig());
+        logger.debug("Response time sampling: {}", sampling);
         logInfo(logger, "Setup completed");
     }
 
     /**
-     * Loads configuration for the given environment.
-     * This method fetches and loads the necessary properties for the provided environment.
+     * Tags every log line of the current test invocation with the test method and, for
+     * data-driven tests, the row's test name, so lines of rows running in parallel can be told apart.
+     *
+     * @param method     the test method about to run.
+     * @param parameters the parameters of the invocation, empty for tests without a data provider.
      */
-    private void loadConfig() {
-        ConfigManager.loadApiProperties();
-        ConfigManager.loadPathProperties();
+    @BeforeMethod(alwaysRun = true)
+    public void bindLogContext(Method method, Object[] parameters) {
+        String test = parameters.length > 0 ? method.getName() + "[" + parameters[0] + "]" : method.getName();
+        ThreadContext.put(LOG_CONTEXT_KEY, test);
+    }
+
+    /**
+     * Removes the log tag of the finished test invocation from its thread.
+     */
+    @AfterMethod(alwaysRun = true)
+    public void clearLogContext() {
+        ThreadContext.remove(LOG_CONTEXT_KEY);
+    }
+
+    /**
+     * Starts accounting for the client-side cost of the test invocation about to run on this thread.
+     */
+    @BeforeMethod(alwaysRun = true)
+    public void startClientOverhead() {
+        ClientOverhead.start();
     }
 
     /**
-     * Configures the environment
+     * Logs the client-side cost of the finished test invocation and attaches it to the Allure
+     * report: the CPU time and allocations of the test's thread, and its time spent serializing,
+     * sending and waiting, deserializing, asserting and logging, so a slow test can be told apart
+     * from a slow API.
+     *
+     * @param result the result of the finished test invocation.
+     */
+    @AfterMethod(alwaysRun = true)
+    public void reportClientOverhead(ITestResult result) {
+        Object[] parameters = result.getParameters();
+        String test = parameters.length > 0 ? result.getName() + "[" + parameters[0] + "]" : result.getName();
+        ClientOverhead.Report report = ClientOverhead.finish(test);
+        if (report != null) {
+            logger.info("Client overhead: {}", report);
+            Allure.addAttachment("Client overhead", "text/plain", report.toString());
+        }
+    }
+
+    /**
+     * Starts a new request against the API of this test class.
+     *
+     * @return a new RequestSpecification based on the class's base URI and configuration.
      */
-    private void setEnv(String env) {
-        this.env = env;
-        ConfigManager.setEnv(env);
+    protected RequestSpecification request() {
+        return RestAssured.given(requestSpec);
     }
 
     /**
-     * Configures the version
+     * Waits for a request of the non-blocking client, accounting the wait as sending in the
+     * test's {@link ClientOverhead}.
+     *
+     * @param request the pending request.
+     * @param <T>     the type of the response.
+     * @return the response.
      */
-    private void setVersion(String apiVersion) {
-        ConfigManager.setVersion(apiVersion);
+    protected static <T> T await(CompletableFuture<T> request) {
+        try (Span _ = ClientOverhead.begin(Phase.SEND)) {
+            return request.join();
+        }
     }
 
     /**
-     * Configures the max response time
+     * Sends an idempotent GET request against the API of this test class. With hedging enabled a
+     * second request is sent if the first one is slower than the policy's delay for the endpoint;
+     * the first response wins and the response time is that of the whole read, including the
+     * delay. A losing RestAssured request cannot be aborted, so these reads are hedged by a policy
+     * that never cancels the loser: it completes in the background, its response is discarded and
+     * its real latency counts for the latencies without hedging.
+     *
+     * @param path the path relative to the base URL, e.g. {@code /api/v1/Books/1}.
+     * @return the snapshot of the winning response.
      */
-    private void setMaxResponseTime() {
-        maxResponseTime = ConfigManager.getMaxResponseTime();
+    protected ResponseSnapshot hedgedGet(String path) {
+        if (!readHedging.isEnabled()) {
+            return ResponseSnapshot.of(request().get(path));
+        }
+        Map<String, String> logContext = ThreadContext.getImmutableContext();
+        long start = System.nanoTime();
+        try (Span _ = ClientOverhead.begin(Phase.SEND)) {
+            ResponseSnapshot response = readHedging.execute(TransferMetrics.endpointKey("GET", path), () -> CompletableFuture.supplyAsync(() -> {
+                ThreadContext.putAll(logContext);
+                try {
+                    return ResponseSnapshot.of(request().get(path));
+                } finally {
+                    ThreadContext.clearMap();
+                }
+            }, hedgedReads)).join();
+            return response.withTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
     /**
-     * Sets up the API endpoints for authors and books.
+     * Sends a GET request for a JSON array and passes its elements to the consumer as they are read
+     * from the connection, so memory stays bounded however large the array is, e.g. for the full
+     * book and author listings. The request bypasses {@link ExchangeRecordingFilter}, which would
+     * buffer the body, and is recorded like the filter's exchanges once the body has been read, with
+     * the consumer's work counted in its download phase. A response other than 200 OK is captured
+     * whole instead, as error bodies are small and needed for diagnostics. Streamed reads are not
+     * hedged, as a second stream would have to be consumed in parallel.
+     *
+     * @param path     the path relative to the base URL, e.g. {@code /api/v1/Books}.
+     * @param type     the class type of the array elements.
+     * @param consumer the callback receiving each element in document order.
+     * @param <T>      the type of the elements.
+     * @return the snapshot of the response, without the body if it was streamed.
+     * @throws IOException if the body cannot be read or an element cannot be bound.
+     */
+    protected <T> ResponseSnapshot streamGet(String path, Class<T> type, Consumer<? super T> consumer) throws IOException {
+        String endpoint = TransferMetrics.endpointKey("GET", path);
+        long start = System.nanoTime();
+        Response response = null;
+        long bodyBytes = -1;
+        boolean streamed = false;
+        PhaseTimer.start();
+        try {
+            try (Span _ = ClientOverhead.begin(Phase.SEND)) {
+                response = RestAssured.given(streamingSpec).get(path);
+            }
+            if (response.getStatusCode() == 200) {
+                try (CountingInputStream body = new CountingInputStream(response.asInputStream());
+                     Span _ = ClientOverhead.begin(Phase.DESERIALIZE)) {
+                    JsonStreams.forEachElement(body, type, consumer);
+                    bodyBytes = body.getCount();
+                }
+                streamed = true;
+            } else {
+                try (Span _ = ClientOverhead.begin(Phase.SEND)) {
+                    bodyBytes = response.asByteArray().length;
+                }
+            }
+        } finally {
+            exchangeRecorder.record(endpoint, start, response, bodyBytes);
+        }
+        return streamed
+                ? ResponseSnapshot.streamed(response, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), bodyBytes, PhaseTimer.takeLast())
+                : ResponseSnapshot.of(response);
+    }
+
+    /**
+     * Asserts the response time of an idempotent GET request. Without sampling, the response the
+     * test received must be within {@code max.api.response.time}. With sampling, the request is sent
+     * again for the configured warm-up and then the configured number of samples, one after the
+     * other and without hedging, and the configured percentile of the samples is asserted against
+     * the endpoint's SLO target for that percentile, or {@code max.api.response.time} if it has none.
+     * The repeated requests are not recorded in the suite's metrics, so their warm, back-to-back
+     * latencies do not dilute the percentiles the suite's SLO checks evaluate.
+     *
+     * @param response the response the test received.
+     * @param path     the path the response was read from, relative to the base URL.
+     * @see utils.assertions.AssertionsUtils#assertSampledResponseTime(ResponseTimeSample, long, Logger)
+     */
+    protected void assertReadResponseTime(ResponseSnapshot response, String path) {
+        if (!sampling.isEnabled()) {
+            assertResponseTime(response, maxResponseTime, logger);
+            return;
+        }
+        for (int i = 0; i < sampling.getWarmup(); i++) {
+            RestAssured.given(samplingSpec).get(path);
+        }
+        long[] times = new long[sampling.getSamples()];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = RestAssured.given(samplingSpec).get(path).getTime();
+        }
+        String endpoint = TransferMetrics.endpointKey("GET", path);
+        Long sloTarget = sloConfig == null ? null : sloConfig.budget(endpoint).percentileMillis().get(sampling.getPercentile());
+        ResponseTimeSample sample = new ResponseTimeSample("GET " + path, times, sampling.getPercentile(), sampling.getConfidence());
+        assertSampledResponseTime(sample, sloTarget == null ? maxResponseTime : sloTarget, logger);
+    }
+
+    /**
+     * Builds the request specification for the given context. Request bodies are serialized with
+     * the shared ObjectMapper of {@link JsonRegistry}, accounted to the running test's
+     * {@link ClientOverhead}, requests reuse the suite's pooled connections
+     * and their exchanges are recorded in {@link #latencyHistograms} and {@link #exchangeMetrics}.
+     *
+     * @param context the API context to build the specification for.
+     * @return the request specification.
      */
-    private void setupEndpoints() {
-        String versionedApiPath = ConfigManager.getApiVersion(ConfigManager.getVersion());
-        this.authorsEndpoint = versionedApiPath + ConfigManager.getEndpoint("authors");
-        this.booksEndpoint = versionedApiPath + ConfigManager.getEndpoint("books");
+    protected static RequestSpecification buildRequestSpec(ApiContext context) {
+        return requestSpecBuilder(context)
+                .addFilter(exchangeRecorder)
+                .build();
     }
 
     /**
-     * Configures the RestAssured base URI.
+     * Starts a request specification for the given context with the shared ObjectMapper and
+     * connection pool, but without recording its exchanges.
      */
-    private void configureRestAssured() {
-        RestAssured.baseURI = ConfigManager.getBaseUrl(ConfigManager.getEnv());
-        logger.debug("API Base URL: {}", RestAssured.baseURI);
+    private static RequestSpecBuilder requestSpecBuilder(ApiContext context) {
+        RestAssuredConfig config = RestAssuredConfig.config()
+                .objectMapperConfig(ObjectMapperConfig.objectMapperConfig()
+                        .jackson2ObjectMapperFactory((type, charset) -> JsonRegistry.mapper())
+                        .defaultObjectMapper(new MeasuredObjectMapper()))
+                .httpClient(httpClientFactory.httpClientConfig());
+        return new RequestSpecBuilder()
+                .setBaseUri(context.getBaseUrl())
+                .setConfig(config);
     }
 
     /**
      * Cleans up resources after all test methods in the class have been executed.
-     * This method can be used to close connections or reset configurations.
-     * Currently, this method is empty but can be overridden or extended as needed.
+     * Logs the transfer sizes of the non-blocking client and the hedged reads of the class, with
+     * their latency percentiles with and without hedging, adds the client's exchanges to the suite's
+     * metrics and closes the client.
      */
     @AfterClass
     public void tearDown() {
         logInfo(logger, "Initializing tear down");
+        if (client != null) {
+            logger.info("Transfer metrics: {}", client.getTransferMetrics());
+            latencyHistograms.add(client.getLatencyHistograms());
+            exchangeMetrics.add(client.getExchangeMetrics());
+            client.close();
+        }
+        if (hedging != null && hedging.isEnabled()) {
+            logger.info("Hedging metrics of the client: {}", hedging);
+            logger.info("Hedging metrics of hedged reads: {}", readHedging);
+        }
         logInfo(logger, "Tear down completed");
     }
 
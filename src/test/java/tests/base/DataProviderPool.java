@@ -0,0 +1,153 @@
+package tests.base;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+import org.testng.internal.ObjectBag;
+import utils.common.ClientOverhead;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Suite listener that replaces TestNG's pool for the rows of parallel data providers with a pool
+ * bounded by {@code -Ddataprovider.max.concurrency}, defaulting to the suite's
+ * {@code data-provider-thread-count}. While {@link ClientOverhead} is enabled the rows run on
+ * platform threads, the only ones whose CPU time and allocations the JVM can measure. With
+ * {@code -Dclient.overhead.enabled=false} they run on virtual threads instead: rows mostly wait on
+ * HTTP responses, so a waiting row only parks its virtual thread.
+ * <p>
+ * With {@code share-thread-pool-for-data-providers="true"} TestNG takes the data provider pool
+ * from the suite's {@link ObjectBag}, so registering an executor there before the first test
+ * replaces the pool; TestNG shuts it down when the suite ends.
+ * <p>
+ * {@code ObjectBag} is internal to TestNG, and its public {@code IExecutorServiceFactory} does not
+ * create data provider pools, so this relies on TestNG 7.10's behaviour. The listener therefore
+ * fails the suite at start if the pool cannot be registered or would not be shared, and at the end
+ * if parallel data providers ran without it.
+ */
+public class DataProviderPool implements ISuiteListener {
+
+    /**
+     * TestNG recognizes its own worker threads by this name prefix.
+     */
+    private static final String THREAD_NAME_PREFIX = "TestNG-";
+
+    private BoundedExecutor executor;
+
+    /**
+     * Registers the bounded pool as the suite's data provider pool.
+     *
+     * @param suite the suite being started.
+     * @throws IllegalStateException if the suite does not share its data provider pool, another pool
+     *                               is registered already or TestNG no longer offers the bag.
+     */
+    @Override
+    public void onStart(ISuite suite) {
+        if (!suite.getXmlSuite().isShareThreadPoolForDataProviders()) {
+            throw new IllegalStateException("Suite " + suite.getName() + " must set share-thread-pool-for-data-providers=\"true\""
+                    + " to run data providers on a bounded pool");
+        }
+        int maxConcurrency = Math.max(1, Integer.getInteger("dataprovider.max.concurrency", suite.getXmlSuite().getDataProviderThreadCount()));
+        BoundedExecutor pool;
+        if (ClientOverhead.isEnabled()) {
+            ThreadFactory threads = Thread.ofPlatform().name(THREAD_NAME_PREFIX + "dataprovider-", 0).daemon(true).factory();
+            pool = new BoundedExecutor(Executors.newFixedThreadPool(maxConcurrency, threads), maxConcurrency);
+        } else {
+            ThreadFactory threads = Thread.ofVirtual().name(THREAD_NAME_PREFIX + "virtual-", 0).factory();
+            pool = new BoundedExecutor(Executors.newThreadPerTaskExecutor(threads), maxConcurrency);
+        }
+        Object registered;
+        try {
+            registered = ObjectBag.getInstance(suite).createIfRequired(ExecutorService.class, () -> pool);
+        } catch (LinkageError e) {
+            pool.shutdown();
+            throw new IllegalStateException("This TestNG version does not let data provider pools be replaced; remove "
+                    + getClass().getName() + " from the suite", e);
+        }
+        if (registered != pool) {
+            pool.shutdown();
+            throw new IllegalStateException("Suite " + suite.getName() + " already has a data provider pool: " + registered);
+        }
+        executor = pool;
+    }
+
+    /**
+     * Checks that TestNG took the rows of the parallel data providers from the registered pool.
+     *
+     * @param suite the suite that finished.
+     * @throws IllegalStateException if parallel data providers ran but no row ran on the pool.
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        boolean parallelRows = suite.getAllMethods().stream()
+                .map(ITestNGMethod::getDataProviderMethod)
+                .anyMatch(provider -> provider != null && provider.isParallel());
+        if (executor != null && parallelRows && executor.tasks.sum() == 0) {
+            throw new IllegalStateException("TestNG ran the parallel data providers of suite " + suite.getName()
+                    + " without consulting its object bag, so they did not run on the bounded pool");
+        }
+    }
+
+    /**
+     * Executor that lets at most a fixed number of tasks run at the same time and counts the tasks
+     * it was given. On virtual threads, tasks over the limit wait on a semaphore, which parks their
+     * thread without holding a carrier thread.
+     */
+    private static class BoundedExecutor extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+        private final Semaphore permits;
+        private final LongAdder tasks = new LongAdder();
+
+        BoundedExecutor(ExecutorService delegate, int maxConcurrency) {
+            this.delegate = delegate;
+            this.permits = new Semaphore(maxConcurrency);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.increment();
+            delegate.execute(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+
+}
@@ -1,14 +1,33 @@
 package utils.assertions;
 
+import client.ExchangeMetrics;
+import client.LatencyHistograms;
+import client.TransferMetrics;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import io.restassured.response.Response;
+import config.SloConfig;
+import load.LoadReport;
+import load.SoakReport;
 import models.responses.common.BadRequestResponse;
 import org.apache.logging.log4j.Logger;
+import utils.common.ClientOverhead;
+import utils.common.ClientOverhead.Phase;
+import utils.common.ClientOverhead.Span;
+import utils.common.EntityDiff;
+import utils.common.FanOutVerifier;
+import utils.common.ModelComparator;
+import utils.common.ResponseSnapshot;
+import utils.common.ResponseTimeSample;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 
 import static org.testng.Assert.*;
 import static utils.common.JsonUtils.parseJsonResponseObject;
+import static utils.common.LogUtils.truncateBody;
 
 /**
  * Utility class for custom assertion methods to be used in API testing.
@@ -21,97 +40,215 @@ public class AssertionsUtils {
      * Asserts that the response status code matches the expected status code.
      * Logs the result and error message if the assertion fails.
      *
-     * @param response           the Response object to check.
+     * @param response           the ResponseSnapshot to check.
      * @param expectedStatusCode the expected HTTP status code.
      * @param logger             the Logger instance to log the messages.
      */
-    public static void assertStatusCode(Response response, int expectedStatusCode, Logger logger) {
-        int actualStatusCode = response.getStatusCode();
+    public static void assertStatusCode(ResponseSnapshot response, int expectedStatusCode, Logger logger) {
+        try (Span _ = ClientOverhead.begin(Phase.ASSERT)) {
+            int actualStatusCode = response.getStatusCode();
 
-        try {
-            assertEquals(actualStatusCode, expectedStatusCode);
-            logger.info("Status code assertion PASSED: Expected [{}], Actual [{}]", expectedStatusCode, actualStatusCode);
-        } catch (AssertionError e) {
-            logger.error("Status code assertion FAILED: Expected [{}], Actual [{}]. Error: {}", expectedStatusCode, actualStatusCode, e.getMessage());
-            throw e;
+            try {
+                assertEquals(actualStatusCode, expectedStatusCode);
+                logger.info("Status code assertion PASSED: Expected [{}], Actual [{}]", expectedStatusCode, actualStatusCode);
+            } catch (AssertionError e) {
+                logger.error("Status code assertion FAILED: Expected [{}], Actual [{}]. Error: {}", expectedStatusCode, actualStatusCode, e.getMessage());
+                throw e;
+            }
         }
     }
 
     /**
      * Asserts that the response time is within the specified maximum time.
-     * Logs the result and error message if the assertion fails.
+     * Logs the result and error message if the assertion fails; the message of a failure includes
+     * the phase timings of the exchange, if they were captured.
      *
-     * @param response        the Response object to check.
+     * @param response        the ResponseSnapshot to check.
      * @param maxTimeInMillis the maximum allowed response time in milliseconds.
      * @param logger          the Logger instance to log the messages.
      */
-    public static void assertResponseTime(Response response, long maxTimeInMillis, Logger logger) {
-        long responseTime = response.time();
+    public static void assertResponseTime(ResponseSnapshot response, long maxTimeInMillis, Logger logger) {
+        try (Span _ = ClientOverhead.begin(Phase.ASSERT)) {
+            long responseTime = response.getTime();
+
+            String timings = response.getPhaseTimings() == null ? "" : " (" + response.getPhaseTimings() + ")";
 
+            try {
+                assertTrue(responseTime <= maxTimeInMillis,
+                        "Response time exceeded the maximum allowed time. Expected <= " + maxTimeInMillis + "ms but got " + responseTime + "ms" + timings);
+                logger.info("Response time assertion PASSED: Expected <= {} ms, Actual [{}] ms", maxTimeInMillis, responseTime);
+            } catch (AssertionError e) {
+                logger.error("Response time assertion FAILED: Expected <= {} ms, Actual [{}] ms{}", maxTimeInMillis, responseTime, timings);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Asserts that the sampled response times are not above the specified maximum time at the
+     * sample's percentile. The assertion fails only if the lower bound of the confidence interval is
+     * above the limit, i.e. the endpoint is slower with the sample's confidence rather than by noise;
+     * an estimate above the limit whose interval still reaches below it passes with a warning.
+     * Logs the result and error message if the assertion fails.
+     *
+     * @param sample          the sampled response times.
+     * @param maxTimeInMillis the maximum allowed response time at the percentile in milliseconds.
+     * @param logger          the Logger instance to log the messages.
+     */
+    public static void assertSampledResponseTime(ResponseTimeSample sample, long maxTimeInMillis, Logger logger) {
         try {
-            assertTrue(responseTime <= maxTimeInMillis,
-                    "Response time exceeded the maximum allowed time. Expected <= " + maxTimeInMillis + "ms but got " + responseTime + "ms");
-            logger.info("Response time assertion PASSED: Expected <= {} ms, Actual [{}] ms", maxTimeInMillis, responseTime);
+            assertTrue(sample.getLowerMillis() <= maxTimeInMillis,
+                    String.format("Sampled response time exceeded the maximum allowed time. Expected p%s <= %d ms but the confidence interval starts above it: %s",
+                            formatPercentile(sample.getPercentile()), maxTimeInMillis, sample));
+            if (sample.getEstimateMillis() > maxTimeInMillis) {
+                logger.warn("Sampled response time assertion INCONCLUSIVE: Expected <= {} ms, {}", maxTimeInMillis, sample);
+            } else {
+                logger.info("Sampled response time assertion PASSED: Expected <= {} ms, {}", maxTimeInMillis, sample);
+            }
         } catch (AssertionError e) {
-            logger.error("Response time assertion FAILED: Expected <= {} ms, Actual [{}] ms", maxTimeInMillis, responseTime);
+            logger.error("Sampled response time assertion FAILED: Expected <= {} ms, {}", maxTimeInMillis, sample);
             throw e;
         }
     }
 
     /**
-     * Asserts that all expected items are present in the actual list, and reports missing items.
+     * Asserts that no response body of an endpoint was larger on the wire than the specified size.
+     * The wire size is the compressed size when compression was negotiated.
+     * Logs the result, including the decoded size and decode time, and the error message if the assertion fails.
+     *
+     * @param transfer the transfer metrics of the endpoint.
+     * @param maxBytes the maximum allowed body size on the wire in bytes.
+     * @param logger   the Logger instance to log the messages.
+     */
+    public static void assertTransferSize(TransferMetrics.Snapshot transfer, long maxBytes, Logger logger) {
+        try (Span _ = ClientOverhead.begin(Phase.ASSERT)) {
+            try {
+                assertTrue(transfer.responses() > 0, "No response was received from " + transfer.endpoint());
+                assertTrue(transfer.maxWireBytes() <= maxBytes,
+                        "Response size exceeded the maximum allowed size. Expected <= " + maxBytes + " bytes but got " + transfer.maxWireBytes() + " bytes");
+                logger.info("Transfer size assertion PASSED: Expected <= {} bytes, {}", maxBytes, transfer);
+            } catch (AssertionError e) {
+                logger.error("Transfer size assertion FAILED: Expected <= {} bytes, {}", maxBytes, transfer);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Asserts that every endpoint stayed within its budget: each latency percentile target over all
+     * of the endpoint's responses, the largest response body and the error rate. All endpoints are
+     * checked before failing, so one run reports every exceeded budget.
+     * Logs the result per endpoint and the error message if the assertion fails.
+     *
+     * @param slo       the per-endpoint budgets.
+     * @param latencies the latency distributions by endpoint key.
+     * @param exchanges the errors and largest bodies by endpoint key.
+     * @param logger    the Logger instance to log the messages.
+     */
+    public static void assertWithinSlo(SloConfig slo, Map<String, LatencyHistograms.Snapshot> latencies,
+                                       Map<String, ExchangeMetrics.Snapshot> exchanges, Logger logger) {
+        Set<String> endpoints = new TreeSet<>(latencies.keySet());
+        endpoints.addAll(exchanges.keySet());
+        List<String> violations = new ArrayList<>();
+
+        for (String endpoint : endpoints) {
+            SloConfig.Budget budget = slo.budget(endpoint);
+            LatencyHistograms.Snapshot latency = latencies.get(endpoint);
+            ExchangeMetrics.Snapshot exchange = exchanges.getOrDefault(endpoint, new ExchangeMetrics.Snapshot(endpoint, 0, 0, 0));
+            List<String> exceeded = new ArrayList<>();
+            if (latency != null && latency.count() > 0) {
+                budget.percentileMillis().forEach((percentile, maxMillis) -> {
+                    double actual = latency.percentileMillis(percentile);
+                    if (actual > maxMillis) {
+                        exceeded.add(String.format("p%s %.1f ms > %d ms", formatPercentile(percentile), actual, maxMillis));
+                    }
+                });
+            }
+            if (exchange.maxBodyBytes() > budget.maxBodyBytes()) {
+                exceeded.add(String.format("body %d B > %d B", exchange.maxBodyBytes(), budget.maxBodyBytes()));
+            }
+            if (exchange.errorRate() > budget.maxErrorRate()) {
+                exceeded.add(String.format("errors %.2f%% > %.2f%%", exchange.errorRate() * 100, budget.maxErrorRate() * 100));
+            }
+            Object recorded = latency == null ? "no responses" : latency;
+            if (exceeded.isEmpty()) {
+                logger.info("SLO assertion PASSED: {} | {} | {}", budget, recorded, exchange);
+            } else {
+                logger.error("SLO assertion FAILED: {} | {} | {}", budget, recorded, exchange);
+                violations.add(endpoint + ": " + String.join(", ", exceeded));
+            }
+        }
+
+        if (!violations.isEmpty()) {
+            fail(String.format("%d of %d endpoints exceeded their SLO budget:\n%s", violations.size(), endpoints.size(), String.join("\n", violations)));
+        }
+    }
+
+    /**
+     * Formats a percentile without trailing zeros, e.g. 99 or 99.9.
+     */
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    /**
+     * Asserts that every expected item is present in the API response with identical fields,
+     * reporting missing and changed items from a keyed diff.
      * Logs the result and error message if the assertion fails.
+     * The response body is only formatted when the assertion fails.
      *
-     * @param actualList   the list returned from the API response.
-     * @param expectedList the list of expected items.
-     * @param missingItems the list of missing items to display in the failure message.
-     * @param jsonResponse the raw API JSON response for debugging.
+     * @param diff         the keyed diff between the expected items and the API response.
+     * @param jsonResponse the supplier of the raw API JSON response for debugging.
      * @param logger       the Logger instance to log the messages.
      * @param <T>          the type of items in the lists.
      */
-    public static <T> void assertMissingItems(List<T> actualList, List<T> expectedList, List<T> missingItems, String jsonResponse, Logger logger) {
-        try {
-            assertTrue(actualList.containsAll(expectedList),
-                    String.format(
-                            "The API response does not contain the following expected items:\n%s\nResponse:\n%s",
-                            missingItems,
-                            jsonResponse
-                    )
-            );
-            logger.info("Missing items assertion PASSED. All expected items are present.");
-        } catch (AssertionError e) {
-            logger.error("Missing items assertion FAILED. Missing items: {}\nResponse: {}", missingItems, jsonResponse);
-            throw e;
+    public static <T> void assertMissingItems(EntityDiff<T> diff, Supplier<String> jsonResponse, Logger logger) {
+        try (Span _ = ClientOverhead.begin(Phase.ASSERT)) {
+            if (diff.containsAllExpected()) {
+                logger.info("Missing items assertion PASSED. All expected items are present. Unexpected items: {}", diff.getUnexpectedIds().size());
+                return;
+            }
+            String body = truncateBody(jsonResponse.get());
+            logger.error("Missing items assertion FAILED. Missing items: {}\nChanged items: {}\nResponse: {}", diff.getMissing(), diff.getChanged(), body);
+            fail(String.format(
+                    "The API response does not contain the following expected items:\n%s\nThe following items differ from the expected values:\n%s\nResponse:\n%s",
+                    diff.getMissing(),
+                    diff.getChanged(),
+                    body
+            ));
         }
     }
 
     /**
      * Asserts that there are no duplicate items in the list.
      * Logs the result and error message if the assertion fails.
+     * The response body is only formatted when the assertion fails.
      *
      * @param duplicateItems the list of duplicate items found in the API response.
-     * @param jsonResponse   the raw API JSON response for debugging.
+     * @param jsonResponse   the supplier of the raw API JSON response for debugging.
      * @param logger         the Logger instance to log the messages.
      * @param <T>            the type of items in the list.
      */
-    public static <T> void assertNoDuplicateItems(List<T> duplicateItems, String jsonResponse, Logger logger) {
-        try {
-            assertTrue(duplicateItems.isEmpty(),
-                    String.format(
-                            "The API response contains the following duplicate items:\n%s\nResponse:\n%s",
-                            duplicateItems,
-                            jsonResponse
-                    )
-            );
-            logger.info("Duplicate items assertion PASSED. No duplicates found.");
-        } catch (AssertionError e) {
-            logger.error("Duplicate items assertion FAILED. Duplicates found: {}\nResponse: {}", duplicateItems, jsonResponse);
-            throw e;
+    public static <T> void assertNoDuplicateItems(List<T> duplicateItems, Supplier<String> jsonResponse, Logger logger) {
+        try (Span _ = ClientOverhead.begin(Phase.ASSERT)) {
+            if (duplicateItems.isEmpty()) {
+                logger.info("Duplicate items assertion PASSED. No duplicates found.");
+                return;
+            }
+            String body = truncateBody(jsonResponse.get());
+            logger.error("Duplicate items assertion FAILED. Duplicates found: {}\nResponse: {}", duplicateItems, body);
+            fail(String.format(
+                    "The API response contains the following duplicate items:\n%s\nResponse:\n%s",
+                    duplicateItems,
+                    body
+            ));
         }
     }
 
     /**
      * Asserts that two objects match, comparing the expected and actual values.
+     * Books and authors are compared field by field regardless of their request or response class,
+     * and a JSON Patch of the differing fields is only built when they do not match.
      * Logs the result and error message if the assertion fails.
      *
      * @param expected the expected object.
@@ -120,11 +257,113 @@ public class AssertionsUtils {
      * @param <T>      the type of the objects.
      */
     public static <T> void assertItemMatches(T expected, T actual, Logger logger) {
+        try (Span _ = ClientOverhead.begin(Phase.ASSERT)) {
+            if (ModelComparator.supports(expected, actual)) {
+                if (ModelComparator.matches(expected, actual)) {
+                    logger.info("Item matches assertion PASSED. Expected and actual items match.");
+                    return;
+                }
+                String patch = ModelComparator.jsonPatch(expected, actual);
+                logger.error("Item matches assertion FAILED. Expected: {}\nPatch to actual: {}", expected, patch);
+                fail(String.format("Expected object:\n%s\nbut got:\n%s\nPatch to actual:\n%s", expected, actual, patch));
+            }
+            try {
+                assertEquals(actual, expected);
+                logger.info("Item matches assertion PASSED. Expected and actual items match.");
+            } catch (AssertionError e) {
+                logger.error("Item matches assertion FAILED. Expected: {}\nActual: {}", expected, actual);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Asserts that every entity of a fan-out run was returned with status 200 and matches the
+     * expected entity, reporting all failures at once instead of stopping at the first one.
+     * Logs the latency of every request and the run's latency percentiles.
+     *
+     * @param result the outcomes of the fan-out run.
+     * @param logger the Logger instance to log the messages.
+     */
+    public static void assertAllItemsMatch(FanOutVerifier.Result result, Logger logger) {
+        try (Span _ = ClientOverhead.begin(Phase.ASSERT)) {
+            for (FanOutVerifier.Outcome outcome : result.getOutcomes()) {
+                logger.debug("ID {}: status code {}, latency {} ms", outcome.id(), outcome.statusCode(), outcome.latencyMillis());
+            }
+            List<FanOutVerifier.Outcome> failures = result.getFailures();
+            if (failures.isEmpty()) {
+                logger.info("All items match assertion PASSED. {}", result.summary());
+                return;
+            }
+            StringBuilder report = new StringBuilder();
+            for (FanOutVerifier.Outcome failure : failures) {
+                report.append("ID ").append(failure.id()).append(" (").append(failure.latencyMillis()).append(" ms): ")
+                        .append(failure.reason()).append('\n');
+            }
+            logger.error("All items match assertion FAILED. {}\n{}", result.summary(), report);
+            fail(String.format("%d of %d items do not match the expected values (%s):\n%s",
+                    failures.size(), result.getOutcomes().size(), result.summary(), report));
+        }
+    }
+
+    /**
+     * Asserts that a load run kept its target arrival rate, stayed within the error budget and
+     * answered within the maximum time at the 99th percentile, measured from the scheduled send times.
+     * Logs the report and the result of each check.
+     *
+     * @param report         the report of the load run.
+     * @param maxErrorRate   the highest allowed share of failed or dropped requests, between 0 and 1.
+     * @param maxP99InMillis the maximum allowed 99th percentile latency in milliseconds.
+     * @param logger         the Logger instance to log the messages.
+     */
+    public static void assertLoadTargets(LoadReport report, double maxErrorRate, long maxP99InMillis, Logger logger) {
+        logger.info("Load report:\n{}", report);
+        double p99 = report.getTotal().latencyMillis(99);
+
+        try {
+            assertTrue(report.getSentRate() >= report.getTargetRate() * 0.95,
+                    String.format("The load generator could not keep the target rate. Expected %.1f req/s but sent %.1f req/s",
+                            report.getTargetRate(), report.getSentRate()));
+            assertTrue(report.getErrorRate() <= maxErrorRate,
+                    String.format("Error rate exceeded the budget. Expected <= %.2f%% but got %.2f%%", maxErrorRate * 100, report.getErrorRate() * 100));
+            assertTrue(p99 <= maxP99InMillis,
+                    String.format("p99 latency exceeded the maximum allowed time. Expected <= %d ms but got %.1f ms", maxP99InMillis, p99));
+            logger.info("Load targets assertion PASSED: {} req/s achieved, error rate {}%, p99 {} ms <= {} ms",
+                    String.format("%.1f", report.getAchievedRate()), String.format("%.2f", report.getErrorRate() * 100), String.format("%.1f", p99), maxP99InMillis);
+        } catch (AssertionError e) {
+            logger.error("Load targets assertion FAILED: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Asserts that a soak run did not degrade: the 99th percentile latency of the last window stays
+     * within a factor of the baseline window after the warm-up, and its error rate within a margin of
+     * the baseline error rate. Logs the report and the result of each check.
+     *
+     * @param report               the report of the soak run.
+     * @param maxP99Growth         how many times the baseline p99 the last p99 may be.
+     * @param maxErrorRateIncrease by how much the last error rate may exceed the baseline, between 0 and 1.
+     * @param logger               the Logger instance to log the messages.
+     */
+    public static void assertNoDegradation(SoakReport report, double maxP99Growth, double maxErrorRateIncrease, Logger logger) {
+        logger.info("Soak report:\n{}", report);
+        SoakReport.Window baseline = report.getBaseline();
+        SoakReport.Window last = report.getLast();
+
         try {
-            assertEquals(actual, expected, String.format("Expected object:\n%s\nbut got:\n%s", expected, actual));
-            logger.info("Item matches assertion PASSED. Expected and actual items match.");
+            assertTrue(last.requests() > 0, String.format("No requests completed in the last window %d", last.index()));
+            assertTrue(last.p99Millis() <= baseline.p99Millis() * maxP99Growth,
+                    String.format("p99 latency degraded over the run. Expected <= %.1f ms (%.2f x %.1f ms in window %d) but got %.1f ms in window %d",
+                            baseline.p99Millis() * maxP99Growth, maxP99Growth, baseline.p99Millis(), baseline.index(), last.p99Millis(), last.index()));
+            assertTrue(last.errorRate() <= baseline.errorRate() + maxErrorRateIncrease,
+                    String.format("Error rate degraded over the run. Expected <= %.2f%% (%.2f%% in window %d) but got %.2f%% in window %d",
+                            (baseline.errorRate() + maxErrorRateIncrease) * 100, baseline.errorRate() * 100, baseline.index(), last.errorRate() * 100, last.index()));
+            logger.info("No degradation assertion PASSED: p99 {} ms against {} ms, error rate {}% against {}%",
+                    String.format("%.1f", last.p99Millis()), String.format("%.1f", baseline.p99Millis()),
+                    String.format("%.2f", last.errorRate() * 100), String.format("%.2f", baseline.errorRate() * 100));
         } catch (AssertionError e) {
-            logger.error("Item matches assertion FAILED. Expected: {}\nActual: {}", expected, actual);
+            logger.error("No degradation assertion FAILED: {}", e.getMessage());
             throw e;
         }
     }
@@ -133,26 +372,28 @@ public class AssertionsUtils {
      * Asserts the details of a bad request response, including the title, status, type, and trace ID.
      * Logs the result and error message if the assertion fails.
      *
-     * @param response       the Response object to check.
+     * @param response       the ResponseSnapshot to check.
      * @param expectedTitle  the expected title in the bad request response.
      * @param expectedStatus the expected HTTP status code for the bad request.
      * @param logger         the Logger instance to log the messages.
      * @throws JsonProcessingException if the response cannot be parsed into a BadRequestResponse object.
      */
-    public static void assertBadRequest(Response response, String expectedTitle, int expectedStatus, Logger logger) throws JsonProcessingException {
-        BadRequestResponse badRequestResponse = parseJsonResponseObject(response, BadRequestResponse.class);
+    public static void assertBadRequest(ResponseSnapshot response, String expectedTitle, int expectedStatus, Logger logger) throws JsonProcessingException {
+        try (Span _ = ClientOverhead.begin(Phase.ASSERT)) {
+            BadRequestResponse badRequestResponse = parseJsonResponseObject(response, BadRequestResponse.class);
 
-        try {
-            assertEquals(badRequestResponse.getTitle(), expectedTitle, "The error title does not match the expected value.");
-            assertEquals(badRequestResponse.getStatus(), expectedStatus, "The error status does not match the expected value.");
-            assertTrue(isNonEmptyString(badRequestResponse.getType()), "The 'type' field should be a non-empty string.");
-            assertTrue(badRequestResponse.getType().startsWith("https://"), "The 'type' field should start with 'https://'.");
-            assertTrue(isNonEmptyString(badRequestResponse.getTraceId()), "The 'traceId' field should be a non-empty string.");
+            try {
+                assertEquals(badRequestResponse.getTitle(), expectedTitle, "The error title does not match the expected value.");
+                assertEquals(badRequestResponse.getStatus(), expectedStatus, "The error status does not match the expected value.");
+                assertTrue(isNonEmptyString(badRequestResponse.getType()), "The 'type' field should be a non-empty string.");
+                assertTrue(badRequestResponse.getType().startsWith("https://"), "The 'type' field should start with 'https://'.");
+                assertTrue(isNonEmptyString(badRequestResponse.getTraceId()), "The 'traceId' field should be a non-empty string.");
 
-            logger.info("Bad request assertion PASSED.");
-        } catch (AssertionError e) {
-            logger.error("Bad request assertion FAILED. Expected title: {}, status: {}. Response: {}", expectedTitle, expectedStatus, response.body().asString());
-            throw e;
+                logger.info("Bad request assertion PASSED.");
+            } catch (AssertionError e) {
+                logger.error("Bad request assertion FAILED. Expected title: {}, status: {}. Response: {}", expectedTitle, expectedStatus, truncateBody(response.asString()));
+                throw e;
+            }
         }
     }
 
@@ -160,7 +401,7 @@ public class AssertionsUtils {
      * Asserts the details of a bad request response, including errors related to a specific field.
      * Logs the result and error message if the assertion fails.
      *
-     * @param response             the Response object to check.
+     * @param response             the ResponseSnapshot to check.
      * @param expectedTitle        the expected title in the bad request response.
      * @param expectedStatus       the expected HTTP status code for the bad request.
      * @param field                the field for which the error is expected.
@@ -168,17 +409,19 @@ public class AssertionsUtils {
      * @param logger               the Logger instance to log the messages.
      * @throws JsonProcessingException if the response cannot be parsed into a BadRequestResponse object.
      */
-    public static void assertBadRequestWithErrors(Response response, String expectedTitle, int expectedStatus, String field, String expectedErrorMessage, Logger logger) throws JsonProcessingException {
-        BadRequestResponse badRequestResponse = parseJsonResponseObject(response, BadRequestResponse.class);
+    public static void assertBadRequestWithErrors(ResponseSnapshot response, String expectedTitle, int expectedStatus, String field, String expectedErrorMessage, Logger logger) throws JsonProcessingException {
+        try (Span _ = ClientOverhead.begin(Phase.ASSERT)) {
+            BadRequestResponse badRequestResponse = parseJsonResponseObject(response, BadRequestResponse.class);
 
-        assertBadRequest(response, expectedTitle, expectedStatus, logger);
+            assertBadRequest(response, expectedTitle, expectedStatus, logger);
 
-        try {
-            assertErrors(badRequestResponse, field, expectedErrorMessage, logger);
-            logger.info("Bad request with field errors assertion PASSED.");
-        } catch (AssertionError e) {
-            logger.error("Bad request with field errors assertion FAILED. Field: {}, Expected error: {}. Response: {}", field, expectedErrorMessage, response.body().asString());
-            throw e;
+            try {
+                assertErrors(badRequestResponse, field, expectedErrorMessage, logger);
+                logger.info("Bad request with field errors assertion PASSED.");
+            } catch (AssertionError e) {
+                logger.error("Bad request with field errors assertion FAILED. Field: {}, Expected error: {}. Response: {}", field, expectedErrorMessage, truncateBody(response.asString()));
+                throw e;
+            }
         }
     }
 
@@ -192,16 +435,18 @@ public class AssertionsUtils {
      * @param logger               the Logger instance to log the messages.
      */
     public static void assertErrors(BadRequestResponse badRequestResponse, String field, String expectedErrorMessage, Logger logger) {
-        List<String> fieldErrors = badRequestResponse.getErrors().get(field);
+        try (Span _ = ClientOverhead.begin(Phase.ASSERT)) {
+            List<String> fieldErrors = badRequestResponse.getErrors().get(field);
 
-        try {
-            assertTrue(badRequestResponse.getErrors().containsKey(field), "The 'errors' field should contain '" + field + "' as a key.");
-            assertNotNull(fieldErrors, "The 'errors' field '" + field + "' should not be null.");
-            assertTrue(fieldErrors.contains(expectedErrorMessage), "The error message for '" + field + "' is incorrect.");
-            logger.info("Field error assertion PASSED for field '{}'.", field);
-        } catch (AssertionError e) {
-            logger.error("Field error assertion FAILED for field '{}'. Expected: '{}', Actual: '{}'", field, expectedErrorMessage, fieldErrors);
-            throw e;
+            try {
+                assertTrue(badRequestResponse.getErrors().containsKey(field), "The 'errors' field should contain '" + field + "' as a key.");
+                assertNotNull(fieldErrors, "The 'errors' field '" + field + "' should not be null.");
+                assertTrue(fieldErrors.contains(expectedErrorMessage), "The error message for '" + field + "' is incorrect.");
+                logger.info("Field error assertion PASSED for field '{}'.", field);
+            } catch (AssertionError e) {
+                logger.error("Field error assertion FAILED for field '{}'. Expected: '{}', Actual: '{}'", field, expectedErrorMessage, fieldErrors);
+                throw e;
+            }
         }
     }
 
@@ -1,16 +1,27 @@
 package utils.assertions;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import io.restassured.response.Response;
 import models.requests.authors.PostAuthorRequest;
 import models.requests.authors.PutAuthorRequest;
+import models.responses.authors.GetAuthorsResponse;
+import models.responses.authors.PostAuthorResponse;
 import models.responses.authors.PutAuthorResponse;
 import models.responses.common.BadRequestResponse;
-import models.responses.authors.PostAuthorResponse;
 import org.apache.logging.log4j.Logger;
+import utils.common.ClientOverhead;
+import utils.common.ClientOverhead.Phase;
+import utils.common.ClientOverhead.Span;
+import utils.common.LongHashSet;
+import utils.common.ModelComparator;
+import utils.common.ResponseSnapshot;
 
-import static org.testng.Assert.assertEquals;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.testng.Assert.fail;
 import static utils.common.JsonUtils.parseJsonResponseObject;
+import static utils.common.LogUtils.truncateBody;
 
 /**
  * Utility class for performing assertions specific to author-related API requests.
@@ -23,23 +34,59 @@ public class AuthorAssertionUtils extends AssertionsUtils {
      * Asserts that the author created by the API matches the expected details provided in the request.
      * Logs the result and error message if the assertion fails.
      *
-     * @param response  the Response object from the API containing the created author details.
+     * @param response  the ResponseSnapshot from the API containing the created author details.
      * @param newAuthor the AuthorRequest object with the expected author details.
      * @param logger    the Logger instance to log the messages.
      * @throws JsonProcessingException if the response cannot be parsed into a PostAuthorResponse object.
      */
-    public static void assertAuthorCreated(Response response, PostAuthorRequest newAuthor, Logger logger) throws JsonProcessingException {
-        PostAuthorResponse createdAuthor = parseJsonResponseObject(response, PostAuthorResponse.class);
+    public static void assertAuthorCreated(ResponseSnapshot response, PostAuthorRequest newAuthor, Logger logger) throws JsonProcessingException {
+        try (Span _ = ClientOverhead.begin(Phase.ASSERT)) {
+            PostAuthorResponse createdAuthor = parseJsonResponseObject(response, PostAuthorResponse.class);
 
-        try {
-            assertEquals(createdAuthor.getId(), newAuthor.getId(), "The ID does not match.");
-            assertEquals(createdAuthor.getIdBook(), newAuthor.getIdBook(), "The book ID does not match.");
-            assertEquals(createdAuthor.getFirstName(), newAuthor.getFirstName(), "The first name does not match.");
-            assertEquals(createdAuthor.getLastName(), newAuthor.getLastName(), "The last name does not match.");
-            logger.info("Author creation assertion PASSED. Expected author matches the created author.");
-        } catch (AssertionError e) {
-            logger.error("Author creation assertion FAILED. Expected: {}, Actual: {}", newAuthor, createdAuthor);
-            throw e;
+            if (ModelComparator.matches(newAuthor, createdAuthor)) {
+                logger.info("Author creation assertion PASSED. Expected author matches the created author.");
+                return;
+            }
+            String patch = ModelComparator.jsonPatch(newAuthor, createdAuthor);
+            logger.error("Author creation assertion FAILED. Expected: {}, Patch to actual: {}", newAuthor, patch);
+            fail("The created author does not match the request: " + patch);
+        }
+    }
+
+    /**
+     * Asserts that the authors the API returns for a book include every expected author of the book
+     * and that all of them belong to the book.
+     * Logs the result and error message if the assertion fails.
+     *
+     * @param bookId            the ID of the book.
+     * @param expectedAuthorIds the IDs of the expected authors of the book.
+     * @param authors           the authors returned for the book.
+     * @param logger            the Logger instance to log the messages.
+     */
+    public static void assertAuthorsOfBook(long bookId, long[] expectedAuthorIds, List<GetAuthorsResponse> authors, Logger logger) {
+        try (Span _ = ClientOverhead.begin(Phase.ASSERT)) {
+            LongHashSet returnedIds = new LongHashSet(authors.size());
+            List<GetAuthorsResponse> otherBooks = new ArrayList<>();
+            for (GetAuthorsResponse author : authors) {
+                if (author.getId() != null) {
+                    returnedIds.add(author.getId());
+                }
+                if (!Objects.equals(author.getIdBook(), bookId)) {
+                    otherBooks.add(author);
+                }
+            }
+            List<Long> missingIds = new ArrayList<>();
+            for (long id : expectedAuthorIds) {
+                if (!returnedIds.contains(id)) {
+                    missingIds.add(id);
+                }
+            }
+            if (missingIds.isEmpty() && otherBooks.isEmpty()) {
+                logger.info("Authors of book {} assertion PASSED. {} authors returned, all {} expected authors present.", bookId, authors.size(), expectedAuthorIds.length);
+                return;
+            }
+            logger.error("Authors of book {} assertion FAILED. Missing author IDs: {}\nAuthors of other books: {}", bookId, missingIds, otherBooks);
+            fail(String.format("The authors of book %d miss the expected author IDs %s and include authors of other books: %s", bookId, missingIds, otherBooks));
         }
     }
 
@@ -47,23 +94,22 @@ public class AuthorAssertionUtils extends AssertionsUtils {
      * Asserts that the author updated by the API matches the expected details provided in the request.
      * Logs the result and error message if the assertion fails.
      *
-     * @param response            the Response object from the API containing the created author details.
+     * @param response            the ResponseSnapshot from the API containing the created author details.
      * @param updateAuthorRequest the AuthorRequest object with the expected author details.
      * @param logger              the Logger instance to log the messages.
      * @throws JsonProcessingException if the response cannot be parsed into a PutAuthorResponse object.
      */
-    public static void assertAuthorUpdated(Response response, PutAuthorRequest updateAuthorRequest, Logger logger) throws JsonProcessingException {
-        PutAuthorResponse updatedAuthorResponse = parseJsonResponseObject(response, PutAuthorResponse.class);
+    public static void assertAuthorUpdated(ResponseSnapshot response, PutAuthorRequest updateAuthorRequest, Logger logger) throws JsonProcessingException {
+        try (Span _ = ClientOverhead.begin(Phase.ASSERT)) {
+            PutAuthorResponse updatedAuthorResponse = parseJsonResponseObject(response, PutAuthorResponse.class);
 
-        try {
-            assertEquals(updatedAuthorResponse.getId(), updateAuthorRequest.getId(), "The ID does not match.");
-            assertEquals(updatedAuthorResponse.getIdBook(), updateAuthorRequest.getIdBook(), "The book ID does not match.");
-            assertEquals(updatedAuthorResponse.getFirstName(), updateAuthorRequest.getFirstName(), "The first name does not match.");
-            assertEquals(updatedAuthorResponse.getLastName(), updateAuthorRequest.getLastName(), "The last name does not match.");
-            logger.info("Author update assertion PASSED. Expected author matches the updated author.");
-        } catch (AssertionError e) {
-            logger.error("Author update assertion FAILED. Expected: {}, Actual: {}", updateAuthorRequest, updatedAuthorResponse);
-            throw e;
+            if (ModelComparator.matches(updateAuthorRequest, updatedAuthorResponse)) {
+                logger.info("Author update assertion PASSED. Expected author matches the updated author.");
+                return;
+            }
+            String patch = ModelComparator.jsonPatch(updateAuthorRequest, updatedAuthorResponse);
+            logger.error("Author update assertion FAILED. Expected: {}, Patch to actual: {}", updateAuthorRequest, patch);
+            fail("The updated author does not match the request: " + patch);
         }
     }
 
@@ -72,27 +118,29 @@ public class AuthorAssertionUtils extends AssertionsUtils {
      * Logs the result and error message if the assertion fails.
      * The method validates that the appropriate error message is returned for missing or invalid 'id' and 'idBook' fields.
      *
-     * @param response the Response object containing the bad request details.
+     * @param response the ResponseSnapshot containing the bad request details.
      * @param id       the ID that was sent in the request, or null if it was missing.
      * @param idBook   the book ID that was sent in the request, or null if it was missing.
      * @param logger   the Logger instance to log the messages.
      * @throws JsonProcessingException if the response cannot be parsed into a BadRequestResponse object.
      */
-    public static void assertAuthorErrors(Response response, Long id, Long idBook, Logger logger) throws JsonProcessingException {
-        BadRequestResponse badRequestResponse = parseJsonResponseObject(response, BadRequestResponse.class);
+    public static void assertAuthorErrors(ResponseSnapshot response, Long id, Long idBook, Logger logger) throws JsonProcessingException {
+        try (Span _ = ClientOverhead.begin(Phase.ASSERT)) {
+            BadRequestResponse badRequestResponse = parseJsonResponseObject(response, BadRequestResponse.class);
 
-        try {
-            if (id == null && idBook == null) {
-                assertErrors(badRequestResponse, "$.id", "The JSON value could not be converted to System.Int32. Path: $.id | LineNumber: 0 | BytePositionInLine: 10.", logger);
-            } else if (id == null) {
-                assertErrors(badRequestResponse, "$.id", "The JSON value could not be converted to System.Int32. Path: $.id | LineNumber: 0 | BytePositionInLine: 10.", logger);
-            } else if (idBook == null) {
-                assertErrors(badRequestResponse, "$.idBook", "The JSON value could not be converted to System.Int32. Path: $.idBook | LineNumber: 0 | BytePositionInLine: 21.", logger);
+            try {
+                if (id == null && idBook == null) {
+                    assertErrors(badRequestResponse, "$.id", "The JSON value could not be converted to System.Int32. Path: $.id | LineNumber: 0 | BytePositionInLine: 10.", logger);
+                } else if (id == null) {
+                    assertErrors(badRequestResponse, "$.id", "The JSON value could not be converted to System.Int32. Path: $.id | LineNumber: 0 | BytePositionInLine: 10.", logger);
+                } else if (idBook == null) {
+                    assertErrors(badRequestResponse, "$.idBook", "The JSON value could not be converted to System.Int32. Path: $.idBook | LineNumber: 0 | BytePositionInLine: 21.", logger);
+                }
+                logger.info("Author error assertion PASSED.");
+            } catch (AssertionError e) {
+                logger.error("Author error assertion FAILED. Response: {}", truncateBody(response.asString()));
+                throw e;
             }
-            logger.info("Author error assertion PASSED.");
-        } catch (AssertionError e) {
-            logger.error("Author error assertion FAILED. Response: {}", response.body().asString());
-            throw e;
         }
     }
 
@@ -1,16 +1,21 @@
 package utils.assertions;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import io.restassured.response.Response;
 import models.requests.books.PostBookRequest;
 import models.requests.books.PutBookRequest;
 import models.responses.books.PostBookResponse;
 import models.responses.books.PutBookResponse;
 import models.responses.common.BadRequestResponse;
 import org.apache.logging.log4j.Logger;
+import utils.common.ClientOverhead;
+import utils.common.ClientOverhead.Phase;
+import utils.common.ClientOverhead.Span;
+import utils.common.ModelComparator;
+import utils.common.ResponseSnapshot;
 
-import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
 import static utils.common.JsonUtils.parseJsonResponseObject;
+import static utils.common.LogUtils.truncateBody;
 
 /**
  * Utility class for performing assertions specific to author-related API requests.
@@ -23,25 +28,22 @@ public class BookAssertionUtils extends AssertionsUtils {
      * Asserts that the book created by the API matches the expected details provided in the request.
      * Logs the result and error message if the assertion fails.
      *
-     * @param response the Response object from the API containing the created book details.
+     * @param response the ResponseSnapshot from the API containing the created book details.
      * @param newBook  the BookRequest object with the expected book details.
      * @param logger   the Logger instance to log the messages.
      * @throws JsonProcessingException if the response cannot be parsed into a PostBookResponse object.
      */
-    public static void assertBookCreated(Response response, PostBookRequest newBook, Logger logger) throws JsonProcessingException {
-        PostBookResponse createdBook = parseJsonResponseObject(response, PostBookResponse.class);
+    public static void assertBookCreated(ResponseSnapshot response, PostBookRequest newBook, Logger logger) throws JsonProcessingException {
+        try (Span _ = ClientOverhead.begin(Phase.ASSERT)) {
+            PostBookResponse createdBook = parseJsonResponseObject(response, PostBookResponse.class);
 
-        try {
-            assertEquals(createdBook.getId(), newBook.getId(), "The ID does not match.");
-            assertEquals(createdBook.getTitle(), newBook.getTitle(), "The title does not match.");
-            assertEquals(createdBook.getDescription(), newBook.getDescription(), "The description does not match.");
-            assertEquals(createdBook.getPageCount(), newBook.getPageCount(), "The page count does not match.");
-            assertEquals(createdBook.getExcerpt(), newBook.getExcerpt(), "The excerpt does not match.");
-            assertEquals(createdBook.getPublishDate(), newBook.getPublishDate(), "The publish date does not match.");
-            logger.info("Book creation assertion PASSED. Expected book matches the created book.");
-        } catch (AssertionError e) {
-            logger.error("Book creation assertion FAILED. Expected: {}, Actual: {}", newBook, createdBook);
-            throw e;
+            if (ModelComparator.matches(newBook, createdBook)) {
+                logger.info("Book creation assertion PASSED. Expected book matches the created book.");
+                return;
+            }
+            String patch = ModelComparator.jsonPatch(newBook, createdBook);
+            logger.error("Book creation assertion FAILED. Expected: {}, Patch to actual: {}", newBook, patch);
+            fail("The created book does not match the request: " + patch);
         }
     }
 
@@ -49,25 +51,22 @@ public class BookAssertionUtils extends AssertionsUtils {
      * Asserts that the book updated by the API matches the expected details provided in the request.
      * Logs the result and error message if the assertion fails.
      *
-     * @param response          the Response object from the API containing the updated book details.
+     * @param response          the ResponseSnapshot from the API containing the updated book details.
      * @param updateBookRequest the BookRequest object with the expected book details.
      * @param logger            the Logger instance to log the messages.
      * @throws JsonProcessingException if the response cannot be parsed into a PutBookResponse object.
      */
-    public static void assertBookUpdated(Response response, PutBookRequest updateBookRequest, Logger logger) throws JsonProcessingException {
-        PutBookResponse updatedBookResponse = parseJsonResponseObject(response, PutBookResponse.class);
+    public static void assertBookUpdated(ResponseSnapshot response, PutBookRequest updateBookRequest, Logger logger) throws JsonProcessingException {
+        try (Span _ = ClientOverhead.begin(Phase.ASSERT)) {
+            PutBookResponse updatedBookResponse = parseJsonResponseObject(response, PutBookResponse.class);
 
-        try {
-            assertEquals(updatedBookResponse.getId(), updateBookRequest.getId(), "The ID does not match.");
-            assertEquals(updatedBookResponse.getTitle(), updateBookRequest.getTitle(), "The title does not match.");
-            assertEquals(updatedBookResponse.getDescription(), updateBookRequest.getDescription(), "The description does not match.");
-            assertEquals(updatedBookResponse.getPageCount(), updateBookRequest.getPageCount(), "The page count does not match.");
-            assertEquals(updatedBookResponse.getExcerpt(), updateBookRequest.getExcerpt(), "The excerpt does not match.");
-            assertEquals(updatedBookResponse.getPublishDate(), updateBookRequest.getPublishDate(), "The publish date does not match.");
-            logger.info("Book creation assertion PASSED. Expected book matches the created book.");
-        } catch (AssertionError e) {
-            logger.error("Book creation assertion FAILED. Expected: {}, Actual: {}", updateBookRequest, updatedBookResponse);
-            throw e;
+            if (ModelComparator.matches(updateBookRequest, updatedBookResponse)) {
+                logger.info("Book creation assertion PASSED. Expected book matches the created book.");
+                return;
+            }
+            String patch = ModelComparator.jsonPatch(updateBookRequest, updatedBookResponse);
+            logger.error("Book creation assertion FAILED. Expected: {}, Patch to actual: {}", updateBookRequest, patch);
+            fail("The updated book does not match the request: " + patch);
         }
     }
 
@@ -76,30 +75,32 @@ public class BookAssertionUtils extends AssertionsUtils {
      * Logs the result and error message if the assertion fails.
      * The method validates that the appropriate error message is returned for missing or invalid fields such as 'id', 'title', and 'pageCount'.
      *
-     * @param response  the Response object containing the bad request details.
+     * @param response  the ResponseSnapshot containing the bad request details.
      * @param id        the ID that was sent in the request, or null if it was missing.
      * @param title     the title that was sent in the request, or null if it was missing.
      * @param pageCount the page count that was sent in the request, or null if it was missing.
      * @param logger    the Logger instance to log the messages.
      * @throws JsonProcessingException if the response cannot be parsed into a BadRequestResponse object.
      */
-    public static void assertBookErrors(Response response, Long id, String title, Integer pageCount, Logger logger) throws JsonProcessingException {
-        BadRequestResponse badRequestResponse = parseJsonResponseObject(response, BadRequestResponse.class);
+    public static void assertBookErrors(ResponseSnapshot response, Long id, String title, Integer pageCount, Logger logger) throws JsonProcessingException {
+        try (Span _ = ClientOverhead.begin(Phase.ASSERT)) {
+            BadRequestResponse badRequestResponse = parseJsonResponseObject(response, BadRequestResponse.class);
 
-        try {
-            if (id == null) {
-                assertErrors(badRequestResponse, "$.id", "The JSON value could not be converted to System.Int32. Path: $.id | LineNumber: 0.", logger);
-            }
-            if (title == null) {
-                assertErrors(badRequestResponse, "$.title", "The JSON value could not be converted to System.String. Path: $.title | LineNumber: 1.", logger);
-            }
-            if (pageCount == null) {
-                assertErrors(badRequestResponse, "$.pageCount", "The JSON value could not be converted to System.Int32. Path: $.pageCount | LineNumber: 2.", logger);
+            try {
+                if (id == null) {
+                    assertErrors(badRequestResponse, "$.id", "The JSON value could not be converted to System.Int32. Path: $.id | LineNumber: 0.", logger);
+                }
+                if (title == null) {
+                    assertErrors(badRequestResponse, "$.title", "The JSON value could not be converted to System.String. Path: $.title | LineNumber: 1.", logger);
+                }
+                if (pageCount == null) {
+                    assertErrors(badRequestResponse, "$.pageCount", "The JSON value could not be converted to System.Int32. Path: $.pageCount | LineNumber: 2.", logger);
+                }
+                logger.info("Book error assertion PASSED.");
+            } catch (AssertionError e) {
+                logger.error("Book error assertion FAILED. Response: {}", truncateBody(response.asString()));
+                throw e;
             }
-            logger.info("Book error assertion PASSED.");
-        } catch (AssertionError e) {
-            logger.error("Book error assertion FAILED. Response: {}", response.body().asString());
-            throw e;
         }
     }
 
@@ -0,0 +1,213 @@
+package utils.common;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Accounts for where a test's own thread spends its time, to tell a slow API from a slow test
+ * framework. Between {@link #start()} and {@link #finish(String)} it measures the thread's CPU time
+ * and allocated bytes, and the wall time spent in each {@link Phase}. Phases are measured
+ * exclusively: time in a phase begun inside another, e.g. parsing a body while asserting on it,
+ * counts for the inner phase only. The time outside every phase is spent in the test's own code
+ * and in RestAssured outside its filters, e.g. building the request.
+ * <p>
+ * Only the calling thread is measured, so work done for the test on other threads, e.g. by the
+ * non-blocking client, shows as the time the test waited for it. The JVM measures the CPU time and
+ * allocations of platform threads only, so tests on virtual threads report them as unmeasured.
+ * <p>
+ * Accounting is on unless {@code -Dclient.overhead.enabled=false}; when off, no test is accounted
+ * and phases cost nothing.
+ */
+public final class ClientOverhead {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("client.overhead.enabled", "true"));
+    private static final ThreadLocal<Accounting> CURRENT = new ThreadLocal<>();
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final Span NO_SPAN = () -> {
+    };
+
+    private ClientOverhead() {
+    }
+
+    /**
+     * What the test's thread is doing on behalf of the framework.
+     */
+    public enum Phase {
+        /** Writing request bodies as JSON. */
+        SERIALIZE,
+        /** Sending requests and waiting for their responses, including reading the bodies. */
+        SEND,
+        /** Parsing response bodies. */
+        DESERIALIZE,
+        /** Checking responses. */
+        ASSERT,
+        /** Formatting and writing log lines and report attachments. */
+        LOG
+    }
+
+    /**
+     * The time of a phase, ended by closing it.
+     */
+    public interface Span extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    /**
+     * The client-side cost of one test.
+     *
+     * @param test           the test, e.g. its method name.
+     * @param wallNanos      the wall time of the test.
+     * @param cpuNanos       the CPU time of the test's thread, -1 if the JVM cannot measure it.
+     * @param allocatedBytes the bytes allocated by the test's thread, -1 if the JVM cannot measure it.
+     * @param virtualThread  whether the test ran on a virtual thread, whose CPU time and allocations are never measured.
+     * @param phaseNanos     the wall time spent in each phase, excluding phases begun inside it.
+     */
+    public record Report(String test, long wallNanos, long cpuNanos, long allocatedBytes, boolean virtualThread, Map<Phase, Long> phaseNanos) {
+
+        public Report {
+            phaseNanos = Collections.unmodifiableMap(new EnumMap<>(phaseNanos));
+        }
+
+        /**
+         * Gets the wall time spent outside every phase, in the test's own code and RestAssured's request handling.
+         *
+         * @return the remaining wall time in nanoseconds.
+         */
+        public long otherNanos() {
+            return Math.max(0, wallNanos - phaseNanos.values().stream().mapToLong(Long::longValue).sum());
+        }
+
+        @Override
+        public String toString() {
+            String unmeasured = virtualThread ? "unmeasured on a virtual thread" : "unsupported by the JVM";
+            StringBuilder report = new StringBuilder(test).append(String.format(": wall=%.1f ms, cpu=%s, allocated=%s;",
+                    wallNanos / 1e6, cpuNanos < 0 ? unmeasured : String.format("%.1f ms", cpuNanos / 1e6),
+                    allocatedBytes < 0 ? unmeasured : String.format("%.1f KB", allocatedBytes / 1024.0)));
+            phaseNanos.forEach((phase, nanos) -> report.append(String.format(" %s=%.1f ms,", phase.name().toLowerCase(), nanos / 1e6)));
+            return report.append(String.format(" other=%.1f ms", otherNanos() / 1e6)).toString();
+        }
+    }
+
+    /**
+     * Checks whether tests are accounted, as set with {@code client.overhead.enabled}.
+     *
+     * @return true unless accounting was turned off.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Starts accounting for a test on the current thread, replacing any accounting left unfinished.
+     * Does nothing if accounting is turned off.
+     */
+    public static void start() {
+        if (ENABLED) {
+            CURRENT.set(new Accounting());
+        }
+    }
+
+    /**
+     * Stops accounting for the test of the current thread.
+     *
+     * @param test the name the report is given.
+     * @return the report, or null if no accounting was started on the thread or accounting is turned off.
+     */
+    public static Report finish(String test) {
+        Accounting accounting = CURRENT.get();
+        if (accounting == null) {
+            return null;
+        }
+        CURRENT.remove();
+        return accounting.report(test);
+    }
+
+    /**
+     * Begins a phase on the current thread, to be closed with try-with-resources when it ends.
+     * Outside a measured test it does nothing.
+     *
+     * @param phase the phase being entered.
+     * @return the span to close when the phase ends.
+     */
+    public static Span begin(Phase phase) {
+        Accounting accounting = CURRENT.get();
+        if (accounting == null) {
+            return NO_SPAN;
+        }
+        accounting.enter(phase);
+        return accounting::exit;
+    }
+
+    /**
+     * Gets the CPU time of the current thread, -1 if the JVM cannot measure it, e.g. on a virtual thread.
+     */
+    private static long threadCpuNanos() {
+        try {
+            return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+        } catch (UnsupportedOperationException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Gets the bytes the current thread allocated so far, -1 if the JVM cannot measure it.
+     */
+    private static long threadAllocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean threads && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    /**
+     * The counters of one test. Only touched by the thread it belongs to.
+     */
+    private static final class Accounting {
+
+        private final boolean virtualThread = Thread.currentThread().isVirtual();
+        private final long startNanos = System.nanoTime();
+        private final long startCpuNanos = threadCpuNanos();
+        private final long startAllocatedBytes = threadAllocatedBytes();
+        private final long[] phaseNanos = new long[Phase.values().length];
+        private final Deque<Phase> phases = new ArrayDeque<>();
+        private long mark;
+
+        void enter(Phase phase) {
+            long now = System.nanoTime();
+            if (!phases.isEmpty()) {
+                phaseNanos[phases.peek().ordinal()] += now - mark;
+            }
+            phases.push(phase);
+            mark = now;
+        }
+
+        void exit() {
+            if (phases.isEmpty()) {
+                return;
+            }
+            long now = System.nanoTime();
+            phaseNanos[phases.pop().ordinal()] += now - mark;
+            mark = now;
+        }
+
+        Report report(String test) {
+            long wallNanos = System.nanoTime() - startNanos;
+            long cpuNanos = threadCpuNanos();
+            long allocatedBytes = threadAllocatedBytes();
+            Map<Phase, Long> phases = new EnumMap<>(Phase.class);
+            for (Phase phase : Phase.values()) {
+                phases.put(phase, phaseNanos[phase.ordinal()]);
+            }
+            return new Report(test, wallNanos, startCpuNanos < 0 || cpuNanos < 0 ? -1 : cpuNanos - startCpuNanos,
+                    startAllocatedBytes < 0 || allocatedBytes < 0 ? -1 : allocatedBytes - startAllocatedBytes, virtualThread, phases);
+        }
+    }
+
+}
@@ -4,13 +4,21 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
 /**
  * Utility class that provides common operations for working with collections,
- * such as finding duplicate or missing objects in lists.
+ * such as finding duplicate or missing objects in lists and diffing them by ID.
  */
 public class CommonUtils {
 
+    /**
+     * Combined size of the expected and actual lists from which {@link #diffById} shards the work
+     * across the common fork/join pool, configurable with {@code -Ddiff.parallel.threshold}.
+     */
+    private static final int PARALLEL_DIFF_THRESHOLD = Integer.getInteger("diff.parallel.threshold", 100_000);
+
     /**
      * Finds and returns a list of duplicate objects from the provided list.
      * Objects are considered duplicates if they appear more than once in the list.
@@ -41,9 +49,100 @@ public class CommonUtils {
      * @return a list of missing objects that are present in the expected list but not in the actual list.
      */
     public static <T> List<T> findMissingObjects(List<T> expected, List<T> actual) {
-        List<T> missingItems = new ArrayList<>(expected);
-        missingItems.removeAll(actual);
+        Set<T> actualItems = new HashSet<>(actual);
+        List<T> missingItems = new ArrayList<>();
+
+        for (T obj : expected) {
+            if (!actualItems.contains(obj)) {
+                missingItems.add(obj);
+            }
+        }
         return missingItems;
     }
 
-}
\ No newline at end of file
+    /**
+     * Compares the expected and actual lists by entity ID in a single linear pass and returns
+     * the missing, unexpected, changed and duplicate entities.
+     * Large catalogs (see {@code diff.parallel.threshold}) are compared in parallel by ID shard.
+     *
+     * @param expected the list of expected objects.
+     * @param actual   the list of actual objects.
+     * @param idOf     the function extracting the ID of an object, e.g. {@code BookModel::getId}.
+     * @param <T>      the type of objects in the lists.
+     * @return the keyed diff between the expected and actual lists.
+     */
+    public static <T> EntityDiff<T> diffById(List<? extends T> expected, List<? extends T> actual, Function<? super T, Long> idOf) {
+        if (expected.size() + actual.size() >= PARALLEL_DIFF_THRESHOLD) {
+            return diffByIdParallel(expected, actual, idOf, ForkJoinPool.commonPool());
+        }
+        return EntityDiff.computeByLongId(expected, actual, idOf);
+    }
+
+    /**
+     * Compares the expected and actual lists by entity ID, sharding entities by ID hash and
+     * diffing the shards in parallel on the given fork/join pool.
+     *
+     * @param expected the list of expected objects.
+     * @param actual   the list of actual objects.
+     * @param idOf     the function extracting the ID of an object, e.g. {@code BookModel::getId}.
+     * @param pool     the pool running the shard tasks.
+     * @param <T>      the type of objects in the lists.
+     * @return the keyed diff between the expected and actual lists.
+     */
+    public static <T> EntityDiff<T> diffByIdParallel(List<? extends T> expected, List<? extends T> actual, Function<? super T, Long> idOf, ForkJoinPool pool) {
+        return ShardedEntityDiff.compute(expected, actual, idOf, pool);
+    }
+
+    /**
+     * Finds objects whose ID already appeared earlier in the list.
+     * IDs are tracked in a primitive {@link LongHashSet}, so only the IDs are retained, not the objects.
+     *
+     * @param objects the list of objects to search for duplicate IDs.
+     * @param idOf    the function extracting the ID of an object, e.g. {@code BookModel::getId}.
+     * @param <T>     the type of objects in the list.
+     * @return a list of objects whose ID is a duplicate, in list order.
+     */
+    public static <T> List<T> findDuplicateIds(List<T> objects, Function<? super T, Long> idOf) {
+        LongHashSet seenIds = new LongHashSet(objects.size());
+        boolean seenNullId = false;
+        List<T> duplicateObjects = new ArrayList<>();
+
+        for (T obj : objects) {
+            Long id = idOf.apply(obj);
+            boolean added;
+            if (id == null) {
+                added = !seenNullId;
+                seenNullId = true;
+            } else {
+                added = seenIds.add(id);
+            }
+            if (!added) {
+                duplicateObjects.add(obj);
+            }
+        }
+        return duplicateObjects;
+    }
+
+    /**
+     * Groups IDs by a related ID, e.g. author IDs by book ID, into a primitive multimap.
+     * Objects with a null key or value are skipped.
+     *
+     * @param objects the list of objects to group.
+     * @param keyOf   the function extracting the grouping ID, e.g. {@code AuthorModel::getIdBook}.
+     * @param valueOf the function extracting the grouped ID, e.g. {@code AuthorModel::getId}.
+     * @param <T>     the type of objects in the list.
+     * @return a multimap from each grouping ID to the grouped IDs, in list order.
+     */
+    public static <T> LongMultimap groupIds(List<T> objects, Function<? super T, Long> keyOf, Function<? super T, Long> valueOf) {
+        LongMultimap groups = new LongMultimap(objects.size());
+        for (T obj : objects) {
+            Long key = keyOf.apply(obj);
+            Long value = valueOf.apply(obj);
+            if (key != null && value != null) {
+                groups.put(key, value);
+            }
+        }
+        return groups;
+    }
+
+}
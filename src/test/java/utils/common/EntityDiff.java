@@ -0,0 +1,233 @@
+package utils.common;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Result of comparing an expected and an actual list of entities keyed by their ID.
+ * The comparison is done in a single linear pass over both lists using primitive hash indexes, and reports
+ * expected entities that are missing, actual entities that were not expected, entities whose ID
+ * matches but whose fields differ, and actual entities whose ID was already seen.
+ *
+ * @param <T> the type of the compared entities.
+ */
+public class EntityDiff<T> {
+
+    private final List<T> missing;
+    private final List<Long> unexpectedIds;
+    private final List<Change<T>> changed;
+    private final List<T> duplicates;
+
+    /**
+     * A pair of entities that share an ID but are not equal.
+     *
+     * @param expected the expected entity.
+     * @param actual   the entity returned by the API.
+     * @param <T>      the type of the entities.
+     */
+    public record Change<T>(T expected, T actual) {
+
+        @Override
+        public String toString() {
+            return String.format("Change{expected=%s, actual=%s}", expected, actual);
+        }
+    }
+
+    /**
+     * Incremental diff fed with the actual entities one at a time.
+     * Besides the expected entities it holds the IDs seen so far, the first actual entity of each
+     * expected ID, and the unexpected IDs and duplicate entities, so the actual entities themselves
+     * need not be kept in memory.
+     *
+     * @param <T> the type of the entities.
+     */
+    public static final class Accumulator<T> implements Consumer<T> {
+
+        private final List<? extends T> expected;
+        private final Function<? super T, Long> idOf;
+        private final LongHashSet expectedIds;
+        private final LongHashSet seenIds;
+        private final LongEntityIndex<T> matches;
+        private final List<Long> unexpectedIds = new ArrayList<>();
+        private final List<T> duplicates = new ArrayList<>();
+        private boolean expectsNullId;
+        private boolean seenNullId;
+        private T nullIdMatch;
+
+        private Accumulator(List<? extends T> expected, Function<? super T, Long> idOf, int actualSize) {
+            this.expected = expected;
+            this.idOf = idOf;
+            this.expectedIds = new LongHashSet(expected.size());
+            this.seenIds = new LongHashSet(actualSize);
+            this.matches = new LongEntityIndex<>(Math.min(expected.size(), actualSize));
+            for (T item : expected) {
+                Long id = idOf.apply(item);
+                if (id == null) {
+                    expectsNullId = true;
+                } else {
+                    expectedIds.add(id);
+                }
+            }
+        }
+
+        /**
+         * Records an actual entity as a duplicate, an unexpected ID or the match of an expected entity.
+         *
+         * @param item the actual entity.
+         */
+        @Override
+        public void accept(T item) {
+            Long id = idOf.apply(item);
+            if (id == null) {
+                if (seenNullId) {
+                    duplicates.add(item);
+                    return;
+                }
+                seenNullId = true;
+                if (expectsNullId) {
+                    nullIdMatch = item;
+                } else {
+                    unexpectedIds.add(null);
+                }
+            } else if (!seenIds.add(id)) {
+                duplicates.add(item);
+            } else if (expectedIds.contains(id)) {
+                matches.put(id, item);
+            } else {
+                unexpectedIds.add(id);
+            }
+        }
+
+        /**
+         * Matches the expected entities with the accepted ones. The accumulator must not be used afterwards.
+         *
+         * @return the diff between the expected and the accepted entities.
+         */
+        public EntityDiff<T> finish() {
+            List<T> missing = new ArrayList<>();
+            List<Change<T>> changed = new ArrayList<>();
+            for (T item : expected) {
+                Long id = idOf.apply(item);
+                T match;
+                if (id == null) {
+                    match = nullIdMatch;
+                    nullIdMatch = null;
+                } else {
+                    match = matches.remove(id);
+                }
+                if (match == null) {
+                    missing.add(item);
+                } else if (!Objects.equals(item, match)) {
+                    changed.add(new Change<>(item, match));
+                }
+            }
+            return new EntityDiff<>(missing, unexpectedIds, changed, duplicates);
+        }
+    }
+
+    public EntityDiff(List<T> missing, List<Long> unexpectedIds, List<Change<T>> changed, List<T> duplicates) {
+        this.missing = Collections.unmodifiableList(missing);
+        this.unexpectedIds = Collections.unmodifiableList(unexpectedIds);
+        this.changed = Collections.unmodifiableList(changed);
+        this.duplicates = Collections.unmodifiableList(duplicates);
+    }
+
+    /**
+     * Compares the expected entities with the actual ones by their {@code Long} ID.
+     * The actual list is passed through an {@link Accumulator}, so the in-memory and streamed diffs
+     * report the same entities. Entities with a null ID share a single key.
+     *
+     * @param expected the list of expected entities.
+     * @param actual   the list of entities returned by the API.
+     * @param idOf     the function extracting the ID of an entity, e.g. {@code BookModel::getId}.
+     * @param <T>      the type of the entities.
+     * @return the diff between both lists.
+     */
+    public static <T> EntityDiff<T> computeByLongId(List<? extends T> expected, List<? extends T> actual, Function<? super T, Long> idOf) {
+        Accumulator<T> accumulator = accumulate(expected, idOf, actual.size());
+        for (T item : actual) {
+            accumulator.accept(item);
+        }
+        return accumulator.finish();
+    }
+
+    /**
+     * Starts a diff against the expected entities to which the actual entities are fed one by one,
+     * e.g. while they are streamed from a response body.
+     *
+     * @param expected the list of expected entities.
+     * @param idOf     the function extracting the ID of an entity, e.g. {@code BookModel::getId}.
+     * @param <T>      the type of the entities.
+     * @return an accumulator for the actual entities.
+     */
+    public static <T> Accumulator<T> accumulate(List<? extends T> expected, Function<? super T, Long> idOf) {
+        return accumulate(expected, idOf, expected.size());
+    }
+
+    private static <T> Accumulator<T> accumulate(List<? extends T> expected, Function<? super T, Long> idOf, int actualSize) {
+        return new Accumulator<>(expected, idOf, actualSize);
+    }
+
+    /**
+     * Gets the expected entities whose ID is absent from the actual list.
+     *
+     * @return the missing entities.
+     */
+    public List<T> getMissing() {
+        return missing;
+    }
+
+    /**
+     * Gets the IDs of the actual entities whose ID is absent from the expected list, in actual order.
+     * Only the IDs are kept, so a streamed diff does not retain the unexpected entities.
+     *
+     * @return the unexpected IDs, with null standing for an entity without ID.
+     */
+    public List<Long> getUnexpectedIds() {
+        return unexpectedIds;
+    }
+
+    /**
+     * Gets the entities present in both lists whose fields differ.
+     *
+     * @return the changed entities as expected/actual pairs.
+     */
+    public List<Change<T>> getChanged() {
+        return changed;
+    }
+
+    /**
+     * Gets the actual entities whose ID already appeared earlier in the actual list.
+     * Only the first entity with an ID is compared with the expected one.
+     *
+     * @return the duplicate entities.
+     */
+    public List<T> getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Checks whether every expected entity is present in the actual list with identical fields.
+     *
+     * @return true if no entity is missing or changed, false otherwise.
+     */
+    public boolean containsAllExpected() {
+        return missing.isEmpty() && changed.isEmpty();
+    }
+
+    /**
+     * Returns a summary of the diff with the entities in each category.
+     *
+     * @return a string representing the EntityDiff object.
+     */
+    @Override
+    public String toString() {
+        return String.format("EntityDiff{missing=%s, changed=%s, unexpected=%d, duplicates=%s}",
+                missing, changed, unexpectedIds.size(), duplicates);
+    }
+
+}
@@ -0,0 +1,122 @@
+package utils.common;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class EntityDiffTest {
+
+    @Test(description = "Reports nothing for identical lists in any order.")
+    public void testEqualLists() {
+        EntityDiff<Item> diff = CommonUtils.diffById(items(1, 2, 3), List.of(item(3), item(1), item(2)), Item::id);
+
+        assertTrue(diff.containsAllExpected());
+        assertEquals(diff.getMissing(), List.of());
+        assertEquals(diff.getChanged(), List.of());
+        assertEquals(diff.getUnexpectedIds(), List.of());
+        assertEquals(diff.getDuplicates(), List.of());
+    }
+
+    @Test(description = "Reports missing and changed entities in expected order, and unexpected IDs in actual order.")
+    public void testMissingChangedUnexpected() {
+        List<Item> expected = items(1, 2, 3, 4);
+        Item changed = new Item(3L, "changed");
+        List<Item> actual = List.of(item(9), changed, item(1), item(7));
+
+        EntityDiff<Item> diff = EntityDiff.computeByLongId(expected, actual, Item::id);
+
+        assertFalse(diff.containsAllExpected());
+        assertEquals(diff.getMissing(), List.of(item(2), item(4)));
+        assertEquals(diff.getChanged(), List.of(new EntityDiff.Change<>(item(3), changed)));
+        assertEquals(diff.getUnexpectedIds(), List.of(9L, 7L));
+        assertEquals(diff.getDuplicates(), List.of());
+    }
+
+    @Test(description = "Reports every later entity with an already seen ID as a duplicate and compares only the first one.")
+    public void testDuplicateIds() {
+        Item copy = item(1);
+        Item sameIdOtherContent = new Item(1L, "other");
+        Item unexpectedAgain = item(5);
+        List<Item> actual = List.of(item(1), item(5), copy, sameIdOtherContent, unexpectedAgain, item(2));
+
+        EntityDiff<Item> diff = EntityDiff.computeByLongId(items(1, 2), actual, Item::id);
+
+        assertTrue(diff.containsAllExpected());
+        assertEquals(diff.getDuplicates(), List.of(copy, sameIdOtherContent, unexpectedAgain));
+        assertEquals(diff.getUnexpectedIds(), List.of(5L));
+    }
+
+    @Test(description = "Matches an expected ID only once, so a repeated expected ID is missing.")
+    public void testDuplicateExpectedIds() {
+        EntityDiff<Item> diff = EntityDiff.computeByLongId(List.of(item(1), item(1)), List.of(item(1)), Item::id);
+
+        assertEquals(diff.getMissing(), List.of(item(1)));
+        assertEquals(diff.getChanged(), List.of());
+    }
+
+    @Test(description = "Treats null IDs as one shared key.")
+    public void testNullIds() {
+        Item expectedNull = new Item(null, "expected");
+        Item actualNull = new Item(null, "actual");
+        Item secondNull = new Item(null, "second");
+
+        EntityDiff<Item> matched = EntityDiff.computeByLongId(List.of(expectedNull, item(1)), List.of(actualNull, item(1), secondNull), Item::id);
+        assertEquals(matched.getChanged(), List.of(new EntityDiff.Change<>(expectedNull, actualNull)));
+        assertEquals(matched.getDuplicates(), List.of(secondNull));
+        assertEquals(matched.getMissing(), List.of());
+
+        EntityDiff<Item> unexpected = EntityDiff.computeByLongId(items(1), List.of(item(1), actualNull), Item::id);
+        assertEquals(unexpected.getUnexpectedIds(), Arrays.asList((Long) null));
+
+        EntityDiff<Item> missing = EntityDiff.computeByLongId(List.of(expectedNull), items(1), Item::id);
+        assertEquals(missing.getMissing(), List.of(expectedNull));
+        assertEquals(missing.getUnexpectedIds(), List.of(1L));
+    }
+
+    @Test(description = "Reports the same diff when the actual entities are fed one by one as when they are in a list.")
+    public void testAccumulatorMatchesListDiff() {
+        List<Item> expected = items(1, 2, 3, 4, 5);
+        List<Item> actual = new ArrayList<>(List.of(item(5), new Item(2L, "changed"), item(6), item(5), new Item(null, "none"), item(1)));
+
+        EntityDiff.Accumulator<Item> accumulator = EntityDiff.accumulate(expected, Item::id);
+        actual.forEach(accumulator);
+        EntityDiff<Item> streamed = accumulator.finish();
+        EntityDiff<Item> listed = CommonUtils.diffById(expected, actual, Item::id);
+
+        assertEquals(streamed.getMissing(), listed.getMissing());
+        assertEquals(streamed.getChanged(), listed.getChanged());
+        assertEquals(streamed.getUnexpectedIds(), listed.getUnexpectedIds());
+        assertEquals(streamed.getDuplicates(), listed.getDuplicates());
+        assertEquals(streamed.getMissing(), List.of(item(3), item(4)));
+        assertEquals(streamed.getUnexpectedIds(), Arrays.asList(6L, null));
+    }
+
+    @Test(description = "Reports duplicates by ID, as findDuplicateIds does.")
+    public void testDuplicatesMatchFindDuplicateIds() {
+        List<Item> actual = List.of(item(1), item(2), item(1), new Item(2L, "other"), item(3), item(1));
+
+        EntityDiff<Item> diff = CommonUtils.diffById(items(1, 2, 3), actual, Item::id);
+
+        assertEquals(diff.getDuplicates(), CommonUtils.findDuplicateIds(actual, Item::id));
+    }
+
+    private record Item(Long id, String name) {
+    }
+
+    private static Item item(long id) {
+        return new Item(id, "item " + id);
+    }
+
+    private static List<Item> items(long... ids) {
+        List<Item> items = new ArrayList<>();
+        for (long id : ids) {
+            items.add(item(id));
+        }
+        return items;
+    }
+
+}
@@ -0,0 +1,80 @@
+package utils.common;
+
+import models.AuthorModel;
+import models.BookModel;
+
+/**
+ * 64-bit content fingerprints of the bookstore models, used where keeping the entities themselves
+ * would cost too much memory. Equal entities always have equal fingerprints; different entities
+ * collide with a probability of roughly 2^-64 per pair, so a fingerprint match only marks a
+ * candidate that still has to be confirmed with {@code equals}.
+ */
+public class EntityFingerprints {
+
+    private static final long SEED = 0x84222325CBF29CE4L;
+    private static final long NULL_MARKER = 0x2545F4914F6CDD1DL;
+
+    private EntityFingerprints() {
+    }
+
+    /**
+     * Computes the fingerprint of a book over all fields compared by the book models' {@code equals}.
+     *
+     * @param book the book to fingerprint.
+     * @return the 64-bit fingerprint.
+     */
+    public static long book(BookModel book) {
+        long h = SEED;
+        h = combine(h, book.getId());
+        h = combine(h, book.getTitle());
+        h = combine(h, book.getDescription());
+        h = combine(h, book.getPageCount());
+        h = combine(h, book.getExcerpt());
+        h = combine(h, book.getPublishDate());
+        return mix(h);
+    }
+
+    /**
+     * Computes the fingerprint of an author over all fields compared by the author models' {@code equals}.
+     *
+     * @param author the author to fingerprint.
+     * @return the 64-bit fingerprint.
+     */
+    public static long author(AuthorModel author) {
+        long h = SEED;
+        h = combine(h, author.getId());
+        h = combine(h, author.getIdBook());
+        h = combine(h, author.getFirstName());
+        h = combine(h, author.getLastName());
+        return mix(h);
+    }
+
+    private static long combine(long h, long value) {
+        return (h ^ mix(value)) * 0x100000001B3L;
+    }
+
+    private static long combine(long h, Long value) {
+        return combine(h, value == null ? NULL_MARKER : mix(value + 1));
+    }
+
+    private static long combine(long h, String value) {
+        if (value == null) {
+            return combine(h, NULL_MARKER);
+        }
+        long s = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            s = s * 0x100000001B3L + value.charAt(i);
+        }
+        return combine(h, s);
+    }
+
+    /**
+     * Finalizes a 64-bit value so that every input bit affects every output bit (SplitMix64 finalizer).
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+}
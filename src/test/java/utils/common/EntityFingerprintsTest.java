@@ -0,0 +1,93 @@
+package utils.common;
+
+import models.AuthorModel;
+import models.BookModel;
+import models.requests.authors.PostAuthorRequest;
+import models.requests.books.PostBookRequest;
+import models.responses.authors.GetAuthorsResponse;
+import models.responses.books.GetBooksResponse;
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.testng.Assert.*;
+
+public class EntityFingerprintsTest {
+
+    @Test(description = "Gives equal books the same fingerprint, whatever their request or response class.")
+    public void testEqualBooks() {
+        long fingerprint = EntityFingerprints.book(new GetBooksResponse(1L, "Title", "Description", 100, "Excerpt", "2024-01-01"));
+
+        assertEquals(EntityFingerprints.book(new GetBooksResponse(1L, "Title", "Description", 100, "Excerpt", "2024-01-01")), fingerprint);
+        assertEquals(EntityFingerprints.book(new PostBookRequest(1L, "Title", "Description", 100, "Excerpt", "2024-01-01")), fingerprint);
+    }
+
+    @Test(description = "Changes a book's fingerprint when any field differs, including null against empty values.")
+    public void testBookFields() {
+        List<BookModel> books = List.of(
+                new BookModel(1L, "Title", "Description", 100, "Excerpt", "2024-01-01"),
+                new BookModel(2L, "Title", "Description", 100, "Excerpt", "2024-01-01"),
+                new BookModel(null, "Title", "Description", 100, "Excerpt", "2024-01-01"),
+                new BookModel(0L, "Title", "Description", 100, "Excerpt", "2024-01-01"),
+                new BookModel(1L, "Title2", "Description", 100, "Excerpt", "2024-01-01"),
+                new BookModel(1L, null, "Description", 100, "Excerpt", "2024-01-01"),
+                new BookModel(1L, "", "Description", 100, "Excerpt", "2024-01-01"),
+                new BookModel(1L, "Title", "Other", 100, "Excerpt", "2024-01-01"),
+                new BookModel(1L, "Title", "Description", 101, "Excerpt", "2024-01-01"),
+                new BookModel(1L, "Title", "Description", 100, "Other", "2024-01-01"),
+                new BookModel(1L, "Title", "Description", 100, "Excerpt", "2024-01-02"),
+                new BookModel(1L, "Title", "Description", 100, "Excerpt", null));
+
+        assertAllDistinct(books.stream().mapToLong(EntityFingerprints::book).toArray());
+    }
+
+    @Test(description = "Tells apart books whose fields swap values or shift text between fields.")
+    public void testBookFieldOrder() {
+        long[] fingerprints = {
+                EntityFingerprints.book(new BookModel(1L, "A", "B", 100, "C", "D")),
+                EntityFingerprints.book(new BookModel(1L, "B", "A", 100, "C", "D")),
+                EntityFingerprints.book(new BookModel(1L, "AB", "", 100, "C", "D")),
+                EntityFingerprints.book(new BookModel(1L, "", "AB", 100, "C", "D"))
+        };
+
+        assertAllDistinct(fingerprints);
+    }
+
+    @Test(description = "Gives equal authors the same fingerprint and changes it when any field differs.")
+    public void testAuthors() {
+        long fingerprint = EntityFingerprints.author(new GetAuthorsResponse(1L, 10L, "Ada", "Lovelace"));
+        assertEquals(EntityFingerprints.author(new PostAuthorRequest(1L, 10L, "Ada", "Lovelace")), fingerprint);
+
+        List<AuthorModel> authors = List.of(
+                new AuthorModel(1L, 10L, "Ada", "Lovelace"),
+                new AuthorModel(2L, 10L, "Ada", "Lovelace"),
+                new AuthorModel(null, 10L, "Ada", "Lovelace"),
+                new AuthorModel(1L, 11L, "Ada", "Lovelace"),
+                new AuthorModel(1L, null, "Ada", "Lovelace"),
+                new AuthorModel(10L, 1L, "Ada", "Lovelace"),
+                new AuthorModel(1L, 10L, "Lovelace", "Ada"),
+                new AuthorModel(1L, 10L, null, "Lovelace"),
+                new AuthorModel(1L, 10L, "Ada", ""));
+
+        assertAllDistinct(authors.stream().mapToLong(EntityFingerprints::author).toArray());
+    }
+
+    @Test(description = "Spreads the fingerprints of similar books without collisions.")
+    public void testNoCollisions() {
+        Set<Long> fingerprints = new HashSet<>();
+        for (long id = 1; id <= 100_000; id++) {
+            assertTrue(fingerprints.add(EntityFingerprints.book(new BookModel(id, "Book " + id % 100, "Description", (int) (id % 500), "Excerpt", "2024-01-01"))),
+                    "Collision at ID " + id);
+        }
+    }
+
+    private static void assertAllDistinct(long[] fingerprints) {
+        Set<Long> distinct = new HashSet<>();
+        for (int i = 0; i < fingerprints.length; i++) {
+            assertTrue(distinct.add(fingerprints[i]), "Fingerprint " + i + " repeats an earlier one");
+        }
+    }
+
+}
@@ -0,0 +1,236 @@
+package utils.common;
+
+import client.BookstoreClient;
+import serialization.JsonRegistry;
+import utils.common.ClientOverhead.Phase;
+import utils.common.ClientOverhead.Span;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.ToLongFunction;
+
+/**
+ * Fetches every expected entity by ID with bounded concurrency and compares each response with the
+ * expected entity, field by field as {@code assertItemMatches} does. Requests are sent through the
+ * non-blocking {@link BookstoreClient}, so only the calling thread waits, and only when the maximum
+ * number of requests is already in flight. That time is accounted as the running test's
+ * {@link Phase#SEND}; the responses are compared on the client's threads.
+ * <p>
+ * Nothing is asserted here: every request gets an {@link Outcome} with its status code, latency and
+ * differences, and the aggregated {@link Result} is checked by
+ * {@code AssertionsUtils.assertAllItemsMatch}.
+ */
+public class FanOutVerifier {
+
+    /**
+     * Default number of requests in flight, configurable with {@code -Dfanout.max.concurrency}.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = Integer.getInteger("fanout.max.concurrency", 16);
+
+    private FanOutVerifier() {
+    }
+
+    /**
+     * The outcome of fetching and comparing one entity.
+     *
+     * @param id            the ID of the entity.
+     * @param statusCode    the status code of the response, or -1 if the request failed.
+     * @param latencyMillis the time from sending the request to receiving the full response.
+     * @param changes       the fields differing from the expected entity, empty if it matches.
+     * @param error         the request or parsing error, or null.
+     */
+    public record Outcome(long id, int statusCode, long latencyMillis, List<ModelComparator.FieldChange> changes, Throwable error) {
+
+        /**
+         * Checks whether the entity was returned with status 200 and matches the expected one.
+         *
+         * @return true if the outcome passed.
+         */
+        public boolean passed() {
+            return error == null && statusCode == 200 && changes.isEmpty();
+        }
+
+        /**
+         * Describes why the outcome failed.
+         *
+         * @return a one-line reason, e.g. the status code or the JSON Patch to the actual entity.
+         */
+        public String reason() {
+            if (error != null) {
+                return "request failed: " + error;
+            }
+            if (statusCode != 200) {
+                return "status code " + statusCode;
+            }
+            return changes.isEmpty() ? "passed" : ModelComparator.toJsonPatch(changes);
+        }
+    }
+
+    /**
+     * Fetches and compares every expected entity using the default concurrency.
+     *
+     * @param client   the client to send the requests with.
+     * @param endpoint the versioned endpoint of the entities, e.g. {@code /api/v1/Books}.
+     * @param expected the expected entities.
+     * @param type     the class type of the response body.
+     * @param idOf     the function returning an entity's ID.
+     * @param <T>      the type of the entities.
+     * @return the outcomes of all requests.
+     */
+    public static <T> Result verifyAll(BookstoreClient client, String endpoint, List<? extends T> expected,
+                                       Class<T> type, ToLongFunction<? super T> idOf) {
+        return verifyAll(client, endpoint, expected, type, idOf, DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * Fetches {@code endpoint/{id}} for every expected entity, keeping at most
+     * {@code maxConcurrency} requests in flight, and compares each response with its entity.
+     *
+     * @param client         the client to send the requests with.
+     * @param endpoint       the versioned endpoint of the entities, e.g. {@code /api/v1/Books}.
+     * @param expected       the expected entities.
+     * @param type           the class type of the response body.
+     * @param idOf           the function returning an entity's ID.
+     * @param maxConcurrency the maximum number of requests in flight.
+     * @param <T>            the type of the entities.
+     * @return the outcomes of all requests, in the order of the expected entities.
+     */
+    public static <T> Result verifyAll(BookstoreClient client, String endpoint, List<? extends T> expected,
+                                       Class<T> type, ToLongFunction<? super T> idOf, int maxConcurrency) {
+        try (Span _ = ClientOverhead.begin(Phase.SEND)) {
+            Semaphore permits = new Semaphore(Math.max(1, maxConcurrency));
+            List<CompletableFuture<Outcome>> futures = new ArrayList<>(expected.size());
+            long start = System.nanoTime();
+            for (T item : expected) {
+                long id = idOf.applyAsLong(item);
+                permits.acquireUninterruptibly();
+                long sent = System.nanoTime();
+                futures.add(client.send("GET", endpoint + "/" + id, null)
+                        .handle((response, error) -> toOutcome(id, item, type, response, error, sent))
+                        .whenComplete((outcome, error) -> permits.release()));
+            }
+            List<Outcome> outcomes = new ArrayList<>(futures.size());
+            for (CompletableFuture<Outcome> future : futures) {
+                outcomes.add(future.join());
+            }
+            return new Result(outcomes, (System.nanoTime() - start) / 1_000_000, maxConcurrency);
+        }
+    }
+
+    private static <T> Outcome toOutcome(long id, T expected, Class<T> type, HttpResponse<byte[]> response, Throwable error, long sent) {
+        long latency = (System.nanoTime() - sent) / 1_000_000;
+        if (error != null) {
+            return new Outcome(id, -1, latency, List.of(), error);
+        }
+        if (response.statusCode() != 200) {
+            return new Outcome(id, response.statusCode(), latency, List.of(), null);
+        }
+        try {
+            T actual = JsonRegistry.objectReader(type).readValue(response.body());
+            List<ModelComparator.FieldChange> changes = ModelComparator.matches(expected, actual)
+                    ? List.of()
+                    : ModelComparator.diff(expected, actual);
+            return new Outcome(id, response.statusCode(), latency, changes, null);
+        } catch (IOException | RuntimeException e) {
+            return new Outcome(id, response.statusCode(), latency, List.of(), e);
+        }
+    }
+
+    /**
+     * The outcomes of a fan-out run with its latency distribution.
+     */
+    public static class Result {
+
+        private final List<Outcome> outcomes;
+        private final long wallTimeMillis;
+        private final int maxConcurrency;
+        private final long[] sortedLatencies;
+
+        Result(List<Outcome> outcomes, long wallTimeMillis, int maxConcurrency) {
+            this.outcomes = outcomes;
+            this.wallTimeMillis = wallTimeMillis;
+            this.maxConcurrency = maxConcurrency;
+            this.sortedLatencies = outcomes.stream().mapToLong(Outcome::latencyMillis).sorted().toArray();
+        }
+
+        /**
+         * Gets the outcomes of all requests.
+         *
+         * @return the outcomes in the order of the expected entities.
+         */
+        public List<Outcome> getOutcomes() {
+            return outcomes;
+        }
+
+        /**
+         * Gets the outcomes that did not pass.
+         *
+         * @return the failed outcomes.
+         */
+        public List<Outcome> getFailures() {
+            return outcomes.stream().filter(outcome -> !outcome.passed()).toList();
+        }
+
+        /**
+         * Gets the time from the first request to the last response.
+         *
+         * @return the wall-clock time in milliseconds.
+         */
+        public long getWallTimeMillis() {
+            return wallTimeMillis;
+        }
+
+        /**
+         * Gets the maximum number of requests that were in flight at once.
+         *
+         * @return the concurrency limit of the run.
+         */
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        /**
+         * Gets a latency percentile of the requests (nearest rank).
+         *
+         * @param percentile the percentile between 0 and 100, e.g. 95.
+         * @return the latency in milliseconds, or 0 if no request was sent.
+         */
+        public long latencyPercentile(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * sortedLatencies.length);
+            return sortedLatencies[Math.min(sortedLatencies.length - 1, Math.max(0, rank - 1))];
+        }
+
+        /**
+         * Gets the slowest request latency.
+         *
+         * @return the maximum latency in milliseconds, or 0 if no request was sent.
+         */
+        public long getMaxLatency() {
+            return sortedLatencies.length == 0 ? 0 : sortedLatencies[sortedLatencies.length - 1];
+        }
+
+        /**
+         * Summarizes the run: request count, failures, wall time and latency percentiles.
+         *
+         * @return the summary.
+         */
+        public String summary() {
+            return String.format("requests=%d, failures=%d, concurrency=%d, wallTime=%d ms, latency p50=%d ms, p95=%d ms, p99=%d ms, max=%d ms",
+                    outcomes.size(), getFailures().size(), maxConcurrency, wallTimeMillis,
+                    latencyPercentile(50), latencyPercentile(95), latencyPercentile(99), getMaxLatency());
+        }
+
+        @Override
+        public String toString() {
+            return "FanOutVerifier.Result{" + summary() + "}";
+        }
+    }
+
+}
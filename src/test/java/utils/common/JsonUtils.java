@@ -1,13 +1,17 @@
 package utils.common;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
 import io.restassured.response.Response;
+import serialization.JsonRegistry;
+import serialization.JsonStreams;
+import utils.common.ClientOverhead.Phase;
+import utils.common.ClientOverhead.Span;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Utility class for handling JSON operations such as loading data from JSON files,
@@ -29,9 +33,8 @@ public class JsonUtils {
      * @throws IOException if there is an issue reading the JSON file.
      */
     public static <T> List<T> loadDataFromJsonFile(String env, String fileName, Class<T> clazz) throws IOException {
-        ObjectMapper objectMapper = new ObjectMapper();
         File file = new File(DEFAULT_PATH + "/" + env + "/" + fileName + ".json");
-        return objectMapper.readValue(file, objectMapper.getTypeFactory().constructCollectionType(List.class, clazz));
+        return JsonRegistry.listReader(clazz).readValue(file);
     }
 
     /**
@@ -44,10 +47,10 @@ public class JsonUtils {
      * @throws JsonProcessingException if there is an issue parsing the JSON response.
      */
     public static <T> List<T> parseJsonResponseList(Response response, Class<T> responseType) throws JsonProcessingException {
-        String jsonResponse = response.getBody().asString();
-        ObjectMapper objectMapper = new ObjectMapper();
-        return objectMapper.readValue(jsonResponse,
-                objectMapper.getTypeFactory().constructCollectionType(List.class, responseType));
+        try (Span _ = ClientOverhead.begin(Phase.DESERIALIZE)) {
+            String jsonResponse = response.getBody().asString();
+            return JsonRegistry.listReader(responseType).readValue(jsonResponse);
+        }
     }
 
     /**
@@ -60,9 +63,97 @@ public class JsonUtils {
      * @throws JsonProcessingException if there is an issue parsing the JSON response.
      */
     public static <T> T parseJsonResponseObject(Response response, Class<T> responseType) throws JsonProcessingException {
-        String jsonResponse = response.getBody().asString();
-        ObjectMapper objectMapper = new ObjectMapper();
-        return objectMapper.readValue(jsonResponse, responseType);
+        try (Span _ = ClientOverhead.begin(Phase.DESERIALIZE)) {
+            String jsonResponse = response.getBody().asString();
+            return JsonRegistry.objectReader(responseType).readValue(jsonResponse);
+        }
+    }
+
+    /**
+     * Streams a JSON array response body element by element into the consumer, reading tokens
+     * directly from the response input stream instead of materializing the body and a full list.
+     * Memory stays bounded only if nothing has buffered the body yet, i.e. the request was sent
+     * without {@link utils.http.ExchangeRecordingFilter}, as {@code BaseTest.streamGet} does.
+     *
+     * @param response     the Response object containing the JSON array body.
+     * @param responseType the class type of the array elements.
+     * @param consumer     the callback receiving each element in document order.
+     * @param <T>          the type of the elements.
+     * @return the number of elements read.
+     * @throws IOException if there is an issue reading or parsing the response body.
+     */
+    public static <T> long streamJsonResponseList(Response response, Class<T> responseType, Consumer<? super T> consumer) throws IOException {
+        try (Span _ = ClientOverhead.begin(Phase.DESERIALIZE)) {
+            return JsonStreams.forEachElement(response.getBody().asInputStream(), responseType, consumer);
+        }
+    }
+
+    /**
+     * Exposes a JSON array response body as a lazy stream of elements, read from the response
+     * input stream as the stream is consumed. The returned stream should be closed, e.g. with
+     * try-with-resources.
+     *
+     * @param response     the Response object containing the JSON array body.
+     * @param responseType the class type of the array elements.
+     * @param <T>          the type of the elements.
+     * @return a lazy stream of elements parsed from the response body.
+     * @throws IOException if there is an issue reading the response body.
+     */
+    public static <T> Stream<T> streamJsonResponse(Response response, Class<T> responseType) throws IOException {
+        return JsonStreams.streamElements(response.getBody().asInputStream(), responseType);
+    }
+
+    /**
+     * Returns the list of objects bound from a captured response body.
+     * The list is parsed on first use and cached by the snapshot.
+     *
+     * @param response     the ResponseSnapshot holding the JSON body.
+     * @param responseType the class type of the objects to be deserialized.
+     * @param <T>          the type of the objects in the list.
+     * @return a list of objects of the specified type parsed from the response body.
+     * @throws JsonProcessingException if there is an issue parsing the JSON response.
+     */
+    public static <T> List<T> parseJsonResponseList(ResponseSnapshot response, Class<T> responseType) throws JsonProcessingException {
+        return response.asList(responseType);
+    }
+
+    /**
+     * Returns the object bound from a captured response body.
+     * The object is parsed on first use and cached by the snapshot.
+     *
+     * @param response     the ResponseSnapshot holding the JSON body.
+     * @param responseType the class type of the object to be deserialized.
+     * @param <T>          the type of the object.
+     * @return an object of the specified type parsed from the response body.
+     * @throws JsonProcessingException if there is an issue parsing the JSON response.
+     */
+    public static <T> T parseJsonResponseObject(ResponseSnapshot response, Class<T> responseType) throws JsonProcessingException {
+        return response.as(responseType);
+    }
+
+    /**
+     * Streams a captured JSON array body element by element into the consumer without building a list.
+     * The body itself is already buffered by the snapshot, so only the list and its elements are saved.
+     *
+     * @param response     the ResponseSnapshot holding the JSON array body.
+     * @param responseType the class type of the array elements.
+     * @param consumer     the callback receiving each element in document order.
+     * @param <T>          the type of the elements.
+     * @return the number of elements read.
+     * @throws IOException if there is an issue parsing the response body.
+     */
+    public static <T> long streamJsonResponseList(ResponseSnapshot response, Class<T> responseType, Consumer<? super T> consumer) throws IOException {
+        return response.forEachElement(responseType, consumer);
+    }
+
+    /**
+     * Pretty prints a captured response body. The formatted body is cached by the snapshot.
+     *
+     * @param response the ResponseSnapshot holding the JSON body.
+     * @return a pretty-printed version of the body, or an error message if formatting fails.
+     */
+    public static String printPrettyJson(ResponseSnapshot response) {
+        return response.asPrettyString();
     }
 
     /**
@@ -73,10 +164,8 @@ public class JsonUtils {
      */
     public static String printPrettyJson(String jsonString) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            Object json = objectMapper.readValue(jsonString, Object.class);
-            ObjectWriter writer = objectMapper.writerWithDefaultPrettyPrinter();
-            return writer.writeValueAsString(json);
+            Object json = JsonRegistry.untypedReader().readValue(jsonString);
+            return JsonRegistry.prettyWriter().writeValueAsString(json);
         } catch (JsonProcessingException e) {
             return "Failed to pretty-print JSON: " + e.getMessage();
         }
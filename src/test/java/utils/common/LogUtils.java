@@ -1,9 +1,25 @@
 package utils.common;
 
+import io.qameta.allure.Allure;
 import org.apache.logging.log4j.Logger;
+import utils.common.ClientOverhead.Phase;
+import utils.common.ClientOverhead.Span;
+import utils.http.PhaseTimings;
 
+import java.util.function.Supplier;
+
+/**
+ * Logging helpers of the tests. Time spent in them is accounted to {@link Phase#LOG} of the
+ * running test's {@link ClientOverhead}.
+ */
 public class LogUtils {
 
+    /**
+     * Maximum number of characters of a response body written to the log, configurable with
+     * {@code -Dlog.max.body.size}. A value of zero or less disables truncation.
+     */
+    private static final int MAX_BODY_SIZE = Integer.getInteger("log.max.body.size", 10_000);
+
     /**
      * Logs the start of a test case with its name and description.
      *
@@ -11,7 +27,9 @@ public class LogUtils {
      * @param info   the name of the test.
      */
     public static void logInfo(Logger logger, String info) {
-        logger.info("{}", info);
+        try (Span _ = ClientOverhead.begin(Phase.LOG)) {
+            logger.info("{}", info);
+        }
     }
 
     /**
@@ -23,18 +41,86 @@ public class LogUtils {
      * @param time     the name of the test.
      */
     public static void logResponseInfo(Logger logger, String endpoint, int status, long time) {
-        logger.info("Endpoint: {} Status code: {} Response time: {}", endpoint, status, time);
+        try (Span _ = ClientOverhead.begin(Phase.LOG)) {
+            logger.info("Endpoint: {} Status code: {} Response time: {}", endpoint, status, time);
+        }
+    }
+
+    /**
+     * Logs the response info of a captured exchange. If its phase timings were captured, they are
+     * logged as well and attached to the Allure report.
+     *
+     * @param logger   the logger instance.
+     * @param endpoint the method and endpoint of the request.
+     * @param response the captured response.
+     */
+    public static void logResponseInfo(Logger logger, String endpoint, ResponseSnapshot response) {
+        try (Span _ = ClientOverhead.begin(Phase.LOG)) {
+            logResponseInfo(logger, endpoint, response.getStatusCode(), response.getTime());
+            PhaseTimings timings = response.getPhaseTimings();
+            if (timings != null) {
+                logger.info("Endpoint: {} Timings: {}", endpoint, timings);
+                Allure.addAttachment("Timings " + endpoint, "text/plain", timings.toString());
+            }
+        }
+    }
+
+    /**
+     * Logs the pretty-printed body of a captured exchange.
+     * The body is only formatted when debug logging is enabled.
+     *
+     * @param logger   the logger instance.
+     * @param endpoint the method and endpoint of the request.
+     * @param response the captured response.
+     */
+    public static void logResponseDebug(Logger logger, String endpoint, ResponseSnapshot response) {
+        logResponseDebug(logger, endpoint, response::asPrettyString);
     }
 
     /**
      * Logs the response body info.
+     * The body supplier is only invoked when debug logging is enabled, and the result is truncated
+     * to {@code log.max.body.size} characters.
      *
      * @param logger   the logger instance.
-     * @param endpoint the name of the test.
-     * @param body     the name of the test.
+     * @param endpoint the method and endpoint of the request.
+     * @param body     the supplier of the response body.
+     */
+    public static void logResponseDebug(Logger logger, String endpoint, Supplier<String> body) {
+        try (Span _ = ClientOverhead.begin(Phase.LOG)) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Endpoint: {}\n Response body: {}", endpoint, truncateBody(body.get()));
+            }
+        }
+    }
+
+    /**
+     * Logs the response body info.
+     * The body is truncated to {@code log.max.body.size} characters.
+     *
+     * @param logger   the logger instance.
+     * @param endpoint the method and endpoint of the request.
+     * @param body     the response body.
      */
     public static void logResponseDebug(Logger logger, String endpoint, String body) {
-        logger.debug("Endpoint: {}\n Response body: {}", endpoint, body);
+        try (Span _ = ClientOverhead.begin(Phase.LOG)) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Endpoint: {}\n Response body: {}", endpoint, truncateBody(body));
+            }
+        }
+    }
+
+    /**
+     * Shortens a body to the configured maximum size, noting how many characters were dropped.
+     *
+     * @param body the body to truncate.
+     * @return the body, or its first {@code log.max.body.size} characters followed by a truncation note.
+     */
+    public static String truncateBody(String body) {
+        if (body == null || MAX_BODY_SIZE <= 0 || body.length() <= MAX_BODY_SIZE) {
+            return body;
+        }
+        return body.substring(0, MAX_BODY_SIZE) + "... [truncated " + (body.length() - MAX_BODY_SIZE) + " chars]";
     }
 
     /**
@@ -44,7 +130,9 @@ public class LogUtils {
      * @param testName the name of the test.
      */
     public static void logTestStart(Logger logger, String testName) {
-        logger.info("\n ### Starting Test: {}", testName);
+        try (Span _ = ClientOverhead.begin(Phase.LOG)) {
+            logger.info("\n ### Starting Test: {}", testName);
+        }
     }
 
     /**
@@ -54,7 +142,9 @@ public class LogUtils {
      * @param params the parameters being used in the test.
      */
     public static void logTestParams(Logger logger, Object... params) {
-        logger.info("Test Parameters: {}", (Object) params);
+        try (Span _ = ClientOverhead.begin(Phase.LOG)) {
+            logger.info("Test Parameters: {}", (Object) params);
+        }
     }
 
     /**
@@ -64,7 +154,9 @@ public class LogUtils {
      * @param testName the name of the test.
      */
     public static void logTestEnd(Logger logger, String testName) {
-        logger.info("\n ### Test Completed: {}", testName);
+        try (Span _ = ClientOverhead.begin(Phase.LOG)) {
+            logger.info("\n ### Test Completed: {}", testName);
+        }
     }
 
 }
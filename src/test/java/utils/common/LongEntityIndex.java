@@ -0,0 +1,228 @@
+package utils.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hash index from primitive {@code long} IDs to entities, used instead of {@code HashMap<Long, T>}
+ * on the diff, duplicate detection and lookup paths. Keys are kept in a {@code long[]} with open
+ * addressing and linear probing, so no {@code Long} keys or map entries are allocated per entity.
+ * Values must not be null; a null value slot marks an empty slot and removed entries leave a
+ * tombstone that is dropped on the next resize.
+ *
+ * @param <T> the type of the indexed entities.
+ */
+public class LongEntityIndex<T> {
+
+    private static final float LOAD_FACTOR = 0.6f;
+    private static final Object TOMBSTONE = new Object();
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int occupied;
+    private int resizeAt;
+
+    /**
+     * Creates an index sized to hold the expected number of entities without resizing.
+     *
+     * @param expectedSize the expected number of entities.
+     */
+    public LongEntityIndex(int expectedSize) {
+        allocate(LongHashing.tableSize(expectedSize, LOAD_FACTOR));
+    }
+
+    public LongEntityIndex() {
+        this(16);
+    }
+
+    /**
+     * Gets the entity stored under the ID.
+     *
+     * @param id the entity ID.
+     * @return the entity, or null if the ID is not indexed.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(long id) {
+        int slot = LongHashing.slot(id, mask);
+        while (values[slot] != null) {
+            if (keys[slot] == id && values[slot] != TOMBSTONE) {
+                return (T) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether an entity is stored under the ID.
+     *
+     * @param id the entity ID.
+     * @return true if the ID is indexed, false otherwise.
+     */
+    public boolean containsKey(long id) {
+        return get(id) != null;
+    }
+
+    /**
+     * Stores the entity under the ID, replacing any previous entity.
+     *
+     * @param id     the entity ID.
+     * @param entity the entity to store, must not be null.
+     * @return the previous entity stored under the ID, or null if there was none.
+     */
+    @SuppressWarnings("unchecked")
+    public T put(long id, T entity) {
+        int slot = findSlot(id);
+        Object previous = values[slot];
+        keys[slot] = id;
+        values[slot] = entity;
+        if (previous == null || previous == TOMBSTONE) {
+            grow(previous == null);
+            return null;
+        }
+        return (T) previous;
+    }
+
+    /**
+     * Stores the entity under the ID unless an entity is already stored there.
+     *
+     * @param id     the entity ID.
+     * @param entity the entity to store, must not be null.
+     * @return the entity already stored under the ID, or null if the entity was stored.
+     */
+    @SuppressWarnings("unchecked")
+    public T putIfAbsent(long id, T entity) {
+        int slot = findSlot(id);
+        Object previous = values[slot];
+        if (previous != null && previous != TOMBSTONE) {
+            return (T) previous;
+        }
+        keys[slot] = id;
+        values[slot] = entity;
+        grow(previous == null);
+        return null;
+    }
+
+    /**
+     * Removes the entity stored under the ID in constant time by leaving a tombstone in its slot.
+     * Shifting later entries back instead would rescan the whole probe cluster on every removal,
+     * which is quadratic for the dense sequential IDs the API returns.
+     *
+     * @param id the entity ID.
+     * @return the removed entity, or null if the ID was not indexed.
+     */
+    @SuppressWarnings("unchecked")
+    public T remove(long id) {
+        int slot = LongHashing.slot(id, mask);
+        while (values[slot] != null) {
+            if (keys[slot] == id && values[slot] != TOMBSTONE) {
+                T removed = (T) values[slot];
+                if (values[(slot + 1) & mask] == null) {
+                    values[slot] = null;
+                    occupied--;
+                } else {
+                    values[slot] = TOMBSTONE;
+                }
+                size--;
+                return removed;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of indexed entities.
+     *
+     * @return the number of entities.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Passes every indexed entity to the consumer, in table order.
+     *
+     * @param consumer the callback receiving each entity.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super T> consumer) {
+        for (Object value : values) {
+            if (value != null && value != TOMBSTONE) {
+                consumer.accept((T) value);
+            }
+        }
+    }
+
+    /**
+     * Copies the indexed entities into a new list, in table order.
+     *
+     * @return a list of the indexed entities.
+     */
+    public List<T> values() {
+        List<T> result = new ArrayList<>(size);
+        forEachValue(result::add);
+        return result;
+    }
+
+    private int findSlot(long id) {
+        int slot = LongHashing.slot(id, mask);
+        int firstTombstone = -1;
+        while (values[slot] != null) {
+            if (values[slot] == TOMBSTONE) {
+                if (firstTombstone < 0) {
+                    firstTombstone = slot;
+                }
+            } else if (keys[slot] == id) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return firstTombstone < 0 ? slot : firstTombstone;
+    }
+
+    private void grow(boolean usedEmptySlot) {
+        size++;
+        if (usedEmptySlot && ++occupied >= resizeAt) {
+            rehash(size >= resizeAt / 2 ? keys.length << 1 : keys.length);
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null && oldValues[i] != TOMBSTONE) {
+                int slot = LongHashing.slot(oldKeys[i], mask);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+        occupied = size;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Returns a string representation of the index with its size and capacity.
+     *
+     * @return a string representing the LongEntityIndex object.
+     */
+    @Override
+    public String toString() {
+        return String.format("LongEntityIndex{size=%d, capacity=%d}", size, keys.length);
+    }
+
+}
@@ -0,0 +1,77 @@
+package utils.common;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+
+public class LongEntityIndexTest {
+
+    @Test(description = "Stores, replaces and removes entities under special IDs, including zero.")
+    public void testSpecialIds() {
+        LongEntityIndex<String> index = new LongEntityIndex<>();
+
+        for (long id : new long[]{0, -1, 1, Long.MIN_VALUE, Long.MAX_VALUE}) {
+            assertNull(index.put(id, "a" + id));
+            assertEquals(index.put(id, "b" + id), "a" + id);
+            assertEquals(index.putIfAbsent(id, "c" + id), "b" + id);
+            assertEquals(index.get(id), "b" + id);
+        }
+        assertEquals(index.size(), 5);
+        assertEquals(index.remove(0), "b0");
+        assertNull(index.remove(0));
+        assertFalse(index.containsKey(0));
+        assertEquals(index.size(), 4);
+    }
+
+    @Test(description = "Finds entities stored behind tombstones and reuses the tombstone slots.")
+    public void testTombstones() {
+        LongEntityIndex<String> index = new LongEntityIndex<>(4);
+        for (long id = 1; id <= 1_000; id++) {
+            index.put(id, "v" + id);
+        }
+
+        for (long id = 1; id <= 1_000; id += 2) {
+            assertEquals(index.remove(id), "v" + id);
+        }
+        for (long id = 2; id <= 1_000; id += 2) {
+            assertEquals(index.get(id), "v" + id);
+        }
+        for (long id = 1; id <= 1_000; id += 2) {
+            assertNull(index.putIfAbsent(id, "w" + id));
+            assertEquals(index.putIfAbsent(id, "x" + id), "w" + id);
+        }
+        assertEquals(index.size(), 1_000);
+        assertEquals(index.values().size(), 1_000);
+    }
+
+    @Test(description = "Behaves like a HashMap under a random mix of puts and removes while growing and rehashing.")
+    public void testMatchesHashMap() {
+        LongEntityIndex<Long> index = new LongEntityIndex<>(1);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(11);
+
+        for (int i = 0; i < 200_000; i++) {
+            long id = random.nextInt(20_000);
+            switch (random.nextInt(4)) {
+                case 0 -> assertEquals(index.put(id, (long) i), expected.put(id, (long) i), "put " + id);
+                case 1 -> assertEquals(index.putIfAbsent(id, (long) i), expected.putIfAbsent(id, (long) i), "putIfAbsent " + id);
+                case 2 -> assertEquals(index.remove(id), expected.remove(id), "remove " + id);
+                default -> assertEquals(index.get(id), expected.get(id), "get " + id);
+            }
+            assertEquals(index.size(), expected.size());
+        }
+        List<Long> values = new ArrayList<>();
+        index.forEachValue(values::add);
+        values.sort(null);
+        List<Long> expectedValues = new ArrayList<>(expected.values());
+        expectedValues.sort(null);
+        assertEquals(values, expectedValues);
+    }
+
+}
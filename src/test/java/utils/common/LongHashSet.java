@@ -0,0 +1,118 @@
+package utils.common;
+
+/**
+ * Set of primitive {@code long} values with open addressing and linear probing, used for
+ * ID and fingerprint sets where a {@code HashSet<Long>} would box every element.
+ * Zero is the empty-slot marker in the table and is tracked separately.
+ */
+public class LongHashSet {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private boolean containsZero;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    /**
+     * Creates a set sized to hold the expected number of values without resizing.
+     *
+     * @param expectedSize the expected number of values.
+     */
+    public LongHashSet(int expectedSize) {
+        allocate(LongHashing.tableSize(expectedSize, LOAD_FACTOR));
+    }
+
+    public LongHashSet() {
+        this(16);
+    }
+
+    /**
+     * Adds the value to the set.
+     *
+     * @param value the value to add.
+     * @return true if the value was added, false if it was already present.
+     */
+    public boolean add(long value) {
+        if (value == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int slot = LongHashing.slot(value, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = value;
+        if (++size >= resizeAt) {
+            rehash();
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the value is in the set.
+     *
+     * @param value the value to look up.
+     * @return true if the value is present, false otherwise.
+     */
+    public boolean contains(long value) {
+        if (value == 0) {
+            return containsZero;
+        }
+        int slot = LongHashing.slot(value, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of values in the set.
+     *
+     * @return the number of values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the approximate number of bytes retained by the set's table.
+     *
+     * @return the table size in bytes.
+     */
+    public long tableBytes() {
+        return (long) keys.length * Long.BYTES;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        allocate(keys.length << 1);
+        for (long key : oldKeys) {
+            if (key != 0) {
+                int slot = LongHashing.slot(key, mask);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+}
@@ -0,0 +1,59 @@
+package utils.common;
+
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.testng.Assert.*;
+
+public class LongHashSetTest {
+
+    @Test(description = "Adds and finds the special values, including zero, the empty-slot marker.")
+    public void testSpecialValues() {
+        LongHashSet set = new LongHashSet();
+
+        for (long value : new long[]{0, -1, 1, Long.MIN_VALUE, Long.MAX_VALUE}) {
+            assertFalse(set.contains(value));
+            assertTrue(set.add(value));
+            assertFalse(set.add(value));
+            assertTrue(set.contains(value));
+        }
+        assertEquals(set.size(), 5);
+    }
+
+    @Test(description = "Behaves like a HashSet while growing from a small table.")
+    public void testMatchesHashSet() {
+        LongHashSet set = new LongHashSet(1);
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextBoolean() ? random.nextInt(50_000) : random.nextLong();
+            assertEquals(set.add(value), expected.add(value), "add " + value);
+        }
+        assertEquals(set.size(), expected.size());
+        for (long value : expected) {
+            assertTrue(set.contains(value), "contains " + value);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            long value = random.nextLong();
+            assertEquals(set.contains(value), expected.contains(value), "contains " + value);
+        }
+    }
+
+    @Test(description = "Keeps dense sequential IDs, the IDs the API returns, in a table of the presized capacity.")
+    public void testSequentialIds() {
+        LongHashSet set = new LongHashSet(100_000);
+        long tableBytes = set.tableBytes();
+
+        for (long id = 1; id <= 100_000; id++) {
+            assertTrue(set.add(id));
+        }
+        assertEquals(set.size(), 100_000);
+        assertEquals(set.tableBytes(), tableBytes);
+        assertFalse(set.contains(100_001));
+    }
+
+}
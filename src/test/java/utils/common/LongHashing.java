@@ -0,0 +1,29 @@
+package utils.common;
+
+/**
+ * Hashing helpers shared by the primitive {@code long}-keyed collections.
+ * Tables are powers of two and the slot is taken from the key folded like {@code Long.hashCode}
+ * with the high bits spread into the low ones, as {@code HashMap} does. Sequential IDs therefore
+ * land in neighbouring slots, which keeps in-order builds and lookups cache friendly.
+ */
+final class LongHashing {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private LongHashing() {
+    }
+
+    static int slot(long key, int mask) {
+        int h = (int) (key ^ (key >>> 32));
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    static int tableSize(int expectedSize, float loadFactor) {
+        long required = (long) Math.ceil(Math.max(expectedSize, 2) / loadFactor) + 1;
+        if (required >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Math.max(4, Integer.highestOneBit((int) required - 1) << 1);
+    }
+
+}
@@ -0,0 +1,137 @@
+package utils.common;
+
+import java.util.Arrays;
+
+/**
+ * Multimap from a primitive {@code long} key to a list of primitive {@code long} values, e.g.
+ * book ID to the IDs of its authors. Keys use open addressing like {@link LongEntityIndex} and each
+ * key's values are kept in a growable {@code long[]}, so neither keys nor values are boxed.
+ */
+public class LongMultimap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+    private static final long[] EMPTY = new long[0];
+
+    private long[] keys;
+    private long[][] values;
+    private int[] counts;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    /**
+     * Creates a multimap sized to hold the expected number of distinct keys without resizing.
+     *
+     * @param expectedKeys the expected number of distinct keys.
+     */
+    public LongMultimap(int expectedKeys) {
+        allocate(LongHashing.tableSize(expectedKeys, LOAD_FACTOR));
+    }
+
+    public LongMultimap() {
+        this(16);
+    }
+
+    /**
+     * Appends a value to the values of the key.
+     *
+     * @param key   the key.
+     * @param value the value to append.
+     */
+    public void put(long key, long value) {
+        int slot = findSlot(key);
+        if (values[slot] == null) {
+            keys[slot] = key;
+            values[slot] = new long[2];
+            if (++size >= resizeAt) {
+                rehash();
+                slot = findSlot(key);
+            }
+        }
+        long[] slotValues = values[slot];
+        if (counts[slot] == slotValues.length) {
+            slotValues = Arrays.copyOf(slotValues, slotValues.length << 1);
+            values[slot] = slotValues;
+        }
+        slotValues[counts[slot]++] = value;
+    }
+
+    /**
+     * Gets a copy of the values of the key, in insertion order.
+     *
+     * @param key the key.
+     * @return the values of the key, or an empty array if the key is not present.
+     */
+    public long[] get(long key) {
+        int slot = findSlot(key);
+        return values[slot] == null ? EMPTY : Arrays.copyOf(values[slot], counts[slot]);
+    }
+
+    /**
+     * Gets the number of values of the key without copying them.
+     *
+     * @param key the key.
+     * @return the number of values, or zero if the key is not present.
+     */
+    public int count(long key) {
+        int slot = findSlot(key);
+        return values[slot] == null ? 0 : counts[slot];
+    }
+
+    /**
+     * Gets the distinct keys, in table order.
+     *
+     * @return a new array of the keys.
+     */
+    public long[] keys() {
+        long[] result = new long[size];
+        int next = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (values[slot] != null) {
+                result[next++] = keys[slot];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of distinct keys.
+     *
+     * @return the number of keys.
+     */
+    public int size() {
+        return size;
+    }
+
+    private int findSlot(long key) {
+        int slot = LongHashing.slot(key, mask);
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        long[][] oldValues = values;
+        int[] oldCounts = counts;
+        allocate(keys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = findSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity][];
+        counts = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+}
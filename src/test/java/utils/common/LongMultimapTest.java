@@ -0,0 +1,40 @@
+package utils.common;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+import static org.testng.Assert.*;
+
+public class LongMultimapTest {
+
+    @Test(description = "Keeps the values of each key in insertion order while growing from a small table.")
+    public void testPutAndGet() {
+        LongMultimap multimap = new LongMultimap(1);
+
+        for (long book = 0; book < 1_000; book++) {
+            for (long author = 0; author < book % 5; author++) {
+                multimap.put(book, book * 10 + author);
+            }
+        }
+        assertEquals(multimap.size(), 800);
+        assertEquals(multimap.get(3), new long[]{30, 31, 32});
+        assertEquals(multimap.count(4), 4);
+        assertEquals(multimap.get(5), new long[0]);
+        assertEquals(multimap.count(5), 0);
+    }
+
+    @Test(description = "Lists every distinct key once, including zero and negative keys.")
+    public void testKeys() {
+        LongMultimap multimap = new LongMultimap();
+        for (long key : new long[]{0, -1, 7, 7, Long.MAX_VALUE, 0}) {
+            multimap.put(key, 1);
+        }
+
+        long[] keys = multimap.keys();
+        Arrays.sort(keys);
+        assertEquals(keys, new long[]{-1, 0, 7, Long.MAX_VALUE});
+        assertEquals(multimap.get(0), new long[]{1, 1});
+    }
+
+}
@@ -0,0 +1,182 @@
+package utils.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import models.AuthorModel;
+import models.BookModel;
+import serialization.JsonRegistry;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Field-level comparison of the bookstore models that ignores the concrete model class, so a
+ * {@code PostBookRequest} can be compared with the {@code GetBooksResponse} returned for it.
+ * Matching is done field by field without allocating; the differences are only collected, as
+ * JSON Patch operations turning the expected model into the actual one, when the models differ.
+ */
+public class ModelComparator {
+
+    private ModelComparator() {
+    }
+
+    /**
+     * A single field that differs between the expected and the actual model.
+     *
+     * @param path     the JSON Pointer of the field, e.g. {@code /title}.
+     * @param expected the expected value.
+     * @param actual   the actual value.
+     */
+    public record FieldChange(String path, Object expected, Object actual) {
+
+        /**
+         * Gets the JSON Patch operation that turns the expected value into the actual one.
+         *
+         * @return "add", "remove" or "replace".
+         */
+        public String op() {
+            if (expected == null) {
+                return "add";
+            }
+            return actual == null ? "remove" : "replace";
+        }
+    }
+
+    /**
+     * Checks whether both objects are models of the same kind that this class can compare.
+     *
+     * @param expected the expected object.
+     * @param actual   the actual object.
+     * @return true if both are books or both are authors, false otherwise.
+     */
+    public static boolean supports(Object expected, Object actual) {
+        return expected instanceof BookModel && actual instanceof BookModel
+                || expected instanceof AuthorModel && actual instanceof AuthorModel;
+    }
+
+    /**
+     * Compares two supported models field by field.
+     *
+     * @param expected the expected model.
+     * @param actual   the actual model.
+     * @return true if all fields match, false otherwise.
+     * @throws IllegalArgumentException if the objects are not supported models.
+     */
+    public static boolean matches(Object expected, Object actual) {
+        if (expected instanceof BookModel e && actual instanceof BookModel a) {
+            return matches(e, a);
+        }
+        if (expected instanceof AuthorModel e && actual instanceof AuthorModel a) {
+            return matches(e, a);
+        }
+        throw unsupported(expected, actual);
+    }
+
+    /**
+     * Compares two books field by field.
+     *
+     * @param expected the expected book.
+     * @param actual   the actual book.
+     * @return true if all fields match, false otherwise.
+     */
+    public static boolean matches(BookModel expected, BookModel actual) {
+        return expected.getPageCount() == actual.getPageCount()
+                && Objects.equals(expected.getId(), actual.getId())
+                && Objects.equals(expected.getTitle(), actual.getTitle())
+                && Objects.equals(expected.getDescription(), actual.getDescription())
+                && Objects.equals(expected.getExcerpt(), actual.getExcerpt())
+                && Objects.equals(expected.getPublishDate(), actual.getPublishDate());
+    }
+
+    /**
+     * Compares two authors field by field.
+     *
+     * @param expected the expected author.
+     * @param actual   the actual author.
+     * @return true if all fields match, false otherwise.
+     */
+    public static boolean matches(AuthorModel expected, AuthorModel actual) {
+        return Objects.equals(expected.getId(), actual.getId())
+                && Objects.equals(expected.getIdBook(), actual.getIdBook())
+                && Objects.equals(expected.getFirstName(), actual.getFirstName())
+                && Objects.equals(expected.getLastName(), actual.getLastName());
+    }
+
+    /**
+     * Collects the fields that differ between two supported models.
+     *
+     * @param expected the expected model.
+     * @param actual   the actual model.
+     * @return the differing fields in declaration order, empty if the models match.
+     * @throws IllegalArgumentException if the objects are not supported models.
+     */
+    public static List<FieldChange> diff(Object expected, Object actual) {
+        List<FieldChange> changes = new ArrayList<>();
+        if (expected instanceof BookModel e && actual instanceof BookModel a) {
+            addIfChanged(changes, "/id", e.getId(), a.getId());
+            addIfChanged(changes, "/title", e.getTitle(), a.getTitle());
+            addIfChanged(changes, "/description", e.getDescription(), a.getDescription());
+            addIfChanged(changes, "/pageCount", e.getPageCount(), a.getPageCount());
+            addIfChanged(changes, "/excerpt", e.getExcerpt(), a.getExcerpt());
+            addIfChanged(changes, "/publishDate", e.getPublishDate(), a.getPublishDate());
+        } else if (expected instanceof AuthorModel e && actual instanceof AuthorModel a) {
+            addIfChanged(changes, "/id", e.getId(), a.getId());
+            addIfChanged(changes, "/idBook", e.getIdBook(), a.getIdBook());
+            addIfChanged(changes, "/firstName", e.getFirstName(), a.getFirstName());
+            addIfChanged(changes, "/lastName", e.getLastName(), a.getLastName());
+        } else {
+            throw unsupported(expected, actual);
+        }
+        return changes;
+    }
+
+    /**
+     * Renders the differences between two supported models as a JSON Patch document.
+     *
+     * @param expected the expected model.
+     * @param actual   the actual model.
+     * @return the JSON Patch turning the expected model into the actual one.
+     */
+    public static String jsonPatch(Object expected, Object actual) {
+        return toJsonPatch(diff(expected, actual));
+    }
+
+    /**
+     * Renders field changes as a JSON Patch document (RFC 6902).
+     *
+     * @param changes the field changes to render.
+     * @return the JSON Patch, or the changes' string form if they cannot be serialized.
+     */
+    public static String toJsonPatch(List<FieldChange> changes) {
+        List<Map<String, Object>> operations = new ArrayList<>(changes.size());
+        for (FieldChange change : changes) {
+            Map<String, Object> operation = new LinkedHashMap<>();
+            operation.put("op", change.op());
+            operation.put("path", change.path());
+            if (change.actual() != null) {
+                operation.put("value", change.actual());
+            }
+            operations.add(operation);
+        }
+        try {
+            return JsonRegistry.writer().writeValueAsString(operations);
+        } catch (JsonProcessingException e) {
+            return changes.toString();
+        }
+    }
+
+    private static void addIfChanged(List<FieldChange> changes, String path, Object expected, Object actual) {
+        if (!Objects.equals(expected, actual)) {
+            changes.add(new FieldChange(path, expected, actual));
+        }
+    }
+
+    private static IllegalArgumentException unsupported(Object expected, Object actual) {
+        return new IllegalArgumentException(String.format("Cannot compare %s with %s",
+                expected == null ? null : expected.getClass().getSimpleName(),
+                actual == null ? null : actual.getClass().getSimpleName()));
+    }
+
+}
@@ -0,0 +1,121 @@
+package utils.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import models.AuthorModel;
+import models.BookModel;
+import models.requests.authors.PutAuthorRequest;
+import models.requests.books.PostBookRequest;
+import models.responses.authors.GetAuthorsResponse;
+import models.responses.books.GetBooksResponse;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import serialization.JsonRegistry;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class ModelComparatorTest {
+
+    private static final BookModel BOOK = new GetBooksResponse(1L, "Title", "Description", 100, "Excerpt", "2024-01-01");
+    private static final AuthorModel AUTHOR = new GetAuthorsResponse(1L, 10L, "Ada", "Lovelace");
+
+    @Test(description = "Matches equal models and reports no change, whatever their request or response class.")
+    public void testEqualModels() {
+        BookModel request = new PostBookRequest(1L, "Title", "Description", 100, "Excerpt", "2024-01-01");
+        AuthorModel putRequest = new PutAuthorRequest(1L, 10L, "Ada", "Lovelace");
+
+        assertTrue(ModelComparator.matches(BOOK, BOOK));
+        assertTrue(ModelComparator.matches((Object) request, BOOK));
+        assertTrue(ModelComparator.matches((Object) putRequest, AUTHOR));
+        assertEquals(ModelComparator.diff(request, BOOK), List.of());
+        assertEquals(ModelComparator.diff(putRequest, AUTHOR), List.of());
+        assertEquals(ModelComparator.jsonPatch(request, BOOK), "[]");
+    }
+
+    @DataProvider(name = "bookFields")
+    public Object[][] bookFields() {
+        return new Object[][]{
+                {new GetBooksResponse(2L, "Title", "Description", 100, "Excerpt", "2024-01-01"), "/id", 1L, 2L},
+                {new GetBooksResponse(1L, "Other", "Description", 100, "Excerpt", "2024-01-01"), "/title", "Title", "Other"},
+                {new GetBooksResponse(1L, "Title", "Other", 100, "Excerpt", "2024-01-01"), "/description", "Description", "Other"},
+                {new GetBooksResponse(1L, "Title", "Description", 101, "Excerpt", "2024-01-01"), "/pageCount", 100, 101},
+                {new GetBooksResponse(1L, "Title", "Description", 100, "Other", "2024-01-01"), "/excerpt", "Excerpt", "Other"},
+                {new GetBooksResponse(1L, "Title", "Description", 100, "Excerpt", "2024-01-02"), "/publishDate", "2024-01-01", "2024-01-02"}
+        };
+    }
+
+    @Test(dataProvider = "bookFields", description = "Reports a book field that differs as a single replace.")
+    public void testBookField(BookModel actual, String path, Object expected, Object actualValue) {
+        assertFalse(ModelComparator.matches((Object) BOOK, actual));
+        assertEquals(ModelComparator.diff(BOOK, actual), List.of(new ModelComparator.FieldChange(path, expected, actualValue)));
+        assertEquals(ModelComparator.diff(BOOK, actual).getFirst().op(), "replace");
+    }
+
+    @DataProvider(name = "authorFields")
+    public Object[][] authorFields() {
+        return new Object[][]{
+                {new GetAuthorsResponse(2L, 10L, "Ada", "Lovelace"), "/id", 1L, 2L},
+                {new GetAuthorsResponse(1L, 11L, "Ada", "Lovelace"), "/idBook", 10L, 11L},
+                {new GetAuthorsResponse(1L, 10L, "Grace", "Lovelace"), "/firstName", "Ada", "Grace"},
+                {new GetAuthorsResponse(1L, 10L, "Ada", "Hopper"), "/lastName", "Lovelace", "Hopper"}
+        };
+    }
+
+    @Test(dataProvider = "authorFields", description = "Reports an author field that differs as a single replace.")
+    public void testAuthorField(AuthorModel actual, String path, Object expected, Object actualValue) {
+        assertFalse(ModelComparator.matches((Object) AUTHOR, actual));
+        assertEquals(ModelComparator.diff(AUTHOR, actual), List.of(new ModelComparator.FieldChange(path, expected, actualValue)));
+    }
+
+    @Test(description = "Reports a field that became null as remove and one that was null as add.")
+    public void testNullFields() {
+        BookModel withoutTitle = new GetBooksResponse(1L, null, "Description", 100, "Excerpt", "2024-01-01");
+        AuthorModel withoutIds = new GetAuthorsResponse(null, null, "Ada", "Lovelace");
+
+        assertTrue(ModelComparator.matches(withoutTitle, new PostBookRequest(1L, null, "Description", 100, "Excerpt", "2024-01-01")));
+        assertEquals(ModelComparator.diff(BOOK, withoutTitle), List.of(new ModelComparator.FieldChange("/title", "Title", null)));
+        assertEquals(ModelComparator.diff(BOOK, withoutTitle).getFirst().op(), "remove");
+        assertEquals(ModelComparator.diff(withoutTitle, BOOK).getFirst().op(), "add");
+        assertEquals(ModelComparator.diff(withoutIds, AUTHOR), List.of(
+                new ModelComparator.FieldChange("/id", null, 1L),
+                new ModelComparator.FieldChange("/idBook", null, 10L)));
+    }
+
+    @Test(description = "Reports every differing field in declaration order.")
+    public void testSeveralFields() {
+        BookModel actual = new GetBooksResponse(1L, "Other", "Description", 5, "Excerpt", null);
+
+        assertEquals(ModelComparator.diff(BOOK, actual).stream().map(ModelComparator.FieldChange::path).toList(),
+                List.of("/title", "/pageCount", "/publishDate"));
+    }
+
+    @Test(description = "Renders the changes as an RFC 6902 JSON Patch, without a value for removals.")
+    public void testJsonPatch() throws IOException {
+        BookModel actual = new GetBooksResponse(1L, "Other", "Description", 5, "Excerpt", null);
+
+        String patch = ModelComparator.jsonPatch(BOOK, actual);
+
+        assertEquals(patch, "[{\"op\":\"replace\",\"path\":\"/title\",\"value\":\"Other\"},"
+                + "{\"op\":\"replace\",\"path\":\"/pageCount\",\"value\":5},"
+                + "{\"op\":\"remove\",\"path\":\"/publishDate\"}]");
+        JsonNode operations = JsonRegistry.treeReader().readValue(patch);
+        assertTrue(operations.isArray());
+        assertEquals(operations.size(), 3);
+        assertEquals(operations.get(1).get("value").asInt(), 5);
+        assertFalse(operations.get(2).has("value"));
+        assertEquals(ModelComparator.toJsonPatch(List.of(new ModelComparator.FieldChange("/idBook", null, 3L))),
+                "[{\"op\":\"add\",\"path\":\"/idBook\",\"value\":3}]");
+    }
+
+    @Test(description = "Rejects objects that are not two books or two authors.")
+    public void testUnsupported() {
+        assertTrue(ModelComparator.supports(BOOK, new PostBookRequest()));
+        assertFalse(ModelComparator.supports(BOOK, AUTHOR));
+        assertFalse(ModelComparator.supports(BOOK, null));
+        assertThrows(IllegalArgumentException.class, () -> ModelComparator.matches((Object) BOOK, AUTHOR));
+        assertThrows(IllegalArgumentException.class, () -> ModelComparator.diff("book", BOOK));
+    }
+
+}
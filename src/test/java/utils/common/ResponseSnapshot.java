@@ -0,0 +1,304 @@
+package utils.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.restassured.response.Response;
+import serialization.JsonRegistry;
+import serialization.JsonStreams;
+import utils.common.ClientOverhead.Phase;
+import utils.common.ClientOverhead.Span;
+import utils.http.PhaseTimer;
+import utils.http.PhaseTimings;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Captures a single API exchange so that the response body is read from the wire exactly once.
+ * The raw bytes are taken eagerly; the decoded String, the JSON tree, the pretty-printed body and
+ * typed models are derived lazily on first use and cached, so logging, parsing and assertions on
+ * the same response never decode or parse the body twice. The whole body is held in memory, as
+ * RestAssured has already buffered it to time the download.
+ * <p>
+ * A response whose body was streamed to a consumer instead, see {@link #streamed}, keeps only its
+ * status, headers, time and body size; its body accessors throw and its string forms describe the
+ * body instead of containing it.
+ */
+public class ResponseSnapshot {
+
+    private final Response response;
+    private final byte[] body;
+    private final long bodySize;
+    private final long time;
+    private final PhaseTimings phaseTimings;
+
+    private String bodyString;
+    private String prettyBody;
+    private JsonNode tree;
+    private final Map<Class<?>, Object> objects = new HashMap<>();
+    private final Map<Class<?>, List<?>> lists = new HashMap<>();
+
+    private ResponseSnapshot(Response response) {
+        this(response, response.asByteArray(), response.getTime(), PhaseTimer.takeLast());
+    }
+
+    private ResponseSnapshot(Response response, byte[] body, long time, PhaseTimings phaseTimings) {
+        this(response, body, body.length, time, phaseTimings);
+    }
+
+    private ResponseSnapshot(Response response, byte[] body, long bodySize, long time, PhaseTimings phaseTimings) {
+        this.response = response;
+        this.body = body;
+        this.bodySize = bodySize;
+        this.time = time;
+        this.phaseTimings = phaseTimings;
+    }
+
+    /**
+     * Captures the given response, together with the phase timings of the last exchange finished on
+     * the current thread, which is the one that produced the response when it is captured right away.
+     *
+     * @param response the Response object returned by RestAssured.
+     * @return a snapshot holding the response body bytes.
+     */
+    public static ResponseSnapshot of(Response response) {
+        return new ResponseSnapshot(response);
+    }
+
+    /**
+     * Captures a response whose body was streamed to a consumer rather than buffered, so the
+     * snapshot holds everything but the body.
+     *
+     * @param response     the Response object returned by RestAssured, with its body already read.
+     * @param timeInMillis the time from sending the request to reading the whole body, in milliseconds.
+     * @param bodySize     the number of body bytes streamed.
+     * @param phaseTimings the phase timings of the exchange, or null if none were captured.
+     * @return a snapshot without the response body.
+     */
+    public static ResponseSnapshot streamed(Response response, long timeInMillis, long bodySize, PhaseTimings phaseTimings) {
+        return new ResponseSnapshot(response, null, bodySize, timeInMillis, phaseTimings);
+    }
+
+    /**
+     * Creates a snapshot of the same response with another response time, e.g. the time a hedged
+     * request took overall instead of the time of the attempt that answered it.
+     *
+     * @param timeInMillis the response time in milliseconds.
+     * @return a new snapshot sharing the response body bytes.
+     */
+    public ResponseSnapshot withTime(long timeInMillis) {
+        return new ResponseSnapshot(response, body, bodySize, timeInMillis, phaseTimings);
+    }
+
+    /**
+     * Gets the underlying RestAssured response, e.g. for header access.
+     *
+     * @return the captured Response object.
+     */
+    public Response getResponse() {
+        return response;
+    }
+
+    /**
+     * Gets the HTTP status code of the response.
+     *
+     * @return the status code.
+     */
+    public int getStatusCode() {
+        return response.getStatusCode();
+    }
+
+    /**
+     * Gets the response time in milliseconds as measured by RestAssured, or as set with
+     * {@link #withTime(long)}.
+     *
+     * @return the response time in milliseconds.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Gets where the time of the exchange went: DNS, connect, TLS, time to first byte and download.
+     *
+     * @return the phase timings, or null if the response was not received through the pooled
+     *         RestAssured client on the capturing thread.
+     */
+    public PhaseTimings getPhaseTimings() {
+        return phaseTimings;
+    }
+
+    /**
+     * Gets the raw response body. The returned array is shared and must not be modified.
+     *
+     * @return the response body bytes.
+     * @throws IllegalStateException if the body was streamed rather than captured.
+     */
+    public byte[] getBodyBytes() {
+        return requireBody();
+    }
+
+    /**
+     * Gets the size of the response body, whether it was captured or streamed.
+     *
+     * @return the number of body bytes.
+     */
+    public long getBodySize() {
+        return bodySize;
+    }
+
+    /**
+     * Checks whether the response body is held by the snapshot.
+     *
+     * @return false if the body was streamed, true otherwise.
+     */
+    public boolean hasBody() {
+        return body != null;
+    }
+
+    /**
+     * Gets the response body decoded with the charset of the response content type (UTF-8 by default).
+     *
+     * @return the decoded response body, or a description of the body if it was streamed.
+     */
+    public synchronized String asString() {
+        if (bodyString == null) {
+            bodyString = body == null ? streamedBody() : new String(body, charset());
+        }
+        return bodyString;
+    }
+
+    /**
+     * Gets the response body parsed as a JSON tree.
+     *
+     * @return the root node of the response body.
+     * @throws JsonProcessingException if the body is not valid JSON.
+     */
+    public synchronized JsonNode asTree() throws JsonProcessingException {
+        if (tree == null) {
+            tree = read(JsonRegistry.treeReader());
+        }
+        return tree;
+    }
+
+    /**
+     * Gets the response body formatted with the default pretty printer.
+     *
+     * @return the pretty-printed body, or an error message if the body is not valid JSON, or a
+     *         description of the body if it was streamed.
+     */
+    public synchronized String asPrettyString() {
+        if (prettyBody == null && body == null) {
+            prettyBody = streamedBody();
+        } else if (prettyBody == null) {
+            try {
+                prettyBody = JsonRegistry.prettyWriter().writeValueAsString(asTree());
+            } catch (JsonProcessingException e) {
+                prettyBody = "Failed to pretty-print JSON: " + e.getMessage();
+            }
+        }
+        return prettyBody;
+    }
+
+    /**
+     * Gets the response body bound to the given type. The result is cached per type.
+     *
+     * @param type the class type of the object to be deserialized.
+     * @param <T>  the type of the object.
+     * @return the deserialized object.
+     * @throws JsonProcessingException if the body cannot be bound to the type.
+     */
+    public synchronized <T> T as(Class<T> type) throws JsonProcessingException {
+        Object cached = objects.get(type);
+        if (cached == null) {
+            cached = read(JsonRegistry.objectReader(type));
+            objects.put(type, cached);
+        }
+        return type.cast(cached);
+    }
+
+    /**
+     * Gets the response body bound to a list of the given type. The result is cached per element type.
+     *
+     * @param type the class type of the list elements.
+     * @param <T>  the type of the list elements.
+     * @return the deserialized list.
+     * @throws JsonProcessingException if the body cannot be bound to a list of the type.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> List<T> asList(Class<T> type) throws JsonProcessingException {
+        List<?> cached = lists.get(type);
+        if (cached == null) {
+            cached = read(JsonRegistry.listReader(type));
+            lists.put(type, cached);
+        }
+        return (List<T>) cached;
+    }
+
+    /**
+     * Streams the JSON array body element by element without building a list.
+     *
+     * @param type     the class type of the array elements.
+     * @param consumer the callback receiving each element in document order.
+     * @param <T>      the type of the elements.
+     * @return the number of elements read.
+     * @throws IOException if the body cannot be parsed.
+     */
+    public <T> long forEachElement(Class<T> type, Consumer<? super T> consumer) throws IOException {
+        try (Span _ = ClientOverhead.begin(Phase.DESERIALIZE)) {
+            return JsonStreams.forEachElement(new ByteArrayInputStream(requireBody()), type, consumer);
+        }
+    }
+
+    /**
+     * Binds the in-memory body with the given reader, accounted as deserialization of the running
+     * test. Reading a byte array cannot fail with plain I/O errors, so only Jackson's processing
+     * exceptions are propagated.
+     */
+    private <V> V read(ObjectReader reader) throws JsonProcessingException {
+        try (Span _ = ClientOverhead.begin(Phase.DESERIALIZE)) {
+            return reader.readValue(requireBody());
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] requireBody() {
+        if (body == null) {
+            throw new IllegalStateException("The body of this response was streamed and is not retained: " + streamedBody());
+        }
+        return body;
+    }
+
+    private String streamedBody() {
+        return "<streamed body of " + bodySize + " bytes, not retained>";
+    }
+
+    private Charset charset() {
+        String contentType = response.getContentType();
+        if (contentType != null) {
+            for (String part : contentType.split(";")) {
+                String trimmed = part.trim();
+                if (trimmed.regionMatches(true, 0, "charset=", 0, 8)) {
+                    try {
+                        return Charset.forName(trimmed.substring(8).replace("\"", ""));
+                    } catch (IllegalArgumentException ignored) {
+                        break;
+                    }
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+}
@@ -0,0 +1,157 @@
+package utils.common;
+
+import java.util.Arrays;
+
+/**
+ * Response times of repeated requests to one endpoint, with an estimate of one of their percentiles
+ * and a distribution-free confidence interval around it. The interval is bounded by two of the
+ * sorted samples, chosen with the binomial distribution of the number of samples below the true
+ * percentile, so it holds whatever the shape of the latency distribution. With too few samples one
+ * side of the interval cannot be bounded: the lower bound is then 0 and the upper bound unbounded.
+ */
+public class ResponseTimeSample {
+
+    private final String name;
+    private final long[] timesMillis;
+    private final double percentile;
+    private final double confidence;
+    private final int lowerRank;
+    private final int upperRank;
+    private final double achievedConfidence;
+
+    /**
+     * Builds the sample and its confidence interval.
+     *
+     * @param name        what was sampled, e.g. {@code GET /api/v1/Books/1}.
+     * @param timesMillis the response times in milliseconds, in any order; at least one.
+     * @param percentile  the estimated percentile between 0 and 100 exclusive, e.g. 90.
+     * @param confidence  the requested confidence of the interval between 0 and 1 exclusive, e.g. 0.95.
+     */
+    public ResponseTimeSample(String name, long[] timesMillis, double percentile, double confidence) {
+        if (timesMillis.length == 0) {
+            throw new IllegalArgumentException("No response times sampled for " + name);
+        }
+        this.name = name;
+        this.timesMillis = timesMillis.clone();
+        Arrays.sort(this.timesMillis);
+        this.percentile = percentile;
+        this.confidence = confidence;
+
+        int n = this.timesMillis.length;
+        double[] cdf = binomialCdf(n, percentile / 100);
+        double tail = (1 - confidence) / 2;
+        // The k-th smallest sample is below the percentile when at least k samples are, with probability 1 - cdf[k - 1].
+        int lower = 0;
+        for (int k = 1; k <= n && cdf[k - 1] <= tail; k++) {
+            lower = k;
+        }
+        int upper = n + 1;
+        for (int k = n; k >= 1 && cdf[k - 1] >= 1 - tail; k--) {
+            upper = k;
+        }
+        this.lowerRank = lower;
+        this.upperRank = upper;
+        this.achievedConfidence = (upper > n ? 1 : cdf[upper - 1]) - (lower == 0 ? 0 : cdf[lower - 1]);
+    }
+
+    /**
+     * Computes P(X <= k) for k = 0..n of a binomial distribution, in log space so that large sample
+     * counts and extreme percentiles do not underflow before the terms matter.
+     */
+    private static double[] binomialCdf(int n, double p) {
+        double[] cdf = new double[n + 1];
+        double logPmf = n * Math.log1p(-p);
+        double logOdds = Math.log(p) - Math.log1p(-p);
+        double sum = 0;
+        for (int k = 0; k <= n; k++) {
+            sum += Math.exp(logPmf);
+            cdf[k] = Math.min(1, sum);
+            logPmf += Math.log(n - k) - Math.log(k + 1) + logOdds;
+        }
+        return cdf;
+    }
+
+    /**
+     * Gets what was sampled.
+     *
+     * @return the name of the sample.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the number of response times sampled.
+     *
+     * @return the sample count.
+     */
+    public int getCount() {
+        return timesMillis.length;
+    }
+
+    /**
+     * Gets the estimated percentile.
+     *
+     * @return the percentile between 0 and 100.
+     */
+    public double getPercentile() {
+        return percentile;
+    }
+
+    /**
+     * Gets the percentile of the samples, by the nearest-rank method.
+     *
+     * @return the estimated response time at the percentile in milliseconds.
+     */
+    public long getEstimateMillis() {
+        int rank = (int) Math.ceil(percentile / 100 * timesMillis.length);
+        return timesMillis[Math.max(rank, 1) - 1];
+    }
+
+    /**
+     * Gets the lower bound of the confidence interval.
+     *
+     * @return the lower bound in milliseconds, 0 if there are too few samples to bound it.
+     */
+    public long getLowerMillis() {
+        return lowerRank == 0 ? 0 : timesMillis[lowerRank - 1];
+    }
+
+    /**
+     * Gets the upper bound of the confidence interval.
+     *
+     * @return the upper bound in milliseconds, {@link Long#MAX_VALUE} if there are too few samples to bound it.
+     */
+    public long getUpperMillis() {
+        return upperRank > timesMillis.length ? Long.MAX_VALUE : timesMillis[upperRank - 1];
+    }
+
+    /**
+     * Gets the confidence the interval actually has, at least the requested one; sample ranks are
+     * whole numbers, so it is usually a little higher.
+     *
+     * @return the confidence between 0 and 1.
+     */
+    public double getAchievedConfidence() {
+        return achievedConfidence;
+    }
+
+    /**
+     * Gets the requested confidence of the interval.
+     *
+     * @return the confidence between 0 and 1.
+     */
+    public double getConfidence() {
+        return confidence;
+    }
+
+    @Override
+    public String toString() {
+        long upper = getUpperMillis();
+        return String.format("%s: p%s=%d ms, %.0f%% CI [%d, %s] ms over %d samples (min %d ms, max %d ms)",
+                name, percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile), getEstimateMillis(),
+                achievedConfidence * 100, getLowerMillis(), upper == Long.MAX_VALUE ? "unbounded" : String.valueOf(upper),
+                timesMillis.length, timesMillis[0], timesMillis[timesMillis.length - 1]);
+    }
+
+}
@@ -0,0 +1,65 @@
+package utils.common;
+
+import org.testng.annotations.Test;
+
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.testng.Assert.*;
+
+public class ResponseTimeSampleTest {
+
+    @Test(description = "Bounds the median of 100 samples by the order statistics of the binomial interval.")
+    public void testMedianInterval() {
+        long[] times = LongStream.rangeClosed(1, 100).toArray();
+        ResponseTimeSample sample = new ResponseTimeSample("median", times, 50, 0.95);
+
+        assertEquals(sample.getCount(), 100);
+        assertEquals(sample.getEstimateMillis(), 50);
+        assertEquals(sample.getLowerMillis(), 40);
+        assertEquals(sample.getUpperMillis(), 61);
+        assertTrue(sample.getAchievedConfidence() >= 0.95, "Achieved confidence " + sample.getAchievedConfidence());
+    }
+
+    @Test(description = "Sorts the samples, whatever their order, without changing the caller's array.")
+    public void testUnsortedSamples() {
+        long[] times = {30, 10, 20, 50, 40};
+        ResponseTimeSample sample = new ResponseTimeSample("unsorted", times, 50, 0.5);
+
+        assertEquals(sample.getEstimateMillis(), 30);
+        assertEquals(times, new long[]{30, 10, 20, 50, 40});
+    }
+
+    @Test(description = "Leaves a side of the interval unbounded when there are too few samples for a high percentile.")
+    public void testTooFewSamples() {
+        ResponseTimeSample sample = new ResponseTimeSample("p99", new long[]{5, 6, 7, 8, 9}, 99, 0.95);
+
+        assertEquals(sample.getEstimateMillis(), 9);
+        assertEquals(sample.getUpperMillis(), Long.MAX_VALUE);
+        assertTrue(sample.getLowerMillis() <= sample.getEstimateMillis());
+        assertTrue(sample.getAchievedConfidence() >= 0.95);
+    }
+
+    @Test(description = "Keeps the interval around the estimate and its confidence for large samples and extreme percentiles.")
+    public void testLargeSample() {
+        Random random = new Random(3);
+        long[] times = new long[20_000];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = (long) (-100 * Math.log(1 - random.nextDouble()));
+        }
+
+        for (double percentile : new double[]{1, 50, 99, 99.9}) {
+            ResponseTimeSample sample = new ResponseTimeSample("p" + percentile, times, percentile, 0.99);
+            assertTrue(sample.getLowerMillis() <= sample.getEstimateMillis(), sample.toString());
+            assertTrue(sample.getEstimateMillis() <= sample.getUpperMillis(), sample.toString());
+            assertNotEquals(sample.getUpperMillis(), Long.MAX_VALUE, sample.toString());
+            assertTrue(sample.getAchievedConfidence() >= 0.99 && sample.getAchievedConfidence() <= 1, sample.toString());
+        }
+    }
+
+    @Test(description = "Rejects an empty sample.")
+    public void testEmptySample() {
+        assertThrows(IllegalArgumentException.class, () -> new ResponseTimeSample("empty", new long[0], 50, 0.95));
+    }
+
+}
@@ -0,0 +1,142 @@
+package utils.common;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Parallel variant of {@link EntityDiff#computeByLongId} for catalogs with millions of entities.
+ * Expected and actual entities are sharded by the hash of their ID, so every ID lands in exactly
+ * one shard and each shard can detect missing, unexpected, changed and duplicate entities
+ * independently. Both the sharding and the per-shard diffs run as fork/join tasks, and the shard
+ * results are concatenated at the end.
+ */
+public class ShardedEntityDiff {
+
+    private static final int CHUNK_SIZE = 8_192;
+
+    private ShardedEntityDiff() {
+    }
+
+    /**
+     * Compares the expected entities with the actual ones by ID on the given pool.
+     * The entities of each category are grouped by shard: within a shard they keep the order of the
+     * sequential diff, e.g. duplicates in the order they appear in the actual list, but the
+     * categories as a whole are not in list order.
+     *
+     * @param expected the list of expected entities.
+     * @param actual   the list of entities returned by the API.
+     * @param idOf     the function extracting the ID of an entity, e.g. {@code BookModel::getId}.
+     * @param pool     the pool running the shard tasks.
+     * @param <T>      the type of the entities.
+     * @return the diff between both lists.
+     */
+    public static <T> EntityDiff<T> compute(List<? extends T> expected, List<? extends T> actual, Function<? super T, Long> idOf, ForkJoinPool pool) {
+        int shards = shardCount(pool.getParallelism());
+
+        List<List<List<T>>> expectedChunks = partition(expected, idOf, shards, pool);
+        List<List<List<T>>> actualChunks = partition(actual, idOf, shards, pool);
+
+        List<EntityDiff<T>> results = new ArrayList<>(Collections.nCopies(shards, null));
+        pool.invoke(new RangeAction(0, shards, shard ->
+                results.set(shard, EntityDiff.computeByLongId(gather(expectedChunks, shard), gather(actualChunks, shard), idOf))));
+
+        List<T> missing = new ArrayList<>();
+        List<Long> unexpectedIds = new ArrayList<>();
+        List<EntityDiff.Change<T>> changed = new ArrayList<>();
+        List<T> duplicates = new ArrayList<>();
+        for (EntityDiff<T> result : results) {
+            missing.addAll(result.getMissing());
+            unexpectedIds.addAll(result.getUnexpectedIds());
+            changed.addAll(result.getChanged());
+            duplicates.addAll(result.getDuplicates());
+        }
+        return new EntityDiff<>(missing, unexpectedIds, changed, duplicates);
+    }
+
+    /**
+     * Splits the list into fixed-size chunks and buckets each chunk by shard in parallel.
+     * Element {@code get(c).get(s)} holds the entities of chunk {@code c} that belong to shard {@code s},
+     * in their original order.
+     */
+    private static <T> List<List<List<T>>> partition(List<? extends T> items, Function<? super T, Long> idOf, int shards, ForkJoinPool pool) {
+        int chunks = Math.max(1, (items.size() + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        List<List<List<T>>> buckets = new ArrayList<>(Collections.nCopies(chunks, null));
+        pool.invoke(new RangeAction(0, chunks, chunk -> {
+            int from = chunk * CHUNK_SIZE;
+            int to = Math.min(items.size(), from + CHUNK_SIZE);
+            List<List<T>> chunkBuckets = new ArrayList<>(shards);
+            for (int s = 0; s < shards; s++) {
+                chunkBuckets.add(new ArrayList<>());
+            }
+            for (int i = from; i < to; i++) {
+                T item = items.get(i);
+                chunkBuckets.get(shardOf(idOf.apply(item), shards)).add(item);
+            }
+            buckets.set(chunk, chunkBuckets);
+        }));
+        return buckets;
+    }
+
+    private static <T> List<T> gather(List<List<List<T>>> chunks, int shard) {
+        int size = 0;
+        for (List<List<T>> chunk : chunks) {
+            size += chunk.get(shard).size();
+        }
+        List<T> items = new ArrayList<>(size);
+        for (List<List<T>> chunk : chunks) {
+            items.addAll(chunk.get(shard));
+        }
+        return items;
+    }
+
+    private static int shardOf(Long id, int shards) {
+        if (id == null) {
+            return 0;
+        }
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & (shards - 1);
+    }
+
+    private static int shardCount(int parallelism) {
+        int target = Math.max(2, parallelism * 4);
+        return Integer.highestOneBit(target - 1) << 1;
+    }
+
+    /**
+     * Runs the body for every index of a range, splitting the range in halves until single indexes remain.
+     */
+    private static final class RangeAction extends RecursiveAction {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final transient IntConsumer body;
+
+        private RangeAction(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) {
+                    body.accept(from);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeAction(from, mid, body), new RangeAction(mid, to, body));
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+package utils.common;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.testng.Assert.*;
+
+public class ShardedEntityDiffTest {
+
+    private static final Comparator<Item> BY_ID_AND_NAME = Comparator.comparing(Item::id, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Item::name);
+
+    private ForkJoinPool pool;
+
+    @BeforeClass
+    public void startPool() {
+        // 3 workers give 16 shards, which divide none of the list sizes below.
+        pool = new ForkJoinPool(3);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopPool() {
+        pool.shutdownNow();
+    }
+
+    @DataProvider(name = "sizes")
+    public Object[][] sizes() {
+        return new Object[][]{{0, 0}, {1, 0}, {0, 3}, {7, 5}, {1_001, 997}, {20_011, 19_997}};
+    }
+
+    @Test(dataProvider = "sizes", description = "Reports the same missing, changed, unexpected and duplicate entities as the sequential diff.")
+    public void testMatchesSequentialDiff(int expectedSize, int actualSize) {
+        Random random = new Random(expectedSize * 31L + actualSize);
+        List<Item> expected = new ArrayList<>();
+        for (int i = 0; i < expectedSize; i++) {
+            expected.add(new Item((long) i, "item " + i));
+        }
+        List<Item> actual = new ArrayList<>();
+        for (int i = 0; i < actualSize; i++) {
+            // IDs beyond the expected range are unexpected, and ones drawn twice are duplicates, often in another chunk.
+            long id = random.nextInt(Math.max(1, expectedSize + expectedSize / 10 + 1));
+            actual.add(new Item(id, random.nextInt(20) == 0 ? "changed " + i : "item " + id));
+        }
+        if (actualSize > 2) {
+            actual.add(actualSize / 2, new Item(null, "no id"));
+            actual.add(new Item(null, "no id again"));
+        }
+
+        EntityDiff<Item> sequential = EntityDiff.computeByLongId(expected, actual, Item::id);
+        EntityDiff<Item> parallel = CommonUtils.diffByIdParallel(expected, actual, Item::id, pool);
+        if (expectedSize > 1_000) {
+            assertFalse(sequential.getMissing().isEmpty() || sequential.getChanged().isEmpty()
+                    || sequential.getUnexpectedIds().isEmpty() || sequential.getDuplicates().isEmpty(), "Every category should be exercised");
+        }
+
+        assertEquals(sorted(parallel.getMissing()), sorted(sequential.getMissing()));
+        assertEquals(sortedChanges(parallel.getChanged()), sortedChanges(sequential.getChanged()));
+        assertEquals(sortedIds(parallel.getUnexpectedIds()), sortedIds(sequential.getUnexpectedIds()));
+        assertEquals(byId(parallel.getDuplicates()), byId(sequential.getDuplicates()));
+    }
+
+    @Test(description = "Finds duplicates of an ID that the chunks split far apart.")
+    public void testDuplicatesAcrossChunks() {
+        List<Item> actual = new ArrayList<>();
+        for (long id = 0; id < 30_000; id++) {
+            actual.add(new Item(id, "item " + id));
+        }
+        Item first = new Item(5L, "first duplicate");
+        Item second = new Item(5L, "second duplicate");
+        actual.add(12_000, first);
+        actual.add(first);
+        actual.add(second);
+
+        EntityDiff<Item> diff = CommonUtils.diffByIdParallel(actual.subList(0, 10), actual, Item::id, pool);
+
+        assertEquals(diff.getDuplicates(), List.of(first, first, second));
+        assertEquals(diff.getMissing(), List.of());
+        assertEquals(diff.getUnexpectedIds().size(), 30_000 - 10);
+    }
+
+    private record Item(Long id, String name) {
+    }
+
+    private static List<Item> sorted(List<Item> items) {
+        List<Item> sorted = new ArrayList<>(items);
+        sorted.sort(BY_ID_AND_NAME);
+        return sorted;
+    }
+
+    private static List<EntityDiff.Change<Item>> sortedChanges(List<EntityDiff.Change<Item>> changes) {
+        List<EntityDiff.Change<Item>> sorted = new ArrayList<>(changes);
+        sorted.sort(Comparator.comparing((EntityDiff.Change<Item> change) -> change.expected(), BY_ID_AND_NAME));
+        return sorted;
+    }
+
+    private static List<Long> sortedIds(List<Long> ids) {
+        List<Long> sorted = new ArrayList<>(ids);
+        sorted.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+        return sorted;
+    }
+
+    /**
+     * Groups entities by ID, keeping their order within each ID, which the shards preserve.
+     */
+    private static Map<Long, List<Item>> byId(List<Item> items) {
+        Map<Long, List<Item>> groups = new HashMap<>();
+        for (Item item : items) {
+            groups.computeIfAbsent(item.id(), id -> new ArrayList<>()).add(item);
+        }
+        return groups;
+    }
+
+}
@@ -0,0 +1,159 @@
+package utils.common;
+
+import serialization.JsonStreams;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+/**
+ * Duplicate detection for JSON array responses too large to hold as a {@code HashSet} of entities.
+ * <p>
+ * The first pass streams the array and keeps only a 64-bit fingerprint per entity in a
+ * {@link LongHashSet}. Entities whose fingerprint was seen before become candidates. The second
+ * pass streams the array again and keeps only candidate entities, confirming every duplicate
+ * exactly with {@code equals}, so fingerprint collisions never produce wrong results. The second
+ * pass is skipped if there is no candidate.
+ */
+public class StreamingDuplicateDetector {
+
+    /**
+     * Re-openable source of a JSON array, read once per pass.
+     */
+    @FunctionalInterface
+    public interface JsonSource {
+
+        /**
+         * Opens a new stream positioned at the start of the JSON array.
+         *
+         * @return the opened stream; it is closed by the detector.
+         * @throws IOException if the stream cannot be opened.
+         */
+        InputStream open() throws IOException;
+    }
+
+    private StreamingDuplicateDetector() {
+    }
+
+    /**
+     * Finds duplicate entities in a JSON array read twice from the source.
+     * Each duplicate is reported once per repeated occurrence, in document order, matching
+     * {@link CommonUtils#findDuplicateObjects}.
+     *
+     * @param source      the source of the JSON array.
+     * @param type        the class type of the array elements.
+     * @param fingerprint the fingerprint function, e.g. {@code EntityFingerprints::book}.
+     * @param <T>         the type of the elements.
+     * @return the scan result with the confirmed duplicates.
+     * @throws IOException if the source cannot be read or parsed.
+     */
+    public static <T> Result<T> findDuplicates(JsonSource source, Class<T> type, ToLongFunction<? super T> fingerprint) throws IOException {
+        LongHashSet seen = new LongHashSet();
+        LongHashSet candidates = new LongHashSet();
+
+        long scanned = JsonStreams.forEachElement(source.open(), type, item -> {
+            long print = fingerprint.applyAsLong(item);
+            if (!seen.add(print)) {
+                candidates.add(print);
+            }
+        });
+
+        long firstPassBytes = seen.tableBytes() + candidates.tableBytes();
+        List<T> duplicates = new ArrayList<>();
+        if (candidates.size() > 0) {
+            LongEntityIndex<List<T>> distinctByPrint = new LongEntityIndex<>(candidates.size());
+            JsonStreams.forEachElement(source.open(), type, item -> {
+                long print = fingerprint.applyAsLong(item);
+                if (!candidates.contains(print)) {
+                    return;
+                }
+                List<T> distinct = distinctByPrint.get(print);
+                if (distinct == null) {
+                    distinct = new ArrayList<>(1);
+                    distinctByPrint.put(print, distinct);
+                } else {
+                    for (T other : distinct) {
+                        if (Objects.equals(other, item)) {
+                            duplicates.add(item);
+                            return;
+                        }
+                    }
+                }
+                distinct.add(item);
+            });
+        }
+
+        return new Result<>(duplicates, scanned, candidates.size(), firstPassBytes);
+    }
+
+    /**
+     * Outcome of a duplicate scan.
+     *
+     * @param <T> the type of the scanned entities.
+     */
+    public static class Result<T> {
+
+        private final List<T> duplicates;
+        private final long scannedCount;
+        private final long candidateCount;
+        private final long fingerprintBytes;
+
+        Result(List<T> duplicates, long scannedCount, long candidateCount, long fingerprintBytes) {
+            this.duplicates = duplicates;
+            this.scannedCount = scannedCount;
+            this.candidateCount = candidateCount;
+            this.fingerprintBytes = fingerprintBytes;
+        }
+
+        /**
+         * Gets the confirmed duplicate entities.
+         *
+         * @return the duplicates in document order.
+         */
+        public List<T> getDuplicates() {
+            return duplicates;
+        }
+
+        /**
+         * Gets the number of entities in the array.
+         *
+         * @return the number of scanned entities.
+         */
+        public long getScannedCount() {
+            return scannedCount;
+        }
+
+        /**
+         * Gets the number of distinct fingerprints that were re-checked in the second pass.
+         *
+         * @return the number of candidate fingerprints.
+         */
+        public long getCandidateCount() {
+            return candidateCount;
+        }
+
+        /**
+         * Gets the memory held by the fingerprint set and the candidate set.
+         *
+         * @return the size of the first-pass structures in bytes.
+         */
+        public long getFingerprintBytes() {
+            return fingerprintBytes;
+        }
+
+        /**
+         * Returns a summary of the scan.
+         *
+         * @return a string representing the Result object.
+         */
+        @Override
+        public String toString() {
+            return String.format("DuplicateScan{scanned=%d, candidates=%d, fingerprintBytes=%d, duplicates=%s}",
+                    scannedCount, candidateCount, fingerprintBytes, duplicates);
+        }
+    }
+
+}
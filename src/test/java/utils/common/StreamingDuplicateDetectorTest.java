@@ -0,0 +1,88 @@
+package utils.common;
+
+import models.responses.books.GetBooksResponse;
+import org.testng.annotations.Test;
+import serialization.JsonRegistry;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+import static org.testng.Assert.*;
+
+public class StreamingDuplicateDetectorTest {
+
+    @Test(description = "Reports every repeated occurrence of an equal entity in document order, as findDuplicateObjects does.")
+    public void testFindsDuplicates() throws IOException {
+        List<GetBooksResponse> books = new ArrayList<>(List.of(book(1, "A"), book(2, "B"), book(1, "A"), book(3, "C"), book(2, "B"), book(1, "A")));
+
+        StreamingDuplicateDetector.Result<GetBooksResponse> result = findDuplicates(books, EntityFingerprints::book, new AtomicInteger());
+
+        assertEquals(result.getDuplicates(), List.of(book(1, "A"), book(2, "B"), book(1, "A")));
+        assertEquals(result.getDuplicates(), CommonUtils.findDuplicateObjects(books));
+        assertEquals(result.getScannedCount(), 6);
+        assertEquals(result.getCandidateCount(), 2);
+        assertTrue(result.getFingerprintBytes() > 0);
+    }
+
+    @Test(description = "Reports entities that share an ID but differ in content as distinct.")
+    public void testSameIdOtherContent() throws IOException {
+        List<GetBooksResponse> books = List.of(book(1, "A"), book(1, "B"), new GetBooksResponse(1L, "A", "Description", 101, "Excerpt", "2024-01-01"));
+
+        assertEquals(findDuplicates(books, EntityFingerprints::book, new AtomicInteger()).getDuplicates(), List.of());
+    }
+
+    @Test(description = "Confirms candidates with equals, so entities whose fingerprints collide are not duplicates.")
+    public void testFingerprintCollisions() throws IOException {
+        List<GetBooksResponse> books = List.of(book(1, "A"), book(2, "B"), book(3, "C"), book(2, "B"));
+        AtomicInteger opened = new AtomicInteger();
+
+        StreamingDuplicateDetector.Result<GetBooksResponse> result = findDuplicates(books, book -> 42L, opened);
+
+        assertEquals(result.getDuplicates(), List.of(book(2, "B")));
+        assertEquals(result.getCandidateCount(), 1);
+        assertEquals(opened.get(), 2);
+    }
+
+    @Test(description = "Scans an empty array without a second pass.")
+    public void testEmptyArray() throws IOException {
+        AtomicInteger opened = new AtomicInteger();
+
+        StreamingDuplicateDetector.Result<GetBooksResponse> result = findDuplicates(List.of(), EntityFingerprints::book, opened);
+
+        assertEquals(result.getDuplicates(), List.of());
+        assertEquals(result.getScannedCount(), 0);
+        assertEquals(result.getCandidateCount(), 0);
+        assertEquals(opened.get(), 1);
+    }
+
+    @Test(description = "Skips the second pass when no fingerprint repeats.")
+    public void testNoDuplicates() throws IOException {
+        AtomicInteger opened = new AtomicInteger();
+
+        StreamingDuplicateDetector.Result<GetBooksResponse> result = findDuplicates(List.of(book(1, "A"), book(2, "B")), EntityFingerprints::book, opened);
+
+        assertEquals(result.getDuplicates(), List.of());
+        assertEquals(opened.get(), 1);
+    }
+
+    /**
+     * Serializes the books as a JSON array and scans it, counting how often the array is opened.
+     */
+    private static StreamingDuplicateDetector.Result<GetBooksResponse> findDuplicates(List<GetBooksResponse> books, ToLongFunction<? super GetBooksResponse> fingerprint,
+                                                                                    AtomicInteger opened) throws IOException {
+        byte[] body = JsonRegistry.mapper().writeValueAsBytes(books);
+        return StreamingDuplicateDetector.findDuplicates(() -> {
+            opened.incrementAndGet();
+            return new ByteArrayInputStream(body);
+        }, GetBooksResponse.class, fingerprint);
+    }
+
+    private static GetBooksResponse book(long id, String title) {
+        return new GetBooksResponse(id, title, "Description", 100, "Excerpt", "2024-01-01");
+    }
+
+}
@@ -0,0 +1,80 @@
+package utils.http;
+
+import client.ExchangeMetrics;
+import client.LatencyHistograms;
+import client.TransferMetrics;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import utils.common.ClientOverhead;
+import utils.common.ClientOverhead.Phase;
+import utils.common.ClientOverhead.Span;
+
+import java.net.URI;
+
+/**
+ * RestAssured filter that records every exchange per method and endpoint, keyed like the
+ * non-blocking client's requests: the latency of every response into {@link LatencyHistograms},
+ * and its status and body size, or the failure of a request without a response, into
+ * {@link ExchangeMetrics}. The time runs from sending the request to reading the whole response body.
+ * <p>
+ * The filter also brackets the exchange for the {@link PhaseTimer} and records each of its
+ * {@link PhaseTimings} into the phase histograms, keyed by the endpoint key and the phase name,
+ * e.g. {@code GET /api/v1/Books ttfb}, and accounts the exchange as the running test's
+ * {@link Phase#SEND} in its {@link ClientOverhead}.
+ */
+public class ExchangeRecordingFilter implements Filter {
+
+    private final LatencyHistograms latencyHistograms;
+    private final ExchangeMetrics exchangeMetrics;
+    private final LatencyHistograms phaseHistograms;
+
+    public ExchangeRecordingFilter(LatencyHistograms latencyHistograms, ExchangeMetrics exchangeMetrics, LatencyHistograms phaseHistograms) {
+        this.latencyHistograms = latencyHistograms;
+        this.exchangeMetrics = exchangeMetrics;
+        this.phaseHistograms = phaseHistograms;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        String endpoint = TransferMetrics.endpointKey(requestSpec.getMethod(), URI.create(requestSpec.getURI()).getRawPath());
+        long start = System.nanoTime();
+        Response response = null;
+        long bodyBytes = -1;
+        PhaseTimer.start();
+        try (Span _ = ClientOverhead.begin(Phase.SEND)) {
+            response = ctx.next(requestSpec, responseSpec);
+            // RestAssured may hand the response back before the body is read, so it is read within the measured time.
+            bodyBytes = response.asByteArray().length;
+        } finally {
+            // RestAssured rethrows I/O errors unchecked but undeclared, so failures are detected here rather than caught.
+            record(endpoint, start, response, bodyBytes);
+        }
+        return response;
+    }
+
+    /**
+     * Records an exchange bracketed with {@link PhaseTimer#start()} whose body was read by the
+     * caller, e.g. a response streamed without this filter, and finishes its phase timings.
+     *
+     * @param endpoint   the endpoint key of the exchange, see {@link TransferMetrics#endpointKey}.
+     * @param startNanos the {@link System#nanoTime()} at which the request was sent.
+     * @param response   the response, or null if none was received.
+     * @param bodyBytes  the number of body bytes read, or -1 if the body was not read to its end.
+     */
+    public void record(String endpoint, long startNanos, Response response, long bodyBytes) {
+        PhaseTimings timings = PhaseTimer.finish();
+        if (response == null || bodyBytes < 0) {
+            exchangeMetrics.recordFailure(endpoint);
+            return;
+        }
+        if (timings != null) {
+            timings.phases().forEach((phase, nanos) -> phaseHistograms.record(endpoint + " " + phase, nanos));
+        }
+        latencyHistograms.record(endpoint, System.nanoTime() - startNanos);
+        exchangeMetrics.record(endpoint, response.getStatusCode(), bodyBytes);
+    }
+
+}
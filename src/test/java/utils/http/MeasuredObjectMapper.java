@@ -0,0 +1,46 @@
+package utils.http;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.restassured.mapper.ObjectMapper;
+import io.restassured.mapper.ObjectMapperDeserializationContext;
+import io.restassured.mapper.ObjectMapperSerializationContext;
+import serialization.JsonRegistry;
+import utils.common.ClientOverhead;
+import utils.common.ClientOverhead.Phase;
+import utils.common.ClientOverhead.Span;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+
+/**
+ * RestAssured object mapper on the cached readers and writers of {@link JsonRegistry}, which
+ * accounts the time of writing request bodies and reading response bodies to the
+ * {@link ClientOverhead} of the running test.
+ */
+public class MeasuredObjectMapper implements ObjectMapper {
+
+    @Override
+    public Object serialize(ObjectMapperSerializationContext context) {
+        Object body = context.getObjectToSerialize();
+        try (Span _ = ClientOverhead.begin(Phase.SERIALIZE)) {
+            return JsonRegistry.objectWriter(body.getClass()).writeValueAsString(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize " + body.getClass().getName() + " to JSON", e);
+        }
+    }
+
+    @Override
+    public Object deserialize(ObjectMapperDeserializationContext context) {
+        Type type = context.getType();
+        ObjectReader reader = type instanceof Class<?> clazz
+                ? JsonRegistry.objectReader(clazz)
+                : JsonRegistry.mapper().readerFor(JsonRegistry.mapper().constructType(type));
+        try (Span _ = ClientOverhead.begin(Phase.DESERIALIZE)) {
+            return reader.readValue(context.getDataToDeserialize().asByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to deserialize the response body as " + type.getTypeName(), e);
+        }
+    }
+
+}
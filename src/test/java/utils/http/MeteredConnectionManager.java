@@ -0,0 +1,109 @@
+package utils.http;
+
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pooling connection manager that counts how many leased connections were already open (pool hits)
+ * and how many had to be connected first (pool misses). Every miss is a new TCP and, for HTTPS,
+ * TLS handshake. Whether a connection was reused is also reported to the {@link PhaseTimer} of the
+ * current exchange.
+ * <p>
+ * Built on the HttpClient 4 connection API that RestAssured's {@code AbstractHttpClient} requires.
+ */
+@SuppressWarnings("deprecation")
+public class MeteredConnectionManager extends PoolingClientConnectionManager {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public MeteredConnectionManager(SchemeRegistry schemeRegistry, long keepAliveMillis, DnsResolver dnsResolver) {
+        super(schemeRegistry, keepAliveMillis, TimeUnit.MILLISECONDS, dnsResolver);
+    }
+
+    public MeteredConnectionManager(SchemeRegistry schemeRegistry, long keepAliveMillis) {
+        super(schemeRegistry, keepAliveMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public MeteredConnectionManager(long keepAliveMillis) {
+        this(SchemeRegistryFactory.createDefault(), keepAliveMillis);
+    }
+
+    @Override
+    public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+        ClientConnectionRequest request = super.requestConnection(route, state);
+        return new ClientConnectionRequest() {
+            @Override
+            public ManagedClientConnection getConnection(long timeout, TimeUnit unit)
+                    throws InterruptedException, ConnectionPoolTimeoutException {
+                ManagedClientConnection connection = request.getConnection(timeout, unit);
+                boolean open = connection.isOpen();
+                (open ? hits : misses).increment();
+                PhaseTimer.connectionLeased(open);
+                return connection;
+            }
+
+            @Override
+            public void abortRequest() {
+                request.abortRequest();
+            }
+        };
+    }
+
+    /**
+     * Gets the number of requests served by an already open pooled connection.
+     *
+     * @return the number of pool hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of requests that had to open a new connection.
+     *
+     * @return the number of pool misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the share of requests served by an already open connection.
+     *
+     * @return the hit ratio between 0 and 1, or 0 if no connection was leased yet.
+     */
+    public double getHitRatio() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Resets the hit and miss counters, e.g. between benchmark iterations.
+     */
+    public void resetMetrics() {
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * Returns the hit and miss counters together with the current pool state.
+     *
+     * @return a string describing the pool metrics.
+     */
+    public String metrics() {
+        return String.format("hits=%d, misses=%d, hitRatio=%.3f, %s",
+                getHits(), getMisses(), getHitRatio(), getTotalStats());
+    }
+
+}
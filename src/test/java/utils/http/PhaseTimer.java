@@ -0,0 +1,122 @@
+package utils.http;
+
+/**
+ * Collects the {@link PhaseTimings} of the RestAssured exchange running on the current thread.
+ * RestAssured's HTTP client is blocking, so the DNS resolver, socket factory and interceptors it
+ * calls run on the thread that sent the request; they report here and {@link ExchangeRecordingFilter}
+ * brackets the exchange with {@link #start()} and {@link #finish()}. Calls outside an exchange are ignored.
+ */
+public final class PhaseTimer {
+
+    private static final ThreadLocal<Exchange> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<PhaseTimings> LAST = new ThreadLocal<>();
+
+    private PhaseTimer() {
+    }
+
+    /**
+     * The phases of one exchange collected so far.
+     */
+    private static final class Exchange {
+
+        private final long start = System.nanoTime();
+        private long dns;
+        private long connect;
+        private long tls;
+        private long requestSent;
+        private long headersReceived;
+        private boolean newConnection;
+    }
+
+    /**
+     * Starts timing an exchange on the current thread.
+     */
+    public static void start() {
+        CURRENT.set(new Exchange());
+    }
+
+    /**
+     * Stops timing the exchange of the current thread and keeps its timings for {@link #takeLast()}.
+     *
+     * @return the timings, or null if no exchange was started.
+     */
+    public static PhaseTimings finish() {
+        Exchange exchange = CURRENT.get();
+        if (exchange == null) {
+            return null;
+        }
+        CURRENT.remove();
+        long end = System.nanoTime();
+        long headers = exchange.headersReceived == 0 ? end : exchange.headersReceived;
+        long sent = exchange.requestSent == 0 ? headers : exchange.requestSent;
+        PhaseTimings timings = new PhaseTimings(exchange.dns, exchange.connect, exchange.tls, headers - sent, end - headers,
+                end - exchange.start, exchange.newConnection);
+        LAST.set(timings);
+        return timings;
+    }
+
+    /**
+     * Gets and forgets the timings of the last exchange finished on the current thread, so a
+     * response snapshot can pick up the timings of the request that produced it.
+     *
+     * @return the timings, or null if no exchange finished since the last call.
+     */
+    public static PhaseTimings takeLast() {
+        PhaseTimings timings = LAST.get();
+        LAST.remove();
+        return timings;
+    }
+
+    /**
+     * Marks whether the leased connection was already open; a new one is connected afterwards.
+     */
+    static void connectionLeased(boolean open) {
+        Exchange exchange = CURRENT.get();
+        if (exchange != null) {
+            exchange.newConnection |= !open;
+        }
+    }
+
+    static void addDns(long nanos) {
+        Exchange exchange = CURRENT.get();
+        if (exchange != null) {
+            exchange.dns += nanos;
+        }
+    }
+
+    static void addConnect(long nanos) {
+        Exchange exchange = CURRENT.get();
+        if (exchange != null) {
+            exchange.connect += nanos;
+        }
+    }
+
+    static void addTls(long nanos) {
+        Exchange exchange = CURRENT.get();
+        if (exchange != null) {
+            exchange.tls += nanos;
+        }
+    }
+
+    /**
+     * Marks the request as about to be written, once its connection is open. On redirects and
+     * retries the last request counts.
+     */
+    static void requestSent() {
+        Exchange exchange = CURRENT.get();
+        if (exchange != null) {
+            exchange.requestSent = System.nanoTime();
+        }
+    }
+
+    /**
+     * Marks the response headers as received.
+     */
+    static void headersReceived() {
+        Exchange exchange = CURRENT.get();
+        if (exchange != null) {
+            exchange.headersReceived = System.nanoTime();
+        }
+    }
+
+}
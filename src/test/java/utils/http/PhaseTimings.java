@@ -0,0 +1,48 @@
+package utils.http;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Where the time of one RestAssured exchange went: resolving the host name, opening the TCP
+ * connection, the TLS handshake, waiting for the response headers after sending the request (time
+ * to first byte, which includes the server's processing) and reading the body. A request on a
+ * pooled keep-alive connection spends no time on DNS, connect or TLS. The rest of the total is
+ * spent in RestAssured and waiting for a pooled connection.
+ *
+ * @param dnsNanos       the time spent resolving the host name.
+ * @param connectNanos   the time spent opening the TCP connection.
+ * @param tlsNanos       the time spent in the TLS handshake.
+ * @param ttfbNanos      the time from sending the request to receiving the response headers.
+ * @param downloadNanos  the time from receiving the response headers to having read the body.
+ * @param totalNanos     the time of the whole exchange.
+ * @param newConnection  true if the request had to open a connection, false if it reused a pooled one.
+ */
+public record PhaseTimings(long dnsNanos, long connectNanos, long tlsNanos, long ttfbNanos, long downloadNanos, long totalNanos,
+                           boolean newConnection) {
+
+    /**
+     * Gets the phases in the order they happen, keyed by phase name: {@code dns}, {@code connect},
+     * {@code tls}, {@code ttfb}, {@code download} and {@code total}.
+     *
+     * @return the phase durations in nanoseconds by name.
+     */
+    public Map<String, Long> phases() {
+        Map<String, Long> phases = new LinkedHashMap<>();
+        phases.put("dns", dnsNanos);
+        phases.put("connect", connectNanos);
+        phases.put("tls", tlsNanos);
+        phases.put("ttfb", ttfbNanos);
+        phases.put("download", downloadNanos);
+        phases.put("total", totalNanos);
+        return phases;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("dns=%.1f ms, connect=%.1f ms, tls=%.1f ms, ttfb=%.1f ms, download=%.1f ms, total=%.1f ms (%s connection)",
+                dnsNanos / 1e6, connectNanos / 1e6, tlsNanos / 1e6, ttfbNanos / 1e6, downloadNanos / 1e6, totalNanos / 1e6,
+                newConnection ? "new" : "reused");
+    }
+
+}
@@ -0,0 +1,125 @@
+package utils.http;
+
+import config.ConnectionPoolConfig;
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.client.HttpClient;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RestAssured client factory whose clients all share one {@link MeteredConnectionManager}, so
+ * connections are kept alive and reused across requests, test methods and threads instead of being
+ * opened and closed for every request.
+ * <p>
+ * RestAssured asks the factory for a client per request and configures it per request, so each
+ * request gets its own lightweight client; only the connection pool is shared. A daemon thread
+ * closes expired and long idle connections.
+ * <p>
+ * Connections are opened through a {@link TimingDnsResolver} and {@link TimingSocketFactory}, and
+ * every client marks when its request is sent and its response headers arrive, so each exchange
+ * reports its {@link PhaseTimings} to the {@link PhaseTimer}.
+ */
+@SuppressWarnings("deprecation")
+public class PooledHttpClientFactory implements HttpClientConfig.HttpClientFactory, AutoCloseable {
+
+    private final ConnectionPoolConfig config;
+    private final MeteredConnectionManager connectionManager;
+    private final ConnectionKeepAliveStrategy keepAliveStrategy;
+    private final ScheduledExecutorService evictor;
+
+    private static final HttpRequestInterceptor REQUEST_SENT = (request, context) -> PhaseTimer.requestSent();
+    private static final HttpResponseInterceptor HEADERS_RECEIVED = (response, context) -> PhaseTimer.headersReceived();
+
+    public PooledHttpClientFactory(ConnectionPoolConfig config) {
+        this.config = config;
+        this.connectionManager = new MeteredConnectionManager(timingSchemeRegistry(), config.getKeepAliveMillis(), new TimingDnsResolver());
+        connectionManager.setMaxTotal(config.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(config.getMaxPerRoute());
+        this.keepAliveStrategy = (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, config.getKeepAliveMillis()) : config.getKeepAliveMillis();
+        };
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, config.getIdleEvictionMillis() / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdleConnections, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public HttpClient createHttpClient() {
+        DefaultHttpClient client = new DefaultHttpClient(connectionManager);
+        client.setKeepAliveStrategy(keepAliveStrategy);
+        client.addRequestInterceptor(REQUEST_SENT);
+        client.addResponseInterceptor(HEADERS_RECEIVED);
+        return client;
+    }
+
+    /**
+     * Registers the timed socket factories for {@code http} and {@code https} on their default ports,
+     * TLS being layered with HttpClient's default {@link SSLSocketFactory} like in its default registry.
+     */
+    private static SchemeRegistry timingSchemeRegistry() {
+        SchemeRegistry registry = new SchemeRegistry();
+        registry.register(new Scheme("http", 80, new TimingSocketFactory()));
+        registry.register(new Scheme("https", 443, new TimingSocketFactory.Tls(SSLSocketFactory.getSocketFactory())));
+        return registry;
+    }
+
+    /**
+     * Builds the RestAssured client configuration that routes all requests through the pool.
+     *
+     * @return the HTTP client configuration.
+     */
+    public HttpClientConfig httpClientConfig() {
+        return HttpClientConfig.httpClientConfig().httpClientFactory(this);
+    }
+
+    /**
+     * Gets the shared connection manager with its hit and miss counters.
+     *
+     * @return the connection manager.
+     */
+    public MeteredConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
+    /**
+     * Gets the settings the pool was built with.
+     *
+     * @return the connection pool settings.
+     */
+    public ConnectionPoolConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Closes connections whose keep-alive expired or that were idle longer than the eviction time.
+     */
+    private void evictIdleConnections() {
+        connectionManager.closeExpiredConnections();
+        connectionManager.closeIdleConnections(config.getIdleEvictionMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the evictor and closes all pooled connections.
+     */
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+        connectionManager.shutdown();
+    }
+
+}
@@ -0,0 +1,25 @@
+package utils.http;
+
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * System DNS resolver that reports the time of every lookup to the {@link PhaseTimer} of the
+ * current exchange. Lookups the JVM answers from its DNS cache take next to no time.
+ */
+public class TimingDnsResolver implements DnsResolver {
+
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        long start = System.nanoTime();
+        try {
+            return SystemDefaultDnsResolver.INSTANCE.resolve(host);
+        } finally {
+            PhaseTimer.addDns(System.nanoTime() - start);
+        }
+    }
+
+}
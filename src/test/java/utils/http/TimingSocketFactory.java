@@ -0,0 +1,95 @@
+package utils.http;
+
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.HttpInetSocketAddress;
+import org.apache.http.conn.scheme.SchemeLayeredSocketFactory;
+import org.apache.http.conn.scheme.SchemeSocketFactory;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+
+/**
+ * Socket factory of plain connections that reports the time of every TCP connect to the
+ * {@link PhaseTimer} of the current exchange. {@link Tls} layers TLS over the connection in a
+ * separately timed step.
+ */
+@SuppressWarnings("deprecation")
+public class TimingSocketFactory implements SchemeSocketFactory {
+
+    /**
+     * Socket factory of TLS connections that times the TCP connect and the TLS handshake separately.
+     * TLS is delegated to the given layered factory, which performs the handshake and verifies the
+     * host name, so the connection is the same as with HttpClient's own factory.
+     */
+    public static class Tls extends TimingSocketFactory implements SchemeLayeredSocketFactory {
+
+        private final SchemeLayeredSocketFactory tls;
+
+        /**
+         * Creates a factory of TLS connections.
+         *
+         * @param tls the factory that layers TLS over a connected socket, e.g. HttpClient's {@code SSLSocketFactory}.
+         */
+        public Tls(SchemeLayeredSocketFactory tls) {
+            this.tls = tls;
+        }
+
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remoteAddress, InetSocketAddress localAddress, HttpParams params)
+                throws IOException {
+            Socket connected = super.connectSocket(socket, remoteAddress, localAddress, params);
+            String host = remoteAddress instanceof HttpInetSocketAddress address ? address.getHttpHost().getHostName() : remoteAddress.getHostName();
+            return createLayeredSocket(connected, host, remoteAddress.getPort(), params);
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpParams params) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return tls.createLayeredSocket(socket, target, port, params);
+            } finally {
+                PhaseTimer.addTls(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public boolean isSecure(Socket socket) {
+            return tls.isSecure(socket);
+        }
+    }
+
+    @Override
+    public Socket createSocket(HttpParams params) {
+        return new Socket();
+    }
+
+    @Override
+    public Socket connectSocket(Socket socket, InetSocketAddress remoteAddress, InetSocketAddress localAddress, HttpParams params)
+            throws IOException {
+        Socket connected = socket != null ? socket : createSocket(params);
+        if (localAddress != null) {
+            connected.setReuseAddress(HttpConnectionParams.getSoReuseaddr(params));
+            connected.bind(localAddress);
+        }
+        long start = System.nanoTime();
+        try {
+            connected.connect(remoteAddress, HttpConnectionParams.getConnectionTimeout(params));
+        } catch (SocketTimeoutException e) {
+            throw new ConnectTimeoutException("Connect to " + remoteAddress + " timed out");
+        } finally {
+            PhaseTimer.addConnect(System.nanoTime() - start);
+        }
+        connected.setSoTimeout(HttpConnectionParams.getSoTimeout(params));
+        return connected;
+    }
+
+    @Override
+    public boolean isSecure(Socket socket) {
+        return false;
+    }
+
+}